@@ -17,6 +17,8 @@
 package io.atomix.cluster.messaging;
 
 import io.atomix.utils.net.Address;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
@@ -203,6 +205,32 @@ public interface MessagingService {
    */
   void registerHandler(String type, BiFunction<Address, byte[], CompletableFuture<byte[]>> handler);
 
+  /**
+   * Registers a new message handler for message type, which replies with a buffer. The messaging
+   * service takes the ownership of the buffer and releases it after the reply is sent. This allows
+   * the handler to serialize the reply directly into a pooled buffer, which is written to the
+   * connection without copying it.
+   *
+   * @param type message type.
+   * @param handler message handler
+   */
+  default void registerBufferHandler(
+      final String type, final BiFunction<Address, byte[], CompletableFuture<ByteBuf>> handler) {
+    registerHandler(
+        type,
+        (address, payload) ->
+            handler
+                .apply(address, payload)
+                .thenApply(
+                    buffer -> {
+                      try {
+                        return ByteBufUtil.getBytes(buffer);
+                      } finally {
+                        buffer.release();
+                      }
+                    }));
+  }
+
   /**
    * Unregister current handler, if one exists for message type.
    *
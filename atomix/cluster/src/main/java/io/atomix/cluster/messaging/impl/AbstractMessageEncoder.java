@@ -19,7 +19,9 @@ package io.atomix.cluster.messaging.impl;
 import io.atomix.utils.net.Address;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
 import io.netty.handler.codec.MessageToByteEncoder;
 import java.io.IOException;
 import org.slf4j.Logger;
@@ -43,6 +45,10 @@ abstract class AbstractMessageEncoder extends MessageToByteEncoder<Object> {
 
   protected abstract void encodeMessage(ProtocolMessage message, ByteBuf buffer);
 
+  /** Encodes the message like {@link #encodeMessage}, but without writing the payload itself. */
+  protected abstract void encodeMessageHeader(
+      ProtocolMessage message, int payloadLength, ByteBuf buffer);
+
   protected abstract void encodeRequest(ProtocolRequest request, ByteBuf out);
 
   protected abstract void encodeReply(ProtocolReply reply, ByteBuf out);
@@ -153,6 +159,49 @@ abstract class AbstractMessageEncoder extends MessageToByteEncoder<Object> {
     }
   }
 
+  @Override
+  public void write(
+      final ChannelHandlerContext context, final Object message, final ChannelPromise promise)
+      throws Exception {
+    if (message instanceof ProtocolReply && ((ProtocolReply) message).payloadBuffer() != null) {
+      writeReplyWithPayloadBuffer(context, (ProtocolReply) message, promise);
+    } else {
+      super.write(context, message, promise);
+    }
+  }
+
+  /**
+   * Writes the encoded reply as a composite of the encoded header, the payload buffer and the
+   * encoded status, so that the payload is written to the channel without copying it. The payload
+   * buffer is released when the composite is written.
+   */
+  private void writeReplyWithPayloadBuffer(
+      final ChannelHandlerContext context,
+      final ProtocolReply reply,
+      final ChannelPromise promise) {
+    final ByteBuf payload = reply.payloadBuffer();
+    final ByteBuf header = context.alloc().ioBuffer();
+    final ByteBuf trailer = context.alloc().ioBuffer(Byte.BYTES);
+
+    try {
+      if (!addressWritten) {
+        encodeAddress(reply, header);
+        addressWritten = true;
+      }
+      encodeMessageHeader(reply, payload.readableBytes(), header);
+      encodeReply(reply, trailer);
+    } catch (final RuntimeException e) {
+      header.release();
+      trailer.release();
+      payload.release();
+      throw e;
+    }
+
+    final CompositeByteBuf composite = context.alloc().compositeDirectBuffer(3);
+    composite.addComponents(true, header, payload, trailer);
+    context.write(composite, promise);
+  }
+
   // Effectively same result as one generated by MessageToByteEncoder<InternalMessage>
   @Override
   public final boolean acceptOutboundMessage(final Object msg) throws Exception {
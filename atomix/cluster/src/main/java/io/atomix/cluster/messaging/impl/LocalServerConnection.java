@@ -16,6 +16,8 @@
  */
 package io.atomix.cluster.messaging.impl;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import java.util.Optional;
 
 /** Local server-side connection. */
@@ -41,4 +43,17 @@ final class LocalServerConnection extends AbstractServerConnection {
           new ProtocolReply(message.id(), payload.orElse(EMPTY_PAYLOAD), status));
     }
   }
+
+  @Override
+  public void reply(
+      final ProtocolRequest message, final ProtocolReply.Status status, final ByteBuf payload) {
+    // the local client expects the payload as byte array, so the buffer is copied here
+    final byte[] bytes;
+    try {
+      bytes = ByteBufUtil.getBytes(payload);
+    } finally {
+      payload.release();
+    }
+    reply(message, status, Optional.of(bytes));
+  }
 }
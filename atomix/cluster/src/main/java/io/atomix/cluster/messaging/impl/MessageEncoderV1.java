@@ -37,14 +37,19 @@ class MessageEncoderV1 extends AbstractMessageEncoder {
 
   @Override
   protected void encodeMessage(final ProtocolMessage message, final ByteBuf buffer) {
-    buffer.writeByte(message.type().id());
-    writeLong(buffer, message.id());
-
     final byte[] payload = message.payload();
-    writeInt(buffer, payload.length);
+    encodeMessageHeader(message, payload.length, buffer);
     buffer.writeBytes(payload);
   }
 
+  @Override
+  protected void encodeMessageHeader(
+      final ProtocolMessage message, final int payloadLength, final ByteBuf buffer) {
+    buffer.writeByte(message.type().id());
+    writeLong(buffer, message.id());
+    writeInt(buffer, payloadLength);
+  }
+
   @Override
   protected void encodeRequest(final ProtocolRequest request, final ByteBuf out) {
     writeString(out, request.subject());
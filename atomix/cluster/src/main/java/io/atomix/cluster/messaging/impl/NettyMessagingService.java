@@ -230,6 +230,27 @@ public class NettyMessagingService implements ManagedMessagingService {
         });
   }
 
+  @Override
+  public void registerBufferHandler(
+      final String type, final BiFunction<Address, byte[], CompletableFuture<ByteBuf>> handler) {
+    handlers.register(
+        type,
+        (message, connection) -> {
+          handler
+              .apply(message.sender(), message.payload())
+              .whenComplete(
+                  (result, error) -> {
+                    if (error == null) {
+                      connection.reply(message, ProtocolReply.Status.OK, result);
+                    } else {
+                      log.warn("An error occurred in a message handler: {}", error);
+                      connection.reply(
+                          message, ProtocolReply.Status.ERROR_HANDLER_EXCEPTION, Optional.empty());
+                    }
+                  });
+        });
+  }
+
   @Override
   public void unregisterHandler(final String type) {
     handlers.unregister(type);
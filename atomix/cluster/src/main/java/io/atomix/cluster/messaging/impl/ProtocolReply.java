@@ -18,15 +18,29 @@ package io.atomix.cluster.messaging.impl;
 
 import com.google.common.base.MoreObjects;
 import io.atomix.utils.misc.ArraySizeHashPrinter;
+import io.netty.buffer.ByteBuf;
 
 /** Internal reply message. */
 public final class ProtocolReply extends ProtocolMessage {
+  private static final byte[] EMPTY_PAYLOAD = new byte[0];
 
   private final Status status;
+  private final ByteBuf payloadBuffer;
 
   public ProtocolReply(final long id, final byte[] payload, final Status status) {
     super(id, payload);
     this.status = status;
+    payloadBuffer = null;
+  }
+
+  /**
+   * Creates a reply whose payload is written from the given buffer without copying it. The reply
+   * takes the ownership of the buffer, which is released when the reply is encoded.
+   */
+  public ProtocolReply(final long id, final ByteBuf payloadBuffer, final Status status) {
+    super(id, EMPTY_PAYLOAD);
+    this.status = status;
+    this.payloadBuffer = payloadBuffer;
   }
 
   @Override
@@ -38,12 +52,17 @@ public final class ProtocolReply extends ProtocolMessage {
     return status;
   }
 
+  /** @return the payload buffer, or {@code null} if the payload is given as byte array */
+  public ByteBuf payloadBuffer() {
+    return payloadBuffer;
+  }
+
   @Override
   public String toString() {
     return MoreObjects.toStringHelper(this)
         .add("id", id())
         .add("status", status())
-        .add("payload", ArraySizeHashPrinter.of(payload()))
+        .add("payload", payloadBuffer != null ? payloadBuffer : ArraySizeHashPrinter.of(payload()))
         .toString();
   }
 
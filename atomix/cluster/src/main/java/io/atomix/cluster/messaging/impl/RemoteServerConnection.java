@@ -16,6 +16,7 @@
  */
 package io.atomix.cluster.messaging.impl;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 import java.util.Optional;
 
@@ -39,4 +40,11 @@ final class RemoteServerConnection extends AbstractServerConnection {
         new ProtocolReply(message.id(), payload.orElse(EMPTY_PAYLOAD), status);
     channel.writeAndFlush(response, channel.voidPromise());
   }
+
+  @Override
+  public void reply(
+      final ProtocolRequest message, final ProtocolReply.Status status, final ByteBuf payload) {
+    final ProtocolReply response = new ProtocolReply(message.id(), payload, status);
+    channel.writeAndFlush(response, channel.voidPromise());
+  }
 }
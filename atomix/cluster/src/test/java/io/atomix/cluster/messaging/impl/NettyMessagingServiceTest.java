@@ -30,6 +30,8 @@ import com.google.common.util.concurrent.Uninterruptibles;
 import io.atomix.cluster.messaging.ManagedMessagingService;
 import io.atomix.cluster.messaging.MessagingConfig;
 import io.atomix.utils.net.Address;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.zeebe.test.util.socket.SocketUtil;
 import java.net.ConnectException;
 import java.time.Duration;
@@ -45,6 +47,7 @@ import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
+import org.awaitility.Awaitility;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Ignore;
@@ -287,6 +290,45 @@ public class NettyMessagingServiceTest {
     assertThat(response).isCompletedExceptionally();
   }
 
+  @Test
+  public void shouldReplyWithBuffer() {
+    // given
+    final String subject = nextSubject();
+    final ByteBuf replyBuffer = PooledByteBufAllocator.DEFAULT.directBuffer();
+    replyBuffer.writeBytes("hello there".getBytes());
+
+    netty2.registerBufferHandler(
+        subject, (address, payload) -> CompletableFuture.completedFuture(replyBuffer));
+
+    // when
+    final CompletableFuture<byte[]> response =
+        netty1.sendAndReceive(address2, subject, "hello world".getBytes());
+
+    // then
+    assertArrayEquals("hello there".getBytes(), response.join());
+    Awaitility.await("reply buffer is released")
+        .untilAsserted(() -> assertThat(replyBuffer.refCnt()).isZero());
+  }
+
+  @Test
+  public void shouldReplyWithBufferToLocalConnection() {
+    // given
+    final String subject = nextSubject();
+    final ByteBuf replyBuffer = PooledByteBufAllocator.DEFAULT.directBuffer();
+    replyBuffer.writeBytes("hello there".getBytes());
+
+    netty1.registerBufferHandler(
+        subject, (address, payload) -> CompletableFuture.completedFuture(replyBuffer));
+
+    // when
+    final CompletableFuture<byte[]> response =
+        netty1.sendAndReceive(address1, subject, "hello world".getBytes());
+
+    // then
+    assertArrayEquals("hello there".getBytes(), response.join());
+    assertThat(replyBuffer.refCnt()).isZero();
+  }
+
   @Test
   public void testTransientSendAndReceive() {
     final String subject = nextSubject();
@@ -29,6 +29,8 @@ import io.zeebe.broker.system.configuration.BrokerCfg;
 import io.zeebe.broker.system.configuration.ClusterCfg;
 import io.zeebe.broker.system.configuration.DataCfg;
 import io.zeebe.broker.system.configuration.NetworkCfg;
+import io.zeebe.broker.system.configuration.ProcessingCfg;
+import io.zeebe.broker.system.configuration.SocketBindingCfg.CommandApiCfg;
 import io.zeebe.broker.system.configuration.backpressure.BackpressureCfg;
 import io.zeebe.broker.system.management.LeaderManagementRequestHandler;
 import io.zeebe.broker.system.management.deployment.PushDeploymentRequestHandler;
@@ -51,12 +53,14 @@ import io.zeebe.snapshots.broker.SnapshotStoreSupplier;
 import io.zeebe.snapshots.broker.impl.FileBasedSnapshotStoreFactory;
 import io.zeebe.transport.ServerTransport;
 import io.zeebe.transport.TransportFactory;
+import io.zeebe.transport.TransportType;
 import io.zeebe.util.LogUtil;
 import io.zeebe.util.SocketUtil;
 import io.zeebe.util.VersionUtil;
 import io.zeebe.util.exception.UncheckedExecutionException;
 import io.zeebe.util.sched.Actor;
 import io.zeebe.util.sched.ActorControl;
+import io.zeebe.util.sched.ActorPriority;
 import io.zeebe.util.sched.ActorScheduler;
 import io.zeebe.util.sched.clock.ActorClock;
 import java.util.ArrayList;
@@ -164,7 +168,8 @@ public final class Broker implements AutoCloseable {
     startContext.addStep("actor scheduler", this::actorSchedulerStep);
     startContext.addStep("membership and replication protocol", () -> atomixCreateStep(brokerCfg));
     startContext.addStep(
-        "command api transport", () -> commandApiTransportStep(clusterCfg, localBroker));
+        "command api transport",
+        () -> commandApiTransportStep(clusterCfg, networkCfg.getCommandApi(), localBroker));
     startContext.addStep(
         "command api handler", () -> commandApiHandlerStep(brokerCfg, localBroker));
     startContext.addStep("subscription api", () -> subscriptionAPIStep(localBroker));
@@ -222,7 +227,17 @@ public final class Broker implements AutoCloseable {
   }
 
   private AutoCloseable commandApiTransportStep(
-      final ClusterCfg clusterCfg, final BrokerInfo localBroker) {
+      final ClusterCfg clusterCfg,
+      final CommandApiCfg commandApiCfg,
+      final BrokerInfo localBroker) {
+    final var transportFactory = new TransportFactory(scheduler);
+
+    if (commandApiCfg.getTransport() == TransportType.BINARY) {
+      serverTransport =
+          transportFactory.createBinaryServerTransport(
+              localBroker.getNodeId(), commandApiCfg.getAddress());
+      return serverTransport;
+    }
 
     final var nettyMessagingService =
         new NettyMessagingService(
@@ -233,7 +248,6 @@ public final class Broker implements AutoCloseable {
     nettyMessagingService.start().join();
     LOG.debug("Bound command API to {} ", nettyMessagingService.address());
 
-    final var transportFactory = new TransportFactory(scheduler);
     serverTransport =
         transportFactory.createServerTransport(localBroker.getNodeId(), nettyMessagingService);
 
@@ -254,7 +268,7 @@ public final class Broker implements AutoCloseable {
 
     commandHandler = new CommandApiService(serverTransport, localBroker, limiter);
     partitionListeners.add(commandHandler);
-    scheduleActor(commandHandler);
+    scheduleActor(commandHandler, ActorPriority.HIGH);
     diskSpaceUsageListeners.add(commandHandler);
     return commandHandler;
   }
@@ -279,6 +293,13 @@ public final class Broker implements AutoCloseable {
         .join(brokerContext.getStepTimeout().toSeconds(), TimeUnit.SECONDS);
   }
 
+  private void scheduleActor(final Actor actor, final ActorPriority priority) {
+    brokerContext
+        .getScheduler()
+        .submitPrioritizedActor(actor, priority)
+        .join(brokerContext.getStepTimeout().toSeconds(), TimeUnit.SECONDS);
+  }
+
   private AutoCloseable topologyManagerStep(
       final ClusterCfg clusterCfg, final BrokerInfo localBroker) {
     topologyManager = new TopologyManagerImpl(atomix, localBroker, clusterCfg);
@@ -298,7 +319,7 @@ public final class Broker implements AutoCloseable {
   private AutoCloseable diskSpaceMonitorStep(final DataCfg data) {
     diskSpaceUsageMonitor = new DiskSpaceUsageMonitor(data);
     if (data.isDiskUsageMonitoringEnabled()) {
-      scheduleActor(diskSpaceUsageMonitor);
+      scheduleActor(diskSpaceUsageMonitor, ActorPriority.LOW);
       diskSpaceUsageListeners.forEach(l -> diskSpaceUsageMonitor.addDiskUsageListener(l));
       return () -> diskSpaceUsageMonitor.close();
     } else {
@@ -352,7 +373,13 @@ public final class Broker implements AutoCloseable {
                     commandHandler,
                     partitionIndexes.get(partitionId),
                     snapshotStoreSupplier,
-                    createFactory(topologyManager, clusterCfg, atomix, managementRequestHandler));
+                    createFactory(
+                        topologyManager,
+                        clusterCfg,
+                        brokerCfg.getProcessing(),
+                        atomix,
+                        managementRequestHandler),
+                    healthCheckService);
             scheduleActor(zeebePartition);
             healthCheckService.registerMonitoredPartition(
                 owningPartition.id().id(), zeebePartition);
@@ -366,6 +393,7 @@ public final class Broker implements AutoCloseable {
   private TypedRecordProcessorsFactory createFactory(
       final TopologyManagerImpl topologyManager,
       final ClusterCfg clusterCfg,
+      final ProcessingCfg processingCfg,
       final Atomix atomix,
       final LeaderManagementRequestHandler requestHandler) {
     return (ActorControl actor, ZeebeState zeebeState, ProcessingContext processingContext) -> {
@@ -396,7 +424,8 @@ public final class Broker implements AutoCloseable {
           subscriptionCommandSender,
           deploymentDistributor,
           deploymentRequestHandler,
-          jobsAvailableNotification::onJobsAvailable);
+          jobsAvailableNotification::onJobsAvailable,
+          processingCfg.getMaxMessageExpirationsPerCheck());
     };
   }
 
@@ -7,13 +7,13 @@
  */
 package io.zeebe.broker.exporter.stream;
 
+import static io.zeebe.engine.processing.streamprocessor.TypedEventRegistry.EVENT_REGISTRY;
+
 import io.zeebe.broker.Loggers;
 import io.zeebe.broker.exporter.context.ExporterContext;
 import io.zeebe.broker.exporter.repo.ExporterDescriptor;
 import io.zeebe.db.ZeebeDb;
 import io.zeebe.engine.processing.streamprocessor.EventFilter;
-import io.zeebe.engine.processing.streamprocessor.RecordValues;
-import io.zeebe.engine.processing.streamprocessor.TypedEventImpl;
 import io.zeebe.exporter.api.Exporter;
 import io.zeebe.exporter.api.context.Context;
 import io.zeebe.exporter.api.context.Controller;
@@ -21,9 +21,10 @@ import io.zeebe.logstreams.log.LogStream;
 import io.zeebe.logstreams.log.LogStreamReader;
 import io.zeebe.logstreams.log.LoggedEvent;
 import io.zeebe.protocol.impl.record.RecordMetadata;
-import io.zeebe.protocol.impl.record.UnifiedRecordValue;
+import io.zeebe.protocol.record.Record;
 import io.zeebe.protocol.record.RecordType;
 import io.zeebe.protocol.record.ValueType;
+import io.zeebe.protocol.record.intent.Intent;
 import io.zeebe.util.LangUtil;
 import io.zeebe.util.retry.BackOffRetryStrategy;
 import io.zeebe.util.retry.EndlessRetryStrategy;
@@ -32,9 +33,11 @@ import io.zeebe.util.sched.Actor;
 import io.zeebe.util.sched.ActorCondition;
 import io.zeebe.util.sched.ActorScheduler;
 import io.zeebe.util.sched.SchedulingHints;
+import io.zeebe.util.sched.clock.ActorClock;
 import io.zeebe.util.sched.future.ActorFuture;
 import java.time.Duration;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -49,10 +52,14 @@ public final class ExporterDirector extends Actor {
       "Expected to export record '{}' successfully, but exception was thrown.";
   private static final String ERROR_MESSAGE_RECOVER_FROM_SNAPSHOT_FAILED =
       "Expected to find event with the snapshot position %s in log stream, but nothing was found. Failed to recover '%s'.";
+  private static final String WARN_MESSAGE_EXPORTER_PAUSED =
+      "Expected exporter '{}' of partition {} to lag at most {} positions behind the commit position, but it lags {} positions behind. The exporter is paused and doesn't receive records until the partition is reinstalled.";
+  private static final Duration LAG_CHECK_INTERVAL = Duration.ofSeconds(5);
 
   private static final Logger LOG = Loggers.EXPORTER_LOGGER;
   private final AtomicBoolean isOpened = new AtomicBoolean(false);
   private final List<ExporterContainer> containers;
+  private final Collection<String> configuredExporterIds;
   private final LogStream logStream;
   private final RecordExporter recordExporter;
   private final ZeebeDb zeebeDb;
@@ -60,22 +67,34 @@ public final class ExporterDirector extends Actor {
   private final String name;
   private final RetryStrategy exportingRetryStrategy;
   private final RetryStrategy recordWrapStrategy;
+  private final int partitionId;
+  private final long maxLag;
+  private final ExporterHealthListener healthListener;
+  private final RecordMetadata skippedRecordMetadata = new RecordMetadata();
   private LogStreamReader logStreamReader;
   private EventFilter eventFilter;
   private ExportersState state;
 
   private ActorCondition onCommitPositionUpdatedCondition;
   private boolean inExportingPhase;
+  private long startPosition;
+  private long lastReadPosition = -1L;
 
   public ExporterDirector(final ExporterDirectorContext context) {
     name = context.getName();
     containers =
         context.getDescriptors().stream().map(ExporterContainer::new).collect(Collectors.toList());
+    configuredExporterIds =
+        context.getConfiguredExporterIds() != null
+            ? context.getConfiguredExporterIds()
+            : containers.stream().map(ExporterContainer::getId).collect(Collectors.toList());
 
     logStream = Objects.requireNonNull(context.getLogStream());
-    final int partitionId = logStream.getPartitionId();
+    partitionId = logStream.getPartitionId();
+    maxLag = context.getMaxLag();
+    healthListener = context.getHealthListener();
     metrics = new ExporterMetrics(partitionId);
-    recordExporter = new RecordExporter(metrics, containers, partitionId);
+    recordExporter = new RecordExporter(metrics, containers, partitionId, context.getRecordCache());
     exportingRetryStrategy = new BackOffRetryStrategy(actor, Duration.ofSeconds(10));
     recordWrapStrategy = new EndlessRetryStrategy(actor);
     zeebeDb = context.getZeebeDb();
@@ -140,6 +159,15 @@ public final class ExporterDirector extends Actor {
 
   @Override
   protected void onActorClosing() {
+    for (final ExporterContainer container : containers) {
+      if (container.paused) {
+        metrics.setExporterPaused(container.getId(), false);
+        if (healthListener != null) {
+          healthListener.onExporterRecovered(partitionId, container.getId());
+        }
+      }
+    }
+
     logStreamReader.close();
     if (onCommitPositionUpdatedCondition != null) {
       logStream.removeOnCommitPositionUpdatedCondition(onCommitPositionUpdatedCondition);
@@ -167,7 +195,8 @@ public final class ExporterDirector extends Actor {
   private void recoverFromSnapshot() {
     state = new ExportersState(zeebeDb, zeebeDb.createContext());
 
-    final long snapshotPosition = state.getLowestPosition();
+    final long snapshotPosition = getLowestExporterPosition();
+    startPosition = snapshotPosition;
     final boolean failedToRecoverReader = !logStreamReader.seekToNextEvent(snapshotPosition);
     if (failedToRecoverReader) {
       throw new IllegalStateException(
@@ -180,6 +209,21 @@ public final class ExporterDirector extends Actor {
         snapshotPosition);
   }
 
+  private long getLowestExporterPosition() {
+    // only the positions of the own exporters are relevant, since other directors of the same
+    // partition advance independently
+    long lowestPosition = Long.MAX_VALUE;
+    for (final ExporterContainer container : containers) {
+      final long position = state.getPosition(container.getId());
+      if (position != ExportersState.VALUE_NOT_FOUND) {
+        lowestPosition = Math.min(lowestPosition, position);
+      }
+    }
+
+    // new exporters start at the lowest position of the partition, like the other exporters
+    return lowestPosition == Long.MAX_VALUE ? state.getLowestPosition() : lowestPosition;
+  }
+
   private ExporterEventFilter createEventFilter(final List<ExporterContainer> containers) {
 
     final List<Context.RecordFilter> recordFilters =
@@ -199,7 +243,15 @@ public final class ExporterDirector extends Actor {
                     Function.identity(),
                     type -> recordFilters.stream().anyMatch(f -> f.acceptValue(type))));
 
-    return new ExporterEventFilter(acceptRecordTypes, acceptValueTypes);
+    final Map<Intent, Boolean> acceptIntents =
+        Intent.INTENT_CLASSES.stream()
+            .flatMap(intentClass -> Arrays.stream(intentClass.getEnumConstants()))
+            .collect(
+                Collectors.toMap(
+                    Function.identity(),
+                    intent -> recordFilters.stream().anyMatch(f -> f.acceptIntent(intent))));
+
+    return new ExporterEventFilter(acceptRecordTypes, acceptValueTypes, acceptIntents);
   }
 
   private void onFailure() {
@@ -220,6 +272,7 @@ public final class ExporterDirector extends Actor {
         state.setPosition(container.getId(), -1L);
       }
       LOG.debug("Open exporter with id '{}'", container.getId());
+      container.lastUpdateTime = ActorClock.currentTimeMillis();
       container.exporter.open(container);
     }
 
@@ -227,15 +280,55 @@ public final class ExporterDirector extends Actor {
 
     if (state.hasExporters()) {
       actor.submit(this::readNextEvent);
+      actor.runAtFixedRate(LAG_CHECK_INTERVAL, this::checkExporterLag);
     } else {
       actor.close();
     }
   }
 
+  private void checkExporterLag() {
+    actor.runOnCompletion(
+        logStream.getCommitPositionAsync(),
+        (commitPosition, error) -> {
+          if (error != null) {
+            LOG.warn("Failed to get the commit position to check the exporter lag", error);
+            return;
+          }
+
+          final long now = ActorClock.currentTimeMillis();
+          for (final ExporterContainer container : containers) {
+            if (container.paused) {
+              // a paused exporter must not prevent the log from being compacted
+              container.releasePosition(lastReadPosition);
+            }
+
+            // an exporter which didn't update its position yet pins the log at the start position
+            final long lag = commitPosition - Math.max(container.position, startPosition);
+            metrics.setExporterLag(container.getId(), Math.max(0, lag));
+            metrics.setTimeSinceLastUpdate(container.getId(), now - container.lastUpdateTime);
+
+            if (maxLag > 0 && lag > maxLag && !container.paused) {
+              pauseExporter(container, lag);
+            }
+          }
+        });
+  }
+
+  private void pauseExporter(final ExporterContainer container, final long lag) {
+    LOG.warn(WARN_MESSAGE_EXPORTER_PAUSED, container.getId(), partitionId, maxLag, lag);
+
+    container.paused = true;
+    container.releasePosition(lastReadPosition);
+    metrics.setExporterPaused(container.getId(), true);
+    if (healthListener != null) {
+      healthListener.onExporterDegraded(partitionId, container.getId());
+    }
+  }
+
   private void skipRecord(final LoggedEvent currentEvent) {
-    final RecordMetadata metadata = new RecordMetadata();
-    currentEvent.readMetadata(metadata);
-    metrics.eventSkipped(metadata.getValueType());
+    lastReadPosition = currentEvent.getPosition();
+    currentEvent.readMetadata(skippedRecordMetadata);
+    metrics.eventSkipped(skippedRecordMetadata.getValueType());
     actor.submit(this::readNextEvent);
   }
 
@@ -252,6 +345,7 @@ public final class ExporterDirector extends Actor {
   }
 
   private void exportEvent(final LoggedEvent event) {
+    final long position = event.getPosition();
     final ActorFuture<Boolean> wrapRetryFuture =
         recordWrapStrategy.runWithRetry(
             () -> {
@@ -275,7 +369,8 @@ public final class ExporterDirector extends Actor {
                   LOG.error(ERROR_MESSAGE_EXPORTING_ABORTED, event, throwable);
                   onFailure();
                 } else {
-                  metrics.eventExported(recordExporter.getTypedEvent().getValueType());
+                  metrics.eventExported(recordExporter.getValueType());
+                  lastReadPosition = position;
                   inExportingPhase = false;
                   actor.submit(this::readNextEvent);
                 }
@@ -288,12 +383,9 @@ public final class ExporterDirector extends Actor {
   }
 
   private void clearExporterState() {
-    final List<String> exporterIds =
-        containers.stream().map(ExporterContainer::getId).collect(Collectors.toList());
-
     state.visitPositions(
         (exporterId, position) -> {
-          if (!exporterIds.contains(exporterId)) {
+          if (!configuredExporterIds.contains(exporterId)) {
             state.removePosition(exporterId);
             LOG.info(
                 "The exporter '{}' is not configured anymore. Its lastExportedPosition is removed from the state.",
@@ -308,33 +400,48 @@ public final class ExporterDirector extends Actor {
 
   private static class RecordExporter {
 
-    private final RecordValues recordValues = new RecordValues();
     private final RecordMetadata rawMetadata = new RecordMetadata();
     private final List<ExporterContainer> containers;
-    private final TypedEventImpl typedEvent;
+    private final boolean[] acceptedByContainer;
+    private final RawRecordImpl rawRecord;
     private final ExporterMetrics exporterMetrics;
+    private final ExporterRecordCache recordCache;
 
+    private Record<?> record;
     private boolean shouldExport;
     private int exporterIndex;
 
     RecordExporter(
         final ExporterMetrics exporterMetrics,
         final List<ExporterContainer> containers,
-        final int partitionId) {
+        final int partitionId,
+        final ExporterRecordCache recordCache) {
       this.containers = containers;
-      typedEvent = new TypedEventImpl(partitionId);
+      acceptedByContainer = new boolean[containers.size()];
+      rawRecord = new RawRecordImpl(partitionId);
       this.exporterMetrics = exporterMetrics;
+      this.recordCache = recordCache;
     }
 
     void wrap(final LoggedEvent rawEvent) {
       rawEvent.readMetadata(rawMetadata);
 
-      final UnifiedRecordValue recordValue =
-          recordValues.readRecordValue(rawEvent, rawMetadata.getValueType());
+      shouldExport = EVENT_REGISTRY.containsKey(rawMetadata.getValueType());
+      if (shouldExport) {
+        // the filters are applied to the raw record, so the value is only decoded if an exporter
+        // accepts the record and accesses its value
+        rawRecord.wrap(rawEvent, rawMetadata);
+        shouldExport = applyFilters();
+      }
+
+      if (shouldExport && recordCache != null) {
+        record = recordCache.get(rawEvent, rawMetadata);
+        shouldExport = record != null;
+      } else {
+        record = rawRecord;
+      }
 
-      shouldExport = recordValue != null;
       if (shouldExport) {
-        typedEvent.wrap(rawEvent, rawMetadata, recordValue);
         exporterIndex = 0;
       }
     }
@@ -352,18 +459,20 @@ public final class ExporterDirector extends Actor {
         final ExporterContainer container = containers.get(exporterIndex);
 
         try {
-          if (container.position < typedEvent.getPosition()
-              && container.acceptRecord(rawMetadata)) {
-            container.exporter.export(typedEvent);
+          if (!container.paused
+              && container.position < record.getPosition()
+              && acceptedByContainer[exporterIndex]) {
+            container.exporter.export(record);
+            exporterMetrics.recordExported(container.getId());
           }
 
           exporterIndex++;
-          exporterMetrics.setLastExportedPosition(container.getId(), typedEvent.getPosition());
+          exporterMetrics.setLastExportedPosition(container.getId(), record.getPosition());
         } catch (final Exception ex) {
           container
               .context
               .getLogger()
-              .error("Error on exporting record with key {}", typedEvent.getKey(), ex);
+              .error("Error on exporting record with key {}", record.getKey(), ex);
           return false;
         }
       }
@@ -371,8 +480,19 @@ public final class ExporterDirector extends Actor {
       return true;
     }
 
-    TypedEventImpl getTypedEvent() {
-      return typedEvent;
+    ValueType getValueType() {
+      return rawMetadata.getValueType();
+    }
+
+    private boolean applyFilters() {
+      boolean accepted = false;
+      for (int i = 0; i < acceptedByContainer.length; i++) {
+        final ExporterContainer container = containers.get(i);
+        acceptedByContainer[i] =
+            !container.paused && container.acceptRecord(rawMetadata, rawRecord);
+        accepted |= acceptedByContainer[i];
+      }
+      return accepted;
     }
   }
 
@@ -381,12 +501,15 @@ public final class ExporterDirector extends Actor {
     private final RecordMetadata metadata = new RecordMetadata();
     private final Map<RecordType, Boolean> acceptRecordTypes;
     private final Map<ValueType, Boolean> acceptValueTypes;
+    private final Map<Intent, Boolean> acceptIntents;
 
     ExporterEventFilter(
         final Map<RecordType, Boolean> acceptRecordTypes,
-        final Map<ValueType, Boolean> acceptValueTypes) {
+        final Map<ValueType, Boolean> acceptValueTypes,
+        final Map<Intent, Boolean> acceptIntents) {
       this.acceptRecordTypes = acceptRecordTypes;
       this.acceptValueTypes = acceptValueTypes;
+      this.acceptIntents = acceptIntents;
     }
 
     @Override
@@ -396,7 +519,9 @@ public final class ExporterDirector extends Actor {
       final RecordType recordType = metadata.getRecordType();
       final ValueType valueType = metadata.getValueType();
 
-      return acceptRecordTypes.get(recordType) && acceptValueTypes.get(valueType);
+      return acceptRecordTypes.get(recordType)
+          && acceptValueTypes.get(valueType)
+          && acceptIntents.getOrDefault(metadata.getIntent(), true);
     }
 
     @Override
@@ -406,6 +531,8 @@ public final class ExporterDirector extends Actor {
           + acceptRecordTypes
           + ", acceptValueTypes="
           + acceptValueTypes
+          + ", acceptIntents="
+          + acceptIntents
           + '}';
     }
   }
@@ -414,6 +541,8 @@ public final class ExporterDirector extends Actor {
     private final ExporterContext context;
     private final Exporter exporter;
     private long position;
+    private long lastUpdateTime;
+    private boolean paused;
 
     ExporterContainer(final ExporterDescriptor descriptor) {
       context =
@@ -427,12 +556,26 @@ public final class ExporterDirector extends Actor {
     public void updateLastExportedRecordPosition(final long position) {
       actor.run(
           () -> {
+            if (paused) {
+              // the position of a paused exporter follows the read position of the director
+              return;
+            }
+
             state.setPosition(getId(), position);
             metrics.setLastUpdatedExportedPosition(getId(), position);
             this.position = position;
+            lastUpdateTime = ActorClock.currentTimeMillis();
           });
     }
 
+    private void releasePosition(final long position) {
+      if (position > this.position) {
+        state.setPosition(getId(), position);
+        metrics.setLastUpdatedExportedPosition(getId(), position);
+        this.position = position;
+      }
+    }
+
     @Override
     public void scheduleTask(final Duration delay, final Runnable task) {
       actor.runDelayed(delay, task);
@@ -442,10 +585,12 @@ public final class ExporterDirector extends Actor {
       return context.getConfiguration().getId();
     }
 
-    private boolean acceptRecord(final RecordMetadata metadata) {
+    private boolean acceptRecord(final RecordMetadata metadata, final RawRecordImpl record) {
       final Context.RecordFilter filter = context.getFilter();
       return filter.acceptType(metadata.getRecordType())
-          && filter.acceptValue(metadata.getValueType());
+          && filter.acceptValue(metadata.getValueType())
+          && filter.acceptIntent(metadata.getIntent())
+          && filter.acceptRecord(record);
     }
   }
 }
@@ -19,6 +19,10 @@ public final class ExporterDirectorContext {
   private LogStream logStream;
   private Collection<ExporterDescriptor> descriptors;
   private ZeebeDb zeebeDb;
+  private Collection<String> configuredExporterIds;
+  private ExporterRecordCache recordCache;
+  private long maxLag;
+  private ExporterHealthListener healthListener;
 
   public int getId() {
     return id;
@@ -40,6 +44,29 @@ public final class ExporterDirectorContext {
     return zeebeDb;
   }
 
+  /**
+   * @return the ids of all exporters configured for the partition, which may be more than the
+   *     exporters of this director
+   */
+  public Collection<String> getConfiguredExporterIds() {
+    return configuredExporterIds;
+  }
+
+  /** @return the cache of decoded records shared with other directors, or {@code null} */
+  public ExporterRecordCache getRecordCache() {
+    return recordCache;
+  }
+
+  /** @return the number of positions an exporter may lag behind before it is paused, or 0 */
+  public long getMaxLag() {
+    return maxLag;
+  }
+
+  /** @return the listener which is notified when an exporter is paused, or {@code null} */
+  public ExporterHealthListener getHealthListener() {
+    return healthListener;
+  }
+
   public ExporterDirectorContext id(final int id) {
     this.id = id;
     return this;
@@ -64,4 +91,25 @@ public final class ExporterDirectorContext {
     this.zeebeDb = zeebeDb;
     return this;
   }
+
+  public ExporterDirectorContext configuredExporterIds(
+      final Collection<String> configuredExporterIds) {
+    this.configuredExporterIds = configuredExporterIds;
+    return this;
+  }
+
+  public ExporterDirectorContext recordCache(final ExporterRecordCache recordCache) {
+    this.recordCache = recordCache;
+    return this;
+  }
+
+  public ExporterDirectorContext maxLag(final long maxLag) {
+    this.maxLag = maxLag;
+    return this;
+  }
+
+  public ExporterDirectorContext healthListener(final ExporterHealthListener healthListener) {
+    this.healthListener = healthListener;
+    return this;
+  }
 }
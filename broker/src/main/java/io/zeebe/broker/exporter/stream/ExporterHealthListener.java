@@ -0,0 +1,30 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.broker.exporter.stream;
+
+/** Is notified by the {@link ExporterDirector} when an exporter is paused because of its lag. */
+public interface ExporterHealthListener {
+
+  /**
+   * Is called when the exporter lagged too far behind the commit position and is paused. A paused
+   * exporter doesn't receive records anymore until the exporter director is restarted.
+   *
+   * @param partitionId the partition of the exporter
+   * @param exporterId the id of the exporter
+   */
+  void onExporterDegraded(int partitionId, String exporterId);
+
+  /**
+   * Is called when the director of a paused exporter is closed, e.g. because the partition becomes
+   * follower. The exporter is not paused when the director is opened again.
+   *
+   * @param partitionId the partition of the exporter
+   * @param exporterId the id of the exporter
+   */
+  void onExporterRecovered(int partitionId, String exporterId);
+}
@@ -37,6 +37,47 @@ public final class ExporterMetrics {
           .labelNames("exporter", "partition")
           .register();
 
+  private static final Counter RECORD_CACHE =
+      Counter.build()
+          .namespace("zeebe")
+          .name("exporter_record_cache_total")
+          .help("Number of lookups in the record cache shared by the exporters of a partition")
+          .labelNames("result", "partition")
+          .register();
+
+  private static final Counter EXPORTED_RECORDS =
+      Counter.build()
+          .namespace("zeebe")
+          .name("exporter_exported_records_total")
+          .help("Number of records which were passed to the exporter")
+          .labelNames("exporter", "partition")
+          .register();
+
+  private static final Gauge EXPORTER_LAG =
+      Gauge.build()
+          .namespace("zeebe")
+          .name("exporter_lag")
+          .help(
+              "Number of positions the last updated exported position of the exporter is behind the commit position.")
+          .labelNames("exporter", "partition")
+          .register();
+
+  private static final Gauge TIME_SINCE_LAST_UPDATE =
+      Gauge.build()
+          .namespace("zeebe")
+          .name("exporter_time_since_last_update")
+          .help("Time since the exporter updated its exported position in seconds")
+          .labelNames("exporter", "partition")
+          .register();
+
+  private static final Gauge EXPORTER_PAUSED =
+      Gauge.build()
+          .namespace("zeebe")
+          .name("exporter_paused")
+          .help("Is 1 if the exporter is paused because it lagged too far behind, otherwise 0")
+          .labelNames("exporter", "partition")
+          .register();
+
   private final String partitionIdLabel;
 
   public ExporterMetrics(final int partitionId) {
@@ -55,6 +96,14 @@ public final class ExporterMetrics {
     event("skipped", valueType);
   }
 
+  public void recordCacheHit() {
+    RECORD_CACHE.labels("hit", partitionIdLabel).inc();
+  }
+
+  public void recordCacheMiss() {
+    RECORD_CACHE.labels("miss", partitionIdLabel).inc();
+  }
+
   public void setLastUpdatedExportedPosition(final String exporter, final long position) {
     LAST_UPDATED_EXPORTED_POSITION.labels(exporter, partitionIdLabel).set(position);
   }
@@ -62,4 +111,20 @@ public final class ExporterMetrics {
   public void setLastExportedPosition(final String exporter, final long position) {
     LAST_EXPORTED_POSITION.labels(exporter, partitionIdLabel).set(position);
   }
+
+  public void recordExported(final String exporter) {
+    EXPORTED_RECORDS.labels(exporter, partitionIdLabel).inc();
+  }
+
+  public void setExporterLag(final String exporter, final long lag) {
+    EXPORTER_LAG.labels(exporter, partitionIdLabel).set(lag);
+  }
+
+  public void setTimeSinceLastUpdate(final String exporter, final long millis) {
+    TIME_SINCE_LAST_UPDATE.labels(exporter, partitionIdLabel).set(millis / 1000f);
+  }
+
+  public void setExporterPaused(final String exporter, final boolean paused) {
+    EXPORTER_PAUSED.labels(exporter, partitionIdLabel).set(paused ? 1 : 0);
+  }
 }
@@ -0,0 +1,104 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.broker.exporter.stream;
+
+import static io.zeebe.engine.processing.streamprocessor.TypedEventRegistry.EVENT_REGISTRY;
+
+import io.zeebe.logstreams.log.LoggedEvent;
+import io.zeebe.protocol.impl.record.CopiedRecord;
+import io.zeebe.protocol.impl.record.RecordMetadata;
+import io.zeebe.protocol.impl.record.UnifiedRecordValue;
+import io.zeebe.util.ReflectUtil;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.agrona.BitUtil;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Bounded cache of the copied records, shared by the exporter directors of one partition when
+ * every exporter runs on its own actor. The first director which reads a record copies its bytes,
+ * the other directors get the cached bytes as long as they are less than the capacity behind.
+ *
+ * <p>The records are stored in a ring indexed by their position, so a record is evicted when a
+ * record with a position that maps to the same slot is read. Only the immutable bytes are shared
+ * between threads; each call decodes them into a new record, since the decoded records and values
+ * keep state while they are read and written.
+ */
+public final class ExporterRecordCache {
+
+  private final AtomicReferenceArray<CachedRecord> records;
+  private final int mask;
+  private final int partitionId;
+  private final ExporterMetrics metrics;
+
+  public ExporterRecordCache(final int partitionId, final int capacity) {
+    final int size = BitUtil.findNextPositivePowerOfTwo(capacity);
+    records = new AtomicReferenceArray<>(size);
+    mask = size - 1;
+    this.partitionId = partitionId;
+    metrics = new ExporterMetrics(partitionId);
+  }
+
+  /**
+   * @return a new record which is decoded from the cached bytes of the given event, or {@code
+   *     null} if the value type of the event is not known
+   */
+  public CopiedRecord<?> get(final LoggedEvent event, final RecordMetadata metadata) {
+    final long position = event.getPosition();
+    final int index = (int) (position & mask);
+
+    final CachedRecord cached = records.get(index);
+    if (cached != null && cached.position == position) {
+      metrics.recordCacheHit();
+      return cached.decode(partitionId);
+    }
+
+    if (!EVENT_REGISTRY.containsKey(metadata.getValueType())) {
+      return null;
+    }
+
+    metrics.recordCacheMiss();
+    final CachedRecord record = new CachedRecord(event);
+    records.set(index, record);
+    return record.decode(partitionId);
+  }
+
+  private static final class CachedRecord {
+    private final long position;
+    private final long key;
+    private final long sourceEventPosition;
+    private final long timestamp;
+    private final byte[] metadataBytes;
+    private final byte[] valueBytes;
+
+    private CachedRecord(final LoggedEvent event) {
+      position = event.getPosition();
+      key = event.getKey();
+      sourceEventPosition = event.getSourceEventPosition();
+      timestamp = event.getTimestamp();
+
+      final DirectBuffer buffer = event.getValueBuffer();
+      metadataBytes = new byte[event.getMetadataLength()];
+      buffer.getBytes(event.getMetadataOffset(), metadataBytes);
+      valueBytes = new byte[event.getValueLength()];
+      buffer.getBytes(event.getValueOffset(), valueBytes);
+    }
+
+    private CopiedRecord<?> decode(final int partitionId) {
+      final RecordMetadata metadata = new RecordMetadata();
+      metadata.wrap(new UnsafeBuffer(metadataBytes), 0, metadataBytes.length);
+
+      final UnifiedRecordValue value =
+          ReflectUtil.newInstance(EVENT_REGISTRY.get(metadata.getValueType()));
+      value.wrap(new UnsafeBuffer(valueBytes));
+
+      return new CopiedRecord<>(
+          value, metadata, key, partitionId, position, sourceEventPosition, timestamp);
+    }
+  }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.broker.exporter.stream;
+
+import static io.zeebe.engine.processing.streamprocessor.TypedEventRegistry.EVENT_REGISTRY;
+
+import io.zeebe.engine.processing.streamprocessor.RecordValues;
+import io.zeebe.exporter.api.RawRecord;
+import io.zeebe.logstreams.log.LoggedEvent;
+import io.zeebe.protocol.impl.encoding.MsgPackConverter;
+import io.zeebe.protocol.impl.record.RecordMetadata;
+import io.zeebe.protocol.impl.record.UnifiedRecordValue;
+import io.zeebe.protocol.record.RecordType;
+import io.zeebe.protocol.record.RejectionType;
+import io.zeebe.protocol.record.ValueType;
+import io.zeebe.protocol.record.intent.Intent;
+import io.zeebe.util.ReflectUtil;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * A record which is a view of a logged event. The metadata and value buffers are slices of the
+ * event, and the value is only decoded on the first call of {@link #getValue()}.
+ *
+ * <p>A clone copies the metadata and the value into a single new buffer and decodes its value
+ * eagerly, so that it can be shared between threads like any other cloned record.
+ */
+final class RawRecordImpl implements RawRecord<UnifiedRecordValue> {
+
+  private final int partitionId;
+  private final RecordValues recordValues;
+  private final UnsafeBuffer metadataBuffer = new UnsafeBuffer(0, 0);
+  private final UnsafeBuffer valueBuffer = new UnsafeBuffer(0, 0);
+
+  private RecordMetadata metadata;
+  private LoggedEvent event;
+  private long key;
+  private long position;
+  private long sourceRecordPosition;
+  private long timestamp;
+
+  private UnifiedRecordValue value;
+  private boolean isValueRead;
+
+  RawRecordImpl(final int partitionId) {
+    this.partitionId = partitionId;
+    // exported records were validated when they were written, so they can be decoded lazily
+    recordValues = new RecordValues(true);
+  }
+
+  private RawRecordImpl(final RawRecordImpl record) {
+    partitionId = record.partitionId;
+    recordValues = null;
+
+    final int metadataLength = record.metadataBuffer.capacity();
+    final int valueLength = record.valueBuffer.capacity();
+    final byte[] bytes = new byte[metadataLength + valueLength];
+    record.metadataBuffer.getBytes(0, bytes, 0, metadataLength);
+    record.valueBuffer.getBytes(0, bytes, metadataLength, valueLength);
+
+    metadataBuffer.wrap(bytes, 0, metadataLength);
+    valueBuffer.wrap(bytes, metadataLength, valueLength);
+
+    metadata = new RecordMetadata();
+    metadata.wrap(metadataBuffer, 0, metadataLength);
+
+    key = record.key;
+    position = record.position;
+    sourceRecordPosition = record.sourceRecordPosition;
+    timestamp = record.timestamp;
+
+    value = ReflectUtil.newInstance(EVENT_REGISTRY.get(metadata.getValueType()));
+    value.wrap(valueBuffer);
+    isValueRead = true;
+  }
+
+  /**
+   * Wraps the given event without decoding its value.
+   *
+   * @param event the event to wrap
+   * @param metadata the metadata which was read from the event; it is used as long as the event is
+   *     wrapped
+   */
+  void wrap(final LoggedEvent event, final RecordMetadata metadata) {
+    this.event = event;
+    this.metadata = metadata;
+
+    final DirectBuffer buffer = event.getValueBuffer();
+    metadataBuffer.wrap(buffer, event.getMetadataOffset(), event.getMetadataLength());
+    valueBuffer.wrap(buffer, event.getValueOffset(), event.getValueLength());
+
+    key = event.getKey();
+    position = event.getPosition();
+    sourceRecordPosition = event.getSourceEventPosition();
+    timestamp = event.getTimestamp();
+
+    value = null;
+    isValueRead = false;
+  }
+
+  @Override
+  public DirectBuffer getMetadataBuffer() {
+    return metadataBuffer;
+  }
+
+  @Override
+  public DirectBuffer getValueBuffer() {
+    return valueBuffer;
+  }
+
+  @Override
+  public long getPosition() {
+    return position;
+  }
+
+  @Override
+  public long getSourceRecordPosition() {
+    return sourceRecordPosition;
+  }
+
+  @Override
+  public long getKey() {
+    return key;
+  }
+
+  @Override
+  public long getTimestamp() {
+    return timestamp;
+  }
+
+  @Override
+  public Intent getIntent() {
+    return metadata.getIntent();
+  }
+
+  @Override
+  public int getPartitionId() {
+    return partitionId;
+  }
+
+  @Override
+  public RecordType getRecordType() {
+    return metadata.getRecordType();
+  }
+
+  @Override
+  public RejectionType getRejectionType() {
+    return metadata.getRejectionType();
+  }
+
+  @Override
+  public String getRejectionReason() {
+    return metadata.getRejectionReason();
+  }
+
+  @Override
+  public ValueType getValueType() {
+    return metadata.getValueType();
+  }
+
+  @Override
+  public UnifiedRecordValue getValue() {
+    if (!isValueRead) {
+      value = readValue();
+      isValueRead = true;
+    }
+
+    return value;
+  }
+
+  private UnifiedRecordValue readValue() {
+    // reuse the value instances of the exporter; a clone decodes its value eagerly
+    return recordValues.readRecordValue(event, metadata.getValueType());
+  }
+
+  @Override
+  public String toJson() {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    try {
+      writeJson(output);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    return output.toString(StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public void writeJson(final OutputStream output) throws IOException {
+    MsgPackConverter.writeRecordJson(this, output);
+  }
+
+  @Override
+  public RawRecordImpl clone() {
+    return new RawRecordImpl(this);
+  }
+
+  @Override
+  public String toString() {
+    return "RawRecordImpl{"
+        + "position="
+        + position
+        + ", key="
+        + key
+        + ", metadata="
+        + metadata
+        + '}';
+  }
+}
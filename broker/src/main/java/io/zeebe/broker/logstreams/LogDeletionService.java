@@ -12,12 +12,20 @@ import io.zeebe.snapshots.raft.PersistedSnapshot;
 import io.zeebe.snapshots.raft.PersistedSnapshotListener;
 import io.zeebe.snapshots.raft.PersistedSnapshotStore;
 import io.zeebe.util.sched.Actor;
+import io.zeebe.util.sched.future.ActorFuture;
+import io.zeebe.util.sched.future.CompletableActorFuture;
 
 public final class LogDeletionService extends Actor implements PersistedSnapshotListener {
+  private static final long NO_COMPACTION_BOUND = -1L;
+
   private final LogCompactor logCompactor;
   private final String actorName;
+  private final int partitionId;
   private final PersistedSnapshotStore persistedSnapshotStore;
 
+  private boolean isCompacting;
+  private long pendingCompactionBound = NO_COMPACTION_BOUND;
+
   public LogDeletionService(
       final int nodeId,
       final int partitionId,
@@ -25,6 +33,7 @@ public final class LogDeletionService extends Actor implements PersistedSnapshot
       final PersistedSnapshotStore persistedSnapshotStore) {
     this.persistedSnapshotStore = persistedSnapshotStore;
     this.logCompactor = logCompactor;
+    this.partitionId = partitionId;
     actorName = buildActorName(nodeId, "DeletionService-" + partitionId);
   }
 
@@ -33,6 +42,11 @@ public final class LogDeletionService extends Actor implements PersistedSnapshot
     return actorName;
   }
 
+  @Override
+  public int getAffinityKey() {
+    return partitionId;
+  }
+
   @Override
   protected void onActorStarting() {
     persistedSnapshotStore.addSnapshotListener(this);
@@ -52,18 +66,48 @@ public final class LogDeletionService extends Actor implements PersistedSnapshot
 
   private void delegateDeletion(final PersistedSnapshot persistedSnapshot) {
     final var compactionBound = persistedSnapshot.getCompactionBound();
+    if (isCompacting) {
+      // only one compaction runs at a time, the newest bound is compacted after it
+      pendingCompactionBound = Math.max(pendingCompactionBound, compactionBound);
+    } else {
+      compactLog(compactionBound);
+    }
+  }
+
+  private void compactLog(final long compactionBound) {
+    isCompacting = true;
+
+    final ActorFuture<Void> compaction = new CompletableActorFuture<>();
     logCompactor
         .compactLog(compactionBound)
-        .exceptionally(error -> logCompactionError(compactionBound, error))
-        .join();
+        .whenComplete(
+            (nothing, error) -> {
+              if (error != null) {
+                compaction.completeExceptionally(error);
+              } else {
+                compaction.complete(nothing);
+              }
+            });
+
+    actor.runOnCompletion(
+        compaction, (nothing, error) -> onCompactionCompleted(compactionBound, error));
   }
 
-  private Void logCompactionError(final long compactionBound, final Throwable error) {
+  private void onCompactionCompleted(final long compactionBound, final Throwable error) {
+    isCompacting = false;
+    logCompactionError(compactionBound, error);
+
+    if (pendingCompactionBound != NO_COMPACTION_BOUND) {
+      final long nextCompactionBound = pendingCompactionBound;
+      pendingCompactionBound = NO_COMPACTION_BOUND;
+      compactLog(nextCompactionBound);
+    }
+  }
+
+  private void logCompactionError(final long compactionBound, final Throwable error) {
     if (error != null) {
       Loggers.DELETION_SERVICE.error(
           "Failed to compact Atomix log up to index {}", compactionBound, error);
     }
-
-    return null;
   }
 }
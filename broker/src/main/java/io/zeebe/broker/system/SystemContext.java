@@ -130,6 +130,9 @@ public final class SystemContext {
         .setActorClock(clock)
         .setCpuBoundActorThreadCount(cpuThreads)
         .setIoBoundActorThreadCount(ioThreads)
+        .setActorPlacementPolicy(cfg.getActorPlacement())
+        .setActorMetricsEnabled(cfg.isActorMetricsEnabled())
+        .setAdaptivePrioritySchedulingEnabled(cfg.isAdaptivePrioritySchedulingEnabled())
         .setSchedulerName(brokerId)
         .build();
   }
@@ -34,6 +34,8 @@ public final class BrokerCfg {
   private Map<String, ExporterCfg> exporters = new HashMap<>();
   private EmbeddedGatewayCfg gateway = new EmbeddedGatewayCfg();
   private BackpressureCfg backpressure = new BackpressureCfg();
+  private ProcessingCfg processing = new ProcessingCfg();
+  private ExportingCfg exporting = new ExportingCfg();
 
   private Duration stepTimeout = Duration.ofMinutes(5);
   private boolean executionMetricsExporterEnabled;
@@ -56,6 +58,8 @@ public final class BrokerCfg {
     exporters.values().forEach(e -> e.init(this, brokerBase));
     gateway.init(this, brokerBase);
     backpressure.init(this, brokerBase);
+    processing.init(this, brokerBase);
+    exporting.init(this, brokerBase);
   }
 
   private void applyEnvironment(final Environment environment) {
@@ -126,6 +130,24 @@ public final class BrokerCfg {
     return this;
   }
 
+  public ProcessingCfg getProcessing() {
+    return processing;
+  }
+
+  public BrokerCfg setProcessing(final ProcessingCfg processing) {
+    this.processing = processing;
+    return this;
+  }
+
+  public ExportingCfg getExporting() {
+    return exporting;
+  }
+
+  public BrokerCfg setExporting(final ExportingCfg exporting) {
+    this.exporting = exporting;
+    return this;
+  }
+
   public Duration getStepTimeout() {
     return stepTimeout;
   }
@@ -159,6 +181,10 @@ public final class BrokerCfg {
         + gateway
         + ", backpressure="
         + backpressure
+        + ", processing="
+        + processing
+        + ", exporting="
+        + exporting
         + ", stepTimeout="
         + stepTimeout
         + ", executionMetricsExporter="
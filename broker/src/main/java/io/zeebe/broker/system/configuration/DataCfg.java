@@ -31,6 +31,7 @@ public final class DataCfg implements ConfigurationEntry {
   private static final double DEFAULT_DISK_USAGE_COMMAND_WATERMARK = 0.97;
   private static final Duration DEFAULT_DISK_USAGE_MONITORING_DELAY = Duration.ofSeconds(1);
   private static final double DISABLED_DISK_USAGE_WATERMARK = 1.0;
+  private static final Duration DEFAULT_WRITE_BUFFER_AUTO_SIZING = Duration.ZERO;
 
   // Hint: do not use Collections.singletonList as this does not support replaceAll
   private List<String> directories = Arrays.asList(DEFAULT_DIRECTORY);
@@ -47,6 +48,8 @@ public final class DataCfg implements ConfigurationEntry {
   private double diskUsageCommandWatermark = DEFAULT_DISK_USAGE_COMMAND_WATERMARK;
   private Duration diskUsageMonitoringInterval = DEFAULT_DISK_USAGE_MONITORING_DELAY;
 
+  private Duration writeBufferAutoSizing = DEFAULT_WRITE_BUFFER_AUTO_SIZING;
+
   @Override
   public void init(final BrokerCfg globalConfig, final String brokerBase) {
     directories.replaceAll(d -> ConfigurationUtil.toAbsolutePath(d, brokerBase));
@@ -57,6 +60,13 @@ public final class DataCfg implements ConfigurationEntry {
       diskUsageReplicationWatermark = DISABLED_DISK_USAGE_WATERMARK;
       diskUsageCommandWatermark = DISABLED_DISK_USAGE_WATERMARK;
     }
+
+    if (writeBufferAutoSizing.isNegative()) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Expected writeBufferAutoSizing to be zero or positive, but was %s",
+              writeBufferAutoSizing));
+    }
   }
 
   public List<String> getDirectories() {
@@ -149,6 +159,14 @@ public final class DataCfg implements ConfigurationEntry {
     this.diskUsageMonitoringInterval = diskUsageMonitoringInterval;
   }
 
+  public Duration getWriteBufferAutoSizing() {
+    return writeBufferAutoSizing;
+  }
+
+  public void setWriteBufferAutoSizing(final Duration writeBufferAutoSizing) {
+    this.writeBufferAutoSizing = writeBufferAutoSizing;
+  }
+
   @Override
   public String toString() {
     return "DataCfg{"
@@ -170,6 +188,8 @@ public final class DataCfg implements ConfigurationEntry {
         + diskUsageCommandWatermark
         + ", diskUsageMonitoringInterval="
         + diskUsageMonitoringInterval
+        + ", writeBufferAutoSizing="
+        + writeBufferAutoSizing
         + '}';
   }
 }
@@ -26,6 +26,9 @@ public final class EmbeddedGatewayCfg extends GatewayCfg implements Configuratio
     getCluster()
         .setContactPoint(SocketUtil.toHostAndPortString(networkCfg.getInternalApi().getAddress()));
 
+    // ensure embedded gateway uses the same transport as the brokers' command API
+    getCluster().setCommandTransport(networkCfg.getCommandApi().getTransport().name());
+
     // configure embedded gateway based on broker config
     getNetwork().setPort(getNetwork().getPort() + (networkCfg.getPortOffset() * 10));
   }
@@ -0,0 +1,76 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.broker.system.configuration;
+
+public final class ExportingCfg implements ConfigurationEntry {
+
+  private ExecutionMode mode = ExecutionMode.SHARED;
+  private int recordCacheSize = 1024;
+  private long maxLag = 0;
+
+  @Override
+  public void init(final BrokerCfg globalConfig, final String brokerBase) {
+    if (recordCacheSize < 1) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Expected recordCacheSize to be greater than 0, but was %d", recordCacheSize));
+    }
+
+    if (maxLag < 0) {
+      throw new IllegalArgumentException(
+          String.format("Expected maxLag to be greater than or equal to 0, but was %d", maxLag));
+    }
+  }
+
+  public ExecutionMode getMode() {
+    return mode;
+  }
+
+  public void setMode(final String mode) {
+    this.mode = ExecutionMode.valueOf(mode.toUpperCase());
+  }
+
+  public int getRecordCacheSize() {
+    return recordCacheSize;
+  }
+
+  public void setRecordCacheSize(final int recordCacheSize) {
+    this.recordCacheSize = recordCacheSize;
+  }
+
+  public long getMaxLag() {
+    return maxLag;
+  }
+
+  public void setMaxLag(final long maxLag) {
+    this.maxLag = maxLag;
+  }
+
+  public boolean isMaxLagEnabled() {
+    return maxLag > 0;
+  }
+
+  @Override
+  public String toString() {
+    return "ExportingCfg{"
+        + "mode="
+        + mode
+        + ", recordCacheSize="
+        + recordCacheSize
+        + ", maxLag="
+        + maxLag
+        + '}';
+  }
+
+  public enum ExecutionMode {
+    /** all exporters of a partition are invoked one after another on the same actor */
+    SHARED,
+    /** every exporter of a partition has its own actor, log stream reader and position */
+    ISOLATED
+  }
+}
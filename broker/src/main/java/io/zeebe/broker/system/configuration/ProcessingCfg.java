@@ -0,0 +1,42 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.broker.system.configuration;
+
+import io.zeebe.engine.processing.message.MessageObserver;
+
+public final class ProcessingCfg implements ConfigurationEntry {
+
+  private int maxMessageExpirationsPerCheck =
+      MessageObserver.DEFAULT_MAX_MESSAGE_EXPIRATIONS_PER_CHECK;
+
+  @Override
+  public void init(final BrokerCfg globalConfig, final String brokerBase) {
+    if (maxMessageExpirationsPerCheck < 1) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Expected maxMessageExpirationsPerCheck to be greater than 0, but was %d",
+              maxMessageExpirationsPerCheck));
+    }
+  }
+
+  public int getMaxMessageExpirationsPerCheck() {
+    return maxMessageExpirationsPerCheck;
+  }
+
+  public void setMaxMessageExpirationsPerCheck(final int maxMessageExpirationsPerCheck) {
+    this.maxMessageExpirationsPerCheck = maxMessageExpirationsPerCheck;
+  }
+
+  @Override
+  public String toString() {
+    return "ProcessingCfg{"
+        + "maxMessageExpirationsPerCheck="
+        + maxMessageExpirationsPerCheck
+        + '}';
+  }
+}
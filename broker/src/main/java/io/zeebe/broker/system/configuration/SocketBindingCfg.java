@@ -7,6 +7,7 @@
  */
 package io.zeebe.broker.system.configuration;
 
+import io.zeebe.transport.TransportType;
 import java.net.InetSocketAddress;
 import java.util.Optional;
 
@@ -90,9 +91,24 @@ public class SocketBindingCfg {
   }
 
   public static class CommandApiCfg extends SocketBindingCfg {
+    private TransportType transport = TransportType.ATOMIX;
+
     public CommandApiCfg() {
       super(NetworkCfg.DEFAULT_COMMAND_API_PORT);
     }
+
+    public TransportType getTransport() {
+      return transport;
+    }
+
+    public void setTransport(final String transport) {
+      this.transport = TransportType.valueOf(transport.toUpperCase());
+    }
+
+    @Override
+    public String toString() {
+      return "CommandApiCfg{" + "transport=" + transport + ", " + super.toString() + "}";
+    }
   }
 
   public static class InternalApiCfg extends SocketBindingCfg {
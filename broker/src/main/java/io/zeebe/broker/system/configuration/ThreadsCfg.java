@@ -7,9 +7,14 @@
  */
 package io.zeebe.broker.system.configuration;
 
+import io.zeebe.util.sched.ActorPlacementPolicy;
+
 public final class ThreadsCfg implements ConfigurationEntry {
   private int cpuThreadCount = 2;
   private int ioThreadCount = 2;
+  private ActorPlacementPolicy actorPlacement = ActorPlacementPolicy.WORK_STEALING;
+  private boolean actorMetricsEnabled = false;
+  private boolean adaptivePrioritySchedulingEnabled = false;
 
   public int getCpuThreadCount() {
     return cpuThreadCount;
@@ -27,6 +32,31 @@ public final class ThreadsCfg implements ConfigurationEntry {
     ioThreadCount = ioThreads;
   }
 
+  public ActorPlacementPolicy getActorPlacement() {
+    return actorPlacement;
+  }
+
+  public void setActorPlacement(final String actorPlacement) {
+    this.actorPlacement = ActorPlacementPolicy.valueOf(actorPlacement.toUpperCase());
+  }
+
+  public boolean isActorMetricsEnabled() {
+    return actorMetricsEnabled;
+  }
+
+  public void setActorMetricsEnabled(final boolean actorMetricsEnabled) {
+    this.actorMetricsEnabled = actorMetricsEnabled;
+  }
+
+  public boolean isAdaptivePrioritySchedulingEnabled() {
+    return adaptivePrioritySchedulingEnabled;
+  }
+
+  public void setAdaptivePrioritySchedulingEnabled(
+      final boolean adaptivePrioritySchedulingEnabled) {
+    this.adaptivePrioritySchedulingEnabled = adaptivePrioritySchedulingEnabled;
+  }
+
   @Override
   public String toString() {
     return "ThreadsCfg{"
@@ -34,6 +64,12 @@ public final class ThreadsCfg implements ConfigurationEntry {
         + cpuThreadCount
         + ", ioThreadCount="
         + ioThreadCount
+        + ", actorPlacement="
+        + actorPlacement
+        + ", actorMetricsEnabled="
+        + actorMetricsEnabled
+        + ", adaptivePrioritySchedulingEnabled="
+        + adaptivePrioritySchedulingEnabled
         + '}';
   }
 }
@@ -14,6 +14,7 @@ import io.atomix.core.Atomix;
 import io.atomix.raft.partition.RaftPartitionGroup;
 import io.zeebe.broker.Loggers;
 import io.zeebe.broker.PartitionListener;
+import io.zeebe.broker.exporter.stream.ExporterHealthListener;
 import io.zeebe.logstreams.log.LogStream;
 import io.zeebe.protocol.impl.encoding.BrokerInfo;
 import io.zeebe.util.health.CriticalComponentsHealthMonitor;
@@ -23,6 +24,8 @@ import io.zeebe.util.health.HealthStatus;
 import io.zeebe.util.sched.Actor;
 import io.zeebe.util.sched.future.ActorFuture;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
@@ -82,9 +85,11 @@ import org.slf4j.Logger;
  *
  * https://textik.com/#cb084adedb02d970
  */
-public final class BrokerHealthCheckService extends Actor implements PartitionListener {
+public final class BrokerHealthCheckService extends Actor
+    implements PartitionListener, ExporterHealthListener {
 
   private static final String PARTITION_COMPONENT_NAME_FORMAT = "Partition-%d";
+  private static final String EXPORTER_COMPONENT_NAME_FORMAT = "Partition-%d-Exporter-%s";
   private static final Logger LOG = Loggers.SYSTEM_LOGGER;
   private final Atomix atomix;
   private final String actorName;
@@ -93,6 +98,9 @@ public final class BrokerHealthCheckService extends Actor implements PartitionLi
   changed. */
   private volatile boolean brokerStarted = false;
   private final HealthMonitor healthMonitor;
+  // exporters which are paused; they don't affect the health of the broker, since the partitions
+  // make progress without them
+  private final Set<String> degradedExporters = ConcurrentHashMap.newKeySet();
 
   public BrokerHealthCheckService(final BrokerInfo localBroker, final Atomix atomix) {
     this.atomix = atomix;
@@ -176,6 +184,34 @@ public final class BrokerHealthCheckService extends Actor implements PartitionLi
     registerComponent(componentName, partition);
   }
 
+  @Override
+  public void onExporterDegraded(final int partitionId, final String exporterId) {
+    final String componentName =
+        String.format(EXPORTER_COMPONENT_NAME_FORMAT, partitionId, exporterId);
+    if (degradedExporters.add(componentName)) {
+      LOG.warn("{} is degraded, it lags too far behind and is paused", componentName);
+    }
+  }
+
+  @Override
+  public void onExporterRecovered(final int partitionId, final String exporterId) {
+    final String componentName =
+        String.format(EXPORTER_COMPONENT_NAME_FORMAT, partitionId, exporterId);
+    if (degradedExporters.remove(componentName)) {
+      LOG.info("{} is not degraded anymore", componentName);
+    }
+  }
+
+  /** @return {@code true} if an exporter of any partition is paused because of its lag */
+  public boolean isBrokerDegraded() {
+    return !degradedExporters.isEmpty();
+  }
+
+  /** @return the names of the paused exporters, e.g. {@code Partition-1-Exporter-elasticsearch} */
+  public Set<String> getDegradedExporters() {
+    return Set.copyOf(degradedExporters);
+  }
+
   public boolean isBrokerHealthy() {
     return !actor.isClosed() && getBrokerHealth() == HealthStatus.HEALTHY;
   }
@@ -17,16 +17,21 @@ import io.atomix.storage.journal.JournalReader.Mode;
 import io.zeebe.broker.Loggers;
 import io.zeebe.broker.PartitionListener;
 import io.zeebe.broker.exporter.jar.ExporterJarLoadException;
+import io.zeebe.broker.exporter.repo.ExporterDescriptor;
 import io.zeebe.broker.exporter.repo.ExporterLoadException;
 import io.zeebe.broker.exporter.repo.ExporterRepository;
 import io.zeebe.broker.exporter.stream.ExporterDirector;
 import io.zeebe.broker.exporter.stream.ExporterDirectorContext;
+import io.zeebe.broker.exporter.stream.ExporterHealthListener;
+import io.zeebe.broker.exporter.stream.ExporterRecordCache;
 import io.zeebe.broker.logstreams.AtomixLogCompactor;
 import io.zeebe.broker.logstreams.LogCompactor;
 import io.zeebe.broker.logstreams.LogDeletionService;
 import io.zeebe.broker.logstreams.state.StatePositionSupplier;
 import io.zeebe.broker.system.configuration.BrokerCfg;
 import io.zeebe.broker.system.configuration.DataCfg;
+import io.zeebe.broker.system.configuration.ExportingCfg;
+import io.zeebe.broker.system.configuration.ExportingCfg.ExecutionMode;
 import io.zeebe.broker.system.monitoring.DiskSpaceUsageListener;
 import io.zeebe.broker.system.monitoring.HealthMetrics;
 import io.zeebe.broker.system.partitions.impl.AsyncSnapshotDirector;
@@ -52,6 +57,7 @@ import io.zeebe.util.health.HealthMonitorable;
 import io.zeebe.util.health.HealthStatus;
 import io.zeebe.util.sched.Actor;
 import io.zeebe.util.sched.ActorControl;
+import io.zeebe.util.sched.ActorPriority;
 import io.zeebe.util.sched.ActorScheduler;
 import io.zeebe.util.sched.AsyncClosable;
 import io.zeebe.util.sched.future.ActorFuture;
@@ -80,6 +86,7 @@ public final class ZeebePartition extends Actor
   private final ActorScheduler scheduler;
   private final SnapshotStoreSupplier snapshotStoreSupplier;
   private final TypedRecordProcessorsFactory typedRecordProcessorsFactory;
+  private final ExporterHealthListener exporterHealthListener;
   private final CommandApiService commandApiService;
   private final List<PartitionListener> partitionListeners;
   private final List<ClosingStep> closingSteps = new ArrayList<>();
@@ -115,13 +122,15 @@ public final class ZeebePartition extends Actor
       final CommandApiService commandApiService,
       final ZeebeIndexMapping zeebeIndexMapping,
       final SnapshotStoreSupplier snapshotStoreSupplier,
-      final TypedRecordProcessorsFactory typedRecordProcessorsFactory) {
+      final TypedRecordProcessorsFactory typedRecordProcessorsFactory,
+      final ExporterHealthListener exporterHealthListener) {
     this.localBroker = localBroker;
     this.atomixRaftPartition = atomixRaftPartition;
     this.messagingService = messagingService;
     this.brokerCfg = brokerCfg;
     this.snapshotStoreSupplier = snapshotStoreSupplier;
     this.typedRecordProcessorsFactory = typedRecordProcessorsFactory;
+    this.exporterHealthListener = exporterHealthListener;
     this.commandApiService = commandApiService;
     this.partitionListeners = Collections.unmodifiableList(partitionListeners);
     partitionId = atomixRaftPartition.id().id();
@@ -544,25 +553,72 @@ public final class ZeebePartition extends Actor
             logStream,
             snapshotPeriod);
     addClosingStep("snapshot director", asyncSnapshotDirector);
-    return scheduler.submitActor(asyncSnapshotDirector);
+    return scheduler.submitPrioritizedActor(asyncSnapshotDirector, ActorPriority.LOW);
   }
 
   private ActorFuture<Void> installExporter(final ZeebeDb zeebeDb) {
     final var exporterDescriptors = exporterRepository.getExporters().values();
+    final ExportingCfg exportingCfg = brokerCfg.getExporting();
+
+    if (exportingCfg.getMode() == ExecutionMode.SHARED || exporterDescriptors.isEmpty()) {
+      final ExporterDirectorContext context =
+          new ExporterDirectorContext()
+              .id(EXPORTER_PROCESSOR_ID)
+              .name(
+                  buildActorName(
+                      localBroker.getNodeId(), String.format(EXPORTER_NAME, partitionId)))
+              .logStream(logStream)
+              .zeebeDb(zeebeDb)
+              .descriptors(exporterDescriptors)
+              .maxLag(exportingCfg.getMaxLag())
+              .healthListener(exporterHealthListener);
+
+      final var exporterDirector = new ExporterDirector(context);
+      addClosingStep("exporter director", exporterDirector);
+
+      return exporterDirector.startAsync(scheduler);
+    }
 
-    final ExporterDirectorContext context =
-        new ExporterDirectorContext()
-            .id(EXPORTER_PROCESSOR_ID)
-            .name(
-                buildActorName(localBroker.getNodeId(), String.format(EXPORTER_NAME, partitionId)))
-            .logStream(logStream)
-            .zeebeDb(zeebeDb)
-            .descriptors(exporterDescriptors);
-
-    final var exporterDirector = new ExporterDirector(context);
-    addClosingStep("exporter director", exporterDirector);
+    // every exporter reads the log and advances its position on its own, so that a slow exporter
+    // doesn't block the others; the decoded records are shared through the cache
+    final List<String> exporterIds =
+        exporterDescriptors.stream().map(ExporterDescriptor::getId).collect(Collectors.toList());
+    final ExporterRecordCache recordCache =
+        new ExporterRecordCache(partitionId, exportingCfg.getRecordCacheSize());
+
+    final List<ActorFuture<Void>> startFutures = new ArrayList<>();
+    for (final ExporterDescriptor descriptor : exporterDescriptors) {
+      final ExporterDirectorContext context =
+          new ExporterDirectorContext()
+              .id(EXPORTER_PROCESSOR_ID)
+              .name(
+                  buildActorName(
+                      localBroker.getNodeId(),
+                      String.format(EXPORTER_NAME, partitionId) + "-" + descriptor.getId()))
+              .logStream(logStream)
+              .zeebeDb(zeebeDb)
+              .descriptors(List.of(descriptor))
+              .configuredExporterIds(exporterIds)
+              .recordCache(recordCache)
+              .maxLag(exportingCfg.getMaxLag())
+              .healthListener(exporterHealthListener);
+
+      final var exporterDirector = new ExporterDirector(context);
+      addClosingStep("exporter director " + descriptor.getId(), exporterDirector);
+      startFutures.add(exporterDirector.startAsync(scheduler));
+    }
 
-    return exporterDirector.startAsync(scheduler);
+    final CompletableActorFuture<Void> startFuture = new CompletableActorFuture<>();
+    actor.runOnCompletion(
+        startFutures,
+        error -> {
+          if (error == null) {
+            startFuture.complete(null);
+          } else {
+            startFuture.completeExceptionally(error);
+          }
+        });
+    return startFuture;
   }
 
   private ActorFuture<Void> closeLogStream() {
@@ -613,6 +669,11 @@ public final class ZeebePartition extends Actor
     return actorName;
   }
 
+  @Override
+  public int getAffinityKey() {
+    return partitionId;
+  }
+
   @Override
   public void onActorStarting() {
     atomixLogStorage = AtomixLogStorage.ofPartition(zeebeIndexMapping, atomixRaftPartition);
@@ -715,6 +776,7 @@ public final class ZeebePartition extends Actor
         .withNodeId(localBroker.getNodeId())
         .withPartitionId(atomixRaftPartition.id().id())
         .withMaxFragmentSize(maxFragmentSize)
+        .withWriteBufferAutoSizing(brokerCfg.getData().getWriteBufferAutoSizing())
         .withActorScheduler(scheduler)
         .buildAsync();
   }
@@ -10,8 +10,8 @@ package io.zeebe.broker.transport.backpressure;
 import com.netflix.concurrency.limits.limiter.AbstractLimiter;
 import io.zeebe.broker.Loggers;
 import io.zeebe.protocol.record.intent.Intent;
+import io.zeebe.protocol.record.intent.JobBatchIntent;
 import io.zeebe.protocol.record.intent.JobIntent;
-import java.util.EnumSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -22,7 +22,7 @@ public final class CommandRateLimiter extends AbstractLimiter<Intent>
     implements RequestLimiter<Intent> {
 
   private static final Set<? extends Intent> WHITE_LISTED_COMMANDS =
-      EnumSet.of(JobIntent.COMPLETE, JobIntent.FAIL);
+      Set.of(JobIntent.COMPLETE, JobIntent.FAIL, JobBatchIntent.COMPLETE);
   private final Map<ListenerId, Listener> responseListeners = new ConcurrentHashMap<>();
   private final int partitionId;
   private final BackpressureMetrics metrics = new BackpressureMetrics();
@@ -10,8 +10,11 @@ package io.zeebe.broker.transport.commandapi;
 import io.zeebe.broker.Loggers;
 import io.zeebe.broker.transport.backpressure.BackpressureMetrics;
 import io.zeebe.broker.transport.backpressure.RequestLimiter;
-import io.zeebe.logstreams.log.LogStreamRecordWriter;
+import io.zeebe.broker.transport.commandapi.CommandBatchResponseCollector.PendingBatch;
+import io.zeebe.logstreams.log.LogStreamBatchWriter;
+import io.zeebe.logstreams.log.LogStreamBatchWriter.LogEntryBuilder;
 import io.zeebe.msgpack.UnpackedObject;
+import io.zeebe.msgpack.spec.MsgPackValidator;
 import io.zeebe.protocol.Protocol;
 import io.zeebe.protocol.impl.record.RecordMetadata;
 import io.zeebe.protocol.impl.record.value.deployment.DeploymentRecord;
@@ -22,6 +25,8 @@ import io.zeebe.protocol.impl.record.value.message.MessageRecord;
 import io.zeebe.protocol.impl.record.value.variable.VariableDocumentRecord;
 import io.zeebe.protocol.impl.record.value.workflowinstance.WorkflowInstanceCreationRecord;
 import io.zeebe.protocol.impl.record.value.workflowinstance.WorkflowInstanceRecord;
+import io.zeebe.protocol.record.ExecuteCommandBatchRequestDecoder;
+import io.zeebe.protocol.record.ExecuteCommandBatchRequestDecoder.CommandsDecoder;
 import io.zeebe.protocol.record.ExecuteCommandRequestDecoder;
 import io.zeebe.protocol.record.MessageHeaderDecoder;
 import io.zeebe.protocol.record.RecordType;
@@ -35,6 +40,7 @@ import java.util.Queue;
 import java.util.function.Consumer;
 import org.agrona.DirectBuffer;
 import org.agrona.collections.Int2ObjectHashMap;
+import org.agrona.collections.LongArrayList;
 import org.agrona.concurrent.ManyToOneConcurrentLinkedQueue;
 import org.slf4j.Logger;
 
@@ -44,21 +50,26 @@ final class CommandApiRequestHandler implements RequestHandler {
   private final MessageHeaderDecoder messageHeaderDecoder = new MessageHeaderDecoder();
   private final ExecuteCommandRequestDecoder executeCommandRequestDecoder =
       new ExecuteCommandRequestDecoder();
+  private final ExecuteCommandBatchRequestDecoder executeCommandBatchRequestDecoder =
+      new ExecuteCommandBatchRequestDecoder();
+  private final LongArrayList writtenCommandRequestIds = new LongArrayList();
   private final Queue<Runnable> cmdQueue = new ManyToOneConcurrentLinkedQueue<>();
   private final Consumer<Runnable> cmdConsumer = Runnable::run;
 
-  private final Int2ObjectHashMap<LogStreamRecordWriter> leadingStreams = new Int2ObjectHashMap<>();
-  private final Int2ObjectHashMap<RequestLimiter<Intent>> partitionLimiters =
+  private final Int2ObjectHashMap<PartitionCommandQueue> leadingPartitions =
       new Int2ObjectHashMap<>();
   private final RecordMetadata eventMetadata = new RecordMetadata();
 
   private final ErrorResponseWriter errorResponseWriter = new ErrorResponseWriter();
+  private final CommandBatchResponseCollector batchResponseCollector;
 
   private final Map<ValueType, UnpackedObject> recordsByType = new EnumMap<>(ValueType.class);
+  private final Map<ValueType, MsgPackValidator> validatorsByType = new EnumMap<>(ValueType.class);
   private final BackpressureMetrics metrics;
   private boolean isDiskSpaceAvailable = true;
 
-  CommandApiRequestHandler() {
+  CommandApiRequestHandler(final CommandBatchResponseCollector batchResponseCollector) {
+    this.batchResponseCollector = batchResponseCollector;
     metrics = new BackpressureMetrics();
     initEventTypeMap();
   }
@@ -72,6 +83,16 @@ final class CommandApiRequestHandler implements RequestHandler {
     recordsByType.put(ValueType.INCIDENT, new IncidentRecord());
     recordsByType.put(ValueType.VARIABLE_DOCUMENT, new VariableDocumentRecord());
     recordsByType.put(ValueType.WORKFLOW_INSTANCE_CREATION, new WorkflowInstanceCreationRecord());
+
+    // the commands are written as they are and decoded by the stream processor, so it is enough
+    // to validate their structure if the records can be validated without decoding them
+    recordsByType.forEach(
+        (valueType, record) -> {
+          final MsgPackValidator validator = record.newValidator();
+          if (validator != null) {
+            validatorsByType.put(valueType, validator);
+          }
+        });
   }
 
   private void handleExecuteCommandRequest(
@@ -101,9 +122,9 @@ final class CommandApiRequestHandler implements RequestHandler {
 
     final long key = executeCommandRequestDecoder.key();
 
-    final LogStreamRecordWriter logStreamWriter = leadingStreams.get(partitionId);
+    final PartitionCommandQueue commandQueue = leadingPartitions.get(partitionId);
 
-    if (logStreamWriter == null) {
+    if (commandQueue == null) {
       errorResponseWriter
           .partitionLeaderMismatch(partitionId)
           .tryWriteResponseOrLogFailure(output, partitionId, requestId);
@@ -112,104 +133,251 @@ final class CommandApiRequestHandler implements RequestHandler {
 
     final ValueType eventType = executeCommandRequestDecoder.valueType();
     final short intent = executeCommandRequestDecoder.intent();
-    final UnpackedObject event = recordsByType.get(eventType);
+    final int eventOffset =
+        executeCommandRequestDecoder.limit() + ExecuteCommandRequestDecoder.valueHeaderLength();
+    final int eventLength = executeCommandRequestDecoder.valueLength();
 
-    if (event == null) {
-      errorResponseWriter
-          .unsupportedMessage(eventType.name(), recordsByType.keySet().toArray())
-          .tryWriteResponseOrLogFailure(output, partitionId, requestId);
+    if (!isValidCommand(
+        output, partitionId, requestId, eventType, buffer, eventOffset, eventLength)) {
       return;
     }
 
-    final int eventOffset =
-        executeCommandRequestDecoder.limit() + ExecuteCommandRequestDecoder.valueHeaderLength();
-    final int eventLength = executeCommandRequestDecoder.valueLength();
+    eventMetadata.recordType(RecordType.COMMAND);
+    final Intent eventIntent = Intent.fromProtocolValue(eventType, intent);
+    eventMetadata.intent(eventIntent);
+    eventMetadata.valueType(eventType);
+
+    final RequestLimiter<Intent> limiter = commandQueue.getLimiter();
+    if (!tryAcquire(output, limiter, partitionId, requestId, eventIntent)) {
+      return;
+    }
 
-    event.reset();
+    if (!commandQueue.canAdd(eventMetadata.getLength() + eventLength)) {
+      commandQueue.flush(output, errorResponseWriter);
+    }
 
     try {
-      // verify that the event / command is valid
-      event.wrap(buffer, eventOffset, eventLength);
-    } catch (final RuntimeException e) {
-      LOG.error("Failed to deserialize message of type {} in client API", eventType.name(), e);
+      // the command is written together with the other commands of the partition which are
+      // received until the queue is flushed, see onRequestsHandled
+      commandQueue.add(output, requestId, key, eventMetadata, buffer, eventOffset, eventLength);
+    } catch (final Exception ex) {
+      LOG.error("Unexpected error on queuing {} command", eventIntent, ex);
+      // the batch writer may contain a part of the command, so all queued commands are rejected
+      commandQueue.reject(output, errorResponseWriter);
+    }
+  }
 
+  private void handleExecuteCommandBatchRequest(
+      final ServerOutput output,
+      final int partitionId,
+      final long requestId,
+      final RecordMetadata eventMetadata,
+      final DirectBuffer buffer,
+      final int messageOffset) {
+
+    if (!isDiskSpaceAvailable) {
       errorResponseWriter
-          .malformedRequest(e)
+          .resourceExhausted(
+              String.format(
+                  "Cannot accept requests for partition %d. Broker is out of disk space",
+                  partitionId))
+          .tryWriteResponse(output, partitionId, requestId);
+      return;
+    }
+
+    final PartitionCommandQueue commandQueue = leadingPartitions.get(partitionId);
+
+    if (commandQueue == null) {
+      errorResponseWriter
+          .partitionLeaderMismatch(partitionId)
           .tryWriteResponseOrLogFailure(output, partitionId, requestId);
       return;
     }
 
-    eventMetadata.recordType(RecordType.COMMAND);
-    final Intent eventIntent = Intent.fromProtocolValue(eventType, intent);
-    eventMetadata.intent(eventIntent);
-    eventMetadata.valueType(eventType);
+    // the queued commands are written first, since they were received before the batch and share
+    // the batch writer
+    commandQueue.flush(output, errorResponseWriter);
+    final LogStreamBatchWriter batchWriter = commandQueue.getBatchWriter();
 
-    metrics.receivedRequest(partitionId);
-    final RequestLimiter<Intent> limiter = partitionLimiters.get(partitionId);
-    if (!limiter.tryAcquire(partitionId, requestId, eventIntent)) {
-      metrics.dropped(partitionId);
-      LOG.trace(
-          "Partition-{} receiving too many requests. Current limit {} inflight {}, dropping request {} from gateway",
+    executeCommandBatchRequestDecoder.wrap(
+        buffer,
+        messageOffset + messageHeaderDecoder.encodedLength(),
+        messageHeaderDecoder.blockLength(),
+        messageHeaderDecoder.version());
+
+    final CommandsDecoder commands = executeCommandBatchRequestDecoder.commands();
+    final PendingBatch batch =
+        batchResponseCollector.newBatch(partitionId, requestId, commands.count());
+    final RequestLimiter<Intent> limiter = commandQueue.getLimiter();
+
+    // the responses of the single commands are collected, so all errors are sent to the collector
+    final ServerOutput commandOutput = batchResponseCollector;
+
+    batchWriter.reset();
+    writtenCommandRequestIds.clear();
+
+    int index = 0;
+    for (final CommandsDecoder command : commands) {
+      final long commandRequestId = batch.nextCommandRequestId(index++);
+
+      final long key = command.key();
+      final ValueType valueType = command.valueType();
+      final short intent = command.intent();
+      final int valueOffset =
+          executeCommandBatchRequestDecoder.limit() + CommandsDecoder.valueHeaderLength();
+      final int valueLength = command.skipValue();
+
+      if (!isValidCommand(
+          commandOutput,
           partitionId,
-          limiter.getLimit(),
-          limiter.getInflightCount(),
-          requestId);
-      errorResponseWriter.resourceExhausted().tryWriteResponse(output, partitionId, requestId);
-      return;
+          commandRequestId,
+          valueType,
+          buffer,
+          valueOffset,
+          valueLength)) {
+        continue;
+      }
+
+      final Intent commandIntent = Intent.fromProtocolValue(valueType, intent);
+      if (!tryAcquire(commandOutput, limiter, partitionId, commandRequestId, commandIntent)) {
+        continue;
+      }
+
+      eventMetadata
+          .recordType(RecordType.COMMAND)
+          .intent(commandIntent)
+          .valueType(valueType)
+          .requestId(commandRequestId);
+
+      if (!writtenCommandRequestIds.isEmpty()
+          && !batchWriter.canWriteAdditionalEvent(eventMetadata.getLength() + valueLength)) {
+        // the commands are split into multiple batches, so that a batch which exceeds the max
+        // fragment length doesn't fail all commands of the request
+        writeBatch(commandOutput, batchWriter, limiter, partitionId);
+      }
+
+      final LogEntryBuilder logEntryBuilder = batchWriter.event();
+      if (key != CommandsDecoder.keyNullValue()) {
+        logEntryBuilder.key(key);
+      } else {
+        logEntryBuilder.keyNull();
+      }
+      logEntryBuilder.metadataWriter(eventMetadata).value(buffer, valueOffset, valueLength).done();
+
+      writtenCommandRequestIds.addLong(commandRequestId);
+    }
+
+    if (!writtenCommandRequestIds.isEmpty()) {
+      writeBatch(commandOutput, batchWriter, limiter, partitionId);
     }
+  }
 
+  /** Writes the accepted commands of a batch request at once, or rejects them all. */
+  private void writeBatch(
+      final ServerOutput output,
+      final LogStreamBatchWriter batchWriter,
+      final RequestLimiter<Intent> limiter,
+      final int partitionId) {
     boolean written = false;
     try {
-      written = writeCommand(eventMetadata, buffer, key, logStreamWriter, eventOffset, eventLength);
+      written = batchWriter.tryWrite() >= 0;
     } catch (final Exception ex) {
-      LOG.error("Unexpected error on writing {} command", eventIntent, ex);
+      LOG.error(
+          "Unexpected error on writing batch of {} commands", writtenCommandRequestIds.size(), ex);
     } finally {
       if (!written) {
-        limiter.onIgnore(partitionId, requestId);
+        batchWriter.reset();
+
+        for (int i = 0; i < writtenCommandRequestIds.size(); i++) {
+          final long commandRequestId = writtenCommandRequestIds.getLong(i);
+          limiter.onIgnore(partitionId, commandRequestId);
+          errorResponseWriter
+              .resourceExhausted(
+                  String.format(
+                      "Cannot write the commands of the batch to partition %d", partitionId))
+              .tryWriteResponse(output, partitionId, commandRequestId);
+        }
       }
+      writtenCommandRequestIds.clear();
     }
   }
 
-  private boolean writeCommand(
-      final RecordMetadata eventMetadata,
+  private boolean isValidCommand(
+      final ServerOutput output,
+      final int partitionId,
+      final long requestId,
+      final ValueType eventType,
       final DirectBuffer buffer,
-      final long key,
-      final LogStreamRecordWriter logStreamWriter,
       final int eventOffset,
       final int eventLength) {
-    logStreamWriter.reset();
+    final UnpackedObject event = recordsByType.get(eventType);
 
-    if (key != ExecuteCommandRequestDecoder.keyNullValue()) {
-      logStreamWriter.key(key);
-    } else {
-      logStreamWriter.keyNull();
+    if (event == null) {
+      errorResponseWriter
+          .unsupportedMessage(eventType.name(), recordsByType.keySet().toArray())
+          .tryWriteResponseOrLogFailure(output, partitionId, requestId);
+      return false;
     }
 
-    final long eventPosition =
-        logStreamWriter
-            .metadataWriter(eventMetadata)
-            .value(buffer, eventOffset, eventLength)
-            .tryWrite();
+    try {
+      // verify that the event / command is valid
+      final MsgPackValidator validator = validatorsByType.get(eventType);
+      if (validator != null) {
+        validator.validate(buffer, eventOffset, eventLength);
+      } else {
+        event.reset();
+        event.wrap(buffer, eventOffset, eventLength);
+      }
+    } catch (final RuntimeException e) {
+      LOG.error("Failed to deserialize message of type {} in client API", eventType.name(), e);
 
-    return eventPosition >= 0;
+      errorResponseWriter
+          .malformedRequest(e)
+          .tryWriteResponseOrLogFailure(output, partitionId, requestId);
+      return false;
+    }
+
+    return true;
+  }
+
+  private boolean tryAcquire(
+      final ServerOutput output,
+      final RequestLimiter<Intent> limiter,
+      final int partitionId,
+      final long requestId,
+      final Intent intent) {
+    metrics.receivedRequest(partitionId);
+    if (!limiter.tryAcquire(partitionId, requestId, intent)) {
+      metrics.dropped(partitionId);
+      LOG.trace(
+          "Partition-{} receiving too many requests. Current limit {} inflight {}, dropping request {} from gateway",
+          partitionId,
+          limiter.getLimit(),
+          limiter.getInflightCount(),
+          requestId);
+      errorResponseWriter.resourceExhausted().tryWriteResponse(output, partitionId, requestId);
+      return false;
+    }
+
+    return true;
   }
 
   void addPartition(
       final int partitionId,
-      final LogStreamRecordWriter logStreamWriter,
+      final LogStreamBatchWriter logStreamBatchWriter,
       final RequestLimiter<Intent> limiter) {
-    cmdQueue.add(
-        () -> {
-          leadingStreams.put(partitionId, logStreamWriter);
-          partitionLimiters.put(partitionId, limiter);
-        });
+    final PartitionCommandQueue commandQueue =
+        new PartitionCommandQueue(partitionId, logStreamBatchWriter, limiter);
+    cmdQueue.add(() -> leadingPartitions.put(partitionId, commandQueue));
   }
 
   void removePartition(final int partitionId) {
     cmdQueue.add(
         () -> {
-          leadingStreams.remove(partitionId);
-          partitionLimiters.remove(partitionId);
+          final PartitionCommandQueue commandQueue = leadingPartitions.remove(partitionId);
+          if (commandQueue != null) {
+            commandQueue.discard(errorResponseWriter);
+          }
         });
   }
 
@@ -256,13 +424,29 @@ final class CommandApiRequestHandler implements RequestHandler {
       handleExecuteCommandRequest(
           output, partitionId, requestId, eventMetadata, buffer, offset, length);
       return;
+    } else if (templateId == ExecuteCommandBatchRequestDecoder.TEMPLATE_ID) {
+      handleExecuteCommandBatchRequest(
+          output, partitionId, requestId, eventMetadata, buffer, offset);
+      return;
     }
 
     errorResponseWriter
-        .invalidMessageTemplate(templateId, ExecuteCommandRequestDecoder.TEMPLATE_ID)
+        .invalidMessageTemplate(
+            templateId,
+            ExecuteCommandRequestDecoder.TEMPLATE_ID,
+            ExecuteCommandBatchRequestDecoder.TEMPLATE_ID)
         .tryWriteResponse(output, partitionId, requestId);
   }
 
+  @Override
+  public void onRequestsHandled(final ServerOutput output) {
+    drainCommandQueue();
+
+    for (final PartitionCommandQueue commandQueue : leadingPartitions.values()) {
+      commandQueue.flush(output, errorResponseWriter);
+    }
+  }
+
   private void drainCommandQueue() {
     while (!cmdQueue.isEmpty()) {
       final Runnable runnable = cmdQueue.poll();
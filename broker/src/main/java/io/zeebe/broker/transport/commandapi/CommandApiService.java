@@ -30,6 +30,7 @@ public final class CommandApiService extends Actor
 
   private final PartitionAwareRequestLimiter limiter;
   private final ServerTransport serverTransport;
+  private final CommandBatchResponseCollector batchResponseCollector;
   private final CommandApiRequestHandler requestHandler;
   private final IntHashSet leadPartitions = new IntHashSet();
   private final String actorName;
@@ -40,7 +41,8 @@ public final class CommandApiService extends Actor
       final PartitionAwareRequestLimiter limiter) {
     this.serverTransport = serverTransport;
     this.limiter = limiter;
-    requestHandler = new CommandApiRequestHandler();
+    batchResponseCollector = new CommandBatchResponseCollector(serverTransport);
+    requestHandler = new CommandApiRequestHandler(batchResponseCollector);
     actorName = buildActorName(localBroker.getNodeId(), "CommandApiService");
   }
 
@@ -76,27 +78,29 @@ public final class CommandApiService extends Actor
           limiter.addPartition(partitionId);
 
           logStream
-              .newLogStreamRecordWriter()
+              .newLogStreamBatchWriter()
               .onComplete(
-                  (recordWriter, error) -> {
+                  (batchWriter, error) -> {
                     if (error == null) {
-
                       final var requestLimiter = limiter.getLimiter(partitionId);
-                      requestHandler.addPartition(partitionId, recordWriter, requestLimiter);
+                      requestHandler.addPartition(partitionId, batchWriter, requestLimiter);
                       serverTransport.subscribe(partitionId, requestHandler);
                       future.complete(null);
                     } else {
-                      Loggers.SYSTEM_LOGGER.error(
-                          "Error on retrieving write buffer from log stream {}",
-                          partitionId,
-                          error);
-                      future.completeExceptionally(error);
+                      onWriterError(partitionId, future, error);
                     }
                   });
         });
     return future;
   }
 
+  private void onWriterError(
+      final int partitionId, final CompletableActorFuture<Void> future, final Throwable error) {
+    Loggers.SYSTEM_LOGGER.error(
+        "Error on retrieving write buffer from log stream {}", partitionId, error);
+    future.completeExceptionally(error);
+  }
+
   private void cleanLeadingPartition(final int partitionId) {
     leadPartitions.remove(partitionId);
     removeForPartitionId(partitionId);
@@ -104,11 +108,14 @@ public final class CommandApiService extends Actor
 
   private void removeForPartitionId(final int partitionId) {
     limiter.removePartition(partitionId);
+    // the pending batches are answered before the transport drops the requests of the partition
+    batchResponseCollector.removePartition(partitionId);
     serverTransport.unsubscribe(partitionId);
   }
 
   public CommandResponseWriter newCommandResponseWriter() {
-    return new CommandResponseWriterImpl(serverTransport);
+    // responses are sent via the collector to gather the responses of batch requests
+    return new CommandResponseWriterImpl(batchResponseCollector);
   }
 
   public Consumer<TypedRecord> getOnProcessedListener(final int partitionId) {
@@ -0,0 +1,158 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.broker.transport.commandapi;
+
+import io.zeebe.protocol.impl.encoding.ExecuteCommandBatchResponse;
+import io.zeebe.transport.ServerOutput;
+import io.zeebe.transport.ServerResponse;
+import io.zeebe.transport.impl.ServerResponseImpl;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Collects the responses of the commands of a batch request and sends them as one response, once
+ * all commands of the batch are answered.
+ *
+ * <p>Each command of a batch gets its own request id, which is used as the request id of the
+ * command record. The ids are negative, so they never collide with the ids of the server transport.
+ * Responses to all other request ids are passed through to the server output.
+ *
+ * <p>Responses can be sent concurrently by the stream processors of different partitions.
+ */
+final class CommandBatchResponseCollector implements ServerOutput {
+
+  // -1 is the null value of the request id, so we never reach it
+  private final AtomicLong commandRequestIds = new AtomicLong(Long.MIN_VALUE);
+  private final Map<Long, PendingCommand> pendingCommands = new ConcurrentHashMap<>();
+  private final ServerOutput output;
+
+  CommandBatchResponseCollector(final ServerOutput output) {
+    this.output = output;
+  }
+
+  /**
+   * Registers a new batch request which waits for the responses of the given count of commands.
+   *
+   * @return the batch, which provides the request ids of its commands
+   */
+  PendingBatch newBatch(final int partitionId, final long requestId, final int commandCount) {
+    final PendingBatch batch = new PendingBatch(partitionId, requestId, commandCount);
+
+    if (commandCount == 0) {
+      batch.sendResponse();
+    }
+
+    return batch;
+  }
+
+  /**
+   * Drops all pending batches of the partition, since their commands will not be answered. The
+   * batch requests are answered with a partition leader mismatch error instead, so that the client
+   * doesn't wait for them until they time out.
+   */
+  void removePartition(final int partitionId) {
+    final Set<PendingBatch> removedBatches = new HashSet<>();
+    pendingCommands
+        .values()
+        .removeIf(
+            command -> {
+              if (command.batch.partitionId == partitionId) {
+                removedBatches.add(command.batch);
+                return true;
+              }
+              return false;
+            });
+
+    final ErrorResponseWriter errorResponseWriter = new ErrorResponseWriter();
+    for (final PendingBatch batch : removedBatches) {
+      if (batch.complete()) {
+        errorResponseWriter
+            .partitionLeaderMismatch(partitionId)
+            .tryWriteResponse(output, partitionId, batch.requestId);
+      }
+    }
+  }
+
+  @Override
+  public void sendResponse(final ServerResponse response) {
+    final PendingCommand command = pendingCommands.remove(response.getRequestId());
+
+    if (command != null) {
+      command.batch.onResponse(command.index, response);
+    } else {
+      output.sendResponse(response);
+    }
+  }
+
+  final class PendingBatch {
+    private final int partitionId;
+    private final long requestId;
+    private final byte[][] responses;
+    private final AtomicInteger remainingResponses;
+    private final AtomicBoolean isCompleted = new AtomicBoolean();
+
+    private PendingBatch(final int partitionId, final long requestId, final int commandCount) {
+      this.partitionId = partitionId;
+      this.requestId = requestId;
+      responses = new byte[commandCount][];
+      remainingResponses = new AtomicInteger(commandCount);
+    }
+
+    /** @return a new request id for the command with the given index in the batch */
+    long nextCommandRequestId(final int index) {
+      final long commandRequestId = commandRequestIds.getAndIncrement();
+      pendingCommands.put(commandRequestId, new PendingCommand(this, index));
+      return commandRequestId;
+    }
+
+    private void onResponse(final int index, final ServerResponse response) {
+      final byte[] bytes = new byte[response.getLength()];
+      response.write(new UnsafeBuffer(bytes), 0);
+      responses[index] = bytes;
+
+      if (remainingResponses.decrementAndGet() == 0 && complete()) {
+        sendResponse();
+      }
+    }
+
+    /** @return {@code true} if the batch was not answered yet, e.g. by removing its partition */
+    private boolean complete() {
+      return isCompleted.compareAndSet(false, true);
+    }
+
+    private void sendResponse() {
+      final ExecuteCommandBatchResponse batchResponse =
+          new ExecuteCommandBatchResponse().setPartitionId(partitionId);
+      for (final byte[] response : responses) {
+        batchResponse.addResponse(new UnsafeBuffer(response));
+      }
+
+      output.sendResponse(
+          new ServerResponseImpl()
+              .setPartitionId(partitionId)
+              .setRequestId(requestId)
+              .writer(batchResponse));
+    }
+  }
+
+  private static final class PendingCommand {
+    private final PendingBatch batch;
+    private final int index;
+
+    private PendingCommand(final PendingBatch batch, final int index) {
+      this.batch = batch;
+      this.index = index;
+    }
+  }
+}
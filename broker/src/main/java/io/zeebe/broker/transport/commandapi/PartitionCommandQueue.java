@@ -0,0 +1,150 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.broker.transport.commandapi;
+
+import io.zeebe.broker.Loggers;
+import io.zeebe.broker.transport.backpressure.RequestLimiter;
+import io.zeebe.logstreams.log.LogStreamBatchWriter;
+import io.zeebe.logstreams.log.LogStreamBatchWriter.LogEntryBuilder;
+import io.zeebe.protocol.impl.record.RecordMetadata;
+import io.zeebe.protocol.record.ExecuteCommandRequestDecoder;
+import io.zeebe.protocol.record.intent.Intent;
+import io.zeebe.transport.ServerOutput;
+import org.agrona.DirectBuffer;
+import org.agrona.collections.LongArrayList;
+import org.slf4j.Logger;
+
+/**
+ * The ingress queue of a leading partition. The commands of single requests are added to the
+ * partition's batch writer and written together when the queue is flushed, so that commands which
+ * are received close together are written to the log stream with one claim.
+ *
+ * <p>The commands are accepted by the partition's request limiter when they are added. If the batch
+ * can't be written, the limiter is notified and the requests are rejected.
+ */
+final class PartitionCommandQueue {
+  private static final Logger LOG = Loggers.TRANSPORT_LOGGER;
+
+  private final int partitionId;
+  private final LogStreamBatchWriter batchWriter;
+  private final RequestLimiter<Intent> limiter;
+  private final LongArrayList requestIds = new LongArrayList();
+  private ServerOutput output;
+
+  PartitionCommandQueue(
+      final int partitionId,
+      final LogStreamBatchWriter batchWriter,
+      final RequestLimiter<Intent> limiter) {
+    this.partitionId = partitionId;
+    this.batchWriter = batchWriter;
+    this.limiter = limiter;
+  }
+
+  LogStreamBatchWriter getBatchWriter() {
+    return batchWriter;
+  }
+
+  RequestLimiter<Intent> getLimiter() {
+    return limiter;
+  }
+
+  boolean isEmpty() {
+    return requestIds.isEmpty();
+  }
+
+  /**
+   * @param length the length of the command's metadata and value
+   * @return {@code true} if the command fits into the queued batch, or if the queue is empty
+   */
+  boolean canAdd(final int length) {
+    return isEmpty() || batchWriter.canWriteAdditionalEvent(length);
+  }
+
+  /**
+   * Adds the command to the queued batch. The request is queued before the command is added, so
+   * that it is rejected together with the other queued commands if adding fails, see {@link
+   * #reject(ServerOutput, ErrorResponseWriter)}.
+   */
+  void add(
+      final ServerOutput output,
+      final long requestId,
+      final long key,
+      final RecordMetadata metadata,
+      final DirectBuffer buffer,
+      final int valueOffset,
+      final int valueLength) {
+    this.output = output;
+    requestIds.addLong(requestId);
+
+    final LogEntryBuilder logEntryBuilder = batchWriter.event();
+    if (key != ExecuteCommandRequestDecoder.keyNullValue()) {
+      logEntryBuilder.key(key);
+    } else {
+      logEntryBuilder.keyNull();
+    }
+    logEntryBuilder.metadataWriter(metadata).value(buffer, valueOffset, valueLength).done();
+  }
+
+  /** Writes the queued commands as one batch, or rejects them if the batch can't be written. */
+  void flush(final ServerOutput output, final ErrorResponseWriter errorResponseWriter) {
+    if (requestIds.isEmpty()) {
+      return;
+    }
+
+    boolean written = false;
+    try {
+      written = batchWriter.tryWrite() >= 0;
+    } catch (final Exception ex) {
+      LOG.error(
+          "Unexpected error on writing {} commands to partition {}",
+          requestIds.size(),
+          partitionId,
+          ex);
+    } finally {
+      if (written) {
+        requestIds.clear();
+      } else {
+        reject(output, errorResponseWriter);
+      }
+    }
+  }
+
+  /**
+   * Drops the queued commands and rejects their requests, e.g. if the batch can't be written or may
+   * contain a partially added command.
+   */
+  void reject(final ServerOutput output, final ErrorResponseWriter errorResponseWriter) {
+    batchWriter.reset();
+
+    for (int i = 0; i < requestIds.size(); i++) {
+      final long requestId = requestIds.getLong(i);
+      limiter.onIgnore(partitionId, requestId);
+      errorResponseWriter
+          .resourceExhausted(String.format("Cannot write the command to partition %d", partitionId))
+          .tryWriteResponse(output, partitionId, requestId);
+    }
+    requestIds.clear();
+  }
+
+  /**
+   * Drops the queued commands when the partition is not leading anymore. Their requests are
+   * rejected, so that the gateway can retry them on the new leader.
+   */
+  void discard(final ErrorResponseWriter errorResponseWriter) {
+    batchWriter.reset();
+
+    for (int i = 0; i < requestIds.size(); i++) {
+      final long requestId = requestIds.getLong(i);
+      limiter.onIgnore(partitionId, requestId);
+      errorResponseWriter
+          .partitionLeaderMismatch(partitionId)
+          .tryWriteResponseOrLogFailure(output, partitionId, requestId);
+    }
+    requestIds.clear();
+  }
+}
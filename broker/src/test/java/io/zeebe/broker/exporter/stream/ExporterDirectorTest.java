@@ -12,6 +12,7 @@ import static io.zeebe.test.util.TestUtil.waitUntil;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
@@ -21,6 +22,7 @@ import io.zeebe.broker.exporter.util.ControlledTestExporter;
 import io.zeebe.broker.exporter.util.PojoConfigurationExporter;
 import io.zeebe.broker.exporter.util.PojoConfigurationExporter.PojoExporterConfiguration;
 import io.zeebe.engine.Loggers;
+import io.zeebe.exporter.api.RawRecord;
 import io.zeebe.exporter.api.context.Context;
 import io.zeebe.protocol.impl.record.value.deployment.DeploymentRecord;
 import io.zeebe.protocol.impl.record.value.incident.IncidentRecord;
@@ -30,6 +32,7 @@ import io.zeebe.protocol.record.RecordType;
 import io.zeebe.protocol.record.ValueType;
 import io.zeebe.protocol.record.intent.DeploymentIntent;
 import io.zeebe.protocol.record.intent.IncidentIntent;
+import io.zeebe.protocol.record.intent.Intent;
 import io.zeebe.protocol.record.intent.JobIntent;
 import java.time.Duration;
 import java.util.ArrayList;
@@ -38,10 +41,12 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
+import org.agrona.concurrent.UnsafeBuffer;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -200,6 +205,147 @@ public final class ExporterDirectorTest {
         .contains(deploymentEvent, jobEvent);
   }
 
+  @Test
+  public void shouldApplyIntentFilter() {
+    // given
+    exporters
+        .get(0)
+        .onConfigure(
+            withFilter(
+                Arrays.asList(RecordType.EVENT),
+                Arrays.asList(ValueType.JOB, ValueType.INCIDENT),
+                Arrays.asList(JobIntent.COMPLETED, IncidentIntent.CREATED)));
+
+    exporters
+        .get(1)
+        .onConfigure(
+            withFilter(
+                Arrays.asList(RecordType.EVENT),
+                Arrays.asList(ValueType.JOB),
+                Arrays.asList(JobIntent.CREATED)));
+
+    startExporterDirector(exporterDescriptors);
+
+    // when
+    final long jobCreated = rule.writeEvent(JobIntent.CREATED, new JobRecord());
+    final long jobCompleted = rule.writeEvent(JobIntent.COMPLETED, new JobRecord());
+    final long incidentCreated = rule.writeEvent(IncidentIntent.CREATED, new IncidentRecord());
+    rule.writeEvent(IncidentIntent.RESOLVED, new IncidentRecord());
+    writeEvent();
+
+    // then
+    waitUntil(() -> exporters.get(0).getExportedRecords().size() == 2);
+
+    assertThat(exporters.get(0).getExportedRecords())
+        .extracting(Record::getPosition)
+        .containsExactly(jobCompleted, incidentCreated);
+    assertThat(exporters.get(1).getExportedRecords())
+        .extracting(Record::getPosition)
+        .containsExactly(jobCreated);
+  }
+
+  @Test
+  public void shouldApplyRecordFilterOnRawRecord() {
+    // given
+    final JobRecord job = new JobRecord().setType("test");
+    final UnsafeBuffer jobBuffer = new UnsafeBuffer(new byte[job.getLength()]);
+    job.write(jobBuffer, 0);
+
+    final List<Record<?>> filteredRecords = new CopyOnWriteArrayList<>();
+    exporters
+        .get(0)
+        .onConfigure(
+            context ->
+                context.setFilter(
+                    new Context.RecordFilter() {
+                      @Override
+                      public boolean acceptType(final RecordType recordType) {
+                        return true;
+                      }
+
+                      @Override
+                      public boolean acceptValue(final ValueType valueType) {
+                        return true;
+                      }
+
+                      @Override
+                      public boolean acceptRecord(final RawRecord<?> record) {
+                        filteredRecords.add(record);
+                        return record.getValueBuffer().equals(jobBuffer);
+                      }
+                    }));
+
+    startExporterDirector(exporterDescriptors);
+
+    // when
+    rule.writeEvent(JobIntent.CREATED, new JobRecord().setType("other"));
+    final long jobEvent = rule.writeEvent(JobIntent.CREATED, job);
+
+    // then
+    waitUntil(() -> exporters.get(1).getExportedRecords().size() == 2);
+
+    assertThat(filteredRecords).hasSize(2);
+    assertThat(exporters.get(0).getExportedRecords())
+        .extracting(Record::getPosition)
+        .containsExactly(jobEvent);
+  }
+
+  @Test
+  public void shouldPauseExporterWhichLagsTooFarBehind() {
+    // given
+    final ExporterHealthListener healthListener = mock(ExporterHealthListener.class);
+    exporters
+        .get(0)
+        .onExport(
+            r -> {
+              throw new RuntimeException("Export failed (expected)");
+            });
+
+    rule.startExporterDirector(exporterDescriptors, 1, healthListener);
+
+    // when
+    final long eventPosition1 = writeEvent();
+    final long eventPosition2 = writeEvent();
+
+    // then
+    doRepeatedly(() -> rule.getClock().addTime(Duration.ofSeconds(1)))
+        .until(r -> exporters.get(1).getExportedRecords().size() == 2);
+    verify(healthListener, TIMEOUT).onExporterDegraded(PARTITION_ID, EXPORTER_ID_1);
+
+    // the paused exporter doesn't pin the log anymore
+    doRepeatedly(() -> rule.getClock().addTime(Duration.ofSeconds(1)))
+        .until(r -> rule.getExportersState().getPosition(EXPORTER_ID_1) == eventPosition2);
+    assertThat(exporters.get(1).getExportedRecords())
+        .extracting(Record::getPosition)
+        .containsExactly(eventPosition1, eventPosition2);
+  }
+
+  @Test
+  public void shouldExportRawRecords() {
+    // given
+    startExporterDirector(exporterDescriptors);
+
+    final JobRecord job = new JobRecord().setType("test").setRetries(3);
+    final UnsafeBuffer jobBuffer = new UnsafeBuffer(new byte[job.getLength()]);
+    job.write(jobBuffer, 0);
+
+    // when
+    final long jobEvent = rule.writeEvent(JobIntent.CREATED, job);
+    writeEvent();
+
+    // then
+    waitUntil(() -> exporters.get(0).getExportedRecords().size() == 2);
+
+    final Record<?> exportedRecord = exporters.get(0).getExportedRecords().get(0);
+    assertThat(exportedRecord).isInstanceOf(RawRecord.class);
+    assertThat(exportedRecord.getPosition()).isEqualTo(jobEvent);
+    assertThat(((RawRecord<?>) exportedRecord).getValueBuffer()).isEqualTo(jobBuffer);
+    assertThat(exportedRecord.getValue())
+        .isInstanceOf(JobRecord.class)
+        .hasFieldOrPropertyWithValue("type", "test")
+        .hasFieldOrPropertyWithValue("retries", 3);
+  }
+
   @Test
   public void shouldRetryExportingOnException() {
     // given
@@ -374,6 +520,63 @@ public final class ExporterDirectorTest {
     assertThat(exporters.get(1).getExportedRecords()).isEmpty();
   }
 
+  @Test
+  public void shouldNotBlockOtherExportersInIsolatedMode() {
+    // given
+    exporters
+        .get(0)
+        .onExport(
+            e -> {
+              throw new RuntimeException("Export failed (expected)");
+            });
+
+    rule.startIsolatedExporterDirectors(exporterDescriptors);
+
+    // when
+    final long eventPosition1 = writeEvent();
+    final long eventPosition2 = writeEvent();
+
+    // then
+    waitUntil(() -> exporters.get(1).getExportedRecords().size() == 2);
+    assertThat(exporters.get(0).getExportedRecords()).isEmpty();
+    assertThat(exporters.get(1).getExportedRecords())
+        .extracting(Record::getPosition)
+        .containsExactly(eventPosition1, eventPosition2);
+  }
+
+  @Test
+  public void shouldRecoverOwnPositionInIsolatedMode() throws Exception {
+    // given
+    rule.startIsolatedExporterDirectors(exporterDescriptors);
+
+    final long eventPosition1 = writeEvent();
+    final long eventPosition2 = writeEvent();
+
+    waitUntil(() -> exporters.get(0).getExportedRecords().size() == 2);
+    waitUntil(() -> exporters.get(1).getExportedRecords().size() == 2);
+
+    exporters.get(0).getController().updateLastExportedRecordPosition(eventPosition2);
+    exporters.get(1).getController().updateLastExportedRecordPosition(eventPosition1);
+
+    rule.closeExporterDirector();
+    exporters.get(0).getExportedRecords().clear();
+    exporters.get(1).getExportedRecords().clear();
+
+    // when
+    rule.startIsolatedExporterDirectors(exporterDescriptors);
+    final long eventPosition3 = writeEvent();
+
+    // then
+    waitUntil(() -> exporters.get(0).getExportedRecords().size() == 1);
+    waitUntil(() -> exporters.get(1).getExportedRecords().size() == 2);
+    assertThat(exporters.get(0).getExportedRecords())
+        .extracting(Record::getPosition)
+        .containsExactly(eventPosition3);
+    assertThat(exporters.get(1).getExportedRecords())
+        .extracting(Record::getPosition)
+        .containsExactly(eventPosition2, eventPosition3);
+  }
+
   private long writeEvent() {
     final DeploymentRecord event = new DeploymentRecord();
     return rule.writeEvent(DeploymentIntent.CREATED, event);
@@ -381,6 +584,13 @@ public final class ExporterDirectorTest {
 
   private Consumer<Context> withFilter(
       final List<RecordType> acceptedTypes, final List<ValueType> valueTypes) {
+    return withFilter(acceptedTypes, valueTypes, null);
+  }
+
+  private Consumer<Context> withFilter(
+      final List<RecordType> acceptedTypes,
+      final List<ValueType> valueTypes,
+      final List<Intent> intents) {
     return context -> {
       context.setFilter(
           new Context.RecordFilter() {
@@ -393,6 +603,11 @@ public final class ExporterDirectorTest {
             public boolean acceptValue(final ValueType valueType) {
               return valueTypes.contains(valueType);
             }
+
+            @Override
+            public boolean acceptIntent(final Intent intent) {
+              return intents == null || intents.contains(intent);
+            }
           });
     };
   }
@@ -0,0 +1,80 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.broker.exporter.stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.zeebe.logstreams.log.LoggedEvent;
+import io.zeebe.protocol.impl.record.CopiedRecord;
+import io.zeebe.protocol.impl.record.RecordMetadata;
+import io.zeebe.protocol.impl.record.value.job.JobRecord;
+import io.zeebe.protocol.record.RecordType;
+import io.zeebe.protocol.record.ValueType;
+import io.zeebe.protocol.record.intent.JobIntent;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Test;
+
+public final class ExporterRecordCacheTest {
+
+  private final ExporterRecordCache recordCache = new ExporterRecordCache(1, 4);
+  private final RecordMetadata metadata =
+      new RecordMetadata()
+          .recordType(RecordType.EVENT)
+          .valueType(ValueType.JOB)
+          .intent(JobIntent.CREATED);
+
+  @Test
+  public void shouldDecodeCachedRecordForEachReader() {
+    // given
+    final LoggedEvent event = newEvent(10L, new JobRecord().setType("test"));
+    final CopiedRecord<?> firstRecord = recordCache.get(event, metadata);
+
+    // when
+    final CopiedRecord<?> secondRecord = recordCache.get(event, metadata);
+
+    // then
+    assertThat(secondRecord).isNotSameAs(firstRecord);
+    assertThat(secondRecord.getValue()).isNotSameAs(firstRecord.getValue());
+    assertThat(secondRecord.getPosition()).isEqualTo(10L);
+    assertThat(secondRecord.getIntent()).isEqualTo(JobIntent.CREATED);
+    assertThat(((JobRecord) secondRecord.getValue()).getType()).isEqualTo("test");
+  }
+
+  @Test
+  public void shouldNotReturnEvictedRecord() {
+    // given
+    recordCache.get(newEvent(1L, new JobRecord().setType("evicted")), metadata);
+    recordCache.get(newEvent(5L, new JobRecord().setType("cached")), metadata);
+
+    // when
+    final CopiedRecord<?> record =
+        recordCache.get(newEvent(1L, new JobRecord().setType("read")), metadata);
+
+    // then
+    assertThat(((JobRecord) record.getValue()).getType()).isEqualTo("read");
+  }
+
+  private LoggedEvent newEvent(final long position, final JobRecord value) {
+    final int metadataLength = metadata.getLength();
+    final UnsafeBuffer buffer = new UnsafeBuffer(new byte[metadataLength + value.getLength()]);
+    metadata.write(buffer, 0);
+    value.write(buffer, metadataLength);
+
+    final LoggedEvent event = mock(LoggedEvent.class);
+    when(event.getPosition()).thenReturn(position);
+    when(event.getKey()).thenReturn(position);
+    when(event.getValueBuffer()).thenReturn(buffer);
+    when(event.getMetadataOffset()).thenReturn(0);
+    when(event.getMetadataLength()).thenReturn((short) metadataLength);
+    when(event.getValueOffset()).thenReturn(metadataLength);
+    when(event.getValueLength()).thenReturn(value.getLength());
+    return event;
+  }
+}
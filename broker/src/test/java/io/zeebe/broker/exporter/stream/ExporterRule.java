@@ -21,7 +21,9 @@ import io.zeebe.protocol.record.intent.Intent;
 import io.zeebe.test.util.AutoCloseableRule;
 import io.zeebe.util.sched.clock.ControlledActorClock;
 import io.zeebe.util.sched.testing.ActorSchedulerRule;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 import org.junit.rules.ExternalResource;
 import org.junit.rules.RuleChain;
 import org.junit.rules.TemporaryFolder;
@@ -34,6 +36,7 @@ public final class ExporterRule implements TestRule {
   private static final int EXPORTER_PROCESSOR_ID = 101;
   private static final String PROCESSOR_NAME = "exporter";
   private static final String STREAM_NAME = "stream";
+  private static final int RECORD_CACHE_SIZE = 16;
 
   // environment
   private final TemporaryFolder tempFolder = new TemporaryFolder();
@@ -46,7 +49,7 @@ public final class ExporterRule implements TestRule {
   private ZeebeDb<ZbColumnFamilies> capturedZeebeDb;
 
   private TestStreams streams;
-  private ExporterDirector director;
+  private final List<ExporterDirector> directors = new ArrayList<>();
 
   public ExporterRule(final int partitionId) {
     this(partitionId, DefaultZeebeDbFactory.defaultFactory(ZbColumnFamilies.class));
@@ -65,8 +68,15 @@ public final class ExporterRule implements TestRule {
     return chain.apply(base, description);
   }
 
-  @SuppressWarnings("unchecked")
   public void startExporterDirector(final List<ExporterDescriptor> exporterDescriptors) {
+    startExporterDirector(exporterDescriptors, 0, null);
+  }
+
+  @SuppressWarnings("unchecked")
+  public void startExporterDirector(
+      final List<ExporterDescriptor> exporterDescriptors,
+      final long maxLag,
+      final ExporterHealthListener healthListener) {
     final var stream = streams.getLogStream(STREAM_NAME);
     final var runtimeFolder = streams.createRuntimeFolder(stream);
     capturedZeebeDb = spy(zeebeDbFactory.createDb(runtimeFolder.toFile()));
@@ -77,10 +87,41 @@ public final class ExporterRule implements TestRule {
             .name(PROCESSOR_NAME)
             .logStream(stream.getAsyncLogStream())
             .zeebeDb(capturedZeebeDb)
-            .descriptors(exporterDescriptors);
+            .descriptors(exporterDescriptors)
+            .maxLag(maxLag)
+            .healthListener(healthListener);
 
-    director = new ExporterDirector(context);
+    final var director = new ExporterDirector(context);
     director.startAsync(actorSchedulerRule.get()).join();
+    directors.add(director);
+  }
+
+  @SuppressWarnings("unchecked")
+  public void startIsolatedExporterDirectors(final List<ExporterDescriptor> exporterDescriptors) {
+    final var stream = streams.getLogStream(STREAM_NAME);
+    final var runtimeFolder = streams.createRuntimeFolder(stream);
+    capturedZeebeDb = spy(zeebeDbFactory.createDb(runtimeFolder.toFile()));
+
+    final List<String> exporterIds =
+        exporterDescriptors.stream().map(ExporterDescriptor::getId).collect(Collectors.toList());
+    final ExporterRecordCache recordCache =
+        new ExporterRecordCache(stream.getPartitionId(), RECORD_CACHE_SIZE);
+
+    for (final ExporterDescriptor descriptor : exporterDescriptors) {
+      final ExporterDirectorContext context =
+          new ExporterDirectorContext()
+              .id(EXPORTER_PROCESSOR_ID)
+              .name(PROCESSOR_NAME + "-" + descriptor.getId())
+              .logStream(stream.getAsyncLogStream())
+              .zeebeDb(capturedZeebeDb)
+              .descriptors(List.of(descriptor))
+              .configuredExporterIds(exporterIds)
+              .recordCache(recordCache);
+
+      final var director = new ExporterDirector(context);
+      director.startAsync(actorSchedulerRule.get()).join();
+      directors.add(director);
+    }
   }
 
   public ControlledActorClock getClock() {
@@ -114,7 +155,10 @@ public final class ExporterRule implements TestRule {
   }
 
   public void closeExporterDirector() throws Exception {
-    director.stopAsync().join();
+    for (final ExporterDirector director : directors) {
+      director.stopAsync().join();
+    }
+    directors.clear();
     capturedZeebeDb.close();
     capturedZeebeDb = null;
   }
@@ -8,6 +8,7 @@
 
 package io.zeebe.broker.logstreams;
 
+import static io.zeebe.test.util.TestUtil.waitUntil;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import io.atomix.raft.storage.RaftStorage;
@@ -27,7 +28,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
@@ -124,6 +127,44 @@ public final class AtomixLogDeletionServiceTest {
     assertThat(entries).isNotEmpty().hasSize(1).extracting(Indexed::index).containsExactly(3L);
   }
 
+  @Test
+  public void shouldCompactOneAfterAnother() {
+    // given
+    final var snapshotStore = new NoopSnapshotStore();
+    final var compactions = new LinkedBlockingQueue<Long>();
+    final var firstCompaction = new CompletableFuture<Void>();
+    final var inProgress = new AtomicInteger();
+    final var maxInProgress = new AtomicInteger();
+    final LogCompactor blockingCompactor =
+        compactionBound -> {
+          maxInProgress.accumulateAndGet(inProgress.incrementAndGet(), Math::max);
+          compactions.add(compactionBound);
+          final var compaction = compactions.size() == 1 ? firstCompaction : completedFuture();
+          return compaction.whenComplete((nothing, error) -> inProgress.decrementAndGet());
+        };
+    final var service = new LogDeletionService(0, PARTITION_ID, blockingCompactor, snapshotStore);
+    actorScheduler.submitActor(service).join();
+
+    try {
+      // when
+      snapshotStore.takeNewSnapshot(1);
+      waitUntil(() -> compactions.contains(1L));
+      snapshotStore.takeNewSnapshot(2);
+      snapshotStore.takeNewSnapshot(3);
+      firstCompaction.complete(null);
+
+      // then
+      waitUntil(() -> compactions.contains(3L));
+      assertThat(maxInProgress).hasValue(1);
+    } finally {
+      service.close();
+    }
+  }
+
+  private static CompletableFuture<Void> completedFuture() {
+    return CompletableFuture.completedFuture(null);
+  }
+
   private void createSnapshot(final long index) {
     persistedSnapshotStore.takeNewSnapshot(index);
   }
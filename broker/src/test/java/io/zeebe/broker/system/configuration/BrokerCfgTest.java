@@ -24,10 +24,13 @@ import static org.assertj.core.api.Assertions.assertThat;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.zeebe.broker.exporter.debug.DebugLogExporter;
 import io.zeebe.broker.exporter.metrics.MetricsExporter;
+import io.zeebe.broker.system.configuration.ExportingCfg.ExecutionMode;
 import io.zeebe.broker.system.configuration.backpressure.BackpressureCfg;
 import io.zeebe.broker.system.configuration.backpressure.BackpressureCfg.LimitAlgorithm;
 import io.zeebe.test.util.TestConfigurationFactory;
+import io.zeebe.transport.TransportType;
 import io.zeebe.util.Environment;
+import io.zeebe.util.sched.ActorPlacementPolicy;
 import java.nio.file.Paths;
 import java.time.Duration;
 import java.util.Arrays;
@@ -99,6 +102,89 @@ public final class BrokerCfgTest {
     assertDefaultStepTimeout(Duration.ofMinutes(1));
   }
 
+  @Test
+  public void shouldUseDefaultMaxMessageExpirationsPerCheck() {
+    assertDefaultMaxMessageExpirationsPerCheck(1000);
+  }
+
+  @Test
+  public void shouldUseMaxMessageExpirationsPerCheck() {
+    assertMaxMessageExpirationsPerCheck("processing-cfg", 50);
+  }
+
+  @Test
+  public void shouldUseMaxMessageExpirationsPerCheckFromEnv() {
+    environment.put("zeebe.broker.processing.maxMessageExpirationsPerCheck", "20");
+    assertDefaultMaxMessageExpirationsPerCheck(20);
+  }
+
+  @Test
+  public void shouldUseAtomixCommandApiTransportByDefault() {
+    // when
+    final BrokerCfg cfg = readConfig("default");
+
+    // then
+    assertThat(cfg.getNetwork().getCommandApi().getTransport()).isEqualTo(TransportType.ATOMIX);
+  }
+
+  @Test
+  public void shouldUseCommandApiTransportFromEnv() {
+    // given
+    environment.put("zeebe.broker.network.commandApi.transport", "binary");
+
+    // when
+    final BrokerCfg cfg = readConfig("default");
+
+    // then
+    assertThat(cfg.getNetwork().getCommandApi().getTransport()).isEqualTo(TransportType.BINARY);
+    assertThat(cfg.getGateway().getCluster().getCommandTransport()).isEqualTo(TransportType.BINARY);
+  }
+
+  @Test
+  public void shouldUseSharedExportingModeByDefault() {
+    // when
+    final BrokerCfg cfg = readConfig("default");
+
+    // then
+    assertThat(cfg.getExporting().getMode()).isEqualTo(ExecutionMode.SHARED);
+    assertThat(cfg.getExporting().getRecordCacheSize()).isEqualTo(1024);
+    assertThat(cfg.getExporting().isMaxLagEnabled()).isFalse();
+  }
+
+  @Test
+  public void shouldUseExportingConfig() {
+    // when
+    final BrokerCfg cfg = readConfig("exporting-cfg");
+
+    // then
+    assertThat(cfg.getExporting().getMode()).isEqualTo(ExecutionMode.ISOLATED);
+    assertThat(cfg.getExporting().getRecordCacheSize()).isEqualTo(256);
+    assertThat(cfg.getExporting().getMaxLag()).isEqualTo(100_000);
+  }
+
+  @Test
+  public void shouldUseDefaultThreadsConfig() {
+    // when
+    final BrokerCfg cfg = readConfig("default");
+
+    // then
+    assertThat(cfg.getThreads().getActorPlacement()).isEqualTo(ActorPlacementPolicy.WORK_STEALING);
+    assertThat(cfg.getThreads().isActorMetricsEnabled()).isFalse();
+    assertThat(cfg.getThreads().isAdaptivePrioritySchedulingEnabled()).isFalse();
+  }
+
+  @Test
+  public void shouldUseThreadsConfig() {
+    // when
+    final BrokerCfg cfg = readConfig("threads-cfg");
+
+    // then
+    assertThat(cfg.getThreads().getActorPlacement())
+        .isEqualTo(ActorPlacementPolicy.PARTITION_AFFINE);
+    assertThat(cfg.getThreads().isActorMetricsEnabled()).isTrue();
+    assertThat(cfg.getThreads().isAdaptivePrioritySchedulingEnabled()).isTrue();
+  }
+
   @Test
   public void shouldUseSpecifiedNodeId() {
     assertNodeId("specific-node-id", 123);
@@ -571,6 +657,20 @@ public final class BrokerCfgTest {
     assertUseMmap(true);
   }
 
+  @Test
+  public void shouldDisableWriteBufferAutoSizingByDefault() {
+    assertDefaultWriteBufferAutoSizing(Duration.ZERO);
+  }
+
+  @Test
+  public void shouldUseWriteBufferAutoSizingFromEnv() {
+    // given
+    environment.put("zeebe.broker.data.writeBufferAutoSizing", "5s");
+
+    // then
+    assertDefaultWriteBufferAutoSizing(Duration.ofSeconds(5));
+  }
+
   @Test
   public void shouldNotPrintConfidentialInformation() throws Exception {
     // given
@@ -653,6 +753,18 @@ public final class BrokerCfgTest {
     assertThat(cfg.getStepTimeout()).isEqualTo(stepTimeout);
   }
 
+  private void assertDefaultMaxMessageExpirationsPerCheck(final int maxMessageExpirations) {
+    assertMaxMessageExpirationsPerCheck("default", maxMessageExpirations);
+    assertMaxMessageExpirationsPerCheck("empty", maxMessageExpirations);
+  }
+
+  private void assertMaxMessageExpirationsPerCheck(
+      final String configFileName, final int maxMessageExpirations) {
+    final BrokerCfg cfg = readConfig(configFileName);
+    assertThat(cfg.getProcessing().getMaxMessageExpirationsPerCheck())
+        .isEqualTo(maxMessageExpirations);
+  }
+
   private void assertDefaultPorts(final int command, final int internal, final int monitoring) {
     assertPorts("default", command, internal, monitoring);
     assertPorts("empty", command, internal, monitoring);
@@ -673,6 +785,13 @@ public final class BrokerCfgTest {
     assertHost("empty", host);
   }
 
+  private void assertDefaultWriteBufferAutoSizing(final Duration writeBufferAutoSizing) {
+    assertThat(readConfig("default").getData().getWriteBufferAutoSizing())
+        .isEqualTo(writeBufferAutoSizing);
+    assertThat(readConfig("empty").getData().getWriteBufferAutoSizing())
+        .isEqualTo(writeBufferAutoSizing);
+  }
+
   private void assertUseMmap(final boolean useMmap) {
     assertUseMmap("default", useMmap);
     assertUseMmap("empty", useMmap);
@@ -8,8 +8,10 @@
 package io.zeebe.broker.system.configuration;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import io.atomix.storage.StorageLevel;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import org.junit.Test;
@@ -84,4 +86,16 @@ public class DataCfgTest {
     assertThat(dataCfg.getDiskUsageCommandWatermark()).isEqualTo(1.0);
     assertThat(dataCfg.getDiskUsageReplicationWatermark()).isEqualTo(1.0);
   }
+
+  @Test
+  public void shouldRejectNegativeWriteBufferAutoSizing() {
+    // given
+    final DataCfg dataCfg = new DataCfg();
+    dataCfg.setWriteBufferAutoSizing(Duration.ofSeconds(-1));
+
+    // when / then
+    assertThatThrownBy(() -> dataCfg.init(new BrokerCfg(), "/base"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("writeBufferAutoSizing");
+  }
 }
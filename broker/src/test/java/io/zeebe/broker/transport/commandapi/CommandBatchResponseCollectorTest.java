@@ -0,0 +1,166 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.broker.transport.commandapi;
+
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.broker.transport.commandapi.CommandBatchResponseCollector.PendingBatch;
+import io.zeebe.protocol.impl.encoding.ErrorResponse;
+import io.zeebe.protocol.impl.encoding.ExecuteCommandBatchResponse;
+import io.zeebe.protocol.record.ErrorCode;
+import io.zeebe.transport.ServerResponse;
+import io.zeebe.transport.impl.ServerResponseImpl;
+import java.util.ArrayList;
+import java.util.List;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Before;
+import org.junit.Test;
+
+public final class CommandBatchResponseCollectorTest {
+
+  private static final int PARTITION_ID = 1;
+
+  private final List<SentResponse> sentResponses = new ArrayList<>();
+  private CommandBatchResponseCollector collector;
+
+  @Before
+  public void setup() {
+    collector =
+        new CommandBatchResponseCollector(
+            response -> sentResponses.add(new SentResponse(response)));
+  }
+
+  @Test
+  public void shouldSendBatchResponseInCommandOrder() {
+    // given
+    final PendingBatch batch = collector.newBatch(PARTITION_ID, 10L, 3);
+    final long firstRequestId = batch.nextCommandRequestId(0);
+    final long secondRequestId = batch.nextCommandRequestId(1);
+    final long thirdRequestId = batch.nextCommandRequestId(2);
+
+    // when
+    collector.sendResponse(response(thirdRequestId, "third"));
+    collector.sendResponse(response(firstRequestId, "first"));
+    assertThat(sentResponses).isEmpty();
+    collector.sendResponse(response(secondRequestId, "second"));
+
+    // then
+    assertThat(sentResponses).hasSize(1);
+    final SentResponse sentResponse = sentResponses.get(0);
+    assertThat(sentResponse.requestId).isEqualTo(10L);
+    assertThat(sentResponse.partitionId).isEqualTo(PARTITION_ID);
+
+    final ExecuteCommandBatchResponse batchResponse = new ExecuteCommandBatchResponse();
+    batchResponse.wrap(sentResponse.content, 0, sentResponse.content.capacity());
+    assertThat(batchResponse.getResponses())
+        .containsExactly(wrapString("first"), wrapString("second"), wrapString("third"));
+  }
+
+  @Test
+  public void shouldUseNegativeCommandRequestIds() {
+    // given
+    final PendingBatch batch = collector.newBatch(PARTITION_ID, 10L, 2);
+
+    // when
+    final long firstRequestId = batch.nextCommandRequestId(0);
+    final long secondRequestId = batch.nextCommandRequestId(1);
+
+    // then
+    assertThat(firstRequestId).isNegative().isNotEqualTo(-1L);
+    assertThat(secondRequestId).isNegative().isNotEqualTo(-1L).isNotEqualTo(firstRequestId);
+  }
+
+  @Test
+  public void shouldPassThroughOtherResponses() {
+    // given
+    final PendingBatch batch = collector.newBatch(PARTITION_ID, 10L, 1);
+    batch.nextCommandRequestId(0);
+
+    // when
+    collector.sendResponse(response(3L, "single"));
+
+    // then
+    assertThat(sentResponses).hasSize(1);
+    assertThat(sentResponses.get(0).requestId).isEqualTo(3L);
+    assertThat(sentResponses.get(0).content).isEqualTo(wrapString("single"));
+  }
+
+  @Test
+  public void shouldSendEmptyBatchResponseImmediately() {
+    // when
+    collector.newBatch(PARTITION_ID, 10L, 0);
+
+    // then
+    assertThat(sentResponses).hasSize(1);
+    final ExecuteCommandBatchResponse batchResponse = new ExecuteCommandBatchResponse();
+    final DirectBuffer content = sentResponses.get(0).content;
+    batchResponse.wrap(content, 0, content.capacity());
+    assertThat(batchResponse.getResponses()).isEmpty();
+  }
+
+  @Test
+  public void shouldDropPendingBatchesOfRemovedPartition() {
+    // given
+    final PendingBatch batch = collector.newBatch(PARTITION_ID, 10L, 1);
+    final long requestId = batch.nextCommandRequestId(0);
+
+    // when
+    collector.removePartition(PARTITION_ID);
+    collector.sendResponse(response(requestId, "late"));
+
+    // then the late response is not collected anymore, but passed through
+    assertThat(sentResponses).hasSize(2);
+    assertThat(sentResponses.get(1).requestId).isEqualTo(requestId);
+  }
+
+  @Test
+  public void shouldRespondWithErrorToPendingBatchesOfRemovedPartition() {
+    // given
+    final PendingBatch batch = collector.newBatch(PARTITION_ID, 10L, 2);
+    final long firstRequestId = batch.nextCommandRequestId(0);
+    batch.nextCommandRequestId(1);
+    collector.sendResponse(response(firstRequestId, "first"));
+
+    // when
+    collector.removePartition(PARTITION_ID);
+
+    // then
+    assertThat(sentResponses).hasSize(1);
+    final SentResponse sentResponse = sentResponses.get(0);
+    assertThat(sentResponse.requestId).isEqualTo(10L);
+    assertThat(sentResponse.partitionId).isEqualTo(PARTITION_ID);
+
+    final ErrorResponse errorResponse = new ErrorResponse();
+    errorResponse.wrap(sentResponse.content, 0, sentResponse.content.capacity());
+    assertThat(errorResponse.getErrorCode()).isEqualTo(ErrorCode.PARTITION_LEADER_MISMATCH);
+  }
+
+  private static ServerResponse response(final long requestId, final String content) {
+    return new ServerResponseImpl()
+        .setPartitionId(PARTITION_ID)
+        .setRequestId(requestId)
+        .buffer(wrapString(content));
+  }
+
+  private static final class SentResponse {
+    private final long requestId;
+    private final int partitionId;
+    private final DirectBuffer content;
+
+    private SentResponse(final ServerResponse response) {
+      requestId = response.getRequestId();
+      partitionId = response.getPartitionId();
+
+      final byte[] bytes = new byte[response.getLength()];
+      response.write(new UnsafeBuffer(bytes), 0);
+      content = new UnsafeBuffer(bytes);
+    }
+  }
+}
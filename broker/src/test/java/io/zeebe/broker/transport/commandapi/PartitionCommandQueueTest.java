@@ -0,0 +1,153 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.broker.transport.commandapi;
+
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.zeebe.broker.transport.backpressure.RequestLimiter;
+import io.zeebe.logstreams.log.LogStreamBatchWriter;
+import io.zeebe.logstreams.log.LogStreamBatchWriter.LogEntryBuilder;
+import io.zeebe.protocol.impl.record.RecordMetadata;
+import io.zeebe.protocol.record.intent.Intent;
+import io.zeebe.transport.ServerOutput;
+import java.util.ArrayList;
+import java.util.List;
+import org.agrona.DirectBuffer;
+import org.junit.Before;
+import org.junit.Test;
+
+public final class PartitionCommandQueueTest {
+
+  private static final int PARTITION_ID = 1;
+  private static final DirectBuffer VALUE = wrapString("value");
+
+  private final List<Long> respondedRequestIds = new ArrayList<>();
+  private final ServerOutput output = response -> respondedRequestIds.add(response.getRequestId());
+  private final ErrorResponseWriter errorResponseWriter = new ErrorResponseWriter();
+  private final RecordMetadata metadata = new RecordMetadata();
+  private LogStreamBatchWriter batchWriter;
+  private LogEntryBuilder logEntryBuilder;
+  private RequestLimiter<Intent> limiter;
+  private PartitionCommandQueue commandQueue;
+
+  @Before
+  @SuppressWarnings("unchecked")
+  public void setup() {
+    batchWriter = mock(LogStreamBatchWriter.class);
+    logEntryBuilder = mock(LogEntryBuilder.class, RETURNS_SELF);
+    limiter = mock(RequestLimiter.class);
+    when(batchWriter.event()).thenReturn(logEntryBuilder);
+
+    commandQueue = new PartitionCommandQueue(PARTITION_ID, batchWriter, limiter);
+  }
+
+  @Test
+  public void shouldWriteQueuedCommandsAsOneBatch() {
+    // given
+    when(batchWriter.tryWrite()).thenReturn(10L);
+    addCommand(1L);
+    addCommand(2L);
+    addCommand(3L);
+
+    // when
+    commandQueue.flush(output, errorResponseWriter);
+
+    // then
+    verify(batchWriter, times(3)).event();
+    verify(batchWriter).tryWrite();
+    verify(limiter, never()).onIgnore(PARTITION_ID, 1L);
+    assertThat(respondedRequestIds).isEmpty();
+    assertThat(commandQueue.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void shouldRejectQueuedCommandsIfBatchCannotBeWritten() {
+    // given
+    when(batchWriter.tryWrite()).thenReturn(-1L);
+    addCommand(1L);
+    addCommand(2L);
+
+    // when
+    commandQueue.flush(output, errorResponseWriter);
+
+    // then
+    verify(batchWriter).reset();
+    verify(limiter).onIgnore(PARTITION_ID, 1L);
+    verify(limiter).onIgnore(PARTITION_ID, 2L);
+    assertThat(respondedRequestIds).containsExactly(1L, 2L);
+    assertThat(commandQueue.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void shouldNotWriteEmptyQueue() {
+    // when
+    commandQueue.flush(output, errorResponseWriter);
+
+    // then
+    verify(batchWriter, never()).tryWrite();
+  }
+
+  @Test
+  public void shouldAlwaysAcceptCommandIfQueueIsEmpty() {
+    // given
+    when(batchWriter.canWriteAdditionalEvent(100)).thenReturn(false);
+
+    // when - then
+    assertThat(commandQueue.canAdd(100)).isTrue();
+    addCommand(1L);
+    assertThat(commandQueue.canAdd(100)).isFalse();
+  }
+
+  @Test
+  public void shouldRejectQueuedCommandsOnDiscard() {
+    // given
+    addCommand(1L);
+    addCommand(2L);
+
+    // when
+    commandQueue.discard(errorResponseWriter);
+
+    // then
+    verify(limiter).onIgnore(PARTITION_ID, 1L);
+    verify(limiter).onIgnore(PARTITION_ID, 2L);
+    verify(batchWriter).reset();
+    verify(batchWriter, never()).tryWrite();
+    assertThat(respondedRequestIds).containsExactly(1L, 2L);
+    assertThat(commandQueue.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void shouldRejectQueuedCommandsIfCommandCannotBeAdded() {
+    // given
+    addCommand(1L);
+    when(logEntryBuilder.done()).thenThrow(new IllegalStateException("expected"));
+
+    // when
+    assertThatThrownBy(() -> addCommand(2L)).isInstanceOf(IllegalStateException.class);
+    commandQueue.reject(output, errorResponseWriter);
+
+    // then
+    verify(batchWriter).reset();
+    verify(limiter).onIgnore(PARTITION_ID, 1L);
+    verify(limiter).onIgnore(PARTITION_ID, 2L);
+    assertThat(respondedRequestIds).containsExactly(1L, 2L);
+    assertThat(commandQueue.isEmpty()).isTrue();
+  }
+
+  private void addCommand(final long requestId) {
+    commandQueue.add(output, requestId, requestId, metadata, VALUE, 0, VALUE.capacity());
+  }
+}
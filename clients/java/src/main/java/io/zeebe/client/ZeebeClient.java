@@ -18,8 +18,10 @@ package io.zeebe.client;
 import io.zeebe.client.api.command.ActivateJobsCommandStep1;
 import io.zeebe.client.api.command.CancelWorkflowInstanceCommandStep1;
 import io.zeebe.client.api.command.CreateWorkflowInstanceCommandStep1;
+import io.zeebe.client.api.command.CreateWorkflowInstancesCommandStep1;
 import io.zeebe.client.api.command.DeployWorkflowCommandStep1;
 import io.zeebe.client.api.command.PublishMessageCommandStep1;
+import io.zeebe.client.api.command.PublishMessagesCommandStep1;
 import io.zeebe.client.api.command.ResolveIncidentCommandStep1;
 import io.zeebe.client.api.command.SetVariablesCommandStep1;
 import io.zeebe.client.api.command.TopologyRequestStep1;
@@ -109,6 +111,25 @@ public interface ZeebeClient extends AutoCloseable, JobClient {
    */
   CreateWorkflowInstanceCommandStep1 newCreateInstanceCommand();
 
+  /**
+   * Command to create/start multiple instances of workflows at once. The instances are distributed
+   * over the partitions. If an instance can't be created, then the other instances are still
+   * created and the result of the instance contains the reason of the rejection.
+   *
+   * <pre>
+   * zeebeClient
+   *  .newCreateInstancesCommand()
+   *  .addInstance("my-process")
+   *  .variables(json)
+   *  .addInstance("my-process")
+   *  .version(2)
+   *  .send();
+   * </pre>
+   *
+   * @return a builder for the command
+   */
+  CreateWorkflowInstancesCommandStep1 newCreateInstancesCommand();
+
   /**
    * Command to cancel a workflow instance.
    *
@@ -155,6 +176,24 @@ public interface ZeebeClient extends AutoCloseable, JobClient {
    */
   PublishMessageCommandStep1 newPublishMessageCommand();
 
+  /**
+   * Command to publish multiple messages at once. The messages are grouped by the partitions of
+   * their correlation keys. If a message can't be published, then the other messages are still
+   * published and the result of the message contains the reason of the rejection.
+   *
+   * <pre>
+   * zeebeClient
+   *  .newPublishMessagesCommand()
+   *  .addMessage("order canceled", orderId)
+   *  .variables(json)
+   *  .addMessage("order canceled", otherOrderId)
+   *  .send();
+   * </pre>
+   *
+   * @return a builder for the command
+   */
+  PublishMessagesCommandStep1 newPublishMessagesCommand();
+
   /**
    * Command to resolve an existing incident.
    *
@@ -0,0 +1,89 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.client.api.command;
+
+import io.zeebe.client.api.response.CreateWorkflowInstancesResponse;
+import java.io.InputStream;
+import java.util.Map;
+
+public interface CreateWorkflowInstancesCommandStep1 {
+
+  /**
+   * Add an instance of the latest version of the workflow with the given BPMN process id.
+   *
+   * @param bpmnProcessId the BPMN process id of the workflow
+   * @return the builder for this command
+   */
+  CreateWorkflowInstancesCommandStep2 addInstance(String bpmnProcessId);
+
+  /**
+   * Add an instance of the workflow with the given key.
+   *
+   * @param workflowKey the key of the workflow
+   * @return the builder for this command
+   */
+  CreateWorkflowInstancesCommandStep2 addInstance(long workflowKey);
+
+  interface CreateWorkflowInstancesCommandStep2
+      extends CreateWorkflowInstancesCommandStep1,
+          FinalCommandStep<CreateWorkflowInstancesResponse> {
+
+    /**
+     * Set the version of the workflow of the last added instance. Only applies to instances which
+     * were added by their BPMN process id.
+     *
+     * @param version the version of the workflow
+     * @return the builder for this command
+     */
+    CreateWorkflowInstancesCommandStep2 version(int version);
+
+    /**
+     * Set the initial variables of the last added instance.
+     *
+     * @param variables the variables JSON document as stream
+     * @return the builder for this command. Call {@link #send()} to complete the command and send
+     *     it to the broker.
+     */
+    CreateWorkflowInstancesCommandStep2 variables(InputStream variables);
+
+    /**
+     * Set the initial variables of the last added instance.
+     *
+     * @param variables the variables JSON document as String
+     * @return the builder for this command. Call {@link #send()} to complete the command and send
+     *     it to the broker.
+     */
+    CreateWorkflowInstancesCommandStep2 variables(String variables);
+
+    /**
+     * Set the initial variables of the last added instance.
+     *
+     * @param variables the variables document as map
+     * @return the builder for this command. Call {@link #send()} to complete the command and send
+     *     it to the broker.
+     */
+    CreateWorkflowInstancesCommandStep2 variables(Map<String, Object> variables);
+
+    /**
+     * Set the initial variables of the last added instance.
+     *
+     * @param variables the variables document as object to be serialized to JSON
+     * @return the builder for this command. Call {@link #send()} to complete the command and send
+     *     it to the broker.
+     */
+    CreateWorkflowInstancesCommandStep2 variables(Object variables);
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.client.api.command;
+
+import io.zeebe.client.api.response.PublishMessagesResponse;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Map;
+
+public interface PublishMessagesCommandStep1 {
+
+  /**
+   * Add a message to publish.
+   *
+   * @param messageName the name of the message
+   * @param correlationKey the value of the correlation key of the message
+   * @return the builder for this command
+   */
+  PublishMessagesCommandStep2 addMessage(String messageName, String correlationKey);
+
+  interface PublishMessagesCommandStep2
+      extends PublishMessagesCommandStep1, FinalCommandStep<PublishMessagesResponse> {
+
+    /**
+     * Set the id of the last added message. The message is rejected if a message with the same id
+     * was published before (and is still buffered).
+     *
+     * @param messageId the id of the message
+     * @return the builder for this command
+     */
+    PublishMessagesCommandStep2 messageId(String messageId);
+
+    /**
+     * Set the time-to-live of the last added message. If not set, the default time-to-live of the
+     * client is used.
+     *
+     * @param timeToLive the time-to-live of the message
+     * @return the builder for this command
+     */
+    PublishMessagesCommandStep2 timeToLive(Duration timeToLive);
+
+    /**
+     * Set the variables of the last added message.
+     *
+     * @param variables the variables JSON document as stream
+     * @return the builder for this command. Call {@link #send()} to complete the command and send
+     *     it to the broker.
+     */
+    PublishMessagesCommandStep2 variables(InputStream variables);
+
+    /**
+     * Set the variables of the last added message.
+     *
+     * @param variables the variables JSON document as String
+     * @return the builder for this command. Call {@link #send()} to complete the command and send
+     *     it to the broker.
+     */
+    PublishMessagesCommandStep2 variables(String variables);
+
+    /**
+     * Set the variables of the last added message.
+     *
+     * @param variables the variables document as map
+     * @return the builder for this command. Call {@link #send()} to complete the command and send
+     *     it to the broker.
+     */
+    PublishMessagesCommandStep2 variables(Map<String, Object> variables);
+
+    /**
+     * Set the variables of the last added message.
+     *
+     * @param variables the variables document as object to be serialized to JSON
+     * @return the builder for this command. Call {@link #send()} to complete the command and send
+     *     it to the broker.
+     */
+    PublishMessagesCommandStep2 variables(Object variables);
+  }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.client.api.response;
+
+public interface CreateWorkflowInstanceResult {
+
+  /** @return true if the workflow instance was created, false if it was rejected */
+  boolean isCreated();
+
+  /** @return the created workflow instance, or null if the workflow instance was not created */
+  WorkflowInstanceEvent getWorkflowInstance();
+
+  /**
+   * @return the type of the rejection (e.g. NOT_FOUND) if the workflow instance was not created,
+   *     otherwise an empty string
+   */
+  String getRejectionType();
+
+  /**
+   * @return the reason of the rejection if the workflow instance was not created, otherwise an
+   *     empty string
+   */
+  String getRejectionReason();
+}
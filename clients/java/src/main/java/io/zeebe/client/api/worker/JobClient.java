@@ -16,12 +16,14 @@
 package io.zeebe.client.api.worker;
 
 import io.zeebe.client.api.command.CompleteJobCommandStep1;
+import io.zeebe.client.api.command.CompleteJobsCommandStep1;
 import io.zeebe.client.api.command.FailJobCommandStep1;
 import io.zeebe.client.api.command.ThrowErrorCommandStep1;
 
 /**
  * A client with access to all job-related operation:
  * <li>complete a job
+ * <li>complete multiple jobs at once
  * <li>mark a job as failed
  * <li>update the retries of a job
  */
@@ -47,6 +49,26 @@ public interface JobClient {
    */
   CompleteJobCommandStep1 newCompleteCommand(long jobKey);
 
+  /**
+   * Command to complete multiple jobs at once.
+   *
+   * <pre>
+   * jobClient
+   *  .newCompleteJobsCommand()
+   *  .addJob(jobKey, json)
+   *  .addJob(otherJobKey)
+   *  .send();
+   * </pre>
+   *
+   * <p>The jobs are grouped by the partition they belong to and the jobs of each partition are
+   * completed by a single command. A job which can't be completed (e.g. because it doesn't exist
+   * anymore) doesn't fail the whole command; instead, its result contains the reason of the
+   * rejection.
+   *
+   * @return a builder for the command
+   */
+  CompleteJobsCommandStep1 newCompleteJobsCommand();
+
   /**
    * Command to mark a job as failed.
    *
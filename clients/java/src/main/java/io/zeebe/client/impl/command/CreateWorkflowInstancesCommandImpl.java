@@ -0,0 +1,116 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.client.impl.command;
+
+import io.grpc.stub.StreamObserver;
+import io.zeebe.client.api.ZeebeFuture;
+import io.zeebe.client.api.command.CreateWorkflowInstanceCommandStep1;
+import io.zeebe.client.api.command.CreateWorkflowInstancesCommandStep1;
+import io.zeebe.client.api.command.CreateWorkflowInstancesCommandStep1.CreateWorkflowInstancesCommandStep2;
+import io.zeebe.client.api.command.FinalCommandStep;
+import io.zeebe.client.api.response.CreateWorkflowInstancesResponse;
+import io.zeebe.client.impl.RetriableClientFutureImpl;
+import io.zeebe.client.impl.ZeebeObjectMapper;
+import io.zeebe.client.impl.response.CreateWorkflowInstancesResponseImpl;
+import io.zeebe.gateway.protocol.GatewayGrpc.GatewayStub;
+import io.zeebe.gateway.protocol.GatewayOuterClass;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CreateWorkflowInstanceRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CreateWorkflowInstancesRequest;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+public final class CreateWorkflowInstancesCommandImpl
+    extends CommandWithVariables<CreateWorkflowInstancesCommandImpl>
+    implements CreateWorkflowInstancesCommandStep1, CreateWorkflowInstancesCommandStep2 {
+
+  private final GatewayStub asyncStub;
+  private final Predicate<Throwable> retryPredicate;
+  private final CreateWorkflowInstancesRequest.Builder builder;
+  private CreateWorkflowInstanceRequest.Builder instanceBuilder;
+  private Duration requestTimeout;
+
+  public CreateWorkflowInstancesCommandImpl(
+      final GatewayStub asyncStub,
+      final ZeebeObjectMapper objectMapper,
+      final Duration requestTimeout,
+      final Predicate<Throwable> retryPredicate) {
+    super(objectMapper);
+    this.asyncStub = asyncStub;
+    this.requestTimeout = requestTimeout;
+    this.retryPredicate = retryPredicate;
+    builder = CreateWorkflowInstancesRequest.newBuilder();
+  }
+
+  @Override
+  public CreateWorkflowInstancesCommandStep2 addInstance(final String bpmnProcessId) {
+    instanceBuilder =
+        builder
+            .addInstancesBuilder()
+            .setBpmnProcessId(bpmnProcessId)
+            .setVersion(CreateWorkflowInstanceCommandStep1.LATEST_VERSION);
+    return this;
+  }
+
+  @Override
+  public CreateWorkflowInstancesCommandStep2 addInstance(final long workflowKey) {
+    instanceBuilder = builder.addInstancesBuilder().setWorkflowKey(workflowKey);
+    return this;
+  }
+
+  @Override
+  public CreateWorkflowInstancesCommandStep2 version(final int version) {
+    instanceBuilder.setVersion(version);
+    return this;
+  }
+
+  @Override
+  protected CreateWorkflowInstancesCommandImpl setVariablesInternal(final String variables) {
+    instanceBuilder.setVariables(variables);
+    return this;
+  }
+
+  @Override
+  public FinalCommandStep<CreateWorkflowInstancesResponse> requestTimeout(
+      final Duration requestTimeout) {
+    this.requestTimeout = requestTimeout;
+    return this;
+  }
+
+  @Override
+  public ZeebeFuture<CreateWorkflowInstancesResponse> send() {
+    final CreateWorkflowInstancesRequest request = builder.build();
+
+    final RetriableClientFutureImpl<
+            CreateWorkflowInstancesResponse, GatewayOuterClass.CreateWorkflowInstancesResponse>
+        future =
+            new RetriableClientFutureImpl<>(
+                CreateWorkflowInstancesResponseImpl::new,
+                retryPredicate,
+                streamObserver -> send(request, streamObserver));
+
+    send(request, future);
+    return future;
+  }
+
+  private void send(
+      final CreateWorkflowInstancesRequest request,
+      final StreamObserver<GatewayOuterClass.CreateWorkflowInstancesResponse> streamObserver) {
+    asyncStub
+        .withDeadlineAfter(requestTimeout.toMillis(), TimeUnit.MILLISECONDS)
+        .createWorkflowInstances(request, streamObserver);
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.client.impl.response;
+
+import io.zeebe.client.api.response.CreateWorkflowInstanceResult;
+import io.zeebe.client.api.response.WorkflowInstanceEvent;
+import io.zeebe.gateway.protocol.GatewayOuterClass;
+
+public final class CreateWorkflowInstanceResultImpl implements CreateWorkflowInstanceResult {
+
+  private final boolean created;
+  private final WorkflowInstanceEvent workflowInstance;
+  private final String rejectionType;
+  private final String rejectionReason;
+
+  public CreateWorkflowInstanceResultImpl(
+      final GatewayOuterClass.CreateWorkflowInstanceResult result) {
+    created = result.getCreated();
+    workflowInstance =
+        result.hasWorkflowInstance()
+            ? new CreateWorkflowInstanceResponseImpl(result.getWorkflowInstance())
+            : null;
+    rejectionType = result.getRejectionType();
+    rejectionReason = result.getRejectionReason();
+  }
+
+  @Override
+  public boolean isCreated() {
+    return created;
+  }
+
+  @Override
+  public WorkflowInstanceEvent getWorkflowInstance() {
+    return workflowInstance;
+  }
+
+  @Override
+  public String getRejectionType() {
+    return rejectionType;
+  }
+
+  @Override
+  public String getRejectionReason() {
+    return rejectionReason;
+  }
+
+  @Override
+  public String toString() {
+    return "CreateWorkflowInstanceResultImpl{"
+        + "created="
+        + created
+        + ", workflowInstance="
+        + workflowInstance
+        + ", rejectionType='"
+        + rejectionType
+        + '\''
+        + ", rejectionReason='"
+        + rejectionReason
+        + '\''
+        + '}';
+  }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.client.impl.response;
+
+import io.zeebe.client.api.response.PublishMessageResult;
+import io.zeebe.gateway.protocol.GatewayOuterClass;
+
+public final class PublishMessageResultImpl implements PublishMessageResult {
+
+  private final boolean published;
+  private final String rejectionType;
+  private final String rejectionReason;
+
+  public PublishMessageResultImpl(final GatewayOuterClass.PublishMessageResult result) {
+    published = result.getPublished();
+    rejectionType = result.getRejectionType();
+    rejectionReason = result.getRejectionReason();
+  }
+
+  @Override
+  public boolean isPublished() {
+    return published;
+  }
+
+  @Override
+  public String getRejectionType() {
+    return rejectionType;
+  }
+
+  @Override
+  public String getRejectionReason() {
+    return rejectionReason;
+  }
+
+  @Override
+  public String toString() {
+    return "PublishMessageResultImpl{"
+        + "published="
+        + published
+        + ", rejectionType='"
+        + rejectionType
+        + '\''
+        + ", rejectionReason='"
+        + rejectionReason
+        + '\''
+        + '}';
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.client.workflow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import io.zeebe.client.api.command.CreateWorkflowInstanceCommandStep1;
+import io.zeebe.client.api.response.CreateWorkflowInstanceResult;
+import io.zeebe.client.api.response.CreateWorkflowInstancesResponse;
+import io.zeebe.client.util.ClientTest;
+import io.zeebe.client.util.JsonUtil;
+import io.zeebe.gateway.protocol.GatewayOuterClass;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CreateWorkflowInstanceRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CreateWorkflowInstanceResponse;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CreateWorkflowInstancesRequest;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import org.junit.Test;
+
+public final class CreateWorkflowInstancesTest extends ClientTest {
+
+  @Test
+  public void shouldCreateWorkflowInstances() {
+    // given
+    final Map<String, Object> variables = Collections.singletonMap("key", "val");
+
+    // when
+    client
+        .newCreateInstancesCommand()
+        .addInstance("process")
+        .addInstance("process")
+        .version(2)
+        .variables(variables)
+        .addInstance(123L)
+        .send()
+        .join();
+
+    // then
+    final CreateWorkflowInstancesRequest request = gatewayService.getLastRequest();
+    assertThat(request.getInstancesList())
+        .extracting(
+            CreateWorkflowInstanceRequest::getBpmnProcessId,
+            CreateWorkflowInstanceRequest::getVersion,
+            CreateWorkflowInstanceRequest::getWorkflowKey)
+        .containsExactly(
+            tuple("process", CreateWorkflowInstanceCommandStep1.LATEST_VERSION, 0L),
+            tuple("process", 2, 0L),
+            tuple("", 0, 123L));
+    assertThat(request.getInstances(0).getVariables()).isEmpty();
+    JsonUtil.assertEquality(request.getInstances(1).getVariables(), JsonUtil.toJson(variables));
+
+    rule.verifyDefaultRequestTimeout();
+  }
+
+  @Test
+  public void shouldReturnResults() {
+    // given
+    gatewayService.onCreateWorkflowInstancesRequest(
+        GatewayOuterClass.CreateWorkflowInstanceResult.newBuilder()
+            .setCreated(true)
+            .setWorkflowInstance(
+                CreateWorkflowInstanceResponse.newBuilder()
+                    .setWorkflowKey(123)
+                    .setBpmnProcessId("process")
+                    .setVersion(1)
+                    .setWorkflowInstanceKey(456))
+            .build(),
+        GatewayOuterClass.CreateWorkflowInstanceResult.newBuilder()
+            .setCreated(false)
+            .setRejectionType("NOT_FOUND")
+            .setRejectionReason("no such workflow")
+            .build());
+
+    // when
+    final CreateWorkflowInstancesResponse response =
+        client
+            .newCreateInstancesCommand()
+            .addInstance("process")
+            .addInstance("unknown")
+            .send()
+            .join();
+
+    // then
+    assertThat(response.getResults())
+        .extracting(
+            CreateWorkflowInstanceResult::isCreated,
+            CreateWorkflowInstanceResult::getRejectionType,
+            CreateWorkflowInstanceResult::getRejectionReason)
+        .containsExactly(tuple(true, "", ""), tuple(false, "NOT_FOUND", "no such workflow"));
+    assertThat(response.getResults().get(0).getWorkflowInstance().getWorkflowInstanceKey())
+        .isEqualTo(456);
+    assertThat(response.getResults().get(1).getWorkflowInstance()).isNull();
+  }
+
+  @Test
+  public void shouldSetRequestTimeout() {
+    // given
+    final Duration requestTimeout = Duration.ofHours(124);
+
+    // when
+    client
+        .newCreateInstancesCommand()
+        .addInstance("process")
+        .requestTimeout(requestTimeout)
+        .send()
+        .join();
+
+    // then
+    rule.verifyRequestTimeout(requestTimeout);
+  }
+}
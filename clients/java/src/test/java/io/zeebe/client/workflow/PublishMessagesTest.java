@@ -0,0 +1,119 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.client.workflow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import io.zeebe.client.api.response.PublishMessageResult;
+import io.zeebe.client.api.response.PublishMessagesResponse;
+import io.zeebe.client.util.ClientTest;
+import io.zeebe.client.util.JsonUtil;
+import io.zeebe.gateway.protocol.GatewayOuterClass;
+import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessageRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessagesRequest;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import org.junit.Test;
+
+public final class PublishMessagesTest extends ClientTest {
+
+  @Test
+  public void shouldPublishMessages() {
+    // given
+    final Map<String, Object> variables = Collections.singletonMap("key", "val");
+
+    // when
+    client
+        .newPublishMessagesCommand()
+        .addMessage("name", "first")
+        .addMessage("name", "second")
+        .messageId("id")
+        .timeToLive(Duration.ofDays(1))
+        .variables(variables)
+        .send()
+        .join();
+
+    // then
+    final PublishMessagesRequest request = gatewayService.getLastRequest();
+    assertThat(request.getMessagesList())
+        .extracting(
+            PublishMessageRequest::getName,
+            PublishMessageRequest::getCorrelationKey,
+            PublishMessageRequest::getMessageId,
+            PublishMessageRequest::getTimeToLive)
+        .containsExactly(
+            tuple(
+                "name",
+                "first",
+                "",
+                client.getConfiguration().getDefaultMessageTimeToLive().toMillis()),
+            tuple("name", "second", "id", Duration.ofDays(1).toMillis()));
+    assertThat(request.getMessages(0).getVariables()).isEmpty();
+    JsonUtil.assertEquality(request.getMessages(1).getVariables(), JsonUtil.toJson(variables));
+
+    rule.verifyDefaultRequestTimeout();
+  }
+
+  @Test
+  public void shouldReturnResults() {
+    // given
+    gatewayService.onPublishMessagesRequest(
+        GatewayOuterClass.PublishMessageResult.newBuilder().setPublished(true).build(),
+        GatewayOuterClass.PublishMessageResult.newBuilder()
+            .setPublished(false)
+            .setRejectionType("ALREADY_EXISTS")
+            .setRejectionReason("message already published")
+            .build());
+
+    // when
+    final PublishMessagesResponse response =
+        client
+            .newPublishMessagesCommand()
+            .addMessage("name", "first")
+            .addMessage("name", "second")
+            .messageId("id")
+            .send()
+            .join();
+
+    // then
+    assertThat(response.getResults())
+        .extracting(
+            PublishMessageResult::isPublished,
+            PublishMessageResult::getRejectionType,
+            PublishMessageResult::getRejectionReason)
+        .containsExactly(
+            tuple(true, "", ""), tuple(false, "ALREADY_EXISTS", "message already published"));
+  }
+
+  @Test
+  public void shouldSetRequestTimeout() {
+    // given
+    final Duration requestTimeout = Duration.ofHours(124);
+
+    // when
+    client
+        .newPublishMessagesCommand()
+        .addMessage("name", "key")
+        .requestTimeout(requestTimeout)
+        .send()
+        .join();
+
+    // then
+    rule.verifyRequestTimeout(requestTimeout);
+  }
+}
@@ -7,11 +7,21 @@
  */
 package io.zeebe.dispatcher;
 
+import static io.zeebe.dispatcher.impl.PositionUtil.bytePosition;
 import static io.zeebe.dispatcher.impl.PositionUtil.partitionId;
 import static io.zeebe.dispatcher.impl.PositionUtil.partitionOffset;
 import static io.zeebe.dispatcher.impl.PositionUtil.position;
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.HEADER_LENGTH;
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.alignedLength;
 import static io.zeebe.dispatcher.impl.log.LogBufferAppender.RESULT_PADDING_AT_END_OF_PARTITION;
-
+import static io.zeebe.dispatcher.impl.log.LogBufferDescriptor.PARTITION_MAX_FRAGMENT_COUNT;
+import static io.zeebe.dispatcher.impl.log.LogBufferDescriptor.partitionGeneration;
+import static io.zeebe.dispatcher.impl.log.LogBufferDescriptor.rawTail;
+import static io.zeebe.dispatcher.impl.log.LogBufferDescriptor.tailFragmentCount;
+import static io.zeebe.dispatcher.impl.log.LogBufferDescriptor.tailGeneration;
+import static io.zeebe.dispatcher.impl.log.LogBufferDescriptor.tailOffset;
+
+import io.zeebe.dispatcher.impl.DispatcherMetrics;
 import io.zeebe.dispatcher.impl.log.LogBuffer;
 import io.zeebe.dispatcher.impl.log.LogBufferAppender;
 import io.zeebe.dispatcher.impl.log.LogBufferPartition;
@@ -20,7 +30,6 @@ import io.zeebe.util.sched.ActorCondition;
 import io.zeebe.util.sched.FutureUtil;
 import io.zeebe.util.sched.future.ActorFuture;
 import java.util.Arrays;
-import java.util.function.BiFunction;
 import org.slf4j.Logger;
 
 /** Component for sending and receiving messages between different threads. */
@@ -35,7 +44,12 @@ public class Dispatcher extends Actor {
 
   private final AtomicPosition publisherLimit;
   private final AtomicPosition publisherPosition;
-  private long recordPosition;
+  /**
+   * The record position of the first fragment of each partition; it is written by the publisher
+   * which activates the partition, before the partition's raw tail is published.
+   */
+  private final long[] partitionBasePositions;
+
   private final String[] defaultSubscriptionNames;
   private final int maxFragmentLength;
   private final String name;
@@ -45,6 +59,7 @@ public class Dispatcher extends Actor {
   private volatile boolean isClosed = false;
   private final Runnable backgroundTask = this::runBackgroundTask;
   private ActorCondition dataConsumed;
+  private final DispatcherMetrics metrics;
 
   Dispatcher(
       final LogBuffer logBuffer,
@@ -60,7 +75,8 @@ public class Dispatcher extends Actor {
     this.logAppender = logAppender;
     this.publisherLimit = publisherLimit;
     this.publisherPosition = publisherPosition;
-    recordPosition = initialPosition;
+    partitionBasePositions = new long[logBuffer.getPartitionCount()];
+    partitionBasePositions[0] = initialPosition;
     this.name = name;
 
     this.logWindowLength = logWindowLength;
@@ -68,6 +84,10 @@ public class Dispatcher extends Actor {
 
     subscriptions = new Subscription[0];
     defaultSubscriptionNames = subscriptionNames;
+
+    final int partitionSize = logBuffer.getPartitionSize();
+    metrics =
+        new DispatcherMetrics(name, partitionSize * logBuffer.getPartitionCount(), partitionSize);
   }
 
   @Override
@@ -93,6 +113,7 @@ public class Dispatcher extends Actor {
     }
 
     logBuffer.close();
+    metrics.close();
     isClosed = true;
     LOG.debug("Dispatcher closed");
   }
@@ -100,6 +121,21 @@ public class Dispatcher extends Actor {
   private void runBackgroundTask() {
     updatePublisherLimit();
     logBuffer.cleanPartitions();
+    updateMetrics();
+  }
+
+  private void updateMetrics() {
+    final long publisherPosition = this.publisherPosition.get();
+    metrics.setPublisherPositions(publisherPosition, publisherLimit.get());
+
+    long lastSubscriberPosition = publisherPosition;
+    for (final Subscription subscription : subscriptions) {
+      final long subscriptionPosition = subscription.getPosition();
+      lastSubscriberPosition = Math.min(lastSubscriberPosition, subscriptionPosition);
+      metrics.setSubscriptionPosition(
+          subscription.getName(), subscriptionPosition, publisherPosition);
+    }
+    metrics.setBufferUsed(publisherPosition, lastSubscriberPosition);
   }
 
   private void openDefaultSubscriptions() {
@@ -141,9 +177,8 @@ public class Dispatcher extends Actor {
   public long claimSingleFragment(
       final ClaimedFragment claim, final int length, final int streamId) {
     return offer(
-        (partition, activePartitionId) ->
-            logAppender.claim(
-                partition, activePartitionId, claim, length, streamId, onClaimComplete),
+        (partition, activePartitionId, frameOffset) ->
+            logAppender.claimAt(partition, frameOffset, claim, length, streamId, onClaimComplete),
         1,
         LogBufferAppender.claimedFragmentLength(length));
   }
@@ -161,68 +196,134 @@ public class Dispatcher extends Actor {
    */
   public long claimFragmentBatch(
       final ClaimedFragmentBatch batch, final int fragmentCount, final int batchLength) {
+    final int alignedBatchLength = LogBufferAppender.claimedBatchLength(fragmentCount, batchLength);
     return offer(
-        (partition, activePartitionId) ->
-            logAppender.claim(
-                partition, activePartitionId, batch, fragmentCount, batchLength, onClaimComplete),
+        (partition, activePartitionId, frameOffset) ->
+            logAppender.claimAt(
+                partition,
+                activePartitionId,
+                frameOffset,
+                batch,
+                alignedBatchLength,
+                onClaimComplete),
         fragmentCount,
-        LogBufferAppender.claimedBatchLength(fragmentCount, batchLength));
+        alignedBatchLength);
   }
 
-  private synchronized long offer(
-      final BiFunction<LogBufferPartition, Integer, Integer> claimer,
-      final int fragmentCount,
-      final int length) {
-    long newPosition = -1;
-
-    if (!isClosed) {
-      final long limit = publisherLimit.get();
-
-      final int activePartitionId = logBuffer.getActivePartitionIdVolatile();
-      final LogBufferPartition partition = logBuffer.getPartition(activePartitionId);
+  /**
+   * @return {@code true} if a batch with the given number of fragments and length doesn't exceed
+   *     the max fragment length, see {@link #claimFragmentBatch(ClaimedFragmentBatch, int, int)}
+   */
+  public boolean canClaimFragmentBatch(final int fragmentCount, final int batchLength) {
+    return LogBufferAppender.claimedBatchLength(fragmentCount, batchLength) < maxFragmentLength;
+  }
 
-      final int partitionOffset = partition.getTailCounterVolatile();
-      final long position = position(activePartitionId, partitionOffset);
+  /**
+   * Reserves the given length on the active partition and claims it. The reservation is done by a
+   * CAS on the partition's raw tail, so concurrent publishers don't block each other. The raw tail
+   * also holds the number of fragments reserved on the partition, which gives each claim its record
+   * position without a shared counter.
+   *
+   * <p>The publisher whose reservation doesn't fit into the partition seals it, fills the rest with
+   * padding and activates the next partition. Meanwhile, other publishers spin until the next
+   * partition is activated.
+   */
+  private long offer(final FragmentClaimer claimer, final int fragmentCount, final int length) {
+    // count a retried claim only once, even if it spins multiple times
+    boolean retried = false;
+    try {
+      while (!isClosed) {
+        final long limit = publisherLimit.get();
+
+        final int activePartitionId = logBuffer.getActivePartitionIdVolatile();
+        final LogBufferPartition partition = logBuffer.getPartition(activePartitionId);
+        final int partitionSize = partition.getPartitionSize();
+
+        final long rawTail = partition.getRawTailVolatile();
+        final int partitionOffset = tailOffset(rawTail);
+
+        if (tailGeneration(rawTail) != partitionGeneration(activePartitionId)
+            || partitionOffset >= partitionSize) {
+          // the partition is not activated yet or already sealed - wait for the next one
+          retried = true;
+          Thread.onSpinWait();
+          continue;
+        }
 
-      if (position < limit) {
-        final int newOffset;
+        if (position(activePartitionId, partitionOffset) >= limit) {
+          metrics.claimFailedOnPublisherLimit();
+          return -1;
+        }
 
-        if (length < maxFragmentLength) {
-          newOffset = claimer.apply(partition, activePartitionId);
-        } else {
+        if (length >= maxFragmentLength) {
           throw new IllegalArgumentException(
               String.format(ERROR_MESSAGE_CLAIM_FAILED, length, maxFragmentLength));
         }
 
-        newPosition = updatePublisherPosition(activePartitionId, newOffset);
+        final int fragmentsOnPartition = tailFragmentCount(rawTail);
+        final int newOffset = partitionOffset + alignedLength(length);
 
-        // if successful, replace internal publisher position with simple counter and return it
-        if (newPosition > 0) {
-          newPosition = recordPosition;
-          recordPosition += fragmentCount;
+        if (newOffset <= partitionSize - HEADER_LENGTH
+            && fragmentsOnPartition <= PARTITION_MAX_FRAGMENT_COUNT - fragmentCount) {
+          final long newRawTail =
+              rawTail(activePartitionId, fragmentsOnPartition + fragmentCount, newOffset);
+
+          if (partition.compareAndSetRawTail(rawTail, newRawTail)) {
+            claimer.claim(partition, activePartitionId, partitionOffset);
+
+            updatePublisherPosition(position(activePartitionId, newOffset));
+            signalSubscriptions();
+
+            return partitionBasePosition(activePartitionId) + fragmentsOnPartition;
+          }
+          retried = true;
+        } else {
+          final long sealedRawTail =
+              rawTail(activePartitionId, fragmentsOnPartition, partitionSize);
+
+          if (partition.compareAndSetRawTail(rawTail, sealedRawTail)) {
+            onPartitionSealed(partition, activePartitionId, partitionOffset, fragmentsOnPartition);
+            signalSubscriptions();
+
+            metrics.claimFailedOnEndOfPartition();
+            return RESULT_PADDING_AT_END_OF_PARTITION;
+          }
+          retried = true;
         }
-        signalSubscriptions();
       }
-    }
 
-    return newPosition;
+      metrics.claimFailedOnClosed();
+      return -1;
+    } finally {
+      if (retried) {
+        metrics.claimRetried();
+      }
+    }
   }
 
-  private long updatePublisherPosition(final int activePartitionId, final int newOffset) {
-    long newPosition = -1;
+  private void onPartitionSealed(
+      final LogBufferPartition partition,
+      final int partitionId,
+      final int partitionOffset,
+      final int fragmentCount) {
+    logAppender.appendPadding(partition, partitionOffset);
 
-    if (newOffset > 0) {
-      newPosition = position(activePartitionId, newOffset);
-    } else if (newOffset == RESULT_PADDING_AT_END_OF_PARTITION) {
-      logBuffer.onActivePartitionFilled(activePartitionId);
-      newPosition = -2;
-    }
+    final int nextPartitionId = partitionId + 1;
+    partitionBasePositions[nextPartitionId % partitionBasePositions.length] =
+        partitionBasePosition(partitionId) + fragmentCount;
+    logBuffer.getPartition(nextPartitionId).setRawTailOrdered(rawTail(nextPartitionId, 0, 0));
+
+    logBuffer.onActivePartitionFilled(partitionId);
+  }
+
+  private long partitionBasePosition(final int partitionId) {
+    return partitionBasePositions[partitionId % partitionBasePositions.length];
+  }
 
+  private void updatePublisherPosition(final long newPosition) {
     if (publisherPosition.proposeMaxOrdered(newPosition)) {
       LOG.trace("Updated publisher position to {}", newPosition);
     }
-
-    return newPosition;
   }
 
   public int updatePublisherLimit() {
@@ -333,6 +434,7 @@ public class Dispatcher extends Actor {
     // close subscription
     subscriptionToClose.isClosed = true;
     subscriptionToClose.position.reset();
+    metrics.removeSubscription(subscriptionToClose.getName());
 
     // remove from list
     final int len = subscriptions.length;
@@ -397,8 +499,18 @@ public class Dispatcher extends Actor {
     }
   }
 
+  /** @return the number of bytes claimed in the buffer since the dispatcher was created */
+  public long getPublishedBytes() {
+    return Math.max(0, bytePosition(publisherPosition.get(), logBuffer.getPartitionSize()));
+  }
+
   @Override
   public String toString() {
     return "Dispatcher [" + name + "]";
   }
+
+  @FunctionalInterface
+  private interface FragmentClaimer {
+    void claim(LogBufferPartition partition, int activePartitionId, int frameOffset);
+  }
 }
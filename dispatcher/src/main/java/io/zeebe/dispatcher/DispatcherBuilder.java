@@ -17,6 +17,7 @@ import io.zeebe.util.EnsureUtil;
 import io.zeebe.util.allocation.AllocatedBuffer;
 import io.zeebe.util.allocation.BufferAllocators;
 import io.zeebe.util.sched.ActorScheduler;
+import java.time.Duration;
 import java.util.Objects;
 import org.agrona.BitUtil;
 
@@ -24,8 +25,10 @@ import org.agrona.BitUtil;
 public final class DispatcherBuilder {
 
   private static final int DEFAULT_BUFFER_SIZE = (int) ByteValue.ofMegabytes(1);
+  private static final int MAX_AUTO_SIZED_BUFFER_SIZE = (int) ByteValue.ofMegabytes(512);
 
   private int bufferSize = -1;
+  private boolean autoSizedBuffer = false;
   private int maxFragmentLength = -1;
 
   private String dispatcherName;
@@ -50,6 +53,25 @@ public final class DispatcherBuilder {
    */
   public DispatcherBuilder bufferSize(final int bufferSize) {
     this.bufferSize = bufferSize;
+    autoSizedBuffer = false;
+    return this;
+  }
+
+  /**
+   * Sizes the buffer so that it can hold the data which is published with the given throughput
+   * during the given time, e.g. to bridge a short stall of the subscriptions. The buffer is at
+   * least as large as required by the max fragment length (or the default size, if no max fragment
+   * length is set), and at most 512 MB.
+   *
+   * @param bytesPerSecond the measured or expected throughput of the publishers
+   * @param bufferedTime the time the buffer should be able to bridge
+   */
+  public DispatcherBuilder bufferSizeForThroughput(
+      final long bytesPerSecond, final Duration bufferedTime) {
+    EnsureUtil.ensureGreaterThanOrEqual("throughput", bytesPerSecond, 0);
+    final long bufferedBytes = bytesPerSecond * bufferedTime.toMillis() / 1000;
+    bufferSize = (int) Math.min(bufferedBytes, MAX_AUTO_SIZED_BUFFER_SIZE);
+    autoSizedBuffer = true;
     return this;
   }
 
@@ -124,7 +146,7 @@ public final class DispatcherBuilder {
       final int partitionSize = BitUtil.align(maxFragmentLength * 2, 8);
       final int requiredBufferSize = partitionSize * PARTITION_COUNT;
 
-      if (bufferSize > 0 && bufferSize < requiredBufferSize) {
+      if (!autoSizedBuffer && bufferSize > 0 && bufferSize < requiredBufferSize) {
         throw new IllegalArgumentException(
             String.format(
                 "Expected the buffer size to be greater than %d, but was %d. The max fragment length is set to %d.",
@@ -136,6 +158,9 @@ public final class DispatcherBuilder {
     } else if (bufferSize <= 0) {
       return DEFAULT_BUFFER_SIZE;
 
+    } else if (autoSizedBuffer) {
+      return Math.max(bufferSize, DEFAULT_BUFFER_SIZE);
+
     } else {
       return bufferSize;
     }
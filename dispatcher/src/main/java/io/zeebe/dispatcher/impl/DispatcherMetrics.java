@@ -0,0 +1,179 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.dispatcher.impl;
+
+import io.prometheus.client.Counter;
+import io.prometheus.client.Gauge;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Metrics of a dispatcher. Positions are exposed as the number of bytes written to the buffer since
+ * the dispatcher was created, so that they can be compared with each other.
+ */
+public final class DispatcherMetrics {
+
+  public static final String CAUSE_PUBLISHER_LIMIT = "publisher_limit";
+  public static final String CAUSE_END_OF_PARTITION = "end_of_partition";
+  public static final String CAUSE_CLOSED = "closed";
+
+  private static final Gauge BUFFER_CAPACITY =
+      Gauge.build()
+          .namespace("zeebe")
+          .name("dispatcher_buffer_capacity_bytes")
+          .help("The size of the dispatcher's buffer.")
+          .labelNames("dispatcher")
+          .register();
+
+  private static final Gauge BUFFER_USED =
+      Gauge.build()
+          .namespace("zeebe")
+          .name("dispatcher_buffer_used_bytes")
+          .help("The bytes which are written to the buffer but not consumed by all subscriptions.")
+          .labelNames("dispatcher")
+          .register();
+
+  private static final Gauge PUBLISHER_POSITION =
+      Gauge.build()
+          .namespace("zeebe")
+          .name("dispatcher_publisher_position_bytes")
+          .help("The position up to which publishers claimed the buffer.")
+          .labelNames("dispatcher")
+          .register();
+
+  private static final Gauge PUBLISHER_LIMIT =
+      Gauge.build()
+          .namespace("zeebe")
+          .name("dispatcher_publisher_limit_bytes")
+          .help("The position up to which publishers can claim the buffer.")
+          .labelNames("dispatcher")
+          .register();
+
+  private static final Gauge SUBSCRIPTION_POSITION =
+      Gauge.build()
+          .namespace("zeebe")
+          .name("dispatcher_subscription_position_bytes")
+          .help("The position up to which the subscription consumed the buffer.")
+          .labelNames("dispatcher", "subscription")
+          .register();
+
+  private static final Gauge SUBSCRIPTION_LAG =
+      Gauge.build()
+          .namespace("zeebe")
+          .name("dispatcher_subscription_lag_bytes")
+          .help("The bytes which are written to the buffer but not consumed by the subscription.")
+          .labelNames("dispatcher", "subscription")
+          .register();
+
+  private static final Counter CLAIM_FAILURES =
+      Counter.build()
+          .namespace("zeebe")
+          .name("dispatcher_claim_failures_total")
+          .help("Number of claims which failed, by cause.")
+          .labelNames("dispatcher", "cause")
+          .register();
+
+  private static final Counter CLAIM_RETRIES =
+      Counter.build()
+          .namespace("zeebe")
+          .name("dispatcher_claim_retries_total")
+          .help(
+              "Number of claims which had to be retried because of concurrent publishers or a "
+                  + "partition rotation in progress.")
+          .labelNames("dispatcher")
+          .register();
+
+  private final String dispatcherName;
+  private final int partitionSize;
+
+  private final Counter.Child publisherLimitFailures;
+  private final Counter.Child endOfPartitionFailures;
+  private final Counter.Child closedFailures;
+  private final Counter.Child claimRetries;
+
+  private final Set<String> subscriptionNames = new HashSet<>();
+
+  public DispatcherMetrics(
+      final String dispatcherName, final int bufferSize, final int partitionSize) {
+    this.dispatcherName = dispatcherName;
+    this.partitionSize = partitionSize;
+
+    publisherLimitFailures = CLAIM_FAILURES.labels(dispatcherName, CAUSE_PUBLISHER_LIMIT);
+    endOfPartitionFailures = CLAIM_FAILURES.labels(dispatcherName, CAUSE_END_OF_PARTITION);
+    closedFailures = CLAIM_FAILURES.labels(dispatcherName, CAUSE_CLOSED);
+    claimRetries = CLAIM_RETRIES.labels(dispatcherName);
+
+    BUFFER_CAPACITY.labels(dispatcherName).set(bufferSize);
+  }
+
+  public void claimFailedOnPublisherLimit() {
+    publisherLimitFailures.inc();
+  }
+
+  public void claimFailedOnEndOfPartition() {
+    endOfPartitionFailures.inc();
+  }
+
+  public void claimFailedOnClosed() {
+    closedFailures.inc();
+  }
+
+  public void claimRetried() {
+    claimRetries.inc();
+  }
+
+  public void setPublisherPositions(final long publisherPosition, final long publisherLimit) {
+    PUBLISHER_POSITION.labels(dispatcherName).set(bytePosition(publisherPosition));
+    PUBLISHER_LIMIT.labels(dispatcherName).set(bytePosition(publisherLimit));
+  }
+
+  public void setBufferUsed(final long publisherPosition, final long lastSubscriberPosition) {
+    final long used = bytePosition(publisherPosition) - bytePosition(lastSubscriberPosition);
+    BUFFER_USED.labels(dispatcherName).set(Math.max(0, used));
+  }
+
+  public void setSubscriptionPosition(
+      final String subscriptionName,
+      final long subscriptionPosition,
+      final long publisherPosition) {
+    subscriptionNames.add(subscriptionName);
+
+    final long bytePosition = bytePosition(subscriptionPosition);
+    SUBSCRIPTION_POSITION.labels(dispatcherName, subscriptionName).set(bytePosition);
+    SUBSCRIPTION_LAG
+        .labels(dispatcherName, subscriptionName)
+        .set(Math.max(0, bytePosition(publisherPosition) - bytePosition));
+  }
+
+  public void removeSubscription(final String subscriptionName) {
+    subscriptionNames.remove(subscriptionName);
+    SUBSCRIPTION_POSITION.remove(dispatcherName, subscriptionName);
+    SUBSCRIPTION_LAG.remove(dispatcherName, subscriptionName);
+  }
+
+  /**
+   * Removes the gauges of the dispatcher and its subscriptions; the counters are kept as they are
+   * cumulative.
+   */
+  public void close() {
+    for (final String subscriptionName : subscriptionNames) {
+      SUBSCRIPTION_POSITION.remove(dispatcherName, subscriptionName);
+      SUBSCRIPTION_LAG.remove(dispatcherName, subscriptionName);
+    }
+    subscriptionNames.clear();
+
+    BUFFER_CAPACITY.remove(dispatcherName);
+    BUFFER_USED.remove(dispatcherName);
+    PUBLISHER_POSITION.remove(dispatcherName);
+    PUBLISHER_LIMIT.remove(dispatcherName);
+  }
+
+  private long bytePosition(final long position) {
+    return PositionUtil.bytePosition(position, partitionSize);
+  }
+}
@@ -21,4 +21,9 @@ public final class PositionUtil {
   public static int partitionOffset(final long position) {
     return (int) (position & 0xFFFFFFFFL);
   }
+
+  /** @return the number of bytes written to the buffer before the given position */
+  public static long bytePosition(final long position, final int partitionSize) {
+    return (long) partitionId(position) * partitionSize + partitionOffset(position);
+  }
 }
@@ -48,9 +48,30 @@ public final class LogBufferDescriptor {
   /** A Partition is dirty and requires cleaning. */
   public static final int PARTITION_NEEDS_CLEANING = 1;
 
-  /** Offset within the Partition meta data where the tail value is stored. */
+  /**
+   * Offset within the Partition meta data where the raw tail is stored. The raw tail is a long
+   * which is updated atomically by the publishers and holds
+   *
+   * <pre>
+   *   0                   1                   2                   3
+   *   0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1
+   *  +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+   *  |                          Tail Offset                          |
+   *  +---------------------------------------------------------------+
+   *  |                 Fragment Count                |  Generation   |
+   *  +---------------------------------------------------------------+
+   * </pre>
+   *
+   * <p>The tail offset is the offset in the partition where the next fragment is claimed. The
+   * fragment count is the number of fragments claimed in the partition so far. The generation is
+   * the lower byte of the id of the partition which currently uses the buffer section, so that a
+   * publisher which read an outdated partition id can't claim in the reused section.
+   */
   public static final int PARTITION_TAIL_COUNTER_OFFSET;
 
+  /** The maximum number of fragments which can be claimed in one partition. */
+  public static final int PARTITION_MAX_FRAGMENT_COUNT = (1 << 24) - 1;
+
   /** Offset within the Partition meta data where current status is stored */
   public static final int PARTITION_STATUS_OFFSET;
 
@@ -89,6 +110,10 @@ public final class LogBufferDescriptor {
    */
   public static final int LOG_META_DATA_LENGTH;
 
+  private static final int TAIL_FRAGMENT_COUNT_SHIFT = 32;
+  private static final int TAIL_GENERATION_SHIFT = 56;
+  private static final int GENERATION_MASK = 0xFF;
+
   static {
     int offset = (CACHE_LINE_LENGTH * 2);
     PARTITION_TAIL_COUNTER_OFFSET = offset;
@@ -134,4 +159,26 @@ public final class LogBufferDescriptor {
   public static int logMetadataOffset(final int partitionSize) {
     return (PARTITION_COUNT * partitionSize) + (PARTITION_COUNT * PARTITION_META_DATA_LENGTH);
   }
+
+  public static long rawTail(final int partitionId, final int fragmentCount, final int tailOffset) {
+    return ((long) partitionGeneration(partitionId)) << TAIL_GENERATION_SHIFT
+        | ((long) fragmentCount) << TAIL_FRAGMENT_COUNT_SHIFT
+        | tailOffset & 0xFFFFFFFFL;
+  }
+
+  public static int partitionGeneration(final int partitionId) {
+    return partitionId & GENERATION_MASK;
+  }
+
+  public static int tailGeneration(final long rawTail) {
+    return (int) (rawTail >>> TAIL_GENERATION_SHIFT);
+  }
+
+  public static int tailFragmentCount(final long rawTail) {
+    return (int) (rawTail >>> TAIL_FRAGMENT_COUNT_SHIFT) & PARTITION_MAX_FRAGMENT_COUNT;
+  }
+
+  public static int tailOffset(final long rawTail) {
+    return (int) rawTail;
+  }
 }
@@ -11,6 +11,7 @@ import static io.zeebe.dispatcher.impl.log.LogBufferDescriptor.PARTITION_CLEAN;
 import static io.zeebe.dispatcher.impl.log.LogBufferDescriptor.PARTITION_NEEDS_CLEANING;
 import static io.zeebe.dispatcher.impl.log.LogBufferDescriptor.PARTITION_STATUS_OFFSET;
 import static io.zeebe.dispatcher.impl.log.LogBufferDescriptor.PARTITION_TAIL_COUNTER_OFFSET;
+import static io.zeebe.dispatcher.impl.log.LogBufferDescriptor.tailOffset;
 
 import org.agrona.concurrent.UnsafeBuffer;
 
@@ -42,9 +43,12 @@ public class LogBufferPartition {
     dataBuffer.setMemory(0, partitionSize, (byte) 0);
   }
 
+  /**
+   * Clears the data of the partition. The raw tail is not reset here, it is set by the publisher
+   * which activates the partition (see {@link #setRawTailOrdered(long)}).
+   */
   public void clean() {
     dataBuffer.setMemory(0, partitionSize, (byte) 0);
-    metadataBuffer.putInt(PARTITION_TAIL_COUNTER_OFFSET, 0);
     setStatusOrdered(PARTITION_CLEAN);
   }
 
@@ -53,11 +57,21 @@ public class LogBufferPartition {
   }
 
   public int getTailCounterVolatile() {
-    return metadataBuffer.getIntVolatile(PARTITION_TAIL_COUNTER_OFFSET);
+    return tailOffset(getRawTailVolatile());
+  }
+
+  /** @return the raw tail, see {@link LogBufferDescriptor#PARTITION_TAIL_COUNTER_OFFSET} */
+  public long getRawTailVolatile() {
+    return metadataBuffer.getLongVolatile(PARTITION_TAIL_COUNTER_OFFSET);
+  }
+
+  public boolean compareAndSetRawTail(final long expectedRawTail, final long rawTail) {
+    return metadataBuffer.compareAndSetLong(
+        PARTITION_TAIL_COUNTER_OFFSET, expectedRawTail, rawTail);
   }
 
-  public int getAndAddTail(final int frameLength) {
-    return metadataBuffer.getAndAddInt(PARTITION_TAIL_COUNTER_OFFSET, frameLength);
+  public void setRawTailOrdered(final long rawTail) {
+    metadataBuffer.putLongOrdered(PARTITION_TAIL_COUNTER_OFFSET, rawTail);
   }
 
   public int getPartitionSize() {
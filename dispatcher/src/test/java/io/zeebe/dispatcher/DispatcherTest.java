@@ -10,17 +10,21 @@ package io.zeebe.dispatcher;
 import static io.zeebe.dispatcher.impl.PositionUtil.position;
 import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.FRAME_ALIGNMENT;
 import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.HEADER_LENGTH;
+import static io.zeebe.dispatcher.impl.log.LogBufferDescriptor.rawTail;
 import static org.agrona.BitUtil.align;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import io.prometheus.client.CollectorRegistry;
 import io.zeebe.dispatcher.impl.log.LogBuffer;
 import io.zeebe.dispatcher.impl.log.LogBufferAppender;
 import io.zeebe.dispatcher.impl.log.LogBufferPartition;
@@ -70,6 +74,10 @@ public final class DispatcherTest {
     when(logBuffer.getPartition(1)).thenReturn(logBufferPartition1);
     when(logBuffer.getPartition(2)).thenReturn(logBufferPartition2);
     when(logBuffer.createRawBufferView()).thenReturn(ByteBuffer.allocate(32));
+    when(logBufferPartition0.getPartitionSize()).thenReturn(A_PARTITION_SIZE);
+    when(logBufferPartition1.getPartitionSize()).thenReturn(A_PARTITION_SIZE);
+    when(logBufferPartition0.compareAndSetRawTail(anyLong(), anyLong())).thenReturn(true);
+    when(logBufferPartition1.compareAndSetRawTail(anyLong(), anyLong())).thenReturn(true);
 
     logAppender = mock(LogBufferAppender.class);
     publisherLimit = mock(AtomicPosition.class);
@@ -114,7 +122,7 @@ public final class DispatcherTest {
     // given
     // position of 0,0
     when(logBuffer.getActivePartitionIdVolatile()).thenReturn(0);
-    when(logBufferPartition0.getTailCounterVolatile()).thenReturn(0);
+    when(logBufferPartition0.getRawTailVolatile()).thenReturn(rawTail(0, 0, 0));
     // publisher limit of 0
     when(publisherLimit.get()).thenReturn(position(0, 0));
 
@@ -130,7 +138,42 @@ public final class DispatcherTest {
     verifyNoMoreInteractions(claimedFragment);
     verify(logBuffer).getActivePartitionIdVolatile();
     verify(logBuffer).getPartition(0);
-    verify(logBufferPartition0).getTailCounterVolatile();
+    verify(logBufferPartition0).getPartitionSize();
+    verify(logBufferPartition0).getRawTailVolatile();
+    verifyNoMoreInteractions(logBufferPartition0);
+  }
+
+  @Test
+  public void shouldCountClaimFailuresOnPublisherLimit() {
+    // given
+    when(logBuffer.getActivePartitionIdVolatile()).thenReturn(0);
+    when(logBufferPartition0.getRawTailVolatile()).thenReturn(rawTail(0, 0, 0));
+    when(publisherLimit.get()).thenReturn(position(0, 0));
+    final double failuresBefore = getClaimFailures("publisher_limit");
+
+    // when
+    dispatcher.claimSingleFragment(claimedFragment, A_MSG_PAYLOAD_LENGTH);
+
+    // then
+    assertThat(getClaimFailures("publisher_limit")).isEqualTo(failuresBefore + 1);
+  }
+
+  @Test
+  public void shouldCountRetriedClaimOnce() {
+    // given
+    when(logBuffer.getActivePartitionIdVolatile()).thenReturn(0);
+    when(logBufferPartition0.getRawTailVolatile()).thenReturn(rawTail(0, 0, 0));
+    when(logBufferPartition0.compareAndSetRawTail(anyLong(), anyLong()))
+        .thenReturn(false, false, true);
+    when(publisherLimit.get()).thenReturn(position(0, A_PARTITION_SIZE));
+    final double retriesBefore = getClaimRetries();
+
+    // when
+    dispatcher.claimSingleFragment(claimedFragment, A_MSG_PAYLOAD_LENGTH);
+
+    // then
+    verify(logBufferPartition0, times(3)).compareAndSetRawTail(anyLong(), anyLong());
+    assertThat(getClaimRetries()).isEqualTo(retriesBefore + 1);
   }
 
   @Test
@@ -138,18 +181,9 @@ public final class DispatcherTest {
     // given
     // position is 0,0
     when(logBuffer.getActivePartitionIdVolatile()).thenReturn(0);
-    when(logBufferPartition0.getTailCounterVolatile()).thenReturn(0);
+    when(logBufferPartition0.getRawTailVolatile()).thenReturn(rawTail(0, 0, 0));
     when(publisherLimit.get()).thenReturn(position(0, A_FRAGMENT_LENGTH));
 
-    when(logAppender.claim(
-            eq(logBufferPartition0),
-            eq(0),
-            eq(claimedFragment),
-            eq(A_MSG_PAYLOAD_LENGTH),
-            eq(A_STREAM_ID),
-            any()))
-        .thenReturn(A_FRAGMENT_LENGTH);
-
     // if
     final long newPosition =
         dispatcher.claimSingleFragment(claimedFragment, A_MSG_PAYLOAD_LENGTH, A_STREAM_ID);
@@ -157,8 +191,9 @@ public final class DispatcherTest {
     // then
     assertThat(newPosition).isEqualTo(INITIAL_POSITION);
 
+    verify(logBufferPartition0).compareAndSetRawTail(0, rawTail(0, 1, A_FRAGMENT_LENGTH));
     verify(logAppender)
-        .claim(
+        .claimAt(
             eq(logBufferPartition0),
             eq(0),
             eq(claimedFragment),
@@ -171,7 +206,61 @@ public final class DispatcherTest {
 
     verify(logBuffer).getActivePartitionIdVolatile();
     verify(logBuffer).getPartition(0);
-    verify(logBufferPartition0).getTailCounterVolatile();
+    verify(logBufferPartition0).getRawTailVolatile();
+  }
+
+  @Test
+  public void shouldRetryClaimIfTailWasMovedConcurrently() {
+    // given
+    when(logBuffer.getActivePartitionIdVolatile()).thenReturn(0);
+    when(logBufferPartition0.getRawTailVolatile())
+        .thenReturn(rawTail(0, 0, 0), rawTail(0, 1, A_FRAGMENT_LENGTH));
+    when(logBufferPartition0.compareAndSetRawTail(anyLong(), anyLong())).thenReturn(false, true);
+    when(publisherLimit.get()).thenReturn(position(0, A_PARTITION_SIZE));
+
+    // when
+    final long newPosition =
+        dispatcher.claimSingleFragment(claimedFragment, A_MSG_PAYLOAD_LENGTH, A_STREAM_ID);
+
+    // then
+    assertThat(newPosition).isEqualTo(INITIAL_POSITION + 1);
+
+    verify(logAppender)
+        .claimAt(
+            eq(logBufferPartition0),
+            eq(A_FRAGMENT_LENGTH),
+            eq(claimedFragment),
+            eq(A_MSG_PAYLOAD_LENGTH),
+            eq(A_STREAM_ID),
+            Mockito.any());
+    verify(publisherPosition).proposeMaxOrdered(position(0, 2 * A_FRAGMENT_LENGTH));
+  }
+
+  @Test
+  public void shouldActivateNextPartitionIfClaimDoesNotFit() {
+    // given
+    final int partitionOffset = A_PARTITION_SIZE - HEADER_LENGTH;
+    when(logBuffer.getActivePartitionIdVolatile()).thenReturn(0, 1);
+    when(logBufferPartition0.getRawTailVolatile()).thenReturn(rawTail(0, 5, partitionOffset));
+    when(logBufferPartition1.getRawTailVolatile()).thenReturn(rawTail(1, 0, 0));
+    when(publisherLimit.get()).thenReturn(position(1, A_PARTITION_SIZE));
+
+    // when
+    final long paddingResult =
+        dispatcher.claimSingleFragment(claimedFragment, A_MSG_PAYLOAD_LENGTH, A_STREAM_ID);
+    final long newPosition =
+        dispatcher.claimSingleFragment(claimedFragment, A_MSG_PAYLOAD_LENGTH, A_STREAM_ID);
+
+    // then
+    assertThat(paddingResult).isEqualTo(-2);
+    assertThat(newPosition).isEqualTo(INITIAL_POSITION + 5);
+
+    verify(logBufferPartition0)
+        .compareAndSetRawTail(rawTail(0, 5, partitionOffset), rawTail(0, 5, A_PARTITION_SIZE));
+    verify(logAppender).appendPadding(logBufferPartition0, partitionOffset);
+    verify(logBufferPartition1).setRawTailOrdered(rawTail(1, 0, 0));
+    verify(logBuffer).onActivePartitionFilled(0);
+    verify(publisherPosition).proposeMaxOrdered(position(1, A_FRAGMENT_LENGTH));
   }
 
   @Test
@@ -266,15 +355,9 @@ public final class DispatcherTest {
   @Test
   public void shouldIncrementRecordPositionAfterClaimingFragment() {
     // given
-    when(publisherLimit.get()).thenReturn(position(0, A_FRAGMENT_LENGTH));
-    when(logAppender.claim(
-            eq(logBufferPartition0),
-            eq(0),
-            eq(claimedFragment),
-            eq(A_MSG_PAYLOAD_LENGTH),
-            eq(A_STREAM_ID),
-            any()))
-        .thenReturn(A_FRAGMENT_LENGTH);
+    when(publisherLimit.get()).thenReturn(position(0, A_PARTITION_SIZE));
+    when(logBufferPartition0.getRawTailVolatile())
+        .thenReturn(rawTail(0, 0, 0), rawTail(0, 1, A_FRAGMENT_LENGTH));
 
     // when
     long newPosition =
@@ -291,17 +374,12 @@ public final class DispatcherTest {
   public void shouldIncreasePositionByFragmentCountAfterClaimingBatch() {
     // given
     final int fragmentCount = 3;
+    final int batchLength =
+        LogBufferAppender.claimedBatchLength(fragmentCount, A_MSG_PAYLOAD_LENGTH);
     when(logBuffer.getActivePartitionIdVolatile()).thenReturn(0);
-    when(logBufferPartition0.getTailCounterVolatile()).thenReturn(0);
-    when(publisherLimit.get()).thenReturn(position(0, A_FRAGMENT_LENGTH));
-    when(logAppender.claim(
-            eq(logBufferPartition0),
-            eq(0),
-            eq(claimedFragmentBatch),
-            eq(fragmentCount),
-            eq(A_MSG_PAYLOAD_LENGTH),
-            any()))
-        .thenReturn(A_FRAGMENT_LENGTH);
+    when(logBufferPartition0.getRawTailVolatile())
+        .thenReturn(rawTail(0, 0, 0), rawTail(0, fragmentCount, batchLength));
+    when(publisherLimit.get()).thenReturn(position(0, A_PARTITION_SIZE));
 
     // when
     long newPosition =
@@ -312,5 +390,32 @@ public final class DispatcherTest {
     newPosition =
         dispatcher.claimFragmentBatch(claimedFragmentBatch, fragmentCount, A_MSG_PAYLOAD_LENGTH);
     assertThat(newPosition).isEqualTo(INITIAL_POSITION + fragmentCount);
+
+    verify(logAppender)
+        .claimAt(
+            eq(logBufferPartition0),
+            eq(0),
+            eq(batchLength),
+            eq(claimedFragmentBatch),
+            eq(batchLength),
+            any());
+  }
+
+  private static double getClaimRetries() {
+    final Double value =
+        CollectorRegistry.defaultRegistry.getSampleValue(
+            "zeebe_dispatcher_claim_retries_total",
+            new String[] {"dispatcher"},
+            new String[] {"test"});
+    return value == null ? 0 : value;
+  }
+
+  private static double getClaimFailures(final String cause) {
+    final Double value =
+        CollectorRegistry.defaultRegistry.getSampleValue(
+            "zeebe_dispatcher_claim_failures_total",
+            new String[] {"dispatcher", "cause"},
+            new String[] {"test", cause});
+    return value == null ? 0 : value;
   }
 }
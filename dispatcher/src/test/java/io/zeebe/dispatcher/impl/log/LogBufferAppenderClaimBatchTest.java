@@ -10,16 +10,12 @@ package io.zeebe.dispatcher.impl.log;
 import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.FRAME_ALIGNMENT;
 import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.HEADER_LENGTH;
 import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.TYPE_PADDING;
-import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.framedLength;
 import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.lengthOffset;
 import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.typeOffset;
-import static io.zeebe.dispatcher.impl.log.LogBufferDescriptor.PARTITION_TAIL_COUNTER_OFFSET;
 import static org.agrona.BitUtil.align;
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -73,191 +69,111 @@ public final class LogBufferAppenderClaimBatchTest {
   }
 
   @Test
-  public void shouldClaimSingleFragmentBatch() {
-    // given
-    final int currentTail = 0;
-
-    when(metadataBufferMock.getAndAddInt(
-            PARTITION_TAIL_COUNTER_OFFSET, SINGLE_BATCH_FRAGMENT_LENGTH))
-        .thenReturn(currentTail);
-
+  public void shouldCalculateClaimedBatchLength() {
     // when
-    final int newTail =
-        logBufferAppender.claim(
-            logBufferPartition,
-            PARTITION_ID,
-            claimedBatchMock,
-            1,
-            BATCH_MESSAGE_LENGTH,
-            DO_NOTHING);
+    final int singleFragmentLength = LogBufferAppender.claimedBatchLength(1, BATCH_MESSAGE_LENGTH);
+    final int length =
+        LogBufferAppender.claimedBatchLength(BATCH_FRAGMENT_COUNT, BATCH_MESSAGE_LENGTH);
 
     // then
-    assertThat(newTail).isEqualTo(currentTail + SINGLE_BATCH_FRAGMENT_LENGTH);
-
-    verify(claimedBatchMock)
-        .wrap(dataBufferMock, PARTITION_ID, currentTail, SINGLE_BATCH_FRAGMENT_LENGTH, DO_NOTHING);
-
-    verify(metadataBufferMock)
-        .getAndAddInt(PARTITION_TAIL_COUNTER_OFFSET, SINGLE_BATCH_FRAGMENT_LENGTH);
-    verifyNoMoreInteractions(metadataBufferMock);
+    assertThat(singleFragmentLength).isEqualTo(SINGLE_BATCH_FRAGMENT_LENGTH);
+    assertThat(length).isEqualTo(BATCH_FRAGMENT_LENGTH);
   }
 
   @Test
-  public void shouldClaimFragmentBatch() {
+  public void shouldClaimSingleFragmentBatch() {
     // given
-    final int currentTail = 0;
-
-    when(metadataBufferMock.getAndAddInt(PARTITION_TAIL_COUNTER_OFFSET, BATCH_FRAGMENT_LENGTH))
-        .thenReturn(currentTail);
+    final int frameOffset = 0;
 
     // when
-    final int newTail =
-        logBufferAppender.claim(
-            logBufferPartition,
-            PARTITION_ID,
-            claimedBatchMock,
-            BATCH_FRAGMENT_COUNT,
-            BATCH_MESSAGE_LENGTH,
-            DO_NOTHING);
+    logBufferAppender.claimAt(
+        logBufferPartition,
+        PARTITION_ID,
+        frameOffset,
+        claimedBatchMock,
+        SINGLE_BATCH_FRAGMENT_LENGTH,
+        DO_NOTHING);
 
     // then
-    assertThat(newTail).isEqualTo(currentTail + BATCH_FRAGMENT_LENGTH);
-
     verify(claimedBatchMock)
-        .wrap(dataBufferMock, PARTITION_ID, currentTail, BATCH_FRAGMENT_LENGTH, DO_NOTHING);
-
-    verify(metadataBufferMock).getAndAddInt(PARTITION_TAIL_COUNTER_OFFSET, BATCH_FRAGMENT_LENGTH);
+        .wrap(dataBufferMock, PARTITION_ID, frameOffset, SINGLE_BATCH_FRAGMENT_LENGTH, DO_NOTHING);
     verifyNoMoreInteractions(metadataBufferMock);
   }
 
   @Test
-  public void shouldClaimIfRemaingCapacityIsEqualHeaderSize() {
+  public void shouldClaimFragmentBatch() {
     // given
-    final int currentTail = PARTITION_LENGTH - HEADER_LENGTH - BATCH_FRAGMENT_LENGTH;
-
-    when(metadataBufferMock.getAndAddInt(PARTITION_TAIL_COUNTER_OFFSET, BATCH_FRAGMENT_LENGTH))
-        .thenReturn(currentTail);
+    final int frameOffset = 0;
 
     // when
-    final int newTail =
-        logBufferAppender.claim(
-            logBufferPartition,
-            PARTITION_ID,
-            claimedBatchMock,
-            BATCH_FRAGMENT_COUNT,
-            BATCH_MESSAGE_LENGTH,
-            DO_NOTHING);
+    logBufferAppender.claimAt(
+        logBufferPartition,
+        PARTITION_ID,
+        frameOffset,
+        claimedBatchMock,
+        BATCH_FRAGMENT_LENGTH,
+        DO_NOTHING);
 
     // then
-    assertThat(newTail).isEqualTo(currentTail + BATCH_FRAGMENT_LENGTH);
-
     verify(claimedBatchMock)
-        .wrap(dataBufferMock, PARTITION_ID, currentTail, BATCH_FRAGMENT_LENGTH, DO_NOTHING);
-
-    verify(metadataBufferMock).getAndAddInt(PARTITION_TAIL_COUNTER_OFFSET, BATCH_FRAGMENT_LENGTH);
+        .wrap(dataBufferMock, PARTITION_ID, frameOffset, BATCH_FRAGMENT_LENGTH, DO_NOTHING);
     verifyNoMoreInteractions(metadataBufferMock);
   }
 
   @Test
-  public void shouldRejectAndFillWithPaddingIfTrippsEndOfBuffer() {
+  public void shouldClaimIfRemaingCapacityIsEqualHeaderSize() {
     // given
-    final int currentTail = PARTITION_LENGTH - HEADER_LENGTH - BATCH_FRAGMENT_LENGTH + 1;
+    final int frameOffset = PARTITION_LENGTH - HEADER_LENGTH - BATCH_FRAGMENT_LENGTH;
 
     // when
-    when(metadataBufferMock.getAndAddInt(PARTITION_TAIL_COUNTER_OFFSET, BATCH_FRAGMENT_LENGTH))
-        .thenReturn(currentTail);
-
-    final int newTail =
-        logBufferAppender.claim(
-            logBufferPartition,
-            PARTITION_ID,
-            claimedBatchMock,
-            BATCH_FRAGMENT_COUNT,
-            BATCH_MESSAGE_LENGTH,
-            DO_NOTHING);
+    logBufferAppender.claimAt(
+        logBufferPartition,
+        PARTITION_ID,
+        frameOffset,
+        claimedBatchMock,
+        BATCH_FRAGMENT_LENGTH,
+        DO_NOTHING);
 
     // then
-    assertThat(newTail).isEqualTo(-2);
-
-    // the tail is moved by the aligned message length
-    verify(metadataBufferMock).getAndAddInt(PARTITION_TAIL_COUNTER_OFFSET, BATCH_FRAGMENT_LENGTH);
+    verify(claimedBatchMock)
+        .wrap(dataBufferMock, PARTITION_ID, frameOffset, BATCH_FRAGMENT_LENGTH, DO_NOTHING);
     verifyNoMoreInteractions(metadataBufferMock);
-
-    // and the buffer is filled with padding
-    final int padLength = PARTITION_LENGTH - currentTail - HEADER_LENGTH;
-    final InOrder inOrder = inOrder(dataBufferMock);
-    inOrder
-        .verify(dataBufferMock)
-        .putIntOrdered(lengthOffset(currentTail), -framedLength(padLength));
-    inOrder.verify(dataBufferMock).putShort(typeOffset(currentTail), TYPE_PADDING);
-    inOrder
-        .verify(dataBufferMock)
-        .putIntOrdered(lengthOffset(currentTail), framedLength(padLength));
   }
 
   @Test
-  public void shouldRejectAndFillWithZeroLengthPaddingIfExactlyHitsTrippPoint() {
+  public void shouldFillWithPaddingIfTrippsEndOfBuffer() {
     // given
-    final int currentTail = PARTITION_LENGTH - HEADER_LENGTH;
-
-    when(metadataBufferMock.getAndAddInt(PARTITION_TAIL_COUNTER_OFFSET, BATCH_FRAGMENT_LENGTH))
-        .thenReturn(currentTail);
+    final int partitionOffset = PARTITION_LENGTH - HEADER_LENGTH - BATCH_FRAGMENT_LENGTH + 1;
 
     // when
-    final int newTail =
-        logBufferAppender.claim(
-            logBufferPartition,
-            PARTITION_ID,
-            claimedBatchMock,
-            BATCH_FRAGMENT_COUNT,
-            BATCH_MESSAGE_LENGTH,
-            DO_NOTHING);
+    logBufferAppender.appendPadding(logBufferPartition, partitionOffset);
 
     // then
-    assertThat(newTail).isEqualTo(-2);
-
-    // the tail is moved by the aligned message length
-    verify(metadataBufferMock).getAndAddInt(PARTITION_TAIL_COUNTER_OFFSET, BATCH_FRAGMENT_LENGTH);
     verifyNoMoreInteractions(metadataBufferMock);
 
-    // and the buffer is filled with padding
-    final int padLength = 0;
+    // the buffer is filled with padding
+    final int padLength = PARTITION_LENGTH - partitionOffset;
     final InOrder inOrder = inOrder(dataBufferMock);
-    inOrder
-        .verify(dataBufferMock)
-        .putIntOrdered(lengthOffset(currentTail), -framedLength(padLength));
-    inOrder.verify(dataBufferMock).putShort(typeOffset(currentTail), TYPE_PADDING);
-    inOrder
-        .verify(dataBufferMock)
-        .putIntOrdered(lengthOffset(currentTail), framedLength(padLength));
+    inOrder.verify(dataBufferMock).putIntOrdered(lengthOffset(partitionOffset), -padLength);
+    inOrder.verify(dataBufferMock).putShort(typeOffset(partitionOffset), TYPE_PADDING);
+    inOrder.verify(dataBufferMock).putIntOrdered(lengthOffset(partitionOffset), padLength);
   }
 
   @Test
-  public void shouldRejectIfTailIsBeyondTripPoint() {
+  public void shouldFillWithZeroLengthPaddingIfExactlyHitsTrippPoint() {
     // given
-    final int currentTail = PARTITION_LENGTH - HEADER_LENGTH + 1;
-
-    when(metadataBufferMock.getAndAddInt(PARTITION_TAIL_COUNTER_OFFSET, BATCH_FRAGMENT_LENGTH))
-        .thenReturn(currentTail);
+    final int partitionOffset = PARTITION_LENGTH - HEADER_LENGTH;
 
     // when
-    final int newTail =
-        logBufferAppender.claim(
-            logBufferPartition,
-            PARTITION_ID,
-            claimedBatchMock,
-            BATCH_FRAGMENT_COUNT,
-            BATCH_MESSAGE_LENGTH,
-            DO_NOTHING);
+    logBufferAppender.appendPadding(logBufferPartition, partitionOffset);
 
     // then
-    assertThat(newTail).isEqualTo(-1);
-
-    // the tail is moved by the aligned message length
-    verify(metadataBufferMock).getAndAddInt(PARTITION_TAIL_COUNTER_OFFSET, BATCH_FRAGMENT_LENGTH);
     verifyNoMoreInteractions(metadataBufferMock);
 
-    // and no message / padding is written
-    verify(dataBufferMock, times(0)).putIntOrdered(anyInt(), anyInt());
+    // the padding consists only of its header
+    final InOrder inOrder = inOrder(dataBufferMock);
+    inOrder.verify(dataBufferMock).putIntOrdered(lengthOffset(partitionOffset), -HEADER_LENGTH);
+    inOrder.verify(dataBufferMock).putShort(typeOffset(partitionOffset), TYPE_PADDING);
+    inOrder.verify(dataBufferMock).putIntOrdered(lengthOffset(partitionOffset), HEADER_LENGTH);
   }
 }
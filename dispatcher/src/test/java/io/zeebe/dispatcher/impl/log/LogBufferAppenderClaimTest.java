@@ -15,13 +15,9 @@ import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.framedLength;
 import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.lengthOffset;
 import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.streamIdOffset;
 import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.typeOffset;
-import static io.zeebe.dispatcher.impl.log.LogBufferDescriptor.PARTITION_TAIL_COUNTER_OFFSET;
 import static org.agrona.BitUtil.align;
-import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -38,8 +34,6 @@ public final class LogBufferAppenderClaimTest {
   static final byte[] A_MSG_PAYLOAD = "some bytes".getBytes(Charset.forName("utf-8"));
   static final int A_MSG_PAYLOAD_LENGTH = A_MSG_PAYLOAD.length;
   static final int A_FRAGMENT_LENGTH = align(A_MSG_PAYLOAD_LENGTH + HEADER_LENGTH, FRAME_ALIGNMENT);
-  static final UnsafeBuffer A_MSG = new UnsafeBuffer(A_MSG_PAYLOAD);
-  static final int A_PARTITION_ID = 10;
   static final int A_STREAM_ID = 20;
   private static final Runnable DO_NOTHING = () -> {};
   UnsafeBuffer metadataBufferMock;
@@ -65,184 +59,98 @@ public final class LogBufferAppenderClaimTest {
   @Test
   public void shouldClaimFragment() {
     // given
-    // that the message + next message header fit into the buffer and there is more space
-    final int currentTail = 0;
-
-    when(metadataBufferMock.getAndAddInt(PARTITION_TAIL_COUNTER_OFFSET, A_FRAGMENT_LENGTH))
-        .thenReturn(currentTail);
-
-    // if
-    final int newTail =
-        logBufferAppender.claim(
-            logBufferPartition,
-            A_PARTITION_ID,
-            claimedFragmentMock,
-            A_MSG_PAYLOAD_LENGTH,
-            A_STREAM_ID,
-            DO_NOTHING);
+    final int frameOffset = 0;
 
-    // then
-    assertThat(newTail).isEqualTo(currentTail + A_FRAGMENT_LENGTH);
+    // when
+    logBufferAppender.claimAt(
+        logBufferPartition,
+        frameOffset,
+        claimedFragmentMock,
+        A_MSG_PAYLOAD_LENGTH,
+        A_STREAM_ID,
+        DO_NOTHING);
 
-    // the tail is moved by the aligned message length
-    verify(metadataBufferMock).getAndAddInt(PARTITION_TAIL_COUNTER_OFFSET, A_FRAGMENT_LENGTH);
+    // then
+    // the reserved tail is not touched
     verifyNoMoreInteractions(metadataBufferMock);
 
     // the negative header was written and the claimed fragment now wraps the buffer section
     final InOrder inOrder = inOrder(dataBufferMock, claimedFragmentMock);
     inOrder
         .verify(dataBufferMock)
-        .putIntOrdered(lengthOffset(currentTail), -framedLength(A_MSG_PAYLOAD_LENGTH));
-    inOrder.verify(dataBufferMock).putShort(typeOffset(currentTail), TYPE_MESSAGE);
-    inOrder.verify(dataBufferMock).putInt(streamIdOffset(currentTail), A_STREAM_ID);
+        .putIntOrdered(lengthOffset(frameOffset), -framedLength(A_MSG_PAYLOAD_LENGTH));
+    inOrder.verify(dataBufferMock).putShort(typeOffset(frameOffset), TYPE_MESSAGE);
+    inOrder.verify(dataBufferMock).putInt(streamIdOffset(frameOffset), A_STREAM_ID);
     inOrder
         .verify(claimedFragmentMock)
-        .wrap(dataBufferMock, currentTail, A_MSG_PAYLOAD_LENGTH + HEADER_LENGTH, DO_NOTHING);
+        .wrap(dataBufferMock, frameOffset, A_MSG_PAYLOAD_LENGTH + HEADER_LENGTH, DO_NOTHING);
   }
 
   @Test
   public void shouldClaimIfRemaingCapacityIsEqualHeaderSize() {
     // given
     // that the message + next message header EXACTLY fit into the buffer
-    final int currentTail = A_PARTITION_LENGTH - HEADER_LENGTH - A_FRAGMENT_LENGTH;
+    final int frameOffset = A_PARTITION_LENGTH - HEADER_LENGTH - A_FRAGMENT_LENGTH;
 
-    when(metadataBufferMock.getAndAddInt(PARTITION_TAIL_COUNTER_OFFSET, A_FRAGMENT_LENGTH))
-        .thenReturn(currentTail);
-
-    // if
-    final int newTail =
-        logBufferAppender.claim(
-            logBufferPartition,
-            A_PARTITION_ID,
-            claimedFragmentMock,
-            A_MSG_PAYLOAD_LENGTH,
-            A_STREAM_ID,
-            DO_NOTHING);
+    // when
+    logBufferAppender.claimAt(
+        logBufferPartition,
+        frameOffset,
+        claimedFragmentMock,
+        A_MSG_PAYLOAD_LENGTH,
+        A_STREAM_ID,
+        DO_NOTHING);
 
     // then
-    assertThat(newTail).isEqualTo(currentTail + A_FRAGMENT_LENGTH);
-
-    // the tail is moved by the aligned message length
-    verify(metadataBufferMock).getAndAddInt(PARTITION_TAIL_COUNTER_OFFSET, A_FRAGMENT_LENGTH);
     verifyNoMoreInteractions(metadataBufferMock);
 
-    // the negative header was written and the claimed fragment now wraps the buffer section
     final InOrder inOrder = inOrder(dataBufferMock, claimedFragmentMock);
     inOrder
         .verify(dataBufferMock)
-        .putIntOrdered(lengthOffset(currentTail), -framedLength(A_MSG_PAYLOAD_LENGTH));
-    inOrder.verify(dataBufferMock).putShort(typeOffset(currentTail), TYPE_MESSAGE);
-    inOrder.verify(dataBufferMock).putInt(streamIdOffset(currentTail), A_STREAM_ID);
+        .putIntOrdered(lengthOffset(frameOffset), -framedLength(A_MSG_PAYLOAD_LENGTH));
+    inOrder.verify(dataBufferMock).putShort(typeOffset(frameOffset), TYPE_MESSAGE);
+    inOrder.verify(dataBufferMock).putInt(streamIdOffset(frameOffset), A_STREAM_ID);
     inOrder
         .verify(claimedFragmentMock)
-        .wrap(dataBufferMock, currentTail, A_MSG_PAYLOAD_LENGTH + HEADER_LENGTH, DO_NOTHING);
+        .wrap(dataBufferMock, frameOffset, A_MSG_PAYLOAD_LENGTH + HEADER_LENGTH, DO_NOTHING);
   }
 
   @Test
-  public void shouldRejectAndFillWithPaddingIfTrippsEndOfBuffer() {
+  public void shouldFillWithPaddingIfTrippsEndOfBuffer() {
     // given
     // that the message + next message header do NOT fit into the buffer
-    final int currentTail = A_PARTITION_LENGTH - HEADER_LENGTH - A_FRAGMENT_LENGTH + 1;
-
-    when(metadataBufferMock.getAndAddInt(PARTITION_TAIL_COUNTER_OFFSET, A_FRAGMENT_LENGTH))
-        .thenReturn(currentTail);
-
-    // if        throw new RuntimeException("File " + bufferFileName + " does not exist");
+    final int partitionOffset = A_PARTITION_LENGTH - HEADER_LENGTH - A_FRAGMENT_LENGTH + 1;
 
-    final int newTail =
-        logBufferAppender.claim(
-            logBufferPartition,
-            A_PARTITION_ID,
-            claimedFragmentMock,
-            A_MSG_PAYLOAD_LENGTH,
-            A_STREAM_ID,
-            DO_NOTHING);
+    // when
+    logBufferAppender.appendPadding(logBufferPartition, partitionOffset);
 
     // then
-    assertThat(newTail).isEqualTo(-2);
-
-    // the tail is moved by the aligned message length
-    verify(metadataBufferMock).getAndAddInt(PARTITION_TAIL_COUNTER_OFFSET, A_FRAGMENT_LENGTH);
     verifyNoMoreInteractions(metadataBufferMock);
 
-    // and the buffer is filled with padding
-    final int padLength = A_PARTITION_LENGTH - currentTail - HEADER_LENGTH;
+    // the buffer is filled with padding
+    final int padLength = A_PARTITION_LENGTH - partitionOffset;
     final InOrder inOrder = inOrder(dataBufferMock);
-    inOrder
-        .verify(dataBufferMock)
-        .putIntOrdered(lengthOffset(currentTail), -framedLength(padLength));
-    inOrder.verify(dataBufferMock).putShort(typeOffset(currentTail), TYPE_PADDING);
-    inOrder
-        .verify(dataBufferMock)
-        .putIntOrdered(lengthOffset(currentTail), framedLength(padLength));
+    inOrder.verify(dataBufferMock).putIntOrdered(lengthOffset(partitionOffset), -padLength);
+    inOrder.verify(dataBufferMock).putShort(typeOffset(partitionOffset), TYPE_PADDING);
+    inOrder.verify(dataBufferMock).putIntOrdered(lengthOffset(partitionOffset), padLength);
   }
 
   @Test
-  public void shouldRejectAndFillWithZeroLengthPaddingIfExactlyHitsTrippPoint() {
+  public void shouldFillWithZeroLengthPaddingIfExactlyHitsTrippPoint() {
     // given
-    // that the current tail is that we exactly hit the trip point (ie. only a zero-length padding
-    // header fits the buffer)
-    final int currentTail = A_PARTITION_LENGTH - HEADER_LENGTH;
-
-    when(metadataBufferMock.getAndAddInt(PARTITION_TAIL_COUNTER_OFFSET, A_FRAGMENT_LENGTH))
-        .thenReturn(currentTail);
-
-    // if
-    final int newTail =
-        logBufferAppender.claim(
-            logBufferPartition,
-            A_PARTITION_ID,
-            claimedFragmentMock,
-            A_MSG_PAYLOAD_LENGTH,
-            A_STREAM_ID,
-            DO_NOTHING);
+    // that only a zero-length padding header fits the buffer
+    final int partitionOffset = A_PARTITION_LENGTH - HEADER_LENGTH;
 
-    // then
-    assertThat(newTail).isEqualTo(-2);
-
-    // the tail is moved by the aligned message length
-    verify(metadataBufferMock).getAndAddInt(PARTITION_TAIL_COUNTER_OFFSET, A_FRAGMENT_LENGTH);
-    verifyNoMoreInteractions(metadataBufferMock);
-
-    // and the buffer is filled with padding
-    final int padLength = 0;
-    final InOrder inOrder = inOrder(dataBufferMock);
-    inOrder
-        .verify(dataBufferMock)
-        .putIntOrdered(lengthOffset(currentTail), -framedLength(padLength));
-    inOrder.verify(dataBufferMock).putShort(typeOffset(currentTail), TYPE_PADDING);
-    inOrder
-        .verify(dataBufferMock)
-        .putIntOrdered(lengthOffset(currentTail), framedLength(padLength));
-  }
-
-  @Test
-  public void shouldRejectIfTailIsBeyondTripPoint() {
-    // given
-    // that the tail is beyond the trip point
-    final int currentTail = A_PARTITION_LENGTH - HEADER_LENGTH + 1;
-
-    when(metadataBufferMock.getAndAddInt(PARTITION_TAIL_COUNTER_OFFSET, A_FRAGMENT_LENGTH))
-        .thenReturn(currentTail);
-
-    // if
-    final int newTail =
-        logBufferAppender.claim(
-            logBufferPartition,
-            A_PARTITION_ID,
-            claimedFragmentMock,
-            A_MSG_PAYLOAD_LENGTH,
-            A_STREAM_ID,
-            DO_NOTHING);
+    // when
+    logBufferAppender.appendPadding(logBufferPartition, partitionOffset);
 
     // then
-    assertThat(newTail).isEqualTo(-1);
-
-    // the tail is moved by the aligned message length
-    verify(metadataBufferMock).getAndAddInt(PARTITION_TAIL_COUNTER_OFFSET, A_FRAGMENT_LENGTH);
     verifyNoMoreInteractions(metadataBufferMock);
 
-    // and no message / padding is written
-    verify(dataBufferMock, times(0)).putIntOrdered(anyInt(), anyInt());
+    final int padLength = HEADER_LENGTH;
+    final InOrder inOrder = inOrder(dataBufferMock);
+    inOrder.verify(dataBufferMock).putIntOrdered(lengthOffset(partitionOffset), -padLength);
+    inOrder.verify(dataBufferMock).putShort(typeOffset(partitionOffset), TYPE_PADDING);
+    inOrder.verify(dataBufferMock).putIntOrdered(lengthOffset(partitionOffset), padLength);
   }
 }
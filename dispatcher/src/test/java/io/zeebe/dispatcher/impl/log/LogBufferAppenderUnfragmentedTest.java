@@ -16,22 +16,19 @@ import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.lengthOffset;
 import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.messageOffset;
 import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.streamIdOffset;
 import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.typeOffset;
-import static io.zeebe.dispatcher.impl.log.LogBufferDescriptor.PARTITION_TAIL_COUNTER_OFFSET;
+import static io.zeebe.dispatcher.impl.log.LogBufferDescriptor.PARTITION_COUNT;
+import static io.zeebe.dispatcher.impl.log.LogBufferDescriptor.PARTITION_META_DATA_LENGTH;
 import static org.agrona.BitUtil.align;
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.Mockito.anyInt;
-import static org.mockito.Mockito.inOrder;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.times;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.verifyNoMoreInteractions;
-import static org.mockito.Mockito.when;
 
+import io.zeebe.dispatcher.ClaimedFragment;
+import io.zeebe.util.allocation.AllocatedBuffer;
+import io.zeebe.util.allocation.BufferAllocators;
 import java.nio.charset.Charset;
 import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
-import org.mockito.InOrder;
 
 public final class LogBufferAppenderUnfragmentedTest {
   static final int A_PARTITION_LENGTH = 1024;
@@ -39,185 +36,110 @@ public final class LogBufferAppenderUnfragmentedTest {
   static final int A_MSG_PAYLOAD_LENGTH = A_MSG_PAYLOAD.length;
   static final int A_FRAGMENT_LENGTH = align(A_MSG_PAYLOAD_LENGTH + HEADER_LENGTH, FRAME_ALIGNMENT);
   static final UnsafeBuffer A_MSG = new UnsafeBuffer(A_MSG_PAYLOAD);
-  static final int A_PARTITION_ID = 10;
   static final int A_STREAM_ID = 20;
 
-  UnsafeBuffer metadataBufferMock;
-  UnsafeBuffer dataBufferMock;
+  AllocatedBuffer allocatedBuffer;
+  UnsafeBuffer dataBuffer;
   LogBufferAppender logBufferAppender;
   LogBufferPartition logBufferPartition;
+  ClaimedFragment claimedFragment;
 
   @Before
   public void setup() {
-    dataBufferMock = mock(UnsafeBuffer.class);
-    metadataBufferMock = mock(UnsafeBuffer.class);
-
-    when(dataBufferMock.capacity()).thenReturn(A_PARTITION_LENGTH);
-    logBufferPartition = new LogBufferPartition(dataBufferMock, metadataBufferMock, 0);
-    verify(dataBufferMock).verifyAlignment();
-    verify(metadataBufferMock).verifyAlignment();
+    final int capacity = PARTITION_COUNT * (A_PARTITION_LENGTH + PARTITION_META_DATA_LENGTH);
+    allocatedBuffer = BufferAllocators.allocateDirect(capacity);
+    logBufferPartition =
+        new PartitionBuilder().slicePartitions(A_PARTITION_LENGTH, allocatedBuffer)[0];
+    dataBuffer = logBufferPartition.getDataBuffer();
 
     logBufferAppender = new LogBufferAppender();
+    claimedFragment = new ClaimedFragment();
+  }
+
+  @After
+  public void tearDown() {
+    allocatedBuffer.close();
   }
 
   @Test
   public void shouldAppendFrame() {
     // given
-    // that the message + next message header fit into the buffer and there is more space
-    final int currentTail = 0;
-
-    when(metadataBufferMock.getAndAddInt(PARTITION_TAIL_COUNTER_OFFSET, A_FRAGMENT_LENGTH))
-        .thenReturn(currentTail);
+    final int frameOffset = 0;
 
-    // if
-    final int newTail =
-        logBufferAppender.appendFrame(
-            logBufferPartition, A_PARTITION_ID, A_MSG, 0, A_MSG_PAYLOAD_LENGTH, A_STREAM_ID);
+    // when
+    appendFrame(frameOffset);
 
     // then
-    assertThat(newTail).isEqualTo(currentTail + A_FRAGMENT_LENGTH);
-
-    // the tail is moved by the aligned message length
-    verify(metadataBufferMock).getAndAddInt(PARTITION_TAIL_COUNTER_OFFSET, A_FRAGMENT_LENGTH);
-    verifyNoMoreInteractions(metadataBufferMock);
-
-    // and the message is appended to the buffer
-    final InOrder inOrder = inOrder(dataBufferMock);
-    inOrder
-        .verify(dataBufferMock)
-        .putIntOrdered(lengthOffset(currentTail), -framedLength(A_MSG_PAYLOAD_LENGTH));
-    inOrder.verify(dataBufferMock).putShort(typeOffset(currentTail), TYPE_MESSAGE);
-    inOrder.verify(dataBufferMock).putInt(streamIdOffset(currentTail), A_STREAM_ID);
-    inOrder
-        .verify(dataBufferMock)
-        .putBytes(messageOffset(currentTail), A_MSG, 0, A_MSG_PAYLOAD_LENGTH);
-    inOrder
-        .verify(dataBufferMock)
-        .putIntOrdered(lengthOffset(currentTail), framedLength(A_MSG_PAYLOAD_LENGTH));
+    assertThat(dataBuffer.getInt(lengthOffset(frameOffset)))
+        .isEqualTo(framedLength(A_MSG_PAYLOAD_LENGTH));
+    assertThat(dataBuffer.getShort(typeOffset(frameOffset))).isEqualTo(TYPE_MESSAGE);
+    assertThat(dataBuffer.getInt(streamIdOffset(frameOffset))).isEqualTo(A_STREAM_ID);
+    assertThat(readMessage(frameOffset)).isEqualTo(A_MSG_PAYLOAD);
   }
 
   @Test
   public void shouldAppendFrameIfRemaingCapacityIsEqualHeaderSize() {
     // given
     // that the message + next message header EXACTLY fit into the buffer
-    final int currentTail = A_PARTITION_LENGTH - HEADER_LENGTH - A_FRAGMENT_LENGTH;
+    final int frameOffset = A_PARTITION_LENGTH - HEADER_LENGTH - A_FRAGMENT_LENGTH;
 
-    when(metadataBufferMock.getAndAddInt(PARTITION_TAIL_COUNTER_OFFSET, A_FRAGMENT_LENGTH))
-        .thenReturn(currentTail);
-
-    // if
-    final int newTail =
-        logBufferAppender.appendFrame(
-            logBufferPartition, A_PARTITION_ID, A_MSG, 0, A_MSG_PAYLOAD_LENGTH, A_STREAM_ID);
+    // when
+    appendFrame(frameOffset);
 
     // then
-    assertThat(newTail).isEqualTo(currentTail + A_FRAGMENT_LENGTH);
-
-    // the tail is moved by the aligned message length
-    verify(metadataBufferMock).getAndAddInt(PARTITION_TAIL_COUNTER_OFFSET, A_FRAGMENT_LENGTH);
-    verifyNoMoreInteractions(metadataBufferMock);
-
-    // and the message is appended to the buffer
-    final InOrder inOrder = inOrder(dataBufferMock);
-    inOrder
-        .verify(dataBufferMock)
-        .putIntOrdered(lengthOffset(currentTail), -framedLength(A_MSG_PAYLOAD_LENGTH));
-    inOrder.verify(dataBufferMock).putShort(typeOffset(currentTail), TYPE_MESSAGE);
-    inOrder.verify(dataBufferMock).putInt(streamIdOffset(currentTail), A_STREAM_ID);
-    inOrder
-        .verify(dataBufferMock)
-        .putIntOrdered(lengthOffset(currentTail), framedLength(A_MSG_PAYLOAD_LENGTH));
+    assertThat(dataBuffer.getInt(lengthOffset(frameOffset)))
+        .isEqualTo(framedLength(A_MSG_PAYLOAD_LENGTH));
+    assertThat(dataBuffer.getShort(typeOffset(frameOffset))).isEqualTo(TYPE_MESSAGE);
+    assertThat(dataBuffer.getInt(streamIdOffset(frameOffset))).isEqualTo(A_STREAM_ID);
+    assertThat(readMessage(frameOffset)).isEqualTo(A_MSG_PAYLOAD);
   }
 
   @Test
-  public void shouldRejectAndFillWithPaddingIfTrippsEndOfBuffer() {
+  public void shouldFillWithPaddingIfTrippsEndOfBuffer() {
     // given
     // that the message + next message header do NOT fit into the buffer
-    final int currentTail = A_PARTITION_LENGTH - HEADER_LENGTH - A_FRAGMENT_LENGTH + 1;
-
-    when(metadataBufferMock.getAndAddInt(PARTITION_TAIL_COUNTER_OFFSET, A_FRAGMENT_LENGTH))
-        .thenReturn(currentTail);
+    final int partitionOffset = A_PARTITION_LENGTH - HEADER_LENGTH - A_FRAGMENT_LENGTH + 1;
 
-    // if
-    final int newTail =
-        logBufferAppender.appendFrame(
-            logBufferPartition, A_PARTITION_ID, A_MSG, 0, A_MSG_PAYLOAD_LENGTH, A_STREAM_ID);
+    // when
+    logBufferAppender.appendPadding(logBufferPartition, partitionOffset);
 
     // then
-    assertThat(newTail).isEqualTo(-2);
-
-    // the tail is moved by the aligned message length
-    verify(metadataBufferMock).getAndAddInt(PARTITION_TAIL_COUNTER_OFFSET, A_FRAGMENT_LENGTH);
-    verifyNoMoreInteractions(metadataBufferMock);
-
-    // and the buffer is filled with padding
-    final int padLength = A_PARTITION_LENGTH - currentTail - HEADER_LENGTH;
-    final InOrder inOrder = inOrder(dataBufferMock);
-    inOrder
-        .verify(dataBufferMock)
-        .putIntOrdered(lengthOffset(currentTail), -framedLength(padLength));
-    inOrder.verify(dataBufferMock).putShort(typeOffset(currentTail), TYPE_PADDING);
-    inOrder
-        .verify(dataBufferMock)
-        .putIntOrdered(lengthOffset(currentTail), framedLength(padLength));
+    assertThat(dataBuffer.getInt(lengthOffset(partitionOffset)))
+        .isEqualTo(A_PARTITION_LENGTH - partitionOffset);
+    assertThat(dataBuffer.getShort(typeOffset(partitionOffset))).isEqualTo(TYPE_PADDING);
   }
 
   @Test
-  public void shouldRejectAndFillWithZeroLengthPaddingIfExactlyHitsTrippPoint() {
+  public void shouldFillWithZeroLengthPaddingIfExactlyHitsTrippPoint() {
     // given
-    // that the current tail is that we exactly hit the trip point (ie. only a zero-length padding
-    // header fits the buffer)
-    final int currentTail = A_PARTITION_LENGTH - HEADER_LENGTH;
+    // that only a zero-length padding header fits the buffer
+    final int partitionOffset = A_PARTITION_LENGTH - HEADER_LENGTH;
 
-    when(metadataBufferMock.getAndAddInt(PARTITION_TAIL_COUNTER_OFFSET, A_FRAGMENT_LENGTH))
-        .thenReturn(currentTail);
-
-    // if
-    final int newTail =
-        logBufferAppender.appendFrame(
-            logBufferPartition, A_PARTITION_ID, A_MSG, 0, A_MSG_PAYLOAD_LENGTH, A_STREAM_ID);
+    // when
+    logBufferAppender.appendPadding(logBufferPartition, partitionOffset);
 
     // then
-    assertThat(newTail).isEqualTo(-2);
-
-    // the tail is moved by the aligned message length
-    verify(metadataBufferMock).getAndAddInt(PARTITION_TAIL_COUNTER_OFFSET, A_FRAGMENT_LENGTH);
-    verifyNoMoreInteractions(metadataBufferMock);
-
-    // and the buffer is filled with padding
-    final int padLength = 0;
-    final InOrder inOrder = inOrder(dataBufferMock);
-    inOrder
-        .verify(dataBufferMock)
-        .putIntOrdered(lengthOffset(currentTail), -framedLength(padLength));
-    inOrder.verify(dataBufferMock).putShort(typeOffset(currentTail), TYPE_PADDING);
-    inOrder
-        .verify(dataBufferMock)
-        .putIntOrdered(lengthOffset(currentTail), framedLength(padLength));
+    assertThat(dataBuffer.getInt(lengthOffset(partitionOffset))).isEqualTo(framedLength(0));
+    assertThat(dataBuffer.getShort(typeOffset(partitionOffset))).isEqualTo(TYPE_PADDING);
   }
 
-  @Test
-  public void shouldRejectIfTailIsBeyondTripPoint() {
-    // given
-    // that the tail is beyond the trip point
-    final int currentTail = A_PARTITION_LENGTH - HEADER_LENGTH + 1;
-
-    when(metadataBufferMock.getAndAddInt(PARTITION_TAIL_COUNTER_OFFSET, A_FRAGMENT_LENGTH))
-        .thenReturn(currentTail);
-
-    // if
-    final int newTail =
-        logBufferAppender.appendFrame(
-            logBufferPartition, A_PARTITION_ID, A_MSG, 0, A_MSG_PAYLOAD_LENGTH, A_STREAM_ID);
-
-    // then
-    assertThat(newTail).isEqualTo(-1);
-
-    // the tail is moved by the aligned message length
-    verify(metadataBufferMock).getAndAddInt(PARTITION_TAIL_COUNTER_OFFSET, A_FRAGMENT_LENGTH);
-    verifyNoMoreInteractions(metadataBufferMock);
+  private void appendFrame(final int frameOffset) {
+    logBufferAppender.claimAt(
+        logBufferPartition,
+        frameOffset,
+        claimedFragment,
+        A_MSG_PAYLOAD_LENGTH,
+        A_STREAM_ID,
+        () -> {});
+    claimedFragment
+        .getBuffer()
+        .putBytes(claimedFragment.getOffset(), A_MSG, 0, A_MSG_PAYLOAD_LENGTH);
+    claimedFragment.commit();
+  }
 
-    // and no message / padding is written
-    verify(dataBufferMock, times(0)).putIntOrdered(anyInt(), anyInt());
+  private byte[] readMessage(final int frameOffset) {
+    final byte[] message = new byte[A_MSG_PAYLOAD_LENGTH];
+    dataBuffer.getBytes(messageOffset(frameOffset), message);
+    return message;
   }
 }
@@ -9,6 +9,7 @@ package io.zeebe.dispatcher.integration;
 
 import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.alignedFramedLength;
 import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.messageOffset;
+import static io.zeebe.dispatcher.impl.log.LogBufferDescriptor.PARTITION_COUNT;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
@@ -21,8 +22,13 @@ import io.zeebe.dispatcher.FragmentHandler;
 import io.zeebe.dispatcher.Subscription;
 import io.zeebe.util.ByteValue;
 import io.zeebe.util.sched.testing.ActorSchedulerRule;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import org.agrona.BitUtil;
 import org.agrona.DirectBuffer;
 import org.agrona.MutableDirectBuffer;
 import org.junit.Rule;
@@ -99,6 +105,72 @@ public final class DispatcherIntegrationTest {
     assertThat(consumer.counters).contains(1, 2);
   }
 
+  @Test
+  public void shouldClaimConcurrentlyWithUniquePositions() throws Exception {
+    // given
+    final int producerCount = 4;
+    final int fragmentsPerProducer = 50_000;
+
+    final Dispatcher dispatcher =
+        Dispatchers.create("default")
+            .actorScheduler(actorSchedulerRule.get())
+            .bufferSize((int) ByteValue.ofMegabytes(1))
+            .build();
+
+    final Subscription subscription = dispatcher.openSubscription("test");
+    final Consumer consumer = new Consumer();
+    final Set<Long> positions = ConcurrentHashMap.newKeySet();
+
+    final Thread consumerThread =
+        new Thread(
+            () -> {
+              while (consumer.counters.size() < producerCount * fragmentsPerProducer) {
+                subscription.poll(consumer, Integer.MAX_VALUE);
+              }
+            });
+    consumerThread.start();
+
+    // when
+    final List<Thread> producers = new ArrayList<>();
+    for (int p = 0; p < producerCount; p++) {
+      final int producerId = p;
+      final Thread producer =
+          new Thread(
+              () -> {
+                final ClaimedFragment claimedFragment = new ClaimedFragment();
+                for (int i = 0; i < fragmentsPerProducer; i++) {
+                  long position;
+                  while ((position = dispatcher.claimSingleFragment(claimedFragment, 59)) <= 0) {
+                    // spin
+                  }
+                  positions.add(position);
+                  claimedFragment
+                      .getBuffer()
+                      .putInt(claimedFragment.getOffset(), producerId * fragmentsPerProducer + i);
+                  claimedFragment.commit();
+                }
+              });
+      producers.add(producer);
+      producer.start();
+    }
+
+    for (final Thread producer : producers) {
+      producer.join();
+    }
+    consumerThread.join();
+    dispatcher.close();
+
+    // then
+    assertThat(positions).hasSize(producerCount * fragmentsPerProducer);
+    for (int p = 0; p < producerCount; p++) {
+      final int producerId = p;
+      assertThat(consumer.counters)
+          .filteredOn(counter -> counter / fragmentsPerProducer == producerId)
+          .isSorted()
+          .hasSize(fragmentsPerProducer);
+    }
+  }
+
   @Test
   public void testPeekBlock() throws Exception {
     final int totalWork = 10000000;
@@ -196,6 +268,59 @@ public final class DispatcherIntegrationTest {
     assertThat(dispatcher.getLogBuffer().getPartitionSize()).isEqualTo(expectedPartitionSize);
   }
 
+  @Test
+  public void shouldSetBufferSizeDependingOnThroughput() {
+    // given
+    final long bytesPerSecond = ByteValue.ofMegabytes(6);
+
+    // when
+    final Dispatcher dispatcher =
+        Dispatchers.create("test")
+            .actorScheduler(actorSchedulerRule.get())
+            .bufferSizeForThroughput(bytesPerSecond, Duration.ofMillis(500))
+            .build();
+
+    // then
+    assertThat(dispatcher.getLogBuffer().getPartitionSize())
+        .isEqualTo((int) ByteValue.ofMegabytes(1));
+  }
+
+  @Test
+  public void shouldNotSizeBufferForThroughputBelowMaxFrameLength() {
+    // given
+    final int frameLength = (int) ByteValue.ofMegabytes(4);
+    final long expectedPartitionSize = frameLength * 2;
+
+    // when
+    final Dispatcher dispatcher =
+        Dispatchers.create("test")
+            .actorScheduler(actorSchedulerRule.get())
+            .maxFragmentLength(frameLength)
+            .bufferSizeForThroughput(ByteValue.ofKilobytes(1), Duration.ofSeconds(1))
+            .build();
+
+    // then
+    assertThat(dispatcher.getMaxFragmentLength()).isEqualTo(frameLength);
+    assertThat(dispatcher.getLogBuffer().getPartitionSize()).isEqualTo(expectedPartitionSize);
+  }
+
+  @Test
+  public void shouldNotSizeBufferForThroughputBelowDefaultSize() {
+    // given
+    final int defaultBufferSize = (int) ByteValue.ofMegabytes(1);
+    final int expectedPartitionSize = BitUtil.align(defaultBufferSize / PARTITION_COUNT, 8);
+
+    // when
+    final Dispatcher dispatcher =
+        Dispatchers.create("test")
+            .actorScheduler(actorSchedulerRule.get())
+            .bufferSizeForThroughput(ByteValue.ofKilobytes(1), Duration.ofSeconds(1))
+            .build();
+
+    // then
+    assertThat(dispatcher.getLogBuffer().getPartitionSize()).isEqualTo(expectedPartitionSize);
+  }
+
   @Test
   public void shouldRejectIfFullFrameLengthIsLargerThanMax() {
     // given
@@ -0,0 +1,51 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.engine.metrics;
+
+import io.prometheus.client.Counter;
+import io.prometheus.client.Histogram;
+
+public final class TimerMetrics {
+
+  private static final String NAMESPACE = "zeebe";
+
+  private static final Histogram TRIGGER_LAG =
+      Histogram.build()
+          .namespace(NAMESPACE)
+          .name("timer_trigger_lag")
+          .help("Time between the due date of a timer and writing its trigger command in seconds")
+          .labelNames("partition")
+          .buckets(0.01, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30, 60, 300)
+          .register();
+
+  private static final Counter TRIGGER_BATCHES =
+      Counter.build()
+          .namespace(NAMESPACE)
+          .name("timer_trigger_batches_total")
+          .help("Number of batches of timer trigger commands written")
+          .labelNames("action", "partition")
+          .register();
+
+  private final String partitionIdLabel;
+
+  public TimerMetrics(final int partitionId) {
+    partitionIdLabel = String.valueOf(partitionId);
+  }
+
+  public void timerTriggered(final long dueDate, final long triggered) {
+    TRIGGER_LAG.labels(partitionIdLabel).observe(Math.max(0, triggered - dueDate) / 1000f);
+  }
+
+  public void batchWritten() {
+    TRIGGER_BATCHES.labels("written", partitionIdLabel).inc();
+  }
+
+  public void batchRejected() {
+    TRIGGER_BATCHES.labels("rejected", partitionIdLabel).inc();
+  }
+}
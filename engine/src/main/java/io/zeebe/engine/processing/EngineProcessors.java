@@ -42,7 +42,8 @@ public final class EngineProcessors {
       final SubscriptionCommandSender subscriptionCommandSender,
       final DeploymentDistributor deploymentDistributor,
       final DeploymentResponder deploymentResponder,
-      final Consumer<String> onJobsAvailableCallback) {
+      final Consumer<String> onJobsAvailableCallback,
+      final int maxMessageExpirationsPerCheck) {
 
     final var actor = processingContext.getActor();
     final ZeebeState zeebeState = processingContext.getZeebeState();
@@ -72,7 +73,11 @@ public final class EngineProcessors {
         typedRecordProcessors,
         deploymentResponder,
         expressionProcessor);
-    addMessageProcessors(subscriptionCommandSender, zeebeState, typedRecordProcessors);
+    addMessageProcessors(
+        subscriptionCommandSender,
+        zeebeState,
+        typedRecordProcessors,
+        maxMessageExpirationsPerCheck);
 
     final TypedRecordProcessor<WorkflowInstanceRecord> bpmnStreamProcessor =
         addWorkflowProcessors(
@@ -166,8 +171,12 @@ public final class EngineProcessors {
   private static void addMessageProcessors(
       final SubscriptionCommandSender subscriptionCommandSender,
       final ZeebeState zeebeState,
-      final TypedRecordProcessors typedRecordProcessors) {
+      final TypedRecordProcessors typedRecordProcessors,
+      final int maxMessageExpirationsPerCheck) {
     MessageEventProcessors.addMessageProcessors(
-        typedRecordProcessors, zeebeState, subscriptionCommandSender);
+        typedRecordProcessors,
+        zeebeState,
+        subscriptionCommandSender,
+        maxMessageExpirationsPerCheck);
   }
 }
@@ -21,9 +21,9 @@ import java.util.function.BiConsumer;
  */
 final class DefaultJobCommandProcessor<J extends JobRecord> implements CommandProcessor<J> {
 
-  private static final String NO_JOB_FOUND_MESSAGE =
+  static final String NO_JOB_FOUND_MESSAGE =
       "Expected to %s job with key '%d', but no such job was found";
-  private static final String INVALID_JOB_STATE_MESSAGE =
+  static final String INVALID_JOB_STATE_MESSAGE =
       "Expected to %s job with key '%d', but it is in state '%s'";
 
   private final String intent;
@@ -0,0 +1,125 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.engine.processing.job;
+
+import static io.zeebe.engine.processing.job.DefaultJobCommandProcessor.INVALID_JOB_STATE_MESSAGE;
+import static io.zeebe.engine.processing.job.DefaultJobCommandProcessor.NO_JOB_FOUND_MESSAGE;
+
+import io.zeebe.engine.processing.streamprocessor.TypedRecord;
+import io.zeebe.engine.processing.streamprocessor.TypedRecordProcessor;
+import io.zeebe.engine.processing.streamprocessor.writers.TypedResponseWriter;
+import io.zeebe.engine.processing.streamprocessor.writers.TypedStreamWriter;
+import io.zeebe.engine.state.KeyGenerator;
+import io.zeebe.engine.state.instance.JobState;
+import io.zeebe.engine.state.instance.JobState.State;
+import io.zeebe.msgpack.value.DocumentValue;
+import io.zeebe.msgpack.value.LongValue;
+import io.zeebe.protocol.impl.record.value.job.JobBatchRecord;
+import io.zeebe.protocol.impl.record.value.job.JobRecord;
+import io.zeebe.protocol.record.RejectionType;
+import io.zeebe.protocol.record.intent.JobBatchIntent;
+import io.zeebe.protocol.record.intent.JobIntent;
+import java.util.Iterator;
+import org.agrona.DirectBuffer;
+
+/**
+ * Completes all jobs of a job batch command at once. Each job is completed in the same way as by
+ * the {@link CompleteProcessor}, i.e. a {@link JobIntent#COMPLETED} event is written for it. A job
+ * which can't be completed doesn't reject the whole batch, instead it is added as rejection to the
+ * {@link JobBatchIntent#COMPLETED} event.
+ */
+public final class JobBatchCompleteProcessor implements TypedRecordProcessor<JobBatchRecord> {
+
+  private static final String BATCH_TOO_LARGE_MESSAGE =
+      "Expected to complete job with key '%d', but the completed jobs of the batch exceed the maximum batch size of '%d' bytes";
+
+  private final JobBatchRecord completedBatch = new JobBatchRecord();
+
+  private final JobState jobState;
+  private final KeyGenerator keyGenerator;
+  private final long maxJobBatchLength;
+
+  public JobBatchCompleteProcessor(
+      final JobState jobState, final KeyGenerator keyGenerator, final long maxRecordLength) {
+    this.jobState = jobState;
+    this.keyGenerator = keyGenerator;
+    // the completed jobs and the job batch event are written in the same batch,
+    // so we can only use half of the max record length for the jobs
+    maxJobBatchLength = (maxRecordLength - Long.BYTES) / 2;
+  }
+
+  @Override
+  public void processRecord(
+      final TypedRecord<JobBatchRecord> record,
+      final TypedResponseWriter responseWriter,
+      final TypedStreamWriter streamWriter) {
+    final JobBatchRecord value = record.getValue();
+
+    completedBatch.reset();
+    completedBatch.setWorker(value.getWorkerBuffer());
+
+    final Iterator<LongValue> jobKeyIterator = value.jobKeys().iterator();
+    final Iterator<JobRecord> jobIterator = value.jobs().iterator();
+
+    long completedJobsLength = 0;
+    while (jobKeyIterator.hasNext()) {
+      final long jobKey = jobKeyIterator.next().getValue();
+      final DirectBuffer variables =
+          jobIterator.hasNext()
+              ? jobIterator.next().getVariablesBuffer()
+              : DocumentValue.EMPTY_DOCUMENT;
+
+      final State state = jobState.getState(jobKey);
+      if (state == State.ACTIVATABLE || state == State.ACTIVATED) {
+        final JobRecord job = jobState.getJob(jobKey);
+        job.setVariables(variables);
+
+        final int jobLength = job.getLength();
+        if (completedJobsLength + jobLength > maxJobBatchLength) {
+          addRejection(
+              jobKey,
+              RejectionType.INVALID_ARGUMENT,
+              String.format(BATCH_TOO_LARGE_MESSAGE, jobKey, maxJobBatchLength));
+          continue;
+        }
+        completedJobsLength += jobLength;
+
+        jobState.complete(jobKey, job);
+        streamWriter.appendFollowUpEvent(jobKey, JobIntent.COMPLETED, job);
+        completedBatch.jobKeys().add().setValue(jobKey);
+
+      } else if (state == State.NOT_FOUND) {
+        addRejection(
+            jobKey,
+            RejectionType.NOT_FOUND,
+            String.format(NO_JOB_FOUND_MESSAGE, "complete", jobKey));
+
+      } else {
+        addRejection(
+            jobKey,
+            RejectionType.INVALID_STATE,
+            String.format(INVALID_JOB_STATE_MESSAGE, "complete", jobKey, state));
+      }
+    }
+
+    final long jobBatchKey = keyGenerator.nextKey();
+    streamWriter.appendFollowUpEvent(jobBatchKey, JobBatchIntent.COMPLETED, completedBatch);
+    responseWriter.writeEventOnCommand(
+        jobBatchKey, JobBatchIntent.COMPLETED, completedBatch, record);
+  }
+
+  private void addRejection(
+      final long jobKey, final RejectionType rejectionType, final String rejectionReason) {
+    completedBatch
+        .rejections()
+        .add()
+        .setJobKey(jobKey)
+        .setRejectionType(rejectionType)
+        .setRejectionReason(rejectionReason);
+  }
+}
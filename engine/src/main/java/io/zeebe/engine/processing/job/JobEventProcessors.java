@@ -51,6 +51,10 @@ public final class JobEventProcessors {
                 workflowState.getElementInstanceState().getVariablesState(),
                 keyGenerator,
                 maxRecordSize))
+        .onCommand(
+            ValueType.JOB_BATCH,
+            JobBatchIntent.COMPLETE,
+            new JobBatchCompleteProcessor(jobState, keyGenerator, maxRecordSize))
         .withListener(new JobTimeoutTrigger(jobState))
         .withListener(
             new StreamProcessorLifecycleAware() {
@@ -13,16 +13,32 @@ import io.zeebe.engine.processing.streamprocessor.ReadonlyProcessingContext;
 import io.zeebe.engine.processing.streamprocessor.StreamProcessorLifecycleAware;
 import io.zeebe.engine.processing.streamprocessor.writers.TypedCommandWriter;
 import io.zeebe.engine.state.instance.JobState;
+import io.zeebe.protocol.impl.record.value.job.JobRecord;
 import io.zeebe.protocol.record.ValueType;
 import io.zeebe.protocol.record.intent.JobIntent;
 import io.zeebe.util.sched.ScheduledTimer;
 import java.time.Duration;
 
+/**
+ * Writes {@code TIME_OUT} commands for activated jobs whose deadline has passed.
+ *
+ * <p>The next deadline is taken from the in-memory deadline index of the {@link JobState}, and a
+ * single timer is scheduled for it, so no work is done while no job is due. In addition, the
+ * deadlines column family is scanned every {@link #TIME_OUT_POLLING_INTERVAL} as a fallback for
+ * deadlines which are missing from the index. The scan only picks up jobs which are overdue by more
+ * than one interval, in order to not time out jobs again which were just timed out by the deadline
+ * timer but whose command is not processed yet.
+ */
 public final class JobTimeoutTrigger implements StreamProcessorLifecycleAware {
   public static final Duration TIME_OUT_POLLING_INTERVAL = Duration.ofSeconds(30);
+  private static final long DEADLINE_RESOLUTION = Duration.ofMillis(100).toMillis();
+  private static final long NO_DEADLINE = -1L;
+
   private final JobState state;
 
   private ScheduledTimer timer;
+  private ScheduledTimer deadlineTimer;
+  private long nextDeadline = NO_DEADLINE;
   private TypedCommandWriter writer;
   private ReadonlyProcessingContext processingContext;
 
@@ -33,58 +49,108 @@ public final class JobTimeoutTrigger implements StreamProcessorLifecycleAware {
   @Override
   public void onRecovered(final ReadonlyProcessingContext processingContext) {
     this.processingContext = processingContext;
-    timer =
-        this.processingContext
-            .getActor()
-            .runAtFixedRate(TIME_OUT_POLLING_INTERVAL, this::deactivateTimedOutJobs);
     writer = processingContext.getLogStreamWriter();
+
+    state.rebuildDeadlineIndex();
+    state.setJobDeadlineCallback(this::scheduleDeadlineTimer);
+
+    scheduleTimers();
   }
 
   @Override
   public void onClose() {
-    cancelTimer();
+    cancelTimers();
   }
 
   @Override
   public void onFailed() {
-    cancelTimer();
+    cancelTimers();
   }
 
   @Override
   public void onPaused() {
-    cancelTimer();
+    cancelTimers();
   }
 
   @Override
   public void onResumed() {
     if (timer == null) {
-      timer =
-          processingContext
-              .getActor()
-              .runAtFixedRate(TIME_OUT_POLLING_INTERVAL, this::deactivateTimedOutJobs);
+      scheduleTimers();
     }
   }
 
-  private void cancelTimer() {
+  private void scheduleTimers() {
+    timer =
+        processingContext
+            .getActor()
+            .runAtFixedRate(TIME_OUT_POLLING_INTERVAL, this::deactivateTimedOutJobs);
+    scheduleDeadlineTimer(state.getNextDeadline());
+  }
+
+  private void cancelTimers() {
     if (timer != null) {
       timer.cancel();
       timer = null;
     }
+    cancelDeadlineTimer();
   }
 
-  void deactivateTimedOutJobs() {
+  private void cancelDeadlineTimer() {
+    if (deadlineTimer != null) {
+      deadlineTimer.cancel();
+      deadlineTimer = null;
+    }
+    nextDeadline = NO_DEADLINE;
+  }
+
+  private void scheduleDeadlineTimer(final long deadline) {
+    if (deadline == NO_DEADLINE || timer == null) {
+      // not scheduled while the trigger is paused; resuming picks up the next deadline
+      return;
+    }
+
+    // similar to the due date timers, only one timer is scheduled for the next deadline; it is
+    // only replaced if the new deadline is considerably earlier
+    if (nextDeadline == NO_DEADLINE || nextDeadline - deadline > DEADLINE_RESOLUTION) {
+      cancelDeadlineTimer();
+
+      // a job is timed out when its deadline is lower than the current time
+      final long delay = Math.max(0, deadline - currentTimeMillis() + 1);
+      deadlineTimer =
+          processingContext
+              .getActor()
+              .runDelayed(Duration.ofMillis(delay), this::deactivateJobsWithDueDeadline);
+      nextDeadline = deadline;
+    }
+  }
+
+  void deactivateJobsWithDueDeadline() {
+    deadlineTimer = null;
+    nextDeadline = NO_DEADLINE;
+
     final long now = currentTimeMillis();
-    state.forEachTimedOutEntry(
-        now,
-        (key, record) -> {
-          writer.appendFollowUpCommand(
-              key, JobIntent.TIME_OUT, record, (m) -> m.valueType(ValueType.JOB));
-
-          final boolean flushed = writer.flush() >= 0;
-          if (!flushed) {
-            writer.reset();
-          }
-          return flushed;
-        });
+    state.forEachTimedOutJob(now, this::writeTimeOutCommand);
+
+    final long deadline = state.getNextDeadline();
+    if (deadline != NO_DEADLINE) {
+      // if a job is still due then the writer was full; retry after a short delay
+      scheduleDeadlineTimer(Math.max(deadline, now + DEADLINE_RESOLUTION));
+    }
+  }
+
+  void deactivateTimedOutJobs() {
+    final long upperBound = currentTimeMillis() - TIME_OUT_POLLING_INTERVAL.toMillis();
+    state.forEachTimedOutEntry(upperBound, this::writeTimeOutCommand);
+  }
+
+  private boolean writeTimeOutCommand(final long key, final JobRecord record) {
+    writer.appendFollowUpCommand(
+        key, JobIntent.TIME_OUT, record, (m) -> m.valueType(ValueType.JOB));
+
+    final boolean flushed = writer.flush() >= 0;
+    if (!flushed) {
+      writer.reset();
+    }
+    return flushed;
   }
 }
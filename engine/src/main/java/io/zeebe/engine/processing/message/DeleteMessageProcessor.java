@@ -11,12 +11,14 @@ import io.zeebe.engine.processing.streamprocessor.TypedRecord;
 import io.zeebe.engine.processing.streamprocessor.TypedRecordProcessor;
 import io.zeebe.engine.processing.streamprocessor.writers.TypedResponseWriter;
 import io.zeebe.engine.processing.streamprocessor.writers.TypedStreamWriter;
+import io.zeebe.engine.state.message.Message;
 import io.zeebe.engine.state.message.MessageState;
 import io.zeebe.protocol.impl.record.value.message.MessageRecord;
 import io.zeebe.protocol.record.intent.MessageIntent;
 
 public final class DeleteMessageProcessor implements TypedRecordProcessor<MessageRecord> {
 
+  private final MessageRecord deletedMessage = new MessageRecord();
   private final MessageState messageState;
 
   public DeleteMessageProcessor(final MessageState messageState) {
@@ -29,7 +31,26 @@ public final class DeleteMessageProcessor implements TypedRecordProcessor<Messag
       final TypedResponseWriter responseWriter,
       final TypedStreamWriter streamWriter) {
 
-    streamWriter.appendFollowUpEvent(record.getKey(), MessageIntent.DELETED, record.getValue());
+    final Message message = messageState.getMessage(record.getKey());
+    if (message == null) {
+      // the message was already deleted by a previous command
+      return;
+    }
+
+    // the command only identifies the message, so the event is built from the stored message to
+    // keep its variables
+    deletedMessage.reset();
+    deletedMessage
+        .setName(message.getName())
+        .setCorrelationKey(message.getCorrelationKey())
+        .setTimeToLive(message.getTimeToLive())
+        .setVariables(message.getVariables());
+
+    if (message.getId() != null) {
+      deletedMessage.setMessageId(message.getId());
+    }
+
+    streamWriter.appendFollowUpEvent(record.getKey(), MessageIntent.DELETED, deletedMessage);
 
     messageState.remove(record.getKey());
   }
@@ -25,7 +25,8 @@ public final class MessageEventProcessors {
   public static void addMessageProcessors(
       final TypedRecordProcessors typedRecordProcessors,
       final ZeebeState zeebeState,
-      final SubscriptionCommandSender subscriptionCommandSender) {
+      final SubscriptionCommandSender subscriptionCommandSender,
+      final int maxMessageExpirationsPerCheck) {
 
     final MessageState messageState = zeebeState.getMessageState();
     final MessageSubscriptionState subscriptionState = zeebeState.getMessageSubscriptionState();
@@ -78,6 +79,10 @@ public final class MessageEventProcessors {
             new CloseMessageStartEventSubscriptionProcessor(
                 startEventSubscriptionState, eventScopeInstanceState))
         .withListener(
-            new MessageObserver(messageState, subscriptionState, subscriptionCommandSender));
+            new MessageObserver(
+                messageState,
+                subscriptionState,
+                subscriptionCommandSender,
+                maxMessageExpirationsPerCheck));
   }
 }
@@ -18,6 +18,7 @@ import java.time.Duration;
 public final class MessageObserver implements StreamProcessorLifecycleAware {
 
   public static final Duration MESSAGE_TIME_TO_LIVE_CHECK_INTERVAL = Duration.ofSeconds(60);
+  public static final int DEFAULT_MAX_MESSAGE_EXPIRATIONS_PER_CHECK = 1_000;
 
   public static final Duration SUBSCRIPTION_TIMEOUT = Duration.ofSeconds(10);
   public static final Duration SUBSCRIPTION_CHECK_INTERVAL = Duration.ofSeconds(30);
@@ -25,14 +26,17 @@ public final class MessageObserver implements StreamProcessorLifecycleAware {
   private final SubscriptionCommandSender subscriptionCommandSender;
   private final MessageState messageState;
   private final MessageSubscriptionState subscriptionState;
+  private final int maxMessageExpirationsPerCheck;
 
   public MessageObserver(
       final MessageState messageState,
       final MessageSubscriptionState subscriptionState,
-      final SubscriptionCommandSender subscriptionCommandSender) {
+      final SubscriptionCommandSender subscriptionCommandSender,
+      final int maxMessageExpirationsPerCheck) {
     this.subscriptionCommandSender = subscriptionCommandSender;
     this.messageState = messageState;
     this.subscriptionState = subscriptionState;
+    this.maxMessageExpirationsPerCheck = maxMessageExpirationsPerCheck;
   }
 
   @Override
@@ -40,7 +44,12 @@ public final class MessageObserver implements StreamProcessorLifecycleAware {
     final ActorControl actor = context.getActor();
     // it is safe to reuse the write because we running in the same actor/thread
     final MessageTimeToLiveChecker timeToLiveChecker =
-        new MessageTimeToLiveChecker(context.getLogStreamWriter(), messageState);
+        new MessageTimeToLiveChecker(
+            actor,
+            context.getLogStreamWriter(),
+            messageState,
+            maxMessageExpirationsPerCheck,
+            context.getMaxFragmentSize());
     context.getActor().runAtFixedRate(MESSAGE_TIME_TO_LIVE_CHECK_INTERVAL, timeToLiveChecker);
 
     final PendingMessageSubscriptionChecker pendingSubscriptionChecker =
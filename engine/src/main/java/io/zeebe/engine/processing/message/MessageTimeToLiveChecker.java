@@ -7,48 +7,97 @@
  */
 package io.zeebe.engine.processing.message;
 
+import io.zeebe.engine.processing.streamprocessor.writers.FollowUpCommandBatch;
 import io.zeebe.engine.processing.streamprocessor.writers.TypedCommandWriter;
 import io.zeebe.engine.state.message.Message;
 import io.zeebe.engine.state.message.MessageState;
 import io.zeebe.protocol.impl.record.value.message.MessageRecord;
 import io.zeebe.protocol.record.intent.MessageIntent;
+import io.zeebe.util.EnsureUtil;
+import io.zeebe.util.sched.ActorControl;
 import io.zeebe.util.sched.clock.ActorClock;
 
+/**
+ * Writes {@code DELETE} commands for messages whose time to live has expired.
+ *
+ * <p>The commands only identify the message and don't contain its variables, since the message is
+ * read from the state by its key when the command is processed. The commands are written in batches
+ * of up to the given number of messages, with one batch per run, see {@link FollowUpCommandBatch}.
+ */
 public final class MessageTimeToLiveChecker implements Runnable {
 
-  private final TypedCommandWriter writer;
+  private static final long NO_CURSOR = -1L;
+
+  private final ActorControl actor;
   private final MessageState messageState;
+  private final FollowUpCommandBatch batch;
 
   private final MessageRecord deleteMessageCommand = new MessageRecord();
 
+  // the last message of the current sweep for which a command was written; since the messages are
+  // only removed when the command is processed, the next batch of the sweep resumes the iteration
+  // after it
+  private long cursorDeadline = NO_CURSOR;
+  private long cursorMessageKey = NO_CURSOR;
+
   public MessageTimeToLiveChecker(
-      final TypedCommandWriter writer, final MessageState messageState) {
-    this.writer = writer;
+      final ActorControl actor,
+      final TypedCommandWriter writer,
+      final MessageState messageState,
+      final int maxMessagesPerBatch,
+      final int maxFragmentSize) {
+    EnsureUtil.ensureGreaterThan("maxMessagesPerBatch", maxMessagesPerBatch, 0);
+
+    this.actor = actor;
     this.messageState = messageState;
+    batch = new FollowUpCommandBatch(writer, maxMessagesPerBatch, maxFragmentSize);
   }
 
   @Override
   public void run() {
-    messageState.visitMessagesWithDeadlineBefore(
-        ActorClock.currentTimeMillis(), this::writeDeleteMessageCommand);
+    batch.reset();
+
+    final long now = ActorClock.currentTimeMillis();
+    if (cursorDeadline == NO_CURSOR) {
+      messageState.visitMessagesWithDeadlineBefore(now, this::appendDeleteMessageCommand);
+    } else {
+      messageState.visitMessagesWithDeadlineBefore(
+          now, cursorDeadline, cursorMessageKey, this::appendDeleteMessageCommand);
+    }
+
+    final boolean written = batch.write();
+    if (written && batch.isFull()) {
+      actor.submit(this);
+    } else {
+      // start over in the next run; messages of a failed batch are picked up again
+      cursorDeadline = NO_CURSOR;
+      cursorMessageKey = NO_CURSOR;
+    }
   }
 
-  private boolean writeDeleteMessageCommand(final Message message) {
+  private boolean appendDeleteMessageCommand(final Message message) {
+    if (message.getDeadline() == cursorDeadline && message.getKey() == cursorMessageKey) {
+      // already written by the previous batch of this sweep
+      return true;
+    }
+
     deleteMessageCommand.reset();
     deleteMessageCommand
         .setName(message.getName())
         .setCorrelationKey(message.getCorrelationKey())
-        .setTimeToLive(message.getTimeToLive())
-        .setVariables(message.getVariables());
+        .setTimeToLive(message.getTimeToLive());
 
     if (message.getId() != null) {
       deleteMessageCommand.setMessageId(message.getId());
     }
 
-    writer.reset();
-    writer.appendFollowUpCommand(message.getKey(), MessageIntent.DELETE, deleteMessageCommand);
+    if (!batch.tryAppend(message.getKey(), MessageIntent.DELETE, deleteMessageCommand)) {
+      return false;
+    }
+
+    cursorDeadline = message.getDeadline();
+    cursorMessageKey = message.getKey();
 
-    final long position = writer.flush();
-    return position > 0;
+    return true;
   }
 }
@@ -22,8 +22,21 @@ public final class RecordValues {
   private final Map<ValueType, UnifiedRecordValue> eventCache;
 
   public RecordValues() {
+    this(false);
+  }
+
+  /**
+   * @param lazyDecoding if true, the properties of the values are only decoded when they are
+   *     accessed; see {@link UnifiedRecordValue#setLazyDecoding(boolean)}
+   */
+  public RecordValues(final boolean lazyDecoding) {
     final EnumMap<ValueType, UnifiedRecordValue> cache = new EnumMap<>(ValueType.class);
-    EVENT_REGISTRY.forEach((t, c) -> cache.put(t, ReflectUtil.newInstance(c)));
+    EVENT_REGISTRY.forEach(
+        (t, c) -> {
+          final UnifiedRecordValue value = ReflectUtil.newInstance(c);
+          value.setLazyDecoding(lazyDecoding);
+          cache.put(t, value);
+        });
 
     eventCache = Collections.unmodifiableMap(cache);
   }
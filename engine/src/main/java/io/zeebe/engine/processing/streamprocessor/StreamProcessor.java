@@ -21,6 +21,7 @@ import io.zeebe.util.health.HealthMonitorable;
 import io.zeebe.util.health.HealthStatus;
 import io.zeebe.util.sched.Actor;
 import io.zeebe.util.sched.ActorCondition;
+import io.zeebe.util.sched.ActorPriority;
 import io.zeebe.util.sched.ActorScheduler;
 import io.zeebe.util.sched.clock.ActorClock;
 import io.zeebe.util.sched.future.ActorFuture;
@@ -93,6 +94,11 @@ public class StreamProcessor extends Actor implements HealthMonitorable {
     return actorName;
   }
 
+  @Override
+  public int getAffinityKey() {
+    return partitionId;
+  }
+
   @Override
   protected void onActorStarting() {
     actor.runOnCompletionBlockingCurrentPhase(
@@ -226,7 +232,7 @@ public class StreamProcessor extends Actor implements HealthMonitorable {
   public ActorFuture<Void> openAsync() {
     if (isOpened.compareAndSet(false, true)) {
       openFuture = new CompletableActorFuture<>();
-      actorScheduler.submitActor(this);
+      actorScheduler.submitPrioritizedActor(this, ActorPriority.HIGH);
     }
     return openFuture;
   }
@@ -0,0 +1,94 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.engine.processing.streamprocessor.writers;
+
+import io.zeebe.msgpack.UnpackedObject;
+import io.zeebe.protocol.impl.record.RecordMetadata;
+import io.zeebe.protocol.record.intent.Intent;
+
+/**
+ * Collects the follow-up commands of a scheduled check, e.g. for due timers, and writes them as one
+ * batch. A batch is limited by a number of commands and by half of the max fragment size, which
+ * leaves room for the log entry headers.
+ *
+ * <p>If the batch is full, the check should write it and yield to the stream processor before it
+ * continues with the next batch, so that many commands don't block the processing of other records.
+ */
+public final class FollowUpCommandBatch {
+
+  private final int metadataLength = new RecordMetadata().getLength();
+
+  private final TypedCommandWriter writer;
+  private final int maxCommands;
+  private final int maxLength;
+
+  private int size;
+  private int length;
+  private boolean full;
+
+  public FollowUpCommandBatch(
+      final TypedCommandWriter writer, final int maxCommands, final int maxFragmentSize) {
+    this.writer = writer;
+    this.maxCommands = maxCommands;
+    maxLength = maxFragmentSize / 2;
+  }
+
+  /** Discards the appended commands and starts a new batch. */
+  public void reset() {
+    writer.reset();
+    size = 0;
+    length = 0;
+    full = false;
+  }
+
+  /**
+   * Appends the command to the batch, if it fits. A single command is always appended to an empty
+   * batch.
+   *
+   * @return {@code true} if the command was appended, {@code false} if the batch is full
+   */
+  public boolean tryAppend(final long key, final Intent intent, final UnpackedObject value) {
+    final int commandLength = metadataLength + value.getLength();
+    if (size >= maxCommands || (size > 0 && length + commandLength > maxLength)) {
+      full = true;
+      return false;
+    }
+
+    writer.appendFollowUpCommand(key, intent, value);
+    size += 1;
+    length += commandLength;
+    return true;
+  }
+
+  /**
+   * Writes the appended commands. If they can't be written, e.g. because the log stream writer is
+   * full, the commands are discarded.
+   *
+   * @return {@code true} if the commands were written or if the batch is empty
+   */
+  public boolean write() {
+    if (size == 0) {
+      return true;
+    }
+
+    final boolean written = writer.flush() > 0;
+    if (!written) {
+      writer.reset();
+    }
+    return written;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /** @return {@code true} if a command was rejected because the batch was full */
+  public boolean isFull() {
+    return full;
+  }
+}
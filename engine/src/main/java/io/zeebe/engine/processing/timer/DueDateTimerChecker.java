@@ -7,9 +7,10 @@
  */
 package io.zeebe.engine.processing.timer;
 
+import io.zeebe.engine.metrics.TimerMetrics;
 import io.zeebe.engine.processing.streamprocessor.ReadonlyProcessingContext;
 import io.zeebe.engine.processing.streamprocessor.StreamProcessorLifecycleAware;
-import io.zeebe.engine.processing.streamprocessor.writers.TypedStreamWriter;
+import io.zeebe.engine.processing.streamprocessor.writers.FollowUpCommandBatch;
 import io.zeebe.engine.state.deployment.WorkflowState;
 import io.zeebe.engine.state.instance.TimerInstance;
 import io.zeebe.protocol.impl.record.value.timer.TimerRecord;
@@ -18,20 +19,42 @@ import io.zeebe.util.sched.ActorControl;
 import io.zeebe.util.sched.ScheduledTimer;
 import io.zeebe.util.sched.clock.ActorClock;
 import java.time.Duration;
+import org.agrona.collections.LongArrayList;
 
+/**
+ * Writes {@code TRIGGER} commands for timers whose due date has passed.
+ *
+ * <p>The commands are written in batches of up to {@link #MAX_BATCH_SIZE} commands, with one batch
+ * per actor job, see {@link FollowUpCommandBatch}.
+ */
 public class DueDateTimerChecker implements StreamProcessorLifecycleAware {
 
+  static final int MAX_BATCH_SIZE = 1_000;
+
   private static final long TIMER_RESOLUTION = Duration.ofMillis(100).toMillis();
+  private static final long NO_CURSOR = -1L;
 
   private final TimerRecord timerRecord = new TimerRecord();
+  private final LongArrayList batchDueDates = new LongArrayList();
 
   private final WorkflowState workflowState;
   private ActorControl actor;
-  private TypedStreamWriter streamWriter;
+  private FollowUpCommandBatch batch;
+  private TimerMetrics metrics;
 
   private ScheduledTimer scheduledTimer;
   private long nextDueDate = -1L;
 
+  // the last timer that was triggered in the current sweep over the due timers; since the timers
+  // are only removed when the trigger command is processed, the next batch of the sweep resumes
+  // the iteration after it
+  private long cursorDueDate = NO_CURSOR;
+  private long cursorElementInstanceKey = NO_CURSOR;
+  private long cursorTimerKey = NO_CURSOR;
+  // a timer was scheduled behind the cursor during the sweep; the resumed iteration doesn't find
+  // it, so the timers are scanned again from the start after the sweep
+  private boolean timerScheduledBehindCursor;
+
   public DueDateTimerChecker(final WorkflowState workflowState) {
     this.workflowState = workflowState;
   }
@@ -48,6 +71,10 @@ public class DueDateTimerChecker implements StreamProcessorLifecycleAware {
     final Duration duration =
         Duration.ofMillis(timer.getDueDate() - ActorClock.currentTimeMillis());
 
+    if (cursorDueDate != NO_CURSOR && timer.getDueDate() <= cursorDueDate) {
+      timerScheduledBehindCursor = true;
+    }
+
     if (scheduledTimer == null) {
       scheduledTimer = actor.runDelayed(duration, this::triggerTimers);
       nextDueDate = timer.getDueDate();
@@ -61,23 +88,54 @@ public class DueDateTimerChecker implements StreamProcessorLifecycleAware {
   }
 
   private void triggerTimers() {
-    nextDueDate =
-        workflowState
-            .getTimerState()
-            .findTimersWithDueDateBefore(ActorClock.currentTimeMillis(), this::triggerTimer);
+    final long now = ActorClock.currentTimeMillis();
+
+    batch.reset();
+    batchDueDates.clear();
+
+    if (cursorDueDate == NO_CURSOR) {
+      nextDueDate =
+          workflowState.getTimerState().findTimersWithDueDateBefore(now, this::addToBatch);
+    } else {
+      nextDueDate =
+          workflowState
+              .getTimerState()
+              .findTimersWithDueDateBefore(
+                  now, cursorDueDate, cursorElementInstanceKey, cursorTimerKey, this::addToBatch);
+    }
+
+    final boolean written = writeBatch(now);
 
     // reschedule the runnable if there are timers left
+    if (batch.isFull() && written) {
+      scheduledTimer = actor.runDelayed(Duration.ZERO, this::triggerTimers);
+
+    } else if (!written) {
+      // the log stream writer is full; retry after a short delay
+      resetCursor();
+      scheduledTimer = actor.runDelayed(Duration.ofMillis(TIMER_RESOLUTION), this::triggerTimers);
 
-    if (nextDueDate > 0) {
+    } else if (timerScheduledBehindCursor) {
+      resetCursor();
+      scheduledTimer = actor.runDelayed(Duration.ZERO, this::triggerTimers);
+
+    } else if (nextDueDate > 0) {
+      resetCursor();
       final Duration duration = Duration.ofMillis(nextDueDate - ActorClock.currentTimeMillis());
       scheduledTimer = actor.runDelayed(duration, this::triggerTimers);
 
     } else {
+      resetCursor();
       scheduledTimer = null;
     }
   }
 
-  private boolean triggerTimer(final TimerInstance timer) {
+  private boolean addToBatch(final TimerInstance timer) {
+    if (isCursor(timer)) {
+      // already triggered by the previous batch of this sweep
+      return true;
+    }
+
     timerRecord.reset();
     timerRecord
         .setElementInstanceKey(timer.getElementInstanceKey())
@@ -87,16 +145,60 @@ public class DueDateTimerChecker implements StreamProcessorLifecycleAware {
         .setRepetitions(timer.getRepetitions())
         .setWorkflowKey(timer.getWorkflowKey());
 
-    streamWriter.reset();
-    streamWriter.appendFollowUpCommand(timer.getKey(), TimerIntent.TRIGGER, timerRecord);
+    if (!batch.tryAppend(timer.getKey(), TimerIntent.TRIGGER, timerRecord)) {
+      return false;
+    }
+    batchDueDates.addLong(timer.getDueDate());
+
+    cursorDueDate = timer.getDueDate();
+    cursorElementInstanceKey = timer.getElementInstanceKey();
+    cursorTimerKey = timer.getKey();
+
+    return true;
+  }
+
+  private boolean writeBatch(final long now) {
+    if (batch.isEmpty()) {
+      return true;
+    }
+
+    final boolean written = batch.write();
+    if (written) {
+      metrics.batchWritten();
+      for (int i = 0; i < batchDueDates.size(); i++) {
+        metrics.timerTriggered(batchDueDates.getLong(i), now);
+      }
+    } else {
+      metrics.batchRejected();
+    }
+
+    batchDueDates.clear();
+    return written;
+  }
 
-    return streamWriter.flush() > 0;
+  private boolean isCursor(final TimerInstance timer) {
+    return timer.getDueDate() == cursorDueDate
+        && timer.getElementInstanceKey() == cursorElementInstanceKey
+        && timer.getKey() == cursorTimerKey;
+  }
+
+  private void resetCursor() {
+    cursorDueDate = NO_CURSOR;
+    cursorElementInstanceKey = NO_CURSOR;
+    cursorTimerKey = NO_CURSOR;
+    timerScheduledBehindCursor = false;
   }
 
   @Override
   public void onRecovered(final ReadonlyProcessingContext processingContext) {
     actor = processingContext.getActor();
-    streamWriter = processingContext.getLogStreamWriter();
+    batch =
+        new FollowUpCommandBatch(
+            processingContext.getLogStreamWriter(),
+            MAX_BATCH_SIZE,
+            processingContext.getMaxFragmentSize());
+    metrics = new TimerMetrics(processingContext.getLogStream().getPartitionId());
+
     // check if timers are due after restart
     triggerTimers();
   }
@@ -107,6 +209,7 @@ public class DueDateTimerChecker implements StreamProcessorLifecycleAware {
       scheduledTimer.cancel();
       scheduledTimer = null;
     }
+    resetCursor();
   }
 
   @Override
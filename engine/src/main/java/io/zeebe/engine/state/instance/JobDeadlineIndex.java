@@ -0,0 +1,178 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.engine.state.instance;
+
+import java.util.Arrays;
+import org.agrona.collections.Long2LongHashMap;
+
+/**
+ * In-memory index of the deadlines of activated jobs, ordered by deadline. It mirrors the {@link
+ * io.zeebe.engine.state.ZbColumnFamilies#JOB_DEADLINES} column family so that the next deadline can
+ * be looked up without iterating over the state.
+ *
+ * <p>The index is a binary min-heap of (deadline, job key) pairs stored in two primitive arrays,
+ * plus a map from job key to its current deadline. Removing a job only drops it from the map; the
+ * heap entry becomes stale and is discarded lazily once it reaches the top. The heap is compacted
+ * when it contains considerably more stale than live entries.
+ *
+ * <p>The index is only a hint: it is not part of the database transaction, so entries may outlive a
+ * rolled back activation or miss a rolled back removal. Callers must verify entries against the
+ * state and keep scanning the column family as a fallback.
+ */
+final class JobDeadlineIndex {
+
+  static final long NO_DEADLINE = -1L;
+
+  private static final int INITIAL_CAPACITY = 64;
+  private static final int MIN_COMPACTION_SIZE = 1024;
+
+  private final Long2LongHashMap deadlineByJobKey = new Long2LongHashMap(NO_DEADLINE);
+
+  private long[] deadlines = new long[INITIAL_CAPACITY];
+  private long[] jobKeys = new long[INITIAL_CAPACITY];
+  private int size;
+
+  void add(final long jobKey, final long deadline) {
+    deadlineByJobKey.put(jobKey, deadline);
+    push(deadline, jobKey);
+    compactIfNecessary();
+  }
+
+  void remove(final long jobKey) {
+    deadlineByJobKey.remove(jobKey);
+  }
+
+  void clear() {
+    deadlineByJobKey.clear();
+    size = 0;
+  }
+
+  int size() {
+    return deadlineByJobKey.size();
+  }
+
+  /** @return the earliest deadline in the index, or {@link #NO_DEADLINE} if it is empty */
+  long nextDeadline() {
+    discardStaleEntries();
+    return size > 0 ? deadlines[0] : NO_DEADLINE;
+  }
+
+  /**
+   * Visits the entries with a deadline lower than the given upper bound, in deadline order. An
+   * entry is removed from the index after it was visited successfully; if the visitor returns
+   * {@code false} the entry is kept and the iteration stops.
+   *
+   * <p>If no entry is due, this only looks at the top of the heap.
+   */
+  void forEachDue(final long upperBound, final DueEntryVisitor visitor) {
+    while (nextDeadline() != NO_DEADLINE && deadlines[0] < upperBound) {
+      final long deadline = deadlines[0];
+      final long jobKey = jobKeys[0];
+
+      if (!visitor.visit(jobKey, deadline)) {
+        return;
+      }
+
+      if (deadlineByJobKey.get(jobKey) == deadline) {
+        deadlineByJobKey.remove(jobKey);
+      }
+      pop();
+    }
+  }
+
+  private void discardStaleEntries() {
+    while (size > 0 && deadlineByJobKey.get(jobKeys[0]) != deadlines[0]) {
+      pop();
+    }
+  }
+
+  private void compactIfNecessary() {
+    if (size > MIN_COMPACTION_SIZE && size > 2 * deadlineByJobKey.size()) {
+      size = 0;
+      final Long2LongHashMap.EntryIterator iterator = deadlineByJobKey.entrySet().iterator();
+      while (iterator.hasNext()) {
+        iterator.next();
+        deadlines[size] = iterator.getLongValue();
+        jobKeys[size] = iterator.getLongKey();
+        size++;
+      }
+
+      for (int i = (size >>> 1) - 1; i >= 0; i--) {
+        siftDown(i);
+      }
+    }
+  }
+
+  private void push(final long deadline, final long jobKey) {
+    if (size == deadlines.length) {
+      deadlines = Arrays.copyOf(deadlines, size << 1);
+      jobKeys = Arrays.copyOf(jobKeys, size << 1);
+    }
+
+    int index = size++;
+    while (index > 0) {
+      final int parent = (index - 1) >>> 1;
+      if (!isBefore(deadline, jobKey, parent)) {
+        break;
+      }
+      deadlines[index] = deadlines[parent];
+      jobKeys[index] = jobKeys[parent];
+      index = parent;
+    }
+    deadlines[index] = deadline;
+    jobKeys[index] = jobKey;
+  }
+
+  private void pop() {
+    size--;
+    if (size > 0) {
+      deadlines[0] = deadlines[size];
+      jobKeys[0] = jobKeys[size];
+      siftDown(0);
+    }
+  }
+
+  private void siftDown(final int start) {
+    final long deadline = deadlines[start];
+    final long jobKey = jobKeys[start];
+
+    int index = start;
+    final int half = size >>> 1;
+    while (index < half) {
+      int child = (index << 1) + 1;
+      final int right = child + 1;
+      if (right < size && isBefore(deadlines[right], jobKeys[right], child)) {
+        child = right;
+      }
+      if (!isBefore(deadlines[child], jobKeys[child], deadline, jobKey)) {
+        break;
+      }
+      deadlines[index] = deadlines[child];
+      jobKeys[index] = jobKeys[child];
+      index = child;
+    }
+    deadlines[index] = deadline;
+    jobKeys[index] = jobKey;
+  }
+
+  private boolean isBefore(final long deadline, final long jobKey, final int index) {
+    return isBefore(deadline, jobKey, deadlines[index], jobKeys[index]);
+  }
+
+  private static boolean isBefore(
+      final long deadline, final long jobKey, final long otherDeadline, final long otherJobKey) {
+    return deadline < otherDeadline || (deadline == otherDeadline && jobKey < otherJobKey);
+  }
+
+  @FunctionalInterface
+  interface DueEntryVisitor {
+
+    /** @return {@code true} if the entry was handled and the iteration should continue */
+    boolean visit(long jobKey, long deadline);
+  }
+}
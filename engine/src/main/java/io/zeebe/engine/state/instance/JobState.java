@@ -22,6 +22,7 @@ import io.zeebe.util.EnsureUtil;
 import io.zeebe.util.buffer.BufferUtil;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
+import java.util.function.LongConsumer;
 import org.agrona.DirectBuffer;
 import org.slf4j.Logger;
 
@@ -52,9 +53,13 @@ public final class JobState {
   private final DbCompositeKey<DbLong, DbLong> deadlineJobKey;
   private final ColumnFamily<DbCompositeKey<DbLong, DbLong>, DbNil> deadlinesColumnFamily;
 
+  // in-memory view of the deadlines, see JobDeadlineIndex
+  private final JobDeadlineIndex deadlineIndex = new JobDeadlineIndex();
+
   private final JobMetrics metrics;
 
   private Consumer<String> onJobsAvailableCallback;
+  private LongConsumer onJobDeadlineCallback;
 
   public JobState(
       final ZeebeDb<ZbColumnFamilies> zeebeDb, final DbContext dbContext, final int partitionId) {
@@ -113,6 +118,8 @@ public final class JobState {
 
     deadlineKey.wrapLong(deadline);
     deadlinesColumnFamily.put(deadlineJobKey, DbNil.INSTANCE);
+    deadlineIndex.add(key, deadline);
+    notifyJobDeadline(deadline);
 
     metrics.jobActivated(record.getType());
   }
@@ -125,7 +132,7 @@ public final class JobState {
     EnsureUtil.ensureGreaterThan("deadline", deadline, 0);
 
     createJob(key, record, type);
-    removeJobDeadline(deadline);
+    removeJobDeadline(key, deadline);
 
     metrics.jobTimedOut(record.getType());
   }
@@ -163,7 +170,7 @@ public final class JobState {
 
     makeJobNotActivatable(type);
 
-    removeJobDeadline(deadline);
+    removeJobDeadline(key, deadline);
   }
 
   public void fail(final long key, final JobRecord updatedValue) {
@@ -188,7 +195,7 @@ public final class JobState {
     }
 
     if (deadline > 0) {
-      removeJobDeadline(deadline);
+      removeJobDeadline(key, deadline);
     }
   }
 
@@ -215,6 +222,46 @@ public final class JobState {
         });
   }
 
+  /**
+   * Visits the activated jobs whose deadline is lower than the given upper bound, using the
+   * in-memory deadline index instead of iterating over the deadlines column family. A job is only
+   * visited if it is still activated with the indexed deadline; it is not visited again unless it
+   * is activated again, or the callback returned {@code false} for it.
+   *
+   * <p>Since the index is not transactional, {@link #forEachTimedOutEntry(long, BiFunction)} should
+   * still be used periodically to catch deadlines that are missing from the index.
+   */
+  public void forEachTimedOutJob(
+      final long upperBound, final BiFunction<Long, JobRecord, Boolean> callback) {
+    deadlineIndex.forEachDue(
+        upperBound,
+        (key, deadline) -> {
+          if (getState(key) != State.ACTIVATED) {
+            return true;
+          }
+
+          final JobRecord job = getJob(key);
+          if (job == null || job.getDeadline() != deadline) {
+            return true;
+          }
+          return callback.apply(key, job);
+        });
+  }
+
+  /** @return the earliest known deadline of an activated job, or -1 if there is none */
+  public long getNextDeadline() {
+    return deadlineIndex.nextDeadline();
+  }
+
+  /** Rebuilds the in-memory deadline index from the deadlines column family. */
+  public void rebuildDeadlineIndex() {
+    deadlineIndex.clear();
+    deadlinesColumnFamily.forEach(
+        (compositeKey, zbNil) ->
+            deadlineIndex.add(
+                compositeKey.getSecond().getValue(), compositeKey.getFirst().getValue()));
+  }
+
   public boolean exists(final long jobKey) {
     this.jobKey.wrapLong(jobKey);
     return jobsColumnFamily.exists(this.jobKey);
@@ -280,6 +327,16 @@ public final class JobState {
     this.onJobsAvailableCallback = onJobsAvailableCallback;
   }
 
+  public void setJobDeadlineCallback(final LongConsumer onJobDeadlineCallback) {
+    this.onJobDeadlineCallback = onJobDeadlineCallback;
+  }
+
+  private void notifyJobDeadline(final long deadline) {
+    if (onJobDeadlineCallback != null) {
+      onJobDeadlineCallback.accept(deadline);
+    }
+  }
+
   private void notifyJobAvailable(final DirectBuffer jobType) {
     if (onJobsAvailableCallback != null) {
       onJobsAvailableCallback.accept(BufferUtil.bufferAsString(jobType));
@@ -318,9 +375,11 @@ public final class JobState {
     activatableColumnFamily.delete(typeJobKey);
   }
 
-  private void removeJobDeadline(final long deadline) {
+  private void removeJobDeadline(final long key, final long deadline) {
+    jobKey.wrapLong(key);
     deadlineKey.wrapLong(deadline);
     deadlinesColumnFamily.delete(deadlineJobKey);
+    deadlineIndex.remove(key);
   }
 
   public enum State {
@@ -62,25 +62,52 @@ public final class TimerInstanceState {
     nextDueDate = -1L;
 
     dueDateColumnFamily.whileTrue(
-        (key, nil) -> {
-          final DbLong dueDate = key.getFirst();
-
-          boolean consumed = false;
-          if (dueDate.getValue() <= timestamp) {
-            final DbCompositeKey<DbLong, DbLong> elementAndTimerKey = key.getSecond();
-            final TimerInstance timerInstance = timerInstanceColumnFamily.get(elementAndTimerKey);
-            consumed = consumer.visit(timerInstance);
-          }
-
-          if (!consumed) {
-            nextDueDate = dueDate.getValue();
-          }
-          return consumed;
-        });
+        (key, nil) -> visitTimerWithDueDateBefore(timestamp, consumer, key));
+
+    return nextDueDate;
+  }
+
+  /**
+   * Finds the timers with a due date before the given timestamp, like {@link
+   * #findTimersWithDueDateBefore(long, TimerVisitor)}, but starts with the given timer instead of
+   * the first one. The given timer is visited again if it still exists.
+   */
+  public long findTimersWithDueDateBefore(
+      final long timestamp,
+      final long startDueDate,
+      final long startElementInstanceKey,
+      final long startTimerKey,
+      final TimerVisitor consumer) {
+    nextDueDate = -1L;
+
+    dueDateKey.wrapLong(startDueDate);
+    elementInstanceKey.wrapLong(startElementInstanceKey);
+    timerKey.wrapLong(startTimerKey);
+    dueDateColumnFamily.whileTrue(
+        dueDateCompositeKey, (key, nil) -> visitTimerWithDueDateBefore(timestamp, consumer, key));
 
     return nextDueDate;
   }
 
+  private boolean visitTimerWithDueDateBefore(
+      final long timestamp,
+      final TimerVisitor consumer,
+      final DbCompositeKey<DbLong, DbCompositeKey<DbLong, DbLong>> key) {
+    final DbLong dueDate = key.getFirst();
+
+    boolean consumed = false;
+    if (dueDate.getValue() <= timestamp) {
+      final DbCompositeKey<DbLong, DbLong> elementAndTimerKey = key.getSecond();
+      final TimerInstance timerInstance = timerInstanceColumnFamily.get(elementAndTimerKey);
+      consumed = consumer.visit(timerInstance);
+    }
+
+    if (!consumed) {
+      nextDueDate = dueDate.getValue();
+    }
+    return consumed;
+  }
+
   /**
    * NOTE: the timer instance given to the consumer is shared and will be mutated on the next
    * iteration.
@@ -269,15 +269,36 @@ public final class MessageState {
 
   public void visitMessagesWithDeadlineBefore(final long timestamp, final MessageVisitor visitor) {
     deadlineColumnFamily.whileTrue(
-        ((compositeKey, zbNil) -> {
-          final long deadline = compositeKey.getFirst().getValue();
-          if (deadline <= timestamp) {
-            final long messageKey = compositeKey.getSecond().getValue();
-            final Message message = getMessage(messageKey);
-            return visitor.visit(message);
-          }
-          return false;
-        }));
+        (key, nil) -> visitMessageWithDeadlineBefore(timestamp, visitor, key));
+  }
+
+  /**
+   * Visits the messages with a deadline before the given timestamp, like {@link
+   * #visitMessagesWithDeadlineBefore(long, MessageVisitor)}, but starts with the given message
+   * instead of the first one. The given message is visited again if it still exists.
+   */
+  public void visitMessagesWithDeadlineBefore(
+      final long timestamp,
+      final long startDeadline,
+      final long startMessageKey,
+      final MessageVisitor visitor) {
+    deadline.wrapLong(startDeadline);
+    messageKey.wrapLong(startMessageKey);
+    deadlineColumnFamily.whileTrue(
+        deadlineMessageKey, (key, nil) -> visitMessageWithDeadlineBefore(timestamp, visitor, key));
+  }
+
+  private boolean visitMessageWithDeadlineBefore(
+      final long timestamp,
+      final MessageVisitor visitor,
+      final DbCompositeKey<DbLong, DbLong> compositeKey) {
+    final long deadline = compositeKey.getFirst().getValue();
+    if (deadline <= timestamp) {
+      final long messageKey = compositeKey.getSecond().getValue();
+      final Message message = getMessage(messageKey);
+      return visitor.visit(message);
+    }
+    return false;
   }
 
   public boolean exist(
@@ -0,0 +1,140 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.engine.processing.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.assertj.core.api.Assertions.tuple;
+
+import io.zeebe.engine.util.EngineRule;
+import io.zeebe.protocol.impl.record.value.job.JobBatchRecord;
+import io.zeebe.protocol.impl.record.value.job.JobBatchRejection;
+import io.zeebe.protocol.record.Record;
+import io.zeebe.protocol.record.RecordType;
+import io.zeebe.protocol.record.RejectionType;
+import io.zeebe.protocol.record.intent.JobIntent;
+import io.zeebe.protocol.record.value.JobBatchRecordValue;
+import io.zeebe.protocol.record.value.JobRecordValue;
+import io.zeebe.test.util.Strings;
+import io.zeebe.test.util.record.RecordingExporter;
+import io.zeebe.test.util.record.RecordingExporterTestWatcher;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+public final class CompleteJobBatchTest {
+
+  @ClassRule public static final EngineRule ENGINE = EngineRule.singlePartition();
+  private static final String PROCESS_ID = "process";
+  private static String jobType;
+
+  @Rule
+  public final RecordingExporterTestWatcher recordingExporterTestWatcher =
+      new RecordingExporterTestWatcher();
+
+  @Before
+  public void setup() {
+    jobType = Strings.newRandomValidBpmnId();
+  }
+
+  @Test
+  public void shouldCompleteJobs() {
+    // given
+    ENGINE.createJob(jobType, PROCESS_ID);
+    ENGINE.createJob(jobType, PROCESS_ID);
+    final List<Long> jobKeys = ENGINE.jobs().withType(jobType).activate().getValue().getJobKeys();
+
+    // when
+    final Record<JobBatchRecordValue> completedBatch =
+        ENGINE
+            .jobBatchCompletion()
+            .withJob(jobKeys.get(0), "{'foo':'bar'}")
+            .withJob(jobKeys.get(1))
+            .complete();
+
+    // then
+    assertThat(completedBatch.getRecordType()).isEqualTo(RecordType.EVENT);
+    assertThat(completedBatch.getValue().getJobKeys()).containsExactlyElementsOf(jobKeys);
+    assertThat(getRejections(completedBatch)).isEmpty();
+
+    assertThat(
+            RecordingExporter.jobRecords(JobIntent.COMPLETED)
+                .withType(jobType)
+                .limit(2)
+                .collect(Collectors.toList()))
+        .extracting(Record::getKey, r -> r.getValue().getVariables())
+        .containsExactly(
+            tuple(jobKeys.get(0), Map.of("foo", "bar")), tuple(jobKeys.get(1), Map.of()));
+  }
+
+  @Test
+  public void shouldRejectOnlyJobsWhichCannotBeCompleted() {
+    // given
+    ENGINE.createJob(jobType, PROCESS_ID);
+    final long jobKey = ENGINE.jobs().withType(jobType).activate().getValue().getJobKeys().get(0);
+    final long failedJobKey = ENGINE.createJob(jobType, PROCESS_ID).getKey();
+    ENGINE.jobs().withType(jobType).activate();
+    ENGINE.job().withKey(failedJobKey).withRetries(0).fail();
+
+    // when
+    final Record<JobBatchRecordValue> completedBatch =
+        ENGINE
+            .jobBatchCompletion()
+            .withJob(123L)
+            .withJob(jobKey, "{'foo':'bar'}")
+            .withJob(failedJobKey)
+            .complete();
+
+    // then
+    assertThat(completedBatch.getValue().getJobKeys()).containsExactly(jobKey);
+    assertThat(getRejections(completedBatch))
+        .extracting(JobBatchRejection::getJobKey, JobBatchRejection::getRejectionType)
+        .containsExactly(
+            tuple(123L, RejectionType.NOT_FOUND), tuple(failedJobKey, RejectionType.INVALID_STATE));
+
+    final Record<JobRecordValue> jobCompleted =
+        RecordingExporter.jobRecords(JobIntent.COMPLETED).withRecordKey(jobKey).getFirst();
+    assertThat(jobCompleted.getSourceRecordPosition())
+        .isEqualTo(completedBatch.getSourceRecordPosition());
+    assertThat(jobCompleted.getValue().getVariables()).containsExactly(entry("foo", "bar"));
+  }
+
+  @Test
+  public void shouldRejectJobCompletedTwiceInBatch() {
+    // given
+    ENGINE.createJob(jobType, PROCESS_ID);
+    final long jobKey = ENGINE.jobs().withType(jobType).activate().getValue().getJobKeys().get(0);
+
+    // when
+    final Record<JobBatchRecordValue> completedBatch =
+        ENGINE.jobBatchCompletion().withJob(jobKey).withJob(jobKey).complete();
+
+    // then
+    assertThat(completedBatch.getValue().getJobKeys()).containsExactly(jobKey);
+    assertThat(getRejections(completedBatch))
+        .extracting(JobBatchRejection::getJobKey, JobBatchRejection::getRejectionType)
+        .containsExactly(tuple(jobKey, RejectionType.NOT_FOUND));
+  }
+
+  private static List<JobBatchRejection> getRejections(final Record<JobBatchRecordValue> record) {
+    final JobBatchRecord value = (JobBatchRecord) record.getValue();
+    return StreamSupport.stream(value.rejections().spliterator(), false)
+        .map(
+            rejection ->
+                new JobBatchRejection()
+                    .setJobKey(rejection.getJobKey())
+                    .setRejectionType(rejection.getRejectionType())
+                    .setRejectionReason(rejection.getRejectionReason()))
+        .collect(Collectors.toList());
+  }
+}
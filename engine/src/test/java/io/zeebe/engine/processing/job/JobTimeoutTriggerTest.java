@@ -83,4 +83,37 @@ public final class JobTimeoutTriggerTest {
     inOrder.verify(typedStreamWriter).reset();
     inOrder.verifyNoMoreInteractions();
   }
+
+  @Test
+  public void shouldTimeOutJobsWithDueDeadline() {
+    // given
+    when(typedStreamWriter.flush()).thenReturn(1L);
+
+    // when
+    jobTimeoutTrigger.deactivateJobsWithDueDeadline();
+
+    // then
+    final InOrder inOrder = Mockito.inOrder(typedStreamWriter);
+    for (long key = 0; key < 3; key++) {
+      inOrder
+          .verify(typedStreamWriter)
+          .appendFollowUpCommand(eq(key), eq(JobIntent.TIME_OUT), any(JobRecord.class), any());
+      inOrder.verify(typedStreamWriter).flush();
+    }
+    inOrder.verifyNoMoreInteractions();
+  }
+
+  @Test
+  public void shouldNotTimeOutJobsWithDueDeadlineAgain() {
+    // given
+    when(typedStreamWriter.flush()).thenReturn(1L);
+    jobTimeoutTrigger.deactivateJobsWithDueDeadline();
+    Mockito.clearInvocations(typedStreamWriter);
+
+    // when
+    jobTimeoutTrigger.deactivateJobsWithDueDeadline();
+
+    // then
+    Mockito.verifyNoInteractions(typedStreamWriter);
+  }
 }
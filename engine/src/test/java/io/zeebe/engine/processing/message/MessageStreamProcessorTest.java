@@ -63,7 +63,10 @@ public final class MessageStreamProcessorTest {
         (typedRecordProcessors, processingContext) -> {
           final var zeebeState = processingContext.getZeebeState();
           MessageEventProcessors.addMessageProcessors(
-              typedRecordProcessors, zeebeState, mockSubscriptionCommandSender);
+              typedRecordProcessors,
+              zeebeState,
+              mockSubscriptionCommandSender,
+              MessageObserver.DEFAULT_MAX_MESSAGE_EXPIRATIONS_PER_CHECK);
           return typedRecordProcessors;
         });
   }
@@ -0,0 +1,147 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.engine.processing.message;
+
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.zeebe.engine.processing.streamprocessor.writers.TypedCommandWriter;
+import io.zeebe.engine.state.message.Message;
+import io.zeebe.engine.state.message.MessageState;
+import io.zeebe.engine.util.ZeebeStateRule;
+import io.zeebe.protocol.record.intent.MessageIntent;
+import io.zeebe.util.sched.ActorControl;
+import io.zeebe.util.sched.clock.ActorClock;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public final class MessageTimeToLiveCheckerTest {
+
+  private static final int MAX_FRAGMENT_SIZE = 1024 * 1024;
+
+  @Rule public final ZeebeStateRule stateRule = new ZeebeStateRule();
+
+  private final ActorControl actor = mock(ActorControl.class);
+  private final TypedCommandWriter writer = mock(TypedCommandWriter.class);
+  private MessageState messageState;
+
+  @Before
+  public void setUp() {
+    messageState = stateRule.getZeebeState().getMessageState();
+    when(writer.flush()).thenReturn(1L);
+  }
+
+  @Test
+  public void shouldWriteDeleteCommandsOfExpiredMessagesAsOneBatch() {
+    // given
+    putExpiredMessages(3);
+    putMessage(4L, ActorClock.currentTimeMillis() + 60_000L);
+
+    final MessageTimeToLiveChecker checker = newChecker(10);
+
+    // when
+    checker.run();
+
+    // then
+    assertThat(getDeletedMessageKeys(3)).containsExactly(1L, 2L, 3L);
+    verify(writer).flush();
+    verify(actor, never()).submit(any());
+  }
+
+  @Test
+  public void shouldLimitBatchByMaxMessageExpirations() {
+    // given
+    putExpiredMessages(5);
+
+    final MessageTimeToLiveChecker checker = newChecker(2);
+
+    // when
+    checker.run();
+
+    // then
+    assertThat(getDeletedMessageKeys(2)).containsExactly(1L, 2L);
+    verify(writer).flush();
+    verify(actor).submit(checker);
+  }
+
+  @Test
+  public void shouldYieldAndContinueWithNextBatch() {
+    // given
+    putExpiredMessages(5);
+
+    final MessageTimeToLiveChecker checker = newChecker(2);
+
+    // when
+    checker.run();
+    checker.run();
+    checker.run();
+
+    // then the messages are not removed until the commands are processed, but each is deleted once
+    assertThat(getDeletedMessageKeys(5)).containsExactly(1L, 2L, 3L, 4L, 5L);
+    verify(writer, times(3)).flush();
+    verify(actor, times(2)).submit(checker);
+  }
+
+  @Test
+  public void shouldStartOverIfBatchIsNotWritten() {
+    // given
+    putExpiredMessages(3);
+    when(writer.flush()).thenReturn(-1L, 1L);
+
+    final MessageTimeToLiveChecker checker = newChecker(2);
+
+    // when
+    checker.run();
+    checker.run();
+
+    // then
+    assertThat(getDeletedMessageKeys(4)).containsExactly(1L, 2L, 1L, 2L);
+    verify(writer, times(3)).reset();
+    verify(actor, times(1)).submit(checker);
+  }
+
+  private MessageTimeToLiveChecker newChecker(final int maxMessagesPerBatch) {
+    return new MessageTimeToLiveChecker(
+        actor, writer, messageState, maxMessagesPerBatch, MAX_FRAGMENT_SIZE);
+  }
+
+  private List<Long> getDeletedMessageKeys(final int count) {
+    final ArgumentCaptor<Long> keys = ArgumentCaptor.forClass(Long.class);
+    verify(writer, times(count))
+        .appendFollowUpCommand(keys.capture(), eq(MessageIntent.DELETE), any());
+    return keys.getAllValues();
+  }
+
+  private void putExpiredMessages(final int count) {
+    for (int i = 1; i <= count; i++) {
+      putMessage(i, 1_000L);
+    }
+  }
+
+  private void putMessage(final long key, final long deadline) {
+    messageState.put(
+        new Message(
+            key,
+            wrapString("message"),
+            wrapString("correlation-key"),
+            wrapString(""),
+            wrapString(""),
+            10_000L,
+            deadline));
+  }
+}
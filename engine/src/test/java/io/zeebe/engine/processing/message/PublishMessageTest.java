@@ -196,6 +196,52 @@ public final class PublishMessageTest {
         .hasMessageId("");
   }
 
+  @Test
+  public void shouldNotWriteVariablesOfExpiredMessage() {
+    // given
+    final Record<MessageRecordValue> publishedRecord =
+        messageClient.withTimeToLive(100L).withVariables("{'foo':'bar'}").publish();
+
+    // when
+    ENGINE_RULE.increaseTime(MessageObserver.MESSAGE_TIME_TO_LIVE_CHECK_INTERVAL);
+
+    // then
+    final Record<MessageRecordValue> deleteCommand =
+        RecordingExporter.messageRecords()
+            .withIntent(MessageIntent.DELETE)
+            .withRecordKey(publishedRecord.getKey())
+            .getFirst();
+
+    assertThat(deleteCommand.getValue().getVariables()).isEmpty();
+    Assertions.assertThat(deleteCommand.getValue())
+        .hasName("order canceled")
+        .hasCorrelationKey("order-123")
+        .hasTimeToLive(100L);
+  }
+
+  @Test
+  public void shouldKeepVariablesOfDeletedMessage() {
+    // given
+    final Record<MessageRecordValue> publishedRecord =
+        messageClient.withTimeToLive(100L).withVariables("{'foo':'bar'}").publish();
+
+    // when
+    ENGINE_RULE.increaseTime(MessageObserver.MESSAGE_TIME_TO_LIVE_CHECK_INTERVAL);
+
+    // then
+    final Record<MessageRecordValue> deletedEvent =
+        RecordingExporter.messageRecords()
+            .withIntent(MessageIntent.DELETED)
+            .withRecordKey(publishedRecord.getKey())
+            .getFirst();
+
+    assertThat(deletedEvent.getValue().getVariables()).containsOnly(entry("foo", "bar"));
+    Assertions.assertThat(deletedEvent.getValue())
+        .hasName("order canceled")
+        .hasCorrelationKey("order-123")
+        .hasTimeToLive(100L);
+  }
+
   @Test
   public void shouldDeleteMessageImmediatelyWithZeroTTL() {
     // given
@@ -0,0 +1,111 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.engine.processing.streamprocessor.writers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.zeebe.protocol.impl.record.value.timer.TimerRecord;
+import io.zeebe.protocol.record.intent.TimerIntent;
+import org.junit.Before;
+import org.junit.Test;
+
+public final class FollowUpCommandBatchTest {
+
+  private final TypedCommandWriter writer = mock(TypedCommandWriter.class);
+  private final TimerRecord command = new TimerRecord();
+
+  @Before
+  public void setUp() {
+    when(writer.flush()).thenReturn(1L);
+  }
+
+  @Test
+  public void shouldLimitNumberOfCommands() {
+    // given
+    final FollowUpCommandBatch batch = new FollowUpCommandBatch(writer, 2, 1024 * 1024);
+
+    // when
+    final boolean first = batch.tryAppend(1, TimerIntent.TRIGGER, command);
+    final boolean second = batch.tryAppend(2, TimerIntent.TRIGGER, command);
+    final boolean third = batch.tryAppend(3, TimerIntent.TRIGGER, command);
+
+    // then
+    assertThat(first).isTrue();
+    assertThat(second).isTrue();
+    assertThat(third).isFalse();
+    assertThat(batch.isFull()).isTrue();
+    verify(writer, times(2)).appendFollowUpCommand(anyLong(), any(), any());
+  }
+
+  @Test
+  public void shouldLimitLengthOfCommands() {
+    // given
+    final int maxFragmentSize = 2 * command.getLength() + 1;
+    final FollowUpCommandBatch batch = new FollowUpCommandBatch(writer, 100, maxFragmentSize);
+
+    // when
+    final boolean first = batch.tryAppend(1, TimerIntent.TRIGGER, command);
+    final boolean second = batch.tryAppend(2, TimerIntent.TRIGGER, command);
+
+    // then the first command is always appended, even if it exceeds half of the fragment size
+    assertThat(first).isTrue();
+    assertThat(second).isFalse();
+    assertThat(batch.isFull()).isTrue();
+  }
+
+  @Test
+  public void shouldNotFlushEmptyBatch() {
+    // given
+    final FollowUpCommandBatch batch = new FollowUpCommandBatch(writer, 10, 1024 * 1024);
+
+    // when
+    final boolean written = batch.write();
+
+    // then
+    assertThat(written).isTrue();
+    verify(writer, never()).flush();
+  }
+
+  @Test
+  public void shouldDiscardCommandsIfNotWritten() {
+    // given
+    when(writer.flush()).thenReturn(-1L);
+    final FollowUpCommandBatch batch = new FollowUpCommandBatch(writer, 10, 1024 * 1024);
+    batch.tryAppend(1, TimerIntent.TRIGGER, command);
+
+    // when
+    final boolean written = batch.write();
+
+    // then
+    assertThat(written).isFalse();
+    verify(writer).reset();
+  }
+
+  @Test
+  public void shouldStartNewBatchOnReset() {
+    // given
+    final FollowUpCommandBatch batch = new FollowUpCommandBatch(writer, 1, 1024 * 1024);
+    batch.tryAppend(1, TimerIntent.TRIGGER, command);
+    batch.tryAppend(2, TimerIntent.TRIGGER, command);
+
+    // when
+    batch.reset();
+
+    // then
+    assertThat(batch.isEmpty()).isTrue();
+    assertThat(batch.isFull()).isFalse();
+    assertThat(batch.tryAppend(3, TimerIntent.TRIGGER, command)).isTrue();
+  }
+}
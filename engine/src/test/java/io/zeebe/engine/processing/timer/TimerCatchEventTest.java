@@ -7,6 +7,7 @@
  */
 package io.zeebe.engine.processing.timer;
 
+import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import io.zeebe.engine.util.EngineRule;
@@ -352,6 +353,57 @@ public final class TimerCatchEventTest {
         .isBetween(timer1DueDate, timer1DueDate + Duration.ofSeconds(1).toMillis());
   }
 
+  @Test
+  public void shouldTriggerTimersDueAtTheSameTimeInBatches() {
+    // given
+    final int timerCount = DueDateTimerChecker.MAX_BATCH_SIZE + 1;
+    final BpmnModelInstance workflow =
+        Bpmn.createExecutableProcess("shouldTriggerTimersInBatches")
+            .startEvent()
+            .subProcess(
+                "subprocess",
+                s ->
+                    s.multiInstance(m -> m.parallel().zeebeInputCollectionExpression("items"))
+                        .embeddedSubProcess()
+                        .startEvent()
+                        .intermediateCatchEvent("timer", c -> c.timerWithDuration("PT1S"))
+                        .endEvent())
+            .endEvent()
+            .done();
+
+    ENGINE.deployment().withXmlResource(workflow).deploy();
+    final long workflowInstanceKey =
+        ENGINE
+            .workflowInstance()
+            .ofBpmnProcessId("shouldTriggerTimersInBatches")
+            .withVariable("items", IntStream.range(0, timerCount).boxed().collect(toList()))
+            .create();
+
+    assertThat(
+            RecordingExporter.timerRecords(TimerIntent.CREATED)
+                .withWorkflowInstanceKey(workflowInstanceKey)
+                .limit(timerCount))
+        .hasSize(timerCount);
+
+    // when
+    ENGINE.increaseTime(Duration.ofSeconds(1));
+
+    // then
+    assertThat(
+            RecordingExporter.workflowInstanceRecords(WorkflowInstanceIntent.ELEMENT_COMPLETED)
+                .withWorkflowInstanceKey(workflowInstanceKey)
+                .withElementType(BpmnElementType.PROCESS)
+                .exists())
+        .isTrue();
+
+    assertThat(
+            RecordingExporter.records()
+                .limitToWorkflowInstance(workflowInstanceKey)
+                .timerRecords()
+                .withIntent(TimerIntent.TRIGGER))
+        .hasSize(timerCount);
+  }
+
   @Test
   public void shouldCancelTimer() {
     // given
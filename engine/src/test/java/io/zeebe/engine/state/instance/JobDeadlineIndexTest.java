@@ -0,0 +1,161 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.engine.state.instance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public final class JobDeadlineIndexTest {
+
+  private final JobDeadlineIndex index = new JobDeadlineIndex();
+
+  @Test
+  public void shouldReturnNoDeadlineIfEmpty() {
+    // then
+    assertThat(index.nextDeadline()).isEqualTo(JobDeadlineIndex.NO_DEADLINE);
+  }
+
+  @Test
+  public void shouldReturnEarliestDeadline() {
+    // given
+    index.add(1, 300);
+    index.add(2, 100);
+    index.add(3, 200);
+
+    // then
+    assertThat(index.nextDeadline()).isEqualTo(100);
+  }
+
+  @Test
+  public void shouldVisitDueEntriesInOrder() {
+    // given
+    index.add(1, 300);
+    index.add(2, 100);
+    index.add(3, 200);
+    index.add(4, 400);
+
+    // when
+    final List<Long> visited = visitDue(301);
+
+    // then
+    assertThat(visited).containsExactly(2L, 3L, 1L);
+    assertThat(index.nextDeadline()).isEqualTo(400);
+    assertThat(index.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldNotVisitEntriesAgain() {
+    // given
+    index.add(1, 100);
+    visitDue(200);
+
+    // when
+    final List<Long> visited = visitDue(200);
+
+    // then
+    assertThat(visited).isEmpty();
+    assertThat(index.nextDeadline()).isEqualTo(JobDeadlineIndex.NO_DEADLINE);
+  }
+
+  @Test
+  public void shouldKeepEntryIfVisitorReturnsFalse() {
+    // given
+    index.add(1, 100);
+    index.add(2, 200);
+
+    // when
+    final List<Long> visited = new ArrayList<>();
+    index.forEachDue(
+        300,
+        (jobKey, deadline) -> {
+          visited.add(jobKey);
+          return false;
+        });
+
+    // then
+    assertThat(visited).containsExactly(1L);
+    assertThat(index.nextDeadline()).isEqualTo(100);
+    assertThat(visitDue(300)).containsExactly(1L, 2L);
+  }
+
+  @Test
+  public void shouldSkipRemovedEntries() {
+    // given
+    index.add(1, 100);
+    index.add(2, 200);
+    index.add(3, 300);
+
+    // when
+    index.remove(1);
+    index.remove(3);
+
+    // then
+    assertThat(index.nextDeadline()).isEqualTo(200);
+    assertThat(visitDue(400)).containsExactly(2L);
+  }
+
+  @Test
+  public void shouldUseLatestDeadlineOfJob() {
+    // given
+    index.add(1, 100);
+
+    // when
+    index.add(1, 500);
+
+    // then
+    assertThat(index.nextDeadline()).isEqualTo(500);
+    assertThat(visitDue(400)).isEmpty();
+    assertThat(visitDue(600)).containsExactly(1L);
+  }
+
+  @Test
+  public void shouldCompactRemovedEntries() {
+    // given
+    final int count = 10_000;
+    for (int i = 0; i < count; i++) {
+      index.add(i, count - i);
+      if (i % 10 != 0) {
+        index.remove(i);
+      }
+    }
+
+    // when
+    final List<Long> visited = visitDue(Long.MAX_VALUE);
+
+    // then
+    assertThat(visited).hasSize(count / 10);
+    assertThat(visited).isSortedAccordingTo((a, b) -> Long.compare(b, a));
+  }
+
+  @Test
+  public void shouldClear() {
+    // given
+    index.add(1, 100);
+
+    // when
+    index.clear();
+
+    // then
+    assertThat(index.nextDeadline()).isEqualTo(JobDeadlineIndex.NO_DEADLINE);
+    assertThat(index.size()).isZero();
+  }
+
+  private List<Long> visitDue(final long upperBound) {
+    final List<Long> visited = new ArrayList<>();
+    index.forEachDue(
+        upperBound,
+        (jobKey, deadline) -> {
+          visited.add(jobKey);
+          return true;
+        });
+    return visited;
+  }
+}
@@ -441,6 +441,52 @@ public final class JobStateTest {
     assertThat(jobKeys).isEmpty();
   }
 
+  @Test
+  public void shouldVisitTimedOutJobsFromDeadlineIndex() {
+    // given
+    createAndActivateJobRecord(1, newJobRecord().setDeadline(512L));
+    createAndActivateJobRecord(2, newJobRecord().setDeadline(256L));
+    createAndActivateJobRecord(3, newJobRecord().setDeadline(65536L));
+    createAndActivateJobRecord(4, newJobRecord().setDeadline(128L));
+    jobState.complete(4, newJobRecord().setDeadline(128L));
+
+    // when
+    final List<Long> timedOutKeys = new ArrayList<>();
+    jobState.forEachTimedOutJob(
+        1024L,
+        (k, e) -> {
+          timedOutKeys.add(k);
+          return true;
+        });
+
+    // then
+    assertThat(timedOutKeys).containsExactly(2L, 1L);
+    assertThat(jobState.getNextDeadline()).isEqualTo(65536L);
+  }
+
+  @Test
+  public void shouldRebuildDeadlineIndex() {
+    // given
+    createAndActivateJobRecord(1, newJobRecord().setDeadline(512L));
+    createAndActivateJobRecord(2, newJobRecord().setDeadline(256L));
+
+    jobState.cancel(2, newJobRecord().setDeadline(256L));
+
+    // when
+    jobState.rebuildDeadlineIndex();
+
+    // then
+    final List<Long> timedOutKeys = new ArrayList<>();
+    jobState.forEachTimedOutJob(
+        1024L,
+        (k, e) -> {
+          timedOutKeys.add(k);
+          return true;
+        });
+    assertThat(timedOutKeys).containsExactly(1L);
+    assertThat(jobState.getNextDeadline()).isEqualTo(-1L);
+  }
+
   @Test
   public void shouldCheckExistenceCorrectly() {
     // given
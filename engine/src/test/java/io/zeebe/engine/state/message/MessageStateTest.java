@@ -211,6 +211,22 @@ public final class MessageStateTest {
     assertThat(readMessage.get(0).getKey()).isEqualTo(1L);
   }
 
+  @Test
+  public void shouldVisitMessagesBeforeTimeStartingWithMessage() {
+    // given
+    messageState.put(createMessage(1L, "name", "correlationKey", "{}", "nr1", 1000));
+    messageState.put(createMessage(2L, "name", "correlationKey", "{}", "nr2", 1000));
+    messageState.put(createMessage(3L, "name", "correlationKey", "{}", "nr3", 1500));
+    messageState.put(createMessage(4L, "name", "correlationKey", "{}", "nr4", 3000));
+
+    // when
+    final List<Long> readMessage = new ArrayList<>();
+    messageState.visitMessagesWithDeadlineBefore(2_000, 1000, 2L, m -> readMessage.add(m.getKey()));
+
+    // then
+    assertThat(readMessage).containsExactly(2L, 3L);
+  }
+
   @Test
   public void shouldVisitMessagesBeforeTimeInOrder() {
     // given
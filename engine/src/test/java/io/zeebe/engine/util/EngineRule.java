@@ -14,6 +14,7 @@ import static org.mockito.Mockito.when;
 import io.zeebe.engine.processing.EngineProcessors;
 import io.zeebe.engine.processing.deployment.distribute.DeploymentDistributor;
 import io.zeebe.engine.processing.deployment.distribute.PendingDeploymentDistribution;
+import io.zeebe.engine.processing.message.MessageObserver;
 import io.zeebe.engine.processing.message.command.PartitionCommandSender;
 import io.zeebe.engine.processing.message.command.SubscriptionCommandMessageHandler;
 import io.zeebe.engine.processing.message.command.SubscriptionCommandSender;
@@ -27,6 +28,7 @@ import io.zeebe.engine.state.ZeebeState;
 import io.zeebe.engine.util.client.DeploymentClient;
 import io.zeebe.engine.util.client.IncidentClient;
 import io.zeebe.engine.util.client.JobActivationClient;
+import io.zeebe.engine.util.client.JobBatchCompletionClient;
 import io.zeebe.engine.util.client.JobClient;
 import io.zeebe.engine.util.client.PublishMessageClient;
 import io.zeebe.engine.util.client.VariableClient;
@@ -163,7 +165,8 @@ public final class EngineRule extends ExternalResource {
                               partitionId, new PartitionCommandSenderImpl()),
                           new DeploymentDistributionImpl(),
                           (key, partition) -> {},
-                          jobsAvailableCallback)
+                          jobsAvailableCallback,
+                          MessageObserver.DEFAULT_MAX_MESSAGE_EXPIRATIONS_PER_CHECK)
                       .withListener(new ProcessingExporterTransistor()));
 
           // sequenialize the commands to avoid concurrency
@@ -241,6 +244,10 @@ public final class EngineRule extends ExternalResource {
     return new JobActivationClient(environmentRule);
   }
 
+  public JobBatchCompletionClient jobBatchCompletion() {
+    return new JobBatchCompletionClient(environmentRule);
+  }
+
   public JobClient job() {
     return new JobClient(environmentRule);
   }
@@ -0,0 +1,62 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.engine.util.client;
+
+import io.zeebe.engine.util.StreamProcessorRule;
+import io.zeebe.msgpack.value.DocumentValue;
+import io.zeebe.protocol.impl.encoding.MsgPackConverter;
+import io.zeebe.protocol.impl.record.value.job.JobBatchRecord;
+import io.zeebe.protocol.record.Record;
+import io.zeebe.protocol.record.intent.JobBatchIntent;
+import io.zeebe.protocol.record.value.JobBatchRecordValue;
+import io.zeebe.test.util.record.RecordingExporter;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+public final class JobBatchCompletionClient {
+  private static final int DEFAULT_PARTITION = 1;
+
+  private final StreamProcessorRule environmentRule;
+  private final JobBatchRecord jobBatchRecord = new JobBatchRecord();
+
+  private int partitionId = DEFAULT_PARTITION;
+
+  public JobBatchCompletionClient(final StreamProcessorRule environmentRule) {
+    this.environmentRule = environmentRule;
+  }
+
+  public JobBatchCompletionClient withJob(final long jobKey) {
+    return withJob(jobKey, DocumentValue.EMPTY_DOCUMENT);
+  }
+
+  public JobBatchCompletionClient withJob(final long jobKey, final String variables) {
+    return withJob(jobKey, new UnsafeBuffer(MsgPackConverter.convertToMsgPack(variables)));
+  }
+
+  public JobBatchCompletionClient withJob(final long jobKey, final DirectBuffer variables) {
+    jobBatchRecord.jobKeys().add().setValue(jobKey);
+    jobBatchRecord.jobs().add().setVariables(variables);
+    return this;
+  }
+
+  public JobBatchCompletionClient onPartition(final int partitionId) {
+    this.partitionId = partitionId;
+    return this;
+  }
+
+  public Record<JobBatchRecordValue> complete() {
+    final long position =
+        environmentRule.writeCommandOnPartition(
+            partitionId, JobBatchIntent.COMPLETE, jobBatchRecord);
+
+    return RecordingExporter.jobBatchRecords(JobBatchIntent.COMPLETED)
+        .withPartitionId(partitionId)
+        .withSourceRecordPosition(position)
+        .getFirst();
+  }
+}
@@ -70,6 +70,10 @@ public interface Exporter {
    * needs to collect multiple records it either has to call {@link Record#toJson()} to get the
    * serialized version of the record or {@link Record#clone()} to get a deep copy.
    *
+   * <p>The given record may implement {@link RawRecord}, e.g. it doesn't if the exporter runs in
+   * isolated mode. Implementations which only need the encoded record should check this with {@code
+   * instanceof} and can then use its buffers without decoding the value.
+   *
    * @param record the record to export
    */
   void export(Record<?> record);
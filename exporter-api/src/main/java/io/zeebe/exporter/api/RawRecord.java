@@ -0,0 +1,46 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporter.api;
+
+import io.zeebe.protocol.record.Record;
+import io.zeebe.protocol.record.RecordValue;
+import org.agrona.DirectBuffer;
+
+/**
+ * A record which additionally exposes its raw, encoded representation. Exporters which only ship
+ * the bytes of a record (e.g. to a message queue or a file) can use the buffers without decoding
+ * the value; the value is only decoded when {@link #getValue()} is called.
+ *
+ * <p>Like the record itself, the buffers are only views of the underlying log and are only valid
+ * while the record is exported. Use {@link #clone()} to keep the record, which copies the raw
+ * buffers and decodes the value.
+ *
+ * @param <T> the type of the record value
+ */
+public interface RawRecord<T extends RecordValue> extends Record<T> {
+
+  /**
+   * @return a buffer containing only the metadata of the record, encoded with the SBE {@code
+   *     RecordMetadata} message of the protocol
+   */
+  DirectBuffer getMetadataBuffer();
+
+  /** @return a buffer containing only the value of the record, encoded as MessagePack document */
+  DirectBuffer getValueBuffer();
+
+  @Override
+  RawRecord<T> clone();
+}
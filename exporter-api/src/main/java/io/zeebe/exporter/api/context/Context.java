@@ -15,8 +15,10 @@
  */
 package io.zeebe.exporter.api.context;
 
+import io.zeebe.exporter.api.RawRecord;
 import io.zeebe.protocol.record.RecordType;
 import io.zeebe.protocol.record.ValueType;
+import io.zeebe.protocol.record.intent.Intent;
 import org.slf4j.Logger;
 
 /** Encapsulates context associated with the exporter on open. */
@@ -35,7 +37,11 @@ public interface Context {
    */
   void setFilter(RecordFilter filter);
 
-  /** A filter to limit the records which are exported. */
+  /**
+   * A filter to limit the records which are exported. The filter is applied before the value of a
+   * record is decoded, so the value of a record which is not accepted by any exporter is never
+   * decoded.
+   */
   interface RecordFilter {
 
     /**
@@ -53,5 +59,28 @@ public interface Context {
      * @return {@code true} if records with this type of value should be exported.
      */
     boolean acceptValue(ValueType valueType);
+
+    /**
+     * Should export records with the given intent? Only called for records whose type and value
+     * type are accepted.
+     *
+     * @param intent the intent of the record.
+     * @return {@code true} if records with this intent should be exported.
+     */
+    default boolean acceptIntent(final Intent intent) {
+      return true;
+    }
+
+    /**
+     * Should export the given record? Only called for records whose type, value type and intent are
+     * accepted. The filter should only access the metadata or the raw buffers of the record, since
+     * accessing the value decodes it.
+     *
+     * @param record the record which is not decoded yet.
+     * @return {@code true} if the record should be exported.
+     */
+    default boolean acceptRecord(final RawRecord<?> record) {
+      return true;
+    }
   }
 }
@@ -7,6 +7,7 @@
  */
 package io.zeebe.exporter;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.prometheus.client.Histogram;
 import io.zeebe.exporter.dto.BulkItemError;
@@ -16,6 +17,7 @@ import io.zeebe.protocol.record.Record;
 import io.zeebe.protocol.record.ValueType;
 import io.zeebe.protocol.record.value.VariableRecordValue;
 import io.zeebe.util.VersionUtil;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
@@ -23,21 +25,26 @@ import java.net.URISyntaxException;
 import java.time.Instant;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.List;
+import java.util.Deque;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import org.apache.http.HttpHost;
 import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.UsernamePasswordCredentials;
 import org.apache.http.client.CredentialsProvider;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
 import org.apache.http.impl.client.BasicCredentialsProvider;
 import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
 import org.apache.http.impl.nio.reactor.IOReactorConfig;
 import org.elasticsearch.client.Request;
+import org.elasticsearch.client.Response;
+import org.elasticsearch.client.ResponseListener;
 import org.elasticsearch.client.RestClient;
 import org.elasticsearch.client.RestClientBuilder;
 import org.elasticsearch.common.xcontent.DeprecationHandler;
@@ -53,27 +60,27 @@ public class ElasticsearchClient {
   public static final String INDEX_DELIMITER = "_";
   public static final String ALIAS_DELIMITER = "-";
   private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final int NEW_LINE = '\n';
 
   protected final RestClient client;
   private final ElasticsearchExporterConfiguration configuration;
   private final Logger log;
   private final DateTimeFormatter formatter;
-  private List<String> bulkRequest;
+  private BulkBuffer bulkRequest = new BulkBuffer();
   private ElasticsearchMetrics metrics;
 
+  // bulks which were sent asynchronously, in the order they were sent
+  private final Deque<InFlightBulk> inFlightBulks = new ArrayDeque<>();
+  // the buffers of completed bulks are reused for the next bulks
+  private final Deque<BulkBuffer> freeBuffers = new ArrayDeque<>();
+  private long lastIndexedPosition = -1;
+  private long flushedPosition = -1;
+
   public ElasticsearchClient(
       final ElasticsearchExporterConfiguration configuration, final Logger log) {
-    this(configuration, log, new ArrayList<>());
-  }
-
-  ElasticsearchClient(
-      final ElasticsearchExporterConfiguration configuration,
-      final Logger log,
-      final List<String> bulkRequest) {
     this.configuration = configuration;
     this.log = log;
     client = createClient();
-    this.bulkRequest = bulkRequest;
     formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd").withZone(ZoneOffset.UTC);
   }
 
@@ -87,7 +94,8 @@ public class ElasticsearchClient {
     }
 
     checkRecord(record);
-    bulk(newIndexCommand(record), record);
+    bulk(record);
+    lastIndexedPosition = record.getPosition();
   }
 
   private void checkRecord(final Record<?> record) {
@@ -112,20 +120,37 @@ public class ElasticsearchClient {
     }
   }
 
-  public void bulk(final Map<String, Object> command, final Record<?> record) {
-    final String serializedCommand;
+  /**
+   * Appends the index command and the record as JSON directly to the body of the bulk request,
+   * without creating intermediate Strings.
+   */
+  public void bulk(final Record<?> record) {
+    final int itemOffset = bulkRequest.size();
 
     try {
-      serializedCommand = MAPPER.writeValueAsString(command);
+      writeIndexCommand(record);
+      bulkRequest.write(NEW_LINE);
+      record.writeJson(bulkRequest);
+      bulkRequest.write(NEW_LINE);
     } catch (final IOException e) {
-      throw new ElasticsearchExporterException(
-          "Failed to serialize bulk request command to JSON", e);
+      bulkRequest.truncate(itemOffset);
+      throw new ElasticsearchExporterException("Failed to serialize bulk request item to JSON", e);
     }
 
-    final String jsonCommand = serializedCommand + "\n" + record.toJson();
     // don't re-append when retrying same record, to avoid OOM
-    if (bulkRequest.isEmpty() || !bulkRequest.get(bulkRequest.size() - 1).equals(jsonCommand)) {
-      bulkRequest.add(jsonCommand);
+    bulkRequest.endItem(itemOffset);
+  }
+
+  private void writeIndexCommand(final Record<?> record) throws IOException {
+    try (final JsonGenerator generator = MAPPER.getFactory().createGenerator(bulkRequest)) {
+      generator.writeStartObject();
+      generator.writeObjectFieldStart("index");
+      generator.writeStringField("_index", indexFor(record));
+      generator.writeStringField("_type", typeFor(record));
+      generator.writeStringField("_id", idFor(record));
+      generator.writeStringField("routing", String.valueOf(record.getPartitionId()));
+      generator.writeEndObject();
+      generator.writeEndObject();
     }
   }
 
@@ -137,7 +162,7 @@ public class ElasticsearchClient {
       return;
     }
 
-    final int bulkSize = bulkRequest.size();
+    final int bulkSize = bulkRequest.getItemCount();
     metrics.recordBulkSize(bulkSize);
 
     final var bulkMemorySize = getBulkMemorySize();
@@ -156,8 +181,82 @@ public class ElasticsearchClient {
       throw new ElasticsearchExporterException("Failed to flush all items of the bulk");
     }
 
-    // all records where flushed, create new bulk request, otherwise retry next time
-    bulkRequest = new ArrayList<>();
+    // all records where flushed, reuse the bulk request, otherwise retry next time
+    bulkRequest.reset();
+  }
+
+  /**
+   * Sends the current bulk asynchronously, without waiting for the response. At most {@code
+   * bulk.maxInFlight} bulks are sent at the same time; if all of them are in flight, the records are
+   * kept in the current bulk, which is sent by a later call once the oldest bulk is completed. The
+   * position of the last record of a bulk is only returned by {@link #getFlushedPosition()} when the
+   * bulk and all bulks which were sent before are flushed successfully.
+   *
+   * @throws ElasticsearchExporterException if the oldest bulk failed and all bulks are in flight;
+   *     the failed bulks are resent before
+   */
+  public void flushAsync() {
+    if (bulkRequest.isEmpty()) {
+      return;
+    }
+
+    removeFlushedBulks();
+    if (inFlightBulks.size() >= configuration.bulk.maxInFlight) {
+      final InFlightBulk oldestBulk = inFlightBulks.peekFirst();
+      if (oldestBulk.hasFailed()) {
+        resendFailedBulks();
+        throw new ElasticsearchExporterException(
+            "Failed to flush bulk, all bulks are in flight and the oldest bulk failed");
+      }
+
+      // don't block the exporter; the bulk is sent on the next export or the scheduled flush
+      return;
+    }
+
+    metrics.recordBulkSize(bulkRequest.getItemCount());
+    metrics.recordBulkMemorySize(getBulkMemorySize());
+
+    final InFlightBulk bulk = new InFlightBulk(bulkRequest, lastIndexedPosition);
+    inFlightBulks.addLast(bulk);
+    bulk.send();
+
+    // the records are sent, continue with a free buffer; failed bulks are resent as a whole
+    bulkRequest = freeBuffers.isEmpty() ? new BulkBuffer() : freeBuffers.pop();
+  }
+
+  /** Sends all asynchronous bulks again which failed to be flushed. */
+  public void resendFailedBulks() {
+    for (final InFlightBulk bulk : inFlightBulks) {
+      if (bulk.hasFailed()) {
+        bulk.send();
+      }
+    }
+  }
+
+  /** Waits until all asynchronous bulks are completed, successfully or not. */
+  public void awaitInFlightBulks() {
+    inFlightBulks.forEach(InFlightBulk::await);
+  }
+
+  /**
+   * @return the position of the last record which was flushed asynchronously, and of which all
+   *     preceding records were flushed too, or -1 if no record was flushed yet
+   */
+  public long getFlushedPosition() {
+    removeFlushedBulks();
+    return flushedPosition;
+  }
+
+  private void removeFlushedBulks() {
+    InFlightBulk bulk = inFlightBulks.peekFirst();
+    while (bulk != null && bulk.isFlushed()) {
+      inFlightBulks.removeFirst();
+      bulk.body.reset();
+      freeBuffers.push(bulk.body);
+      flushedPosition = bulk.position;
+
+      bulk = inFlightBulks.peekFirst();
+    }
   }
 
   private boolean checkBulkResponse(final BulkResponse bulkResponse) {
@@ -182,7 +281,7 @@ public class ElasticsearchClient {
   private BulkResponse exportBulk() throws IOException {
     try (final Histogram.Timer timer = metrics.measureFlushDuration()) {
       final var request = new Request("POST", "/_bulk");
-      request.setJsonEntity(String.join("\n", bulkRequest) + "\n");
+      request.setEntity(bulkRequest.toEntity());
 
       final var response = client.performRequest(request);
 
@@ -191,12 +290,16 @@ public class ElasticsearchClient {
   }
 
   public boolean shouldFlush() {
-    return bulkRequest.size() >= configuration.bulk.size
+    return bulkRequest.getItemCount() >= configuration.bulk.size
         || getBulkMemorySize() >= configuration.bulk.memoryLimit;
   }
 
+  int getBulkSize() {
+    return bulkRequest.getItemCount();
+  }
+
   private int getBulkMemorySize() {
-    return bulkRequest.stream().mapToInt(String::length).sum();
+    return bulkRequest.size();
   }
 
   /** @return true if request was acknowledged */
@@ -339,15 +442,111 @@ public class ElasticsearchClient {
     }
   }
 
-  private Map<String, Object> newIndexCommand(final Record<?> record) {
-    final Map<String, Object> command = new HashMap<>();
-    final Map<String, Object> contents = new HashMap<>();
-    contents.put("_index", indexFor(record));
-    contents.put("_type", typeFor(record));
-    contents.put("_id", idFor(record));
-    contents.put("routing", String.valueOf(record.getPartitionId()));
+  /**
+   * Reusable body of a bulk request. The bulk items are written directly as UTF-8 JSON lines, and
+   * the request entity wraps the buffer without copying it.
+   */
+  private static final class BulkBuffer extends ByteArrayOutputStream {
+
+    private int itemCount;
+    private int lastItemOffset = -1;
+
+    boolean isEmpty() {
+      return itemCount == 0;
+    }
+
+    int getItemCount() {
+      return itemCount;
+    }
+
+    /**
+     * Completes the item which was written from the given offset. If it is equal to the previous
+     * item, e.g. when the same record is exported again, it is removed again.
+     */
+    void endItem(final int itemOffset) {
+      if (lastItemOffset >= 0
+          && Arrays.equals(buf, lastItemOffset, itemOffset, buf, itemOffset, count)) {
+        truncate(itemOffset);
+      } else {
+        lastItemOffset = itemOffset;
+        itemCount += 1;
+      }
+    }
+
+    void truncate(final int offset) {
+      count = offset;
+    }
+
+    ByteArrayEntity toEntity() {
+      return new ByteArrayEntity(buf, 0, count, ContentType.APPLICATION_JSON);
+    }
+
+    @Override
+    public synchronized void reset() {
+      super.reset();
+      itemCount = 0;
+      lastItemOffset = -1;
+    }
+  }
+
+  /**
+   * A bulk which is sent asynchronously. The response is handled on the I/O thread of the REST
+   * client, the result is only read by the exporter.
+   */
+  private final class InFlightBulk implements ResponseListener {
+
+    private final BulkBuffer body;
+    private final long position;
+
+    private volatile CompletableFuture<Boolean> result;
+    private Histogram.Timer timer;
+
+    InFlightBulk(final BulkBuffer body, final long position) {
+      this.body = body;
+      this.position = position;
+    }
+
+    void send() {
+      result = new CompletableFuture<>();
+      timer = metrics.measureFlushDuration();
+
+      final var request = new Request("POST", "/_bulk");
+      request.setEntity(body.toEntity());
+      client.performRequestAsync(request, this);
+    }
+
+    boolean isFlushed() {
+      return result.getNow(false);
+    }
+
+    boolean hasFailed() {
+      return result.isDone() && !result.join();
+    }
+
+    boolean await() {
+      return result.join();
+    }
 
-    command.put("index", contents);
-    return command;
+    @Override
+    public void onSuccess(final Response response) {
+      timer.observeDuration();
+
+      try {
+        final var bulkResponse =
+            MAPPER.readValue(response.getEntity().getContent(), BulkResponse.class);
+        result.complete(checkBulkResponse(bulkResponse));
+      } catch (final IOException e) {
+        log.warn("Failed to read the response of the bulk request", e);
+        result.complete(false);
+      }
+    }
+
+    @Override
+    public void onFailure(final Exception exception) {
+      timer.observeDuration();
+
+      log.warn("Failed to flush bulk", exception);
+      result.complete(false);
+    }
   }
 }
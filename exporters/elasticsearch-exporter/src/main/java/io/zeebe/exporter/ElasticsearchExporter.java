@@ -33,6 +33,7 @@ public class ElasticsearchExporter implements Exporter {
   private ElasticsearchClient client;
 
   private long lastPosition = -1;
+  private long lastFlushedPosition = -1;
   private boolean indexTemplatesCreated;
 
   @Override
@@ -61,6 +62,11 @@ public class ElasticsearchExporter implements Exporter {
 
     try {
       flush();
+
+      if (configuration.bulk.isAsync()) {
+        client.awaitInFlightBulks();
+        updateFlushedPosition();
+      }
     } catch (final Exception e) {
       log.warn("Failed to flush records before closing exporter.", e);
     }
@@ -85,6 +91,8 @@ public class ElasticsearchExporter implements Exporter {
 
     if (client.shouldFlush()) {
       flush();
+    } else if (configuration.bulk.isAsync()) {
+      updateFlushedPosition();
     }
   }
 
@@ -101,6 +109,13 @@ public class ElasticsearchExporter implements Exporter {
           "The bulk memory limit is set to more than {} bytes. It is recommended to set the limit between 5 to 15 MB.",
           RECOMMENDED_MAX_BULK_MEMORY_LIMIT);
     }
+
+    if (configuration.bulk.maxInFlight < 0) {
+      throw new ExporterException(
+          String.format(
+              "Elasticsearch bulk max in flight must not be negative. Current value: %d",
+              configuration.bulk.maxInFlight));
+    }
   }
 
   protected ElasticsearchClient createClient() {
@@ -109,6 +124,10 @@ public class ElasticsearchExporter implements Exporter {
 
   private void flushAndReschedule() {
     try {
+      if (configuration.bulk.isAsync()) {
+        client.resendFailedBulks();
+      }
+
       flush();
     } catch (final Exception e) {
       log.error(
@@ -122,8 +141,22 @@ public class ElasticsearchExporter implements Exporter {
   }
 
   private void flush() {
-    client.flush();
-    controller.updateLastExportedRecordPosition(lastPosition);
+    if (configuration.bulk.isAsync()) {
+      client.flushAsync();
+      updateFlushedPosition();
+    } else {
+      client.flush();
+      controller.updateLastExportedRecordPosition(lastPosition);
+    }
+  }
+
+  private void updateFlushedPosition() {
+    // only acknowledge records of which the bulk and all preceding bulks are flushed
+    final long flushedPosition = client.getFlushedPosition();
+    if (flushedPosition > lastFlushedPosition) {
+      lastFlushedPosition = flushedPosition;
+      controller.updateLastExportedRecordPosition(flushedPosition);
+    }
   }
 
   private void createIndexTemplates() {
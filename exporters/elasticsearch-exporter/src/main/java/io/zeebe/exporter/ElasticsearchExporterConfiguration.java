@@ -168,6 +168,12 @@ public class ElasticsearchExporterConfiguration {
     public int size = 1_000;
     // memory limit of the bulk in bytes before flush
     public int memoryLimit = 10 * 1024 * 1024;
+    // max number of bulks which are flushed asynchronously at the same time, 0 flushes synchronously
+    public int maxInFlight = 0;
+
+    public boolean isAsync() {
+      return maxInFlight > 0;
+    }
 
     @Override
     public String toString() {
@@ -178,6 +184,8 @@ public class ElasticsearchExporterConfiguration {
           + size
           + ", memoryLimit="
           + memoryLimit
+          + ", maxInFlight="
+          + maxInFlight
           + '}';
     }
   }
@@ -10,13 +10,16 @@ package io.zeebe.exporter;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
 
 import io.zeebe.protocol.record.Record;
+import io.zeebe.protocol.record.RecordValue;
 import io.zeebe.protocol.record.ValueType;
 import io.zeebe.protocol.record.value.VariableRecordValue;
 import java.util.ArrayList;
@@ -36,7 +39,6 @@ public class ElasticsearchClientTest extends AbstractElasticsearchExporterIntegr
   private ElasticsearchExporterConfiguration configuration;
   private Logger logSpy;
   private ElasticsearchClient client;
-  private ArrayList<String> bulkRequest;
 
   @Before
   public void init() {
@@ -44,8 +46,7 @@ public class ElasticsearchClientTest extends AbstractElasticsearchExporterIntegr
 
     configuration = getDefaultConfiguration();
     logSpy = spy(LoggerFactory.getLogger(ElasticsearchClientTest.class));
-    bulkRequest = new ArrayList<>();
-    client = new ElasticsearchClient(configuration, logSpy, bulkRequest);
+    client = new ElasticsearchClient(configuration, logSpy);
   }
 
   @Test
@@ -53,7 +54,7 @@ public class ElasticsearchClientTest extends AbstractElasticsearchExporterIntegr
     // given
     final String variableValue = "x".repeat(configuration.index.ignoreVariablesAbove);
 
-    final Record<VariableRecordValue> recordMock = mock(Record.class);
+    final Record<VariableRecordValue> recordMock = mockRecord();
     when(recordMock.getPartitionId()).thenReturn(1);
     when(recordMock.getKey()).thenReturn(RECORD_KEY);
     when(recordMock.getValueType()).thenReturn(ValueType.VARIABLE);
@@ -78,7 +79,7 @@ public class ElasticsearchClientTest extends AbstractElasticsearchExporterIntegr
     final long scopeKey = 1234L;
     final long workflowInstanceKey = 5678L;
 
-    final Record<VariableRecordValue> recordMock = mock(Record.class);
+    final Record<VariableRecordValue> recordMock = mockRecord();
     when(recordMock.getPartitionId()).thenReturn(1);
     when(recordMock.getKey()).thenReturn(RECORD_KEY);
     when(recordMock.getValueType()).thenReturn(ValueType.VARIABLE);
@@ -116,7 +117,7 @@ public class ElasticsearchClientTest extends AbstractElasticsearchExporterIntegr
     // given
     final int bulkSize = 10;
 
-    final Record<VariableRecordValue> recordMock = mock(Record.class);
+    final Record<VariableRecordValue> recordMock = mockRecord();
     when(recordMock.getPartitionId()).thenReturn(1);
     when(recordMock.getValueType()).thenReturn(ValueType.WORKFLOW_INSTANCE);
 
@@ -147,23 +148,89 @@ public class ElasticsearchClientTest extends AbstractElasticsearchExporterIntegr
             "failed to parse");
   }
 
+  @Test
+  public void shouldReturnFlushedPositionAfterAsyncFlush() {
+    // given
+    configuration.bulk.maxInFlight = 2;
+
+    final Record<VariableRecordValue> recordMock = mockRecord();
+    when(recordMock.getPartitionId()).thenReturn(1);
+    when(recordMock.getValueType()).thenReturn(ValueType.WORKFLOW_INSTANCE);
+    when(recordMock.toJson()).thenReturn("{}");
+
+    IntStream.range(0, 3)
+        .forEach(
+            i -> {
+              when(recordMock.getKey()).thenReturn(RECORD_KEY + i);
+              when(recordMock.getPosition()).thenReturn((long) i);
+              client.index(recordMock);
+              client.flushAsync();
+            });
+
+    // when - the last bulk is kept if the other bulks were still in flight
+    client.awaitInFlightBulks();
+    client.flushAsync();
+    client.awaitInFlightBulks();
+
+    // then
+    assertThat(client.getBulkSize()).isZero();
+    assertThat(client.getFlushedPosition()).isEqualTo(2L);
+  }
+
+  @Test
+  public void shouldNotReturnFlushedPositionIfAsyncFlushFailed() {
+    // given
+    configuration.bulk.maxInFlight = 2;
+
+    final Record<VariableRecordValue> recordMock = mockRecord();
+    when(recordMock.getPartitionId()).thenReturn(1);
+    when(recordMock.getValueType()).thenReturn(ValueType.WORKFLOW_INSTANCE);
+
+    // first bulk fails on flush
+    when(recordMock.getKey()).thenReturn(RECORD_KEY);
+    when(recordMock.getPosition()).thenReturn(1L);
+    when(recordMock.toJson()).thenReturn("invalid-json");
+    client.index(recordMock);
+    client.flushAsync();
+
+    // and the second bulk is flushed
+    when(recordMock.getKey()).thenReturn(RECORD_KEY + 1);
+    when(recordMock.getPosition()).thenReturn(2L);
+    when(recordMock.toJson()).thenReturn("{}");
+    client.index(recordMock);
+    client.flushAsync();
+
+    // when
+    client.awaitInFlightBulks();
+
+    // then
+    assertThat(client.getFlushedPosition()).isEqualTo(-1L);
+    assertThatThrownBy(
+            () -> {
+              client.index(recordMock);
+              client.flushAsync();
+            })
+        .isInstanceOf(ElasticsearchExporterException.class)
+        .hasMessage("Failed to flush bulk, all bulks are in flight and the oldest bulk failed");
+  }
+
   @Test
   public void shouldIgnoreRecordIfDuplicateOfLast() {
     // given
-    final Record<VariableRecordValue> recordMock = mock(Record.class);
+    final Record<VariableRecordValue> recordMock = mockRecord();
     when(recordMock.getPartitionId()).thenReturn(1);
     when(recordMock.getValueType()).thenReturn(ValueType.WORKFLOW_INSTANCE);
     when(recordMock.getKey()).thenReturn(RECORD_KEY + 1);
     when(recordMock.toJson()).thenReturn("{}");
 
     client.index(recordMock);
-    assertThat(bulkRequest).hasSize(1);
+    assertThat(client.getBulkSize()).isEqualTo(1);
 
     // when
     client.index(recordMock);
 
     // then
-    assertThat(bulkRequest).hasSize(1);
+    assertThat(client.getBulkSize()).isEqualTo(1);
   }
 
   @Test
@@ -184,7 +251,7 @@ public class ElasticsearchClientTest extends AbstractElasticsearchExporterIntegr
     final VariableRecordValue recordValue = mock(VariableRecordValue.class);
     when(recordValue.getValue()).thenReturn(variableValue1);
 
-    final Record<VariableRecordValue> recordMock = mock(Record.class);
+    final Record<VariableRecordValue> recordMock = mockRecord();
     when(recordMock.getKey()).thenReturn(1L);
     when(recordMock.getPartitionId()).thenReturn(1);
     when(recordMock.getValueType()).thenReturn(ValueType.VARIABLE);
@@ -204,4 +271,10 @@ public class ElasticsearchClientTest extends AbstractElasticsearchExporterIntegr
     // then
     assertThat(client.shouldFlush()).isTrue();
   }
+
+  @SuppressWarnings("unchecked")
+  private static <T extends RecordValue> Record<T> mockRecord() {
+    // serialize the record by the stubbed JSON representation
+    return mock(Record.class, withSettings().defaultAnswer(CALLS_REAL_METHODS));
+  }
 }
@@ -14,6 +14,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -234,6 +235,53 @@ public class ElasticsearchExporterTest {
     assertThat(testHarness.getController().getPosition()).isEqualTo(record.getPosition());
   }
 
+  @Test
+  public void shouldUpdatePositionOnlyAfterAsyncFlushSucceeded() {
+    // given
+    config.bulk.maxInFlight = 2;
+    when(esClient.shouldFlush()).thenReturn(true);
+    when(esClient.getFlushedPosition()).thenReturn(-1L);
+
+    createAndOpenExporter();
+    final Record record =
+        testHarness.export(
+            r ->
+                r.getMetadata()
+                    .setValueType(ValueType.WORKFLOW_INSTANCE)
+                    .setRecordType(RecordType.EVENT));
+
+    verify(esClient).flushAsync();
+    assertThat(testHarness.getController().getPosition()).isEqualTo(-1L);
+
+    // when
+    when(esClient.shouldFlush()).thenReturn(false);
+    when(esClient.getFlushedPosition()).thenReturn(record.getPosition());
+    testHarness.export(
+        r ->
+            r.getMetadata()
+                .setValueType(ValueType.WORKFLOW_INSTANCE)
+                .setRecordType(RecordType.EVENT));
+
+    // then
+    verify(esClient, never()).flush();
+    assertThat(testHarness.getController().getPosition()).isEqualTo(record.getPosition());
+  }
+
+  @Test
+  public void shouldResendFailedBulksAfterDelay() {
+    // given
+    config.bulk.maxInFlight = 2;
+    when(esClient.shouldFlush()).thenReturn(false);
+    createAndOpenExporter();
+
+    // when
+    testHarness.getController().runScheduledTasks(Duration.ofSeconds(config.bulk.delay));
+
+    // then
+    verify(esClient).resendFailedBulks();
+    verify(esClient).flushAsync();
+  }
+
   @Test
   public void shouldFlushOnClose() {
     // given
@@ -0,0 +1,221 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.exporter.file;
+
+import io.zeebe.exporter.api.Exporter;
+import io.zeebe.exporter.api.ExporterException;
+import io.zeebe.exporter.api.RawRecord;
+import io.zeebe.exporter.api.context.Context;
+import io.zeebe.exporter.api.context.Controller;
+import io.zeebe.protocol.impl.record.CopiedRecord;
+import io.zeebe.protocol.impl.record.RecordMetadata;
+import io.zeebe.protocol.impl.record.UnifiedRecordValue;
+import io.zeebe.protocol.record.Record;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.slf4j.Logger;
+
+/**
+ * Exports the records of a partition into local segment files, see {@link SegmentFormat}. The
+ * records are written with their raw metadata and value, so the exporter never decodes a record
+ * value. The files can be read with the {@link FileRecordReader}.
+ *
+ * <p>Records which are not raw, e.g. if the exporter runs in isolated mode, are decoded already.
+ * Their metadata and value are encoded again before they are written. The metadata of a {@link
+ * CopiedRecord} is copied completely; for any other record, the request id, request stream id and
+ * protocol version are not available and are written with their default values.
+ */
+public class FileExporter implements Exporter {
+
+  private Logger log;
+  private Controller controller;
+
+  private FileExporterConfiguration configuration;
+  private SegmentWriter writer;
+
+  private final RecordMetadata recordMetadata = new RecordMetadata();
+  private final ExpandableArrayBuffer encodeBuffer = new ExpandableArrayBuffer();
+  private final UnsafeBuffer metadataBuffer = new UnsafeBuffer(0, 0);
+  private final UnsafeBuffer valueBuffer = new UnsafeBuffer(0, 0);
+
+  @Override
+  public void configure(final Context context) {
+    log = context.getLogger();
+    configuration = context.getConfiguration().instantiate(FileExporterConfiguration.class);
+    log.debug("Exporter configured with {}", configuration);
+
+    validate(configuration);
+  }
+
+  @Override
+  public void open(final Controller controller) {
+    this.controller = controller;
+
+    scheduleDelayedFlush();
+    log.info("Exporter opened");
+  }
+
+  @Override
+  public void close() {
+    if (writer == null) {
+      log.info("Exporter closed");
+      return;
+    }
+
+    try {
+      flush();
+    } catch (final Exception e) {
+      log.warn("Failed to flush records before closing exporter.", e);
+    }
+
+    try {
+      writer.close();
+    } catch (final Exception e) {
+      log.warn("Failed to close segment writer", e);
+    }
+
+    log.info("Exporter closed");
+  }
+
+  @Override
+  public void export(final Record<?> record) {
+    if (writer == null) {
+      writer = createWriter(record.getPartitionId());
+    }
+
+    if (record instanceof RawRecord) {
+      final RawRecord<?> rawRecord = (RawRecord<?>) record;
+      append(record, rawRecord.getMetadataBuffer(), rawRecord.getValueBuffer());
+    } else {
+      encode(record);
+      append(record, metadataBuffer, valueBuffer);
+    }
+
+    if (writer.isBlockFull()) {
+      flush();
+    }
+  }
+
+  private void append(
+      final Record<?> record, final DirectBuffer metadata, final DirectBuffer value) {
+    writer.append(
+        record.getPosition(),
+        record.getSourceRecordPosition(),
+        record.getKey(),
+        record.getTimestamp(),
+        metadata,
+        value);
+  }
+
+  private void encode(final Record<?> record) {
+    if (!(record.getValue() instanceof UnifiedRecordValue)) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Expected to export a record with an encodable value, but got %s",
+              record.getValue()));
+    }
+
+    if (record instanceof CopiedRecord) {
+      ((CopiedRecord<?>) record).copyMetadataTo(recordMetadata);
+    } else {
+      // other records don't expose the request metadata, which is only relevant for the gateway
+      recordMetadata
+          .reset()
+          .recordType(record.getRecordType())
+          .valueType(record.getValueType())
+          .intent(record.getIntent())
+          .rejectionType(record.getRejectionType())
+          .rejectionReason(record.getRejectionReason());
+    }
+
+    final UnifiedRecordValue value = (UnifiedRecordValue) record.getValue();
+    final int metadataLength = recordMetadata.getLength();
+    final int valueLength = value.getLength();
+    recordMetadata.write(encodeBuffer, 0);
+    value.write(encodeBuffer, metadataLength);
+
+    metadataBuffer.wrap(encodeBuffer, 0, metadataLength);
+    valueBuffer.wrap(encodeBuffer, metadataLength, valueLength);
+  }
+
+  private void validate(final FileExporterConfiguration configuration) {
+    try {
+      configuration.getCompression();
+      configuration.getFsyncPolicy();
+    } catch (final IllegalArgumentException e) {
+      throw new ExporterException(
+          String.format("File exporter configuration is invalid: %s", e.getMessage()), e);
+    }
+
+    if (configuration.blockSize <= 0 || configuration.segmentSize < configuration.blockSize) {
+      throw new ExporterException(
+          String.format(
+              "File exporter block size must be positive and not greater than the segment size. Current values: blockSize=%d, segmentSize=%d",
+              configuration.blockSize, configuration.segmentSize));
+    }
+
+    if (configuration.compressionLevel < 1 || configuration.compressionLevel > 9) {
+      throw new ExporterException(
+          String.format(
+              "File exporter compression level must be between 1 and 9. Current value: %d",
+              configuration.compressionLevel));
+    }
+
+    if (configuration.maxSegments < 0) {
+      throw new ExporterException(
+          String.format(
+              "File exporter max segments must not be negative. Current value: %d",
+              configuration.maxSegments));
+    }
+  }
+
+  private SegmentWriter createWriter(final int partitionId) {
+    final Path directory =
+        SegmentFormat.partitionDirectory(Paths.get(configuration.directory), partitionId);
+    try {
+      log.debug("Write segments to directory {}", directory);
+      return new SegmentWriter(directory, configuration);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(
+          String.format("Failed to open segment writer in directory %s", directory), e);
+    }
+  }
+
+  private void flush() {
+    try {
+      final long position = writer.flush();
+      if (position >= 0) {
+        controller.updateLastExportedRecordPosition(position);
+      }
+    } catch (final IOException e) {
+      throw new UncheckedIOException("Failed to write block to segment", e);
+    }
+  }
+
+  private void flushAndReschedule() {
+    try {
+      if (writer != null) {
+        flush();
+      }
+    } catch (final Exception e) {
+      log.error(
+          "Unexpected exception occurred on periodically flushing block, will retry later.", e);
+    }
+    scheduleDelayedFlush();
+  }
+
+  private void scheduleDelayedFlush() {
+    controller.scheduleTask(Duration.ofMillis(configuration.flushDelay), this::flushAndReschedule);
+  }
+}
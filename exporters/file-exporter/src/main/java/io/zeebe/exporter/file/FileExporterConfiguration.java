@@ -0,0 +1,80 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.exporter.file;
+
+public class FileExporterConfiguration {
+
+  // directory of the segment files; each partition writes into its own sub directory
+  public String directory = "exports";
+
+  // size of a segment file in bytes before rolling over to a new segment
+  public int segmentSize = 64 * 1024 * 1024;
+  // max number of segments of a partition which are kept, the oldest are deleted; 0 keeps all
+  public int maxSegments = 0;
+  // uncompressed size of a block of records in bytes before it is written
+  public int blockSize = 256 * 1024;
+  // delay in milliseconds before a block is written even if it is not full
+  public int flushDelay = 1_000;
+
+  // compression of the blocks: none or deflate
+  public String compression = Compression.DEFLATE.name();
+  // deflate level from 1 (fastest) to 9 (smallest)
+  public int compressionLevel = 1;
+
+  // when the written blocks are synced to disk: none, block or segment
+  public String fsync = FsyncPolicy.SEGMENT.name();
+
+  public Compression getCompression() {
+    return Compression.valueOf(compression.toUpperCase());
+  }
+
+  public FsyncPolicy getFsyncPolicy() {
+    return FsyncPolicy.valueOf(fsync.toUpperCase());
+  }
+
+  @Override
+  public String toString() {
+    return "FileExporterConfiguration{"
+        + "directory='"
+        + directory
+        + '\''
+        + ", segmentSize="
+        + segmentSize
+        + ", maxSegments="
+        + maxSegments
+        + ", blockSize="
+        + blockSize
+        + ", flushDelay="
+        + flushDelay
+        + ", compression='"
+        + compression
+        + '\''
+        + ", compressionLevel="
+        + compressionLevel
+        + ", fsync='"
+        + fsync
+        + '\''
+        + '}';
+  }
+
+  public enum Compression {
+    /** blocks are written as they are */
+    NONE,
+    /** blocks are compressed with deflate */
+    DEFLATE
+  }
+
+  public enum FsyncPolicy {
+    /** written blocks are left to the operating system, they may be lost on a system crash */
+    NONE,
+    /** every written block is synced before its records are acknowledged */
+    BLOCK,
+    /** a segment is synced when it is complete or the exporter is closed */
+    SEGMENT
+  }
+}
@@ -0,0 +1,19 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.exporter.file;
+
+public class FileExporterException extends RuntimeException {
+
+  public FileExporterException(final String message) {
+    super(message);
+  }
+
+  public FileExporterException(final String message, final Throwable cause) {
+    super(message, cause);
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.exporter.file;
+
+import io.zeebe.protocol.record.MessageHeaderDecoder;
+import io.zeebe.protocol.record.RecordMetadataDecoder;
+import io.zeebe.protocol.record.RecordType;
+import io.zeebe.protocol.record.ValueType;
+import io.zeebe.protocol.record.intent.Intent;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * A record read by the {@link FileRecordReader}. The record is a view of the reader's buffers and
+ * is reused for the next record, so it is only valid until the reader is advanced.
+ *
+ * <p>The value is the MessagePack document of the record value, as it is written in the log.
+ */
+public final class FileRecord {
+
+  private final MessageHeaderDecoder headerDecoder = new MessageHeaderDecoder();
+  private final RecordMetadataDecoder metadataDecoder = new RecordMetadataDecoder();
+
+  private final UnsafeBuffer metadataBuffer = new UnsafeBuffer(0, 0);
+  private final UnsafeBuffer valueBuffer = new UnsafeBuffer(0, 0);
+
+  private long position;
+  private long sourceRecordPosition;
+  private long key;
+  private long timestamp;
+
+  void wrap(
+      final long position,
+      final long sourceRecordPosition,
+      final long key,
+      final long timestamp,
+      final DirectBuffer buffer,
+      final int metadataOffset,
+      final int metadataLength,
+      final int valueLength) {
+    this.position = position;
+    this.sourceRecordPosition = sourceRecordPosition;
+    this.key = key;
+    this.timestamp = timestamp;
+
+    metadataBuffer.wrap(buffer, metadataOffset, metadataLength);
+    valueBuffer.wrap(buffer, metadataOffset + metadataLength, valueLength);
+
+    headerDecoder.wrap(metadataBuffer, 0);
+    metadataDecoder.wrap(
+        metadataBuffer,
+        headerDecoder.encodedLength(),
+        headerDecoder.blockLength(),
+        headerDecoder.version());
+  }
+
+  public long getPosition() {
+    return position;
+  }
+
+  public long getSourceRecordPosition() {
+    return sourceRecordPosition;
+  }
+
+  public long getKey() {
+    return key;
+  }
+
+  public long getTimestamp() {
+    return timestamp;
+  }
+
+  public RecordType getRecordType() {
+    return metadataDecoder.recordType();
+  }
+
+  public ValueType getValueType() {
+    return metadataDecoder.valueType();
+  }
+
+  public Intent getIntent() {
+    return Intent.fromProtocolValue(metadataDecoder.valueType(), metadataDecoder.intent());
+  }
+
+  /**
+   * @return the metadata of the record, encoded with the SBE {@code RecordMetadata} message of the
+   *     protocol
+   */
+  public DirectBuffer getMetadataBuffer() {
+    return metadataBuffer;
+  }
+
+  /** @return the value of the record, encoded as MessagePack document */
+  public DirectBuffer getValueBuffer() {
+    return valueBuffer;
+  }
+
+  @Override
+  public String toString() {
+    return "FileRecord{"
+        + "position="
+        + position
+        + ", sourceRecordPosition="
+        + sourceRecordPosition
+        + ", key="
+        + key
+        + ", timestamp="
+        + timestamp
+        + ", recordType="
+        + getRecordType()
+        + ", valueType="
+        + getValueType()
+        + ", intent="
+        + getIntent()
+        + '}';
+  }
+}
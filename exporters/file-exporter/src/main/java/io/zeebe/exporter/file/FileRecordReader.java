@@ -0,0 +1,387 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.exporter.file;
+
+import static io.zeebe.exporter.file.SegmentFormat.BLOCK_CHECKSUM_OFFSET;
+import static io.zeebe.exporter.file.SegmentFormat.BLOCK_CODEC_OFFSET;
+import static io.zeebe.exporter.file.SegmentFormat.BLOCK_DATA_LENGTH_OFFSET;
+import static io.zeebe.exporter.file.SegmentFormat.BLOCK_HEADER_LENGTH;
+import static io.zeebe.exporter.file.SegmentFormat.BLOCK_UNCOMPRESSED_LENGTH_OFFSET;
+import static io.zeebe.exporter.file.SegmentFormat.BYTE_ORDER;
+import static io.zeebe.exporter.file.SegmentFormat.CODEC_DEFLATE;
+import static io.zeebe.exporter.file.SegmentFormat.CODEC_NONE;
+import static io.zeebe.exporter.file.SegmentFormat.ENTRY_HEADER_LENGTH;
+import static io.zeebe.exporter.file.SegmentFormat.ENTRY_KEY_OFFSET;
+import static io.zeebe.exporter.file.SegmentFormat.ENTRY_METADATA_LENGTH_OFFSET;
+import static io.zeebe.exporter.file.SegmentFormat.ENTRY_POSITION_OFFSET;
+import static io.zeebe.exporter.file.SegmentFormat.ENTRY_SOURCE_POSITION_OFFSET;
+import static io.zeebe.exporter.file.SegmentFormat.ENTRY_TIMESTAMP_OFFSET;
+import static io.zeebe.exporter.file.SegmentFormat.ENTRY_VALUE_LENGTH_OFFSET;
+import static io.zeebe.exporter.file.SegmentFormat.FILE_HEADER_LENGTH;
+import static io.zeebe.exporter.file.SegmentFormat.FILE_MAGIC;
+import static io.zeebe.exporter.file.SegmentFormat.FILE_MAGIC_OFFSET;
+import static io.zeebe.exporter.file.SegmentFormat.FILE_VERSION;
+import static io.zeebe.exporter.file.SegmentFormat.FILE_VERSION_OFFSET;
+import static io.zeebe.exporter.file.SegmentFormat.INDEX_BLOCK_OFFSET_OFFSET;
+import static io.zeebe.exporter.file.SegmentFormat.INDEX_ENTRY_LENGTH;
+import static io.zeebe.exporter.file.SegmentFormat.INDEX_FIRST_POSITION_OFFSET;
+import static io.zeebe.exporter.file.SegmentFormat.INDEX_LAST_POSITION_OFFSET;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.IoUtil;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Reads the records which are written by the {@link FileExporter} for one partition, in the order
+ * of their positions. Records which were written more than once (e.g. when they were exported
+ * again after a restart) are only returned once.
+ *
+ * <pre>{@code
+ * try (FileRecordReader reader = FileRecordReader.open(exportDirectory.resolve("partition-1"))) {
+ *   reader.seek(position);
+ *   while (reader.hasNext()) {
+ *     final FileRecord record = reader.next();
+ *     // ...
+ *   }
+ * }
+ * }</pre>
+ *
+ * <p>The reader can be used while the exporter is writing: if {@link #hasNext()} returned {@code
+ * false}, it can be called again later to read the records which were written in the meantime.
+ * A block which is incomplete or doesn't match its checksum ends its segment, since this happens
+ * when the broker crashed while writing the block; the reader continues with the next segment.
+ */
+public final class FileRecordReader implements Iterator<FileRecord>, AutoCloseable {
+
+  private static final long NO_POSITION = -1L;
+
+  private final Path directory;
+  private final FileRecord record = new FileRecord();
+
+  private final UnsafeBuffer segmentBuffer = new UnsafeBuffer(0, 0);
+  private final CRC32 checksum = new CRC32();
+  private final Inflater inflater = new Inflater(true);
+
+  private final ExpandableArrayBuffer block = new ExpandableArrayBuffer();
+  private final UnsafeBuffer blockBuffer = new UnsafeBuffer(0, 0);
+  private byte[] data = new byte[0];
+  private int blockOffset;
+
+  private List<Integer> segmentIds;
+  private int segmentIndex = -1;
+  private MappedByteBuffer segmentMapping;
+  private int segmentOffset;
+
+  private long lastPosition = NO_POSITION;
+  private long seekPosition = NO_POSITION;
+  private boolean hasNext;
+
+  private FileRecordReader(final Path directory) {
+    this.directory = directory;
+  }
+
+  /**
+   * Opens a reader for the records of one partition. The reader starts with the first record.
+   *
+   * @param directory the directory of the partition, i.e. {@code <directory>/partition-<id>}
+   */
+  public static FileRecordReader open(final Path directory) {
+    final FileRecordReader reader = new FileRecordReader(directory);
+    reader.seek(NO_POSITION);
+    return reader;
+  }
+
+  /**
+   * Moves the reader to the first record with a position greater or equal to the given position.
+   * The block which contains the position is looked up in the index of the segments, so only this
+   * block has to be read.
+   */
+  public void seek(final long position) {
+    try {
+      closeSegment();
+      segmentIds = SegmentFormat.segmentIds(directory);
+
+      segmentIndex = segmentIds.isEmpty() ? -1 : 0;
+      int offset = FILE_HEADER_LENGTH;
+      for (int i = segmentIds.size() - 1; i >= 0 && position != NO_POSITION; i--) {
+        final int blockOffset = lookupBlockOffset(segmentIds.get(i), position);
+        if (blockOffset >= 0) {
+          segmentIndex = i;
+          offset = blockOffset;
+          break;
+        }
+      }
+
+      if (segmentIndex >= 0) {
+        openSegment(segmentIds.get(segmentIndex));
+        segmentOffset = offset;
+      }
+
+      blockBuffer.wrap(0, 0);
+      blockOffset = 0;
+      lastPosition = NO_POSITION;
+      seekPosition = position;
+      hasNext = false;
+
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public boolean hasNext() {
+    try {
+      while (!hasNext) {
+        if (blockOffset < blockBuffer.capacity()) {
+          readEntry();
+        } else if (!readBlock() && !nextSegment()) {
+          return false;
+        }
+      }
+      return true;
+
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public FileRecord next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+
+    hasNext = false;
+    return record;
+  }
+
+  @Override
+  public void close() {
+    closeSegment();
+    inflater.end();
+  }
+
+  private void readEntry() {
+    final int offset = blockOffset;
+    final long position = blockBuffer.getLong(offset + ENTRY_POSITION_OFFSET, BYTE_ORDER);
+    final int metadataLength =
+        blockBuffer.getInt(offset + ENTRY_METADATA_LENGTH_OFFSET, BYTE_ORDER);
+    final int valueLength = blockBuffer.getInt(offset + ENTRY_VALUE_LENGTH_OFFSET, BYTE_ORDER);
+    blockOffset += ENTRY_HEADER_LENGTH + metadataLength + valueLength;
+
+    if (position <= lastPosition || position < seekPosition) {
+      return;
+    }
+
+    record.wrap(
+        position,
+        blockBuffer.getLong(offset + ENTRY_SOURCE_POSITION_OFFSET, BYTE_ORDER),
+        blockBuffer.getLong(offset + ENTRY_KEY_OFFSET, BYTE_ORDER),
+        blockBuffer.getLong(offset + ENTRY_TIMESTAMP_OFFSET, BYTE_ORDER),
+        blockBuffer,
+        offset + ENTRY_HEADER_LENGTH,
+        metadataLength,
+        valueLength);
+    lastPosition = position;
+    hasNext = true;
+  }
+
+  private boolean readBlock() throws IOException {
+    if (segmentMapping == null && segmentIndex >= 0) {
+      openSegment(segmentIds.get(segmentIndex));
+    }
+
+    if (segmentMapping == null || segmentOffset + BLOCK_HEADER_LENGTH > segmentBuffer.capacity()) {
+      return false;
+    }
+
+    final int offset = segmentOffset;
+    final int dataLength =
+        fromByteOrder(segmentBuffer.getIntVolatile(offset + BLOCK_DATA_LENGTH_OFFSET));
+    final int uncompressedLength =
+        segmentBuffer.getInt(offset + BLOCK_UNCOMPRESSED_LENGTH_OFFSET, BYTE_ORDER);
+    final int dataOffset = offset + BLOCK_HEADER_LENGTH;
+
+    if (dataLength <= 0
+        || uncompressedLength < 0
+        || dataOffset + dataLength > segmentBuffer.capacity()) {
+      return false;
+    }
+
+    if (data.length < dataLength) {
+      data = new byte[dataLength];
+    }
+    segmentBuffer.getBytes(dataOffset, data, 0, dataLength);
+
+    checksum.reset();
+    checksum.update(data, 0, dataLength);
+    if ((int) checksum.getValue()
+        != segmentBuffer.getInt(offset + BLOCK_CHECKSUM_OFFSET, BYTE_ORDER)) {
+      return false;
+    }
+
+    final int codec = segmentBuffer.getInt(offset + BLOCK_CODEC_OFFSET, BYTE_ORDER);
+    if (codec == CODEC_NONE) {
+      block.putBytes(0, data, 0, dataLength);
+    } else if (codec == CODEC_DEFLATE) {
+      inflate(dataLength, uncompressedLength);
+    } else {
+      throw new FileExporterException(
+          String.format(
+              "Expected block codec to be one of [%d, %d], but found %d in segment %s",
+              CODEC_NONE, CODEC_DEFLATE, codec, segmentFile()));
+    }
+
+    blockBuffer.wrap(block, 0, codec == CODEC_NONE ? dataLength : uncompressedLength);
+    blockOffset = 0;
+    segmentOffset = dataOffset + dataLength;
+    return true;
+  }
+
+  private void inflate(final int dataLength, final int uncompressedLength) {
+    block.checkLimit(uncompressedLength);
+
+    inflater.reset();
+    inflater.setInput(data, 0, dataLength);
+    try {
+      int length = 0;
+      while (length < uncompressedLength && !inflater.finished()) {
+        final int inflated =
+            inflater.inflate(block.byteArray(), length, uncompressedLength - length);
+        if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+          break;
+        }
+        length += inflated;
+      }
+
+      if (length != uncompressedLength) {
+        throw new FileExporterException(
+            String.format(
+                "Expected block to be inflated to %d bytes, but got %d bytes in segment %s",
+                uncompressedLength, length, segmentFile()));
+      }
+    } catch (final DataFormatException e) {
+      throw new FileExporterException(
+          String.format("Failed to inflate block in segment %s", segmentFile()), e);
+    }
+  }
+
+  private boolean nextSegment() throws IOException {
+    if (segmentIndex + 1 >= segmentIds.size()) {
+      // look for segments which were created since the reader was opened
+      segmentIds = SegmentFormat.segmentIds(directory);
+      if (segmentIndex + 1 >= segmentIds.size()) {
+        return false;
+      }
+    }
+
+    closeSegment();
+    segmentIndex += 1;
+    openSegment(segmentIds.get(segmentIndex));
+    segmentOffset = FILE_HEADER_LENGTH;
+    return true;
+  }
+
+  private void openSegment(final int segmentId) throws IOException {
+    final Path segmentFile = SegmentFormat.segmentFile(directory, segmentId);
+    try (final FileChannel channel = FileChannel.open(segmentFile, StandardOpenOption.READ)) {
+      final long size = channel.size();
+      if (size < FILE_HEADER_LENGTH) {
+        // the segment was just created and is not mapped yet
+        return;
+      }
+
+      segmentMapping = channel.map(MapMode.READ_ONLY, 0, size);
+      segmentBuffer.wrap(segmentMapping);
+    }
+
+    final int magic = segmentBuffer.getInt(FILE_MAGIC_OFFSET, BYTE_ORDER);
+    final int version = segmentBuffer.getInt(FILE_VERSION_OFFSET, BYTE_ORDER);
+    if (magic != FILE_MAGIC || version != FILE_VERSION) {
+      closeSegment();
+      throw new FileExporterException(
+          String.format(
+              "Expected segment %s to have magic %x and version %d, but found magic %x and version %d",
+              segmentFile, FILE_MAGIC, FILE_VERSION, magic, version));
+    }
+  }
+
+  private void closeSegment() {
+    if (segmentMapping != null) {
+      IoUtil.unmap(segmentMapping);
+      segmentMapping = null;
+    }
+    segmentBuffer.wrap(0, 0);
+  }
+
+  /**
+   * @return the offset of the block of the given segment which contains the position, or {@code
+   *     -1} if the segment starts after the position
+   */
+  private int lookupBlockOffset(final int segmentId, final long position) throws IOException {
+    final Path indexFile = SegmentFormat.indexFile(directory, segmentId);
+    if (!Files.exists(indexFile)) {
+      return -1;
+    }
+
+    final ByteBuffer index;
+    try (final FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+      final int entries = (int) (channel.size() / INDEX_ENTRY_LENGTH);
+      index = ByteBuffer.allocate(entries * INDEX_ENTRY_LENGTH).order(BYTE_ORDER);
+      while (index.hasRemaining() && channel.read(index) >= 0) {
+        // read the whole index
+      }
+    }
+
+    final int entries = index.position() / INDEX_ENTRY_LENGTH;
+    if (entries == 0 || index.getLong(INDEX_FIRST_POSITION_OFFSET) > position) {
+      return -1;
+    }
+
+    // binary search for the first block which ends at or after the position
+    int low = 0;
+    int high = entries - 1;
+    while (low < high) {
+      final int middle = (low + high) >>> 1;
+      final int entryOffset = middle * INDEX_ENTRY_LENGTH;
+      if (index.getLong(entryOffset + INDEX_LAST_POSITION_OFFSET) < position) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+
+    // if the position is after the last indexed block, the block may not be indexed yet; the
+    // reader starts with the last indexed block and skips its records
+    return index.getInt(low * INDEX_ENTRY_LENGTH + INDEX_BLOCK_OFFSET_OFFSET);
+  }
+
+  private Path segmentFile() {
+    return SegmentFormat.segmentFile(directory, segmentIds.get(segmentIndex));
+  }
+
+  private static int fromByteOrder(final int value) {
+    return BYTE_ORDER == ByteOrder.nativeOrder() ? value : Integer.reverseBytes(value);
+  }
+}
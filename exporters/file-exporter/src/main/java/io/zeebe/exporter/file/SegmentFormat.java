@@ -0,0 +1,111 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.exporter.file;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Layout of the files written by the {@link FileExporter}. All numbers are little endian.
+ *
+ * <pre>
+ * segment file:  file header, block*, unused space
+ * file header:   magic (int), version (int)
+ * block:         block header, data
+ * block header:  data length (int), uncompressed length (int), record count (int), codec (int),
+ *                CRC32 of the data (int), first position (long), last position (long)
+ * entry:         position (long), source record position (long), key (long), timestamp (long),
+ *                metadata length (int), value length (int), metadata, value
+ *
+ * index file:    index entry*
+ * index entry:   first position (long), last position (long), offset of the block (int)
+ * </pre>
+ *
+ * <p>The segment files are preallocated and the unused space is zero, so a block header with a
+ * data length of 0 marks the end of the written blocks. The uncompressed data of a block is a
+ * sequence of entries. The index file of a segment
+ * contains one entry per block, so a reader can seek to a position without reading the blocks
+ * before it.
+ */
+final class SegmentFormat {
+
+  static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+  static final int FILE_MAGIC = 0x5A424645;
+  static final int FILE_VERSION = 1;
+  static final int FILE_MAGIC_OFFSET = 0;
+  static final int FILE_VERSION_OFFSET = FILE_MAGIC_OFFSET + Integer.BYTES;
+  static final int FILE_HEADER_LENGTH = FILE_VERSION_OFFSET + Integer.BYTES;
+
+  static final int CODEC_NONE = 0;
+  static final int CODEC_DEFLATE = 1;
+
+  static final int BLOCK_DATA_LENGTH_OFFSET = 0;
+  static final int BLOCK_UNCOMPRESSED_LENGTH_OFFSET = BLOCK_DATA_LENGTH_OFFSET + Integer.BYTES;
+  static final int BLOCK_RECORD_COUNT_OFFSET = BLOCK_UNCOMPRESSED_LENGTH_OFFSET + Integer.BYTES;
+  static final int BLOCK_CODEC_OFFSET = BLOCK_RECORD_COUNT_OFFSET + Integer.BYTES;
+  static final int BLOCK_CHECKSUM_OFFSET = BLOCK_CODEC_OFFSET + Integer.BYTES;
+  static final int BLOCK_FIRST_POSITION_OFFSET = BLOCK_CHECKSUM_OFFSET + Integer.BYTES;
+  static final int BLOCK_LAST_POSITION_OFFSET = BLOCK_FIRST_POSITION_OFFSET + Long.BYTES;
+  static final int BLOCK_HEADER_LENGTH = BLOCK_LAST_POSITION_OFFSET + Long.BYTES;
+
+  static final int ENTRY_POSITION_OFFSET = 0;
+  static final int ENTRY_SOURCE_POSITION_OFFSET = ENTRY_POSITION_OFFSET + Long.BYTES;
+  static final int ENTRY_KEY_OFFSET = ENTRY_SOURCE_POSITION_OFFSET + Long.BYTES;
+  static final int ENTRY_TIMESTAMP_OFFSET = ENTRY_KEY_OFFSET + Long.BYTES;
+  static final int ENTRY_METADATA_LENGTH_OFFSET = ENTRY_TIMESTAMP_OFFSET + Long.BYTES;
+  static final int ENTRY_VALUE_LENGTH_OFFSET = ENTRY_METADATA_LENGTH_OFFSET + Integer.BYTES;
+  static final int ENTRY_HEADER_LENGTH = ENTRY_VALUE_LENGTH_OFFSET + Integer.BYTES;
+
+  static final int INDEX_FIRST_POSITION_OFFSET = 0;
+  static final int INDEX_LAST_POSITION_OFFSET = INDEX_FIRST_POSITION_OFFSET + Long.BYTES;
+  static final int INDEX_BLOCK_OFFSET_OFFSET = INDEX_LAST_POSITION_OFFSET + Long.BYTES;
+  static final int INDEX_ENTRY_LENGTH = INDEX_BLOCK_OFFSET_OFFSET + Integer.BYTES;
+
+  private static final String PARTITION_DIRECTORY_PREFIX = "partition-";
+  private static final String SEGMENT_FILE_FORMAT = "segment-%010d.log";
+  private static final String INDEX_FILE_FORMAT = "segment-%010d.idx";
+  private static final Pattern SEGMENT_FILE_PATTERN = Pattern.compile("segment-(\\d+)\\.log");
+
+  private SegmentFormat() {}
+
+  static Path partitionDirectory(final Path directory, final int partitionId) {
+    return directory.resolve(PARTITION_DIRECTORY_PREFIX + partitionId);
+  }
+
+  static Path segmentFile(final Path directory, final int segmentId) {
+    return directory.resolve(String.format(SEGMENT_FILE_FORMAT, segmentId));
+  }
+
+  static Path indexFile(final Path directory, final int segmentId) {
+    return directory.resolve(String.format(INDEX_FILE_FORMAT, segmentId));
+  }
+
+  /** @return the ids of the segments in the given directory, in ascending order */
+  static List<Integer> segmentIds(final Path directory) throws IOException {
+    if (!Files.isDirectory(directory)) {
+      return List.of();
+    }
+
+    try (final Stream<Path> files = Files.list(directory)) {
+      return files
+          .map(file -> SEGMENT_FILE_PATTERN.matcher(file.getFileName().toString()))
+          .filter(Matcher::matches)
+          .map(matcher -> Integer.parseInt(matcher.group(1)))
+          .sorted()
+          .collect(Collectors.toList());
+    }
+  }
+}
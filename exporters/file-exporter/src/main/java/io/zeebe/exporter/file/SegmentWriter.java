@@ -0,0 +1,371 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.exporter.file;
+
+import static io.zeebe.exporter.file.SegmentFormat.BLOCK_CHECKSUM_OFFSET;
+import static io.zeebe.exporter.file.SegmentFormat.BLOCK_CODEC_OFFSET;
+import static io.zeebe.exporter.file.SegmentFormat.BLOCK_DATA_LENGTH_OFFSET;
+import static io.zeebe.exporter.file.SegmentFormat.BLOCK_FIRST_POSITION_OFFSET;
+import static io.zeebe.exporter.file.SegmentFormat.BLOCK_HEADER_LENGTH;
+import static io.zeebe.exporter.file.SegmentFormat.BLOCK_LAST_POSITION_OFFSET;
+import static io.zeebe.exporter.file.SegmentFormat.BLOCK_RECORD_COUNT_OFFSET;
+import static io.zeebe.exporter.file.SegmentFormat.BLOCK_UNCOMPRESSED_LENGTH_OFFSET;
+import static io.zeebe.exporter.file.SegmentFormat.BYTE_ORDER;
+import static io.zeebe.exporter.file.SegmentFormat.CODEC_DEFLATE;
+import static io.zeebe.exporter.file.SegmentFormat.CODEC_NONE;
+import static io.zeebe.exporter.file.SegmentFormat.ENTRY_HEADER_LENGTH;
+import static io.zeebe.exporter.file.SegmentFormat.ENTRY_KEY_OFFSET;
+import static io.zeebe.exporter.file.SegmentFormat.ENTRY_METADATA_LENGTH_OFFSET;
+import static io.zeebe.exporter.file.SegmentFormat.ENTRY_POSITION_OFFSET;
+import static io.zeebe.exporter.file.SegmentFormat.ENTRY_SOURCE_POSITION_OFFSET;
+import static io.zeebe.exporter.file.SegmentFormat.ENTRY_TIMESTAMP_OFFSET;
+import static io.zeebe.exporter.file.SegmentFormat.ENTRY_VALUE_LENGTH_OFFSET;
+import static io.zeebe.exporter.file.SegmentFormat.FILE_HEADER_LENGTH;
+import static io.zeebe.exporter.file.SegmentFormat.FILE_MAGIC;
+import static io.zeebe.exporter.file.SegmentFormat.FILE_MAGIC_OFFSET;
+import static io.zeebe.exporter.file.SegmentFormat.FILE_VERSION;
+import static io.zeebe.exporter.file.SegmentFormat.FILE_VERSION_OFFSET;
+import static io.zeebe.exporter.file.SegmentFormat.INDEX_BLOCK_OFFSET_OFFSET;
+import static io.zeebe.exporter.file.SegmentFormat.INDEX_ENTRY_LENGTH;
+import static io.zeebe.exporter.file.SegmentFormat.INDEX_FIRST_POSITION_OFFSET;
+import static io.zeebe.exporter.file.SegmentFormat.INDEX_LAST_POSITION_OFFSET;
+
+import io.zeebe.exporter.file.FileExporterConfiguration.Compression;
+import io.zeebe.exporter.file.FileExporterConfiguration.FsyncPolicy;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.IoUtil;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Appends records to the segment files of one partition, see {@link SegmentFormat}.
+ *
+ * <p>The records are collected in a block which is compressed and appended to the current segment
+ * on {@link #flush()}. The segments are memory mapped with their full size, so appending a block
+ * is a copy into the mapping. When a block doesn't fit into the current segment, the segment is
+ * closed and a new one is created. The writer always starts with a new segment, so a segment which
+ * was written before a crash is never appended to.
+ *
+ * <p>If the number of segments is limited, the oldest segments are deleted when a new segment is
+ * created. Their records were written and acknowledged before, since only the current segment is
+ * appended to.
+ */
+final class SegmentWriter implements AutoCloseable {
+
+  private static final long NO_POSITION = -1L;
+
+  private final Path directory;
+  private final int segmentSize;
+  private final int maxSegments;
+  private final int blockSize;
+  private final Compression compression;
+  private final FsyncPolicy fsyncPolicy;
+
+  private final ExpandableArrayBuffer block = new ExpandableArrayBuffer();
+  private int blockLength;
+  private int blockRecordCount;
+  private long blockFirstPosition = NO_POSITION;
+  private long lastPosition;
+
+  private final Deflater deflater;
+  private final CRC32 checksum = new CRC32();
+  private byte[] compressed = new byte[0];
+
+  private final UnsafeBuffer segmentBuffer = new UnsafeBuffer(0, 0);
+  private final ByteBuffer indexEntry = ByteBuffer.allocate(INDEX_ENTRY_LENGTH).order(BYTE_ORDER);
+  private final Deque<Integer> segmentIds;
+  private int nextSegmentId;
+  private FileChannel segmentChannel;
+  private MappedByteBuffer segmentMapping;
+  private FileChannel indexChannel;
+  private int segmentOffset;
+
+  SegmentWriter(final Path directory, final FileExporterConfiguration configuration)
+      throws IOException {
+    this.directory = directory;
+    segmentSize = configuration.segmentSize;
+    maxSegments = configuration.maxSegments;
+    blockSize = configuration.blockSize;
+    compression = configuration.getCompression();
+    fsyncPolicy = configuration.getFsyncPolicy();
+    deflater =
+        compression == Compression.DEFLATE
+            ? new Deflater(configuration.compressionLevel, true)
+            : null;
+
+    Files.createDirectories(directory);
+
+    final List<Integer> existingSegmentIds = SegmentFormat.segmentIds(directory);
+    segmentIds = new ArrayDeque<>(existingSegmentIds);
+    nextSegmentId =
+        existingSegmentIds.isEmpty()
+            ? 0
+            : existingSegmentIds.get(existingSegmentIds.size() - 1) + 1;
+
+    lastPosition = NO_POSITION;
+    for (int i = existingSegmentIds.size() - 1; i >= 0 && lastPosition == NO_POSITION; i--) {
+      lastPosition = readLastIndexedPosition(existingSegmentIds.get(i));
+    }
+  }
+
+  /**
+   * Adds the record to the current block. Records which are exported again after a restart are
+   * skipped, if their position was already written.
+   *
+   * @return {@code true} if the record was added, {@code false} if it was already written
+   */
+  boolean append(
+      final long position,
+      final long sourceRecordPosition,
+      final long key,
+      final long timestamp,
+      final DirectBuffer metadata,
+      final DirectBuffer value) {
+    if (position <= lastPosition) {
+      return false;
+    }
+
+    final int metadataLength = metadata.capacity();
+    final int valueLength = value.capacity();
+    final int offset = blockLength;
+
+    block.putLong(offset + ENTRY_POSITION_OFFSET, position, BYTE_ORDER);
+    block.putLong(offset + ENTRY_SOURCE_POSITION_OFFSET, sourceRecordPosition, BYTE_ORDER);
+    block.putLong(offset + ENTRY_KEY_OFFSET, key, BYTE_ORDER);
+    block.putLong(offset + ENTRY_TIMESTAMP_OFFSET, timestamp, BYTE_ORDER);
+    block.putInt(offset + ENTRY_METADATA_LENGTH_OFFSET, metadataLength, BYTE_ORDER);
+    block.putInt(offset + ENTRY_VALUE_LENGTH_OFFSET, valueLength, BYTE_ORDER);
+    block.putBytes(offset + ENTRY_HEADER_LENGTH, metadata, 0, metadataLength);
+    block.putBytes(offset + ENTRY_HEADER_LENGTH + metadataLength, value, 0, valueLength);
+
+    blockLength += ENTRY_HEADER_LENGTH + metadataLength + valueLength;
+    blockRecordCount += 1;
+    if (blockFirstPosition == NO_POSITION) {
+      blockFirstPosition = position;
+    }
+    lastPosition = position;
+
+    return true;
+  }
+
+  boolean isBlockFull() {
+    return blockLength >= blockSize;
+  }
+
+  boolean isBlockEmpty() {
+    return blockRecordCount == 0;
+  }
+
+  /**
+   * Compresses the current block and appends it to the current segment.
+   *
+   * @return the position of the last record of the block, or {@code -1} if the block was empty
+   */
+  long flush() throws IOException {
+    if (isBlockEmpty()) {
+      return NO_POSITION;
+    }
+
+    int codec = CODEC_NONE;
+    byte[] data = block.byteArray();
+    int dataLength = blockLength;
+
+    if (deflater != null) {
+      final int compressedLength = deflate();
+      // blocks which don't compress are written as they are
+      if (compressedLength < blockLength) {
+        codec = CODEC_DEFLATE;
+        data = compressed;
+        dataLength = compressedLength;
+      }
+    }
+
+    checksum.reset();
+    checksum.update(data, 0, dataLength);
+
+    final int length = BLOCK_HEADER_LENGTH + dataLength;
+    if (segmentChannel == null || segmentOffset + length > segmentBuffer.capacity()) {
+      closeSegment();
+      openSegment(length);
+      deleteOldestSegments();
+    }
+
+    final int blockOffset = segmentOffset;
+    segmentBuffer.putBytes(blockOffset + BLOCK_HEADER_LENGTH, data, 0, dataLength);
+    segmentBuffer.putInt(
+        blockOffset + BLOCK_UNCOMPRESSED_LENGTH_OFFSET, blockLength, BYTE_ORDER);
+    segmentBuffer.putInt(blockOffset + BLOCK_RECORD_COUNT_OFFSET, blockRecordCount, BYTE_ORDER);
+    segmentBuffer.putInt(blockOffset + BLOCK_CODEC_OFFSET, codec, BYTE_ORDER);
+    segmentBuffer.putInt(
+        blockOffset + BLOCK_CHECKSUM_OFFSET, (int) checksum.getValue(), BYTE_ORDER);
+    segmentBuffer.putLong(
+        blockOffset + BLOCK_FIRST_POSITION_OFFSET, blockFirstPosition, BYTE_ORDER);
+    segmentBuffer.putLong(blockOffset + BLOCK_LAST_POSITION_OFFSET, lastPosition, BYTE_ORDER);
+    // the data length is written last, since a length of 0 marks the end of the written blocks
+    // for a concurrent reader
+    segmentBuffer.putIntOrdered(blockOffset + BLOCK_DATA_LENGTH_OFFSET, toByteOrder(dataLength));
+    segmentOffset += length;
+
+    indexEntry.clear();
+    indexEntry.putLong(INDEX_FIRST_POSITION_OFFSET, blockFirstPosition);
+    indexEntry.putLong(INDEX_LAST_POSITION_OFFSET, lastPosition);
+    indexEntry.putInt(INDEX_BLOCK_OFFSET_OFFSET, blockOffset);
+    while (indexEntry.hasRemaining()) {
+      indexChannel.write(indexEntry);
+    }
+
+    if (fsyncPolicy == FsyncPolicy.BLOCK) {
+      segmentMapping.force();
+      indexChannel.force(false);
+    }
+
+    blockLength = 0;
+    blockRecordCount = 0;
+    blockFirstPosition = NO_POSITION;
+
+    return lastPosition;
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      closeSegment();
+    } finally {
+      if (deflater != null) {
+        deflater.end();
+      }
+    }
+  }
+
+  private int deflate() {
+    if (compressed.length < blockLength) {
+      compressed = new byte[blockLength];
+    }
+
+    deflater.reset();
+    deflater.setInput(block.byteArray(), 0, blockLength);
+    deflater.finish();
+
+    int length = 0;
+    while (!deflater.finished()) {
+      if (length == compressed.length) {
+        // the block doesn't compress, so it is written as it is
+        return Integer.MAX_VALUE;
+      }
+      length += deflater.deflate(compressed, length, compressed.length - length);
+    }
+
+    return length;
+  }
+
+  private void openSegment(final int blockLength) throws IOException {
+    final int segmentId = nextSegmentId++;
+    final int size = Math.max(segmentSize, FILE_HEADER_LENGTH + blockLength);
+
+    segmentChannel =
+        FileChannel.open(
+            SegmentFormat.segmentFile(directory, segmentId),
+            StandardOpenOption.CREATE_NEW,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+    segmentMapping = segmentChannel.map(MapMode.READ_WRITE, 0, size);
+    segmentBuffer.wrap(segmentMapping);
+
+    segmentBuffer.putInt(FILE_MAGIC_OFFSET, FILE_MAGIC, BYTE_ORDER);
+    segmentBuffer.putInt(FILE_VERSION_OFFSET, FILE_VERSION, BYTE_ORDER);
+    segmentOffset = FILE_HEADER_LENGTH;
+
+    indexChannel =
+        FileChannel.open(
+            SegmentFormat.indexFile(directory, segmentId),
+            StandardOpenOption.CREATE_NEW,
+            StandardOpenOption.WRITE);
+
+    segmentIds.addLast(segmentId);
+  }
+
+  private void deleteOldestSegments() throws IOException {
+    if (maxSegments <= 0) {
+      return;
+    }
+
+    while (segmentIds.size() > maxSegments) {
+      final int segmentId = segmentIds.removeFirst();
+      // the segment is deleted first, so that a reader never finds a segment without its index
+      Files.deleteIfExists(SegmentFormat.segmentFile(directory, segmentId));
+      Files.deleteIfExists(SegmentFormat.indexFile(directory, segmentId));
+    }
+  }
+
+  private void closeSegment() throws IOException {
+    if (segmentChannel == null) {
+      return;
+    }
+
+    // the unused space of the segment is kept, since a reader may still have it mapped
+    try (segmentChannel;
+        indexChannel) {
+      if (fsyncPolicy != FsyncPolicy.NONE) {
+        segmentMapping.force();
+        indexChannel.force(false);
+      }
+    } finally {
+      IoUtil.unmap(segmentMapping);
+      segmentBuffer.wrap(0, 0);
+      segmentMapping = null;
+      segmentChannel = null;
+      indexChannel = null;
+    }
+  }
+
+  private long readLastIndexedPosition(final int segmentId) throws IOException {
+    final Path indexFile = SegmentFormat.indexFile(directory, segmentId);
+    if (!Files.exists(indexFile)) {
+      return NO_POSITION;
+    }
+
+    try (final FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+      final long entries = channel.size() / INDEX_ENTRY_LENGTH;
+      if (entries == 0) {
+        return NO_POSITION;
+      }
+
+      // the index is written after the block, so the last block may not be indexed; its records
+      // are written again and skipped by the reader
+      final ByteBuffer buffer = ByteBuffer.allocate(INDEX_ENTRY_LENGTH).order(BYTE_ORDER);
+      long offset = (entries - 1) * INDEX_ENTRY_LENGTH;
+      while (buffer.hasRemaining()) {
+        final int read = channel.read(buffer, offset);
+        if (read < 0) {
+          return NO_POSITION;
+        }
+        offset += read;
+      }
+
+      return buffer.getLong(INDEX_LAST_POSITION_OFFSET);
+    }
+  }
+
+  private static int toByteOrder(final int value) {
+    return BYTE_ORDER == ByteOrder.nativeOrder() ? value : Integer.reverseBytes(value);
+  }
+}
@@ -0,0 +1,296 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.exporter.file;
+
+import static io.zeebe.exporter.file.FileRecordReaderTest.metadata;
+import static io.zeebe.exporter.file.FileRecordReaderTest.value;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.zeebe.exporter.api.ExporterException;
+import io.zeebe.exporter.api.RawRecord;
+import io.zeebe.protocol.impl.record.CopiedRecord;
+import io.zeebe.protocol.impl.record.RecordMetadata;
+import io.zeebe.protocol.impl.record.value.job.JobRecord;
+import io.zeebe.protocol.record.Record;
+import io.zeebe.protocol.record.RecordType;
+import io.zeebe.protocol.record.RejectionType;
+import io.zeebe.protocol.record.ValueType;
+import io.zeebe.protocol.record.intent.JobIntent;
+import io.zeebe.test.exporter.ExporterTestHarness;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public final class FileExporterTest {
+
+  private static final int PARTITION_ID = 1;
+
+  @Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final FileExporterConfiguration configuration = new FileExporterConfiguration();
+  private ExporterTestHarness testHarness;
+  private FileExporter exporter;
+
+  @Before
+  public void setUp() {
+    configuration.directory = temporaryFolder.getRoot().getAbsolutePath();
+    configuration.segmentSize = 4 * 1024;
+    configuration.blockSize = 512;
+  }
+
+  @Test
+  public void shouldWriteBlockWhenFull() throws Exception {
+    // given
+    openExporter();
+
+    // when
+    export(1, 100);
+
+    // then
+    final long acknowledgedPosition = testHarness.getLastUpdatedPosition();
+    assertThat(acknowledgedPosition).isGreaterThan(1);
+    assertThat(readPositions())
+        .hasSize((int) acknowledgedPosition)
+        .startsWith(1L)
+        .endsWith(acknowledgedPosition);
+  }
+
+  @Test
+  public void shouldWriteBlockAfterFlushDelay() throws Exception {
+    // given
+    openExporter();
+    export(1, 3);
+
+    // when
+    testHarness.runScheduledTasks(Duration.ofMillis(configuration.flushDelay));
+
+    // then
+    assertThat(testHarness.getLastUpdatedPosition()).isEqualTo(3);
+    assertThat(readPositions()).containsExactly(1L, 2L, 3L);
+  }
+
+  @Test
+  public void shouldWriteBlockOnClose() throws Exception {
+    // given
+    openExporter();
+    export(1, 3);
+
+    // when
+    testHarness.close();
+
+    // then
+    assertThat(testHarness.getLastUpdatedPosition()).isEqualTo(3);
+    assertThat(readPositions()).containsExactly(1L, 2L, 3L);
+  }
+
+  @Test
+  public void shouldNotWriteRecordsTwiceAfterRestart() throws Exception {
+    // given
+    openExporter();
+    export(1, 5);
+    testHarness.close();
+
+    // when
+    openExporter();
+    export(3, 8);
+    testHarness.close();
+
+    // then
+    assertThat(readPositions()).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L);
+  }
+
+  @Test
+  public void shouldExportRecordsWhichAreNotRaw() throws Exception {
+    // given
+    final JobRecord value = new JobRecord().setType("test").setRetries(3);
+    final Record<?> record = mock(Record.class);
+    when(record.getPartitionId()).thenReturn(PARTITION_ID);
+    when(record.getPosition()).thenReturn(1L);
+    when(record.getRecordType()).thenReturn(RecordType.EVENT);
+    when(record.getValueType()).thenReturn(ValueType.JOB);
+    when(record.getIntent()).thenReturn(JobIntent.CREATED);
+    when(record.getRejectionType()).thenReturn(RejectionType.NULL_VAL);
+    when(record.getRejectionReason()).thenReturn("");
+    when(record.getValue()).thenAnswer(i -> value);
+    openExporter();
+
+    // when
+    exporter.export(record);
+    testHarness.close();
+
+    // then
+    final ExpandableArrayBuffer expectedValue = new ExpandableArrayBuffer();
+    value.write(expectedValue, 0);
+
+    final List<Long> positions = new ArrayList<>();
+    try (final FileRecordReader reader = FileRecordReader.open(partitionDirectory())) {
+      reader.forEachRemaining(
+          r -> {
+            assertThat(r.getRecordType()).isEqualTo(RecordType.EVENT);
+            assertThat(r.getValueType()).isEqualTo(ValueType.JOB);
+            assertThat(r.getIntent()).isEqualTo(JobIntent.CREATED);
+            assertThat(r.getValueBuffer())
+                .isEqualTo(new UnsafeBuffer(expectedValue, 0, value.getLength()));
+            positions.add(r.getPosition());
+          });
+    }
+    assertThat(positions).containsExactly(1L);
+  }
+
+  @Test
+  public void shouldExportAllMetadataOfCopiedRecords() throws Exception {
+    // given
+    final RecordMetadata metadata =
+        new RecordMetadata()
+            .recordType(RecordType.COMMAND)
+            .requestId(12L)
+            .requestStreamId(3)
+            .protocolVersion(2)
+            .valueType(ValueType.JOB)
+            .intent(JobIntent.COMPLETE);
+    final JobRecord value = new JobRecord().setType("test").setRetries(3);
+    final Record<?> record = new CopiedRecord<>(value, metadata, 1L, PARTITION_ID, 1L, -1L, 0L);
+    openExporter();
+
+    // when
+    exporter.export(record);
+    testHarness.close();
+
+    // then
+    final RecordMetadata exportedMetadata = new RecordMetadata();
+    try (final FileRecordReader reader = FileRecordReader.open(partitionDirectory())) {
+      final DirectBuffer metadataBuffer = reader.next().getMetadataBuffer();
+      exportedMetadata.wrap(metadataBuffer, 0, metadataBuffer.capacity());
+    }
+    assertThat(exportedMetadata.getRecordType()).isEqualTo(RecordType.COMMAND);
+    assertThat(exportedMetadata.getRequestId()).isEqualTo(12L);
+    assertThat(exportedMetadata.getRequestStreamId()).isEqualTo(3);
+    assertThat(exportedMetadata.getProtocolVersion()).isEqualTo(2);
+    assertThat(exportedMetadata.getValueType()).isEqualTo(ValueType.JOB);
+    assertThat(exportedMetadata.getIntent()).isEqualTo(JobIntent.COMPLETE);
+  }
+
+  @Test
+  public void shouldRejectRecordsWithValueWhichIsNotEncodable() throws Exception {
+    // given
+    openExporter();
+
+    // when - then
+    assertThatThrownBy(() -> exporter.export(mock(Record.class)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void shouldDeleteOldestSegments() throws Exception {
+    // given
+    configuration.compression = "none";
+    configuration.maxSegments = 2;
+    openExporter();
+
+    // when
+    export(1, 300);
+    testHarness.close();
+
+    // then
+    assertThat(SegmentFormat.segmentIds(partitionDirectory())).hasSize(2);
+    assertThat(readPositions())
+        .isNotEmpty()
+        .doesNotContain(1L)
+        .endsWith(testHarness.getLastUpdatedPosition());
+  }
+
+  @Test
+  public void shouldKeepAllSegmentsByDefault() throws Exception {
+    // given
+    configuration.compression = "none";
+    openExporter();
+
+    // when
+    export(1, 300);
+    testHarness.close();
+
+    // then
+    assertThat(SegmentFormat.segmentIds(partitionDirectory()).size()).isGreaterThan(2);
+    assertThat(readPositions()).hasSize(300).startsWith(1L);
+  }
+
+  @Test
+  public void shouldRejectUnknownCompression() {
+    // given
+    configuration.compression = "lz4";
+
+    // when - then
+    assertThatThrownBy(this::openExporter).isInstanceOf(ExporterException.class);
+  }
+
+  @Test
+  public void shouldRejectBlockSizeGreaterThanSegmentSize() {
+    // given
+    configuration.blockSize = configuration.segmentSize + 1;
+
+    // when - then
+    assertThatThrownBy(this::openExporter).isInstanceOf(ExporterException.class);
+  }
+
+  @Test
+  public void shouldRejectNegativeMaxSegments() {
+    // given
+    configuration.maxSegments = -1;
+
+    // when - then
+    assertThatThrownBy(this::openExporter).isInstanceOf(ExporterException.class);
+  }
+
+  private void openExporter() throws Exception {
+    exporter = new FileExporter();
+    testHarness = new ExporterTestHarness(exporter);
+    testHarness.configure("file", configuration);
+    testHarness.open();
+  }
+
+  private void export(final long from, final long to) {
+    for (long position = from; position <= to; position++) {
+      exporter.export(newRecord(position));
+    }
+  }
+
+  private Path partitionDirectory() {
+    return SegmentFormat.partitionDirectory(temporaryFolder.getRoot().toPath(), PARTITION_ID);
+  }
+
+  private List<Long> readPositions() {
+    final List<Long> positions = new ArrayList<>();
+    try (final FileRecordReader reader = FileRecordReader.open(partitionDirectory())) {
+      reader.forEachRemaining(record -> positions.add(record.getPosition()));
+    }
+    return positions;
+  }
+
+  private static RawRecord<?> newRecord(final long position) {
+    final RawRecord<?> record = mock(RawRecord.class);
+    when(record.getPartitionId()).thenReturn(PARTITION_ID);
+    when(record.getPosition()).thenReturn(position);
+    when(record.getSourceRecordPosition()).thenReturn(position - 1);
+    when(record.getKey()).thenReturn(position);
+    when(record.getTimestamp()).thenReturn(position);
+    when(record.getMetadataBuffer()).thenReturn(metadata(JobIntent.CREATED));
+    when(record.getValueBuffer()).thenReturn(value(position));
+    return record;
+  }
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.exporter.file;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.exporter.file.FileExporterConfiguration.Compression;
+import io.zeebe.protocol.record.MessageHeaderEncoder;
+import io.zeebe.protocol.record.RecordMetadataEncoder;
+import io.zeebe.protocol.record.RecordType;
+import io.zeebe.protocol.record.ValueType;
+import io.zeebe.protocol.record.intent.JobIntent;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public final class FileRecordReaderTest {
+
+  @Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final FileExporterConfiguration configuration = new FileExporterConfiguration();
+  private Path directory;
+
+  @Before
+  public void setUp() throws IOException {
+    directory = temporaryFolder.newFolder("partition-1").toPath();
+    configuration.segmentSize = 4 * 1024;
+    configuration.blockSize = 512;
+  }
+
+  @Test
+  public void shouldReadCompressedRecords() throws IOException {
+    // given
+    configuration.compression = Compression.DEFLATE.name();
+    write(1, 100);
+
+    // when
+    final List<Long> positions = readPositions(-1);
+
+    // then
+    assertThat(positions).containsExactlyElementsOf(positions(1, 100));
+  }
+
+  @Test
+  public void shouldReadUncompressedRecords() throws IOException {
+    // given
+    configuration.compression = Compression.NONE.name();
+    write(1, 100);
+
+    // when
+    final List<Long> positions = readPositions(-1);
+
+    // then
+    assertThat(positions).containsExactlyElementsOf(positions(1, 100));
+  }
+
+  @Test
+  public void shouldReadRecordFields() throws IOException {
+    // given
+    try (final SegmentWriter writer = new SegmentWriter(directory, configuration)) {
+      writer.append(5, 3, 7, 11, metadata(JobIntent.CREATED), value(5));
+      writer.flush();
+    }
+
+    // when
+    try (final FileRecordReader reader = FileRecordReader.open(directory)) {
+      final FileRecord record = reader.next();
+
+      // then
+      assertThat(record.getPosition()).isEqualTo(5);
+      assertThat(record.getSourceRecordPosition()).isEqualTo(3);
+      assertThat(record.getKey()).isEqualTo(7);
+      assertThat(record.getTimestamp()).isEqualTo(11);
+      assertThat(record.getRecordType()).isEqualTo(RecordType.EVENT);
+      assertThat(record.getValueType()).isEqualTo(ValueType.JOB);
+      assertThat(record.getIntent()).isEqualTo(JobIntent.CREATED);
+      assertThat(record.getValueBuffer()).isEqualTo(value(5));
+      assertThat(reader.hasNext()).isFalse();
+    }
+  }
+
+  @Test
+  public void shouldRollOverSegments() throws IOException {
+    // given
+    configuration.compression = Compression.NONE.name();
+
+    // when
+    write(1, 200);
+
+    // then
+    assertThat(SegmentFormat.segmentIds(directory)).hasSizeGreaterThan(1);
+    assertThat(readPositions(-1)).containsExactlyElementsOf(positions(1, 200));
+  }
+
+  @Test
+  public void shouldSeekToPosition() throws IOException {
+    // given
+    configuration.compression = Compression.NONE.name();
+    write(1, 200);
+
+    // when
+    final List<Long> positions = readPositions(150);
+
+    // then
+    assertThat(positions).containsExactlyElementsOf(positions(150, 200));
+  }
+
+  @Test
+  public void shouldSeekToPositionAfterLastRecord() throws IOException {
+    // given
+    write(1, 100);
+
+    // when
+    final List<Long> positions = readPositions(101);
+
+    // then
+    assertThat(positions).isEmpty();
+  }
+
+  @Test
+  public void shouldSkipRecordsWhichWereWrittenAgain() throws IOException {
+    // given
+    write(1, 50);
+    // the indexes are lost, so the writer doesn't know the written positions
+    for (final int segmentId : SegmentFormat.segmentIds(directory)) {
+      final Path indexFile = SegmentFormat.indexFile(directory, segmentId);
+      try (final RandomAccessFile file = new RandomAccessFile(indexFile.toFile(), "rw")) {
+        file.setLength(0);
+      }
+    }
+
+    // when
+    write(1, 100);
+
+    // then
+    assertThat(readPositions(-1)).containsExactlyElementsOf(positions(1, 100));
+  }
+
+  @Test
+  public void shouldReadRecordsWhichWereWrittenAfterEnd() throws IOException {
+    try (final SegmentWriter writer = new SegmentWriter(directory, configuration);
+        final FileRecordReader reader = FileRecordReader.open(directory)) {
+      // given
+      append(writer, 1, 10);
+      writer.flush();
+      assertThat(read(reader)).containsExactlyElementsOf(positions(1, 10));
+
+      // when
+      append(writer, 11, 200);
+      writer.flush();
+
+      // then
+      assertThat(read(reader)).containsExactlyElementsOf(positions(11, 200));
+    }
+  }
+
+  @Test
+  public void shouldEndSegmentOnCorruptedBlock() throws IOException {
+    // given
+    configuration.compression = Compression.NONE.name();
+    try (final SegmentWriter writer = new SegmentWriter(directory, configuration)) {
+      append(writer, 1, 2);
+      writer.flush();
+      append(writer, 3, 4);
+      writer.flush();
+    }
+
+    // when - corrupt the data of the last block
+    final Path segmentFile = SegmentFormat.segmentFile(directory, 0);
+    try (final RandomAccessFile file = new RandomAccessFile(segmentFile.toFile(), "rw")) {
+      final long lastBlockDataOffset =
+          SegmentFormat.FILE_HEADER_LENGTH
+              + 2L * SegmentFormat.BLOCK_HEADER_LENGTH
+              + blockLength(2);
+      file.seek(lastBlockDataOffset);
+      file.writeLong(Long.MAX_VALUE);
+    }
+
+    // then
+    assertThat(readPositions(-1)).containsExactly(1L, 2L);
+  }
+
+  private void write(final long from, final long to) throws IOException {
+    try (final SegmentWriter writer = new SegmentWriter(directory, configuration)) {
+      for (long position = from; position <= to; position++) {
+        append(writer, position, position);
+        if (writer.isBlockFull()) {
+          writer.flush();
+        }
+      }
+      writer.flush();
+    }
+  }
+
+  private void append(final SegmentWriter writer, final long from, final long to) {
+    final DirectBuffer metadata = metadata(JobIntent.CREATED);
+    for (long position = from; position <= to; position++) {
+      writer.append(position, position - 1, position, position, metadata, value(position));
+    }
+  }
+
+  private List<Long> readPositions(final long seekPosition) {
+    try (final FileRecordReader reader = FileRecordReader.open(directory)) {
+      reader.seek(seekPosition);
+      return read(reader);
+    }
+  }
+
+  private List<Long> read(final FileRecordReader reader) {
+    final List<Long> positions = new ArrayList<>();
+    while (reader.hasNext()) {
+      final FileRecord record = reader.next();
+      assertThat(record.getValueBuffer()).isEqualTo(value(record.getPosition()));
+      positions.add(record.getPosition());
+    }
+    return positions;
+  }
+
+  private static List<Long> positions(final long from, final long to) {
+    final List<Long> positions = new ArrayList<>();
+    for (long position = from; position <= to; position++) {
+      positions.add(position);
+    }
+    return positions;
+  }
+
+  private static int blockLength(final int records) {
+    final int entryLength =
+        SegmentFormat.ENTRY_HEADER_LENGTH
+            + metadata(JobIntent.CREATED).capacity()
+            + value(0).capacity();
+    return records * entryLength;
+  }
+
+  static DirectBuffer metadata(final JobIntent intent) {
+    final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer();
+    final RecordMetadataEncoder encoder =
+        new RecordMetadataEncoder()
+            .wrapAndApplyHeader(buffer, 0, new MessageHeaderEncoder())
+            .recordType(RecordType.EVENT)
+            .valueType(ValueType.JOB)
+            .intent(intent.value());
+    encoder.putRejectionReason(new byte[0], 0, 0);
+
+    return new UnsafeBuffer(
+        buffer, 0, MessageHeaderEncoder.ENCODED_LENGTH + encoder.encodedLength());
+  }
+
+  static DirectBuffer value(final long position) {
+    final byte[] value = new byte[32];
+    Arrays.fill(value, (byte) position);
+    return new UnsafeBuffer(value);
+  }
+}
@@ -12,14 +12,19 @@ import io.grpc.StatusRuntimeException;
 import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 import io.zeebe.gateway.ResponseMapper.BrokerResponseMapper;
+import io.zeebe.gateway.ResponseMapper.PartitionRequestResult;
 import io.zeebe.gateway.cmd.BrokerErrorException;
 import io.zeebe.gateway.cmd.BrokerRejectionException;
 import io.zeebe.gateway.cmd.InvalidBrokerRequestArgumentException;
+import io.zeebe.gateway.cmd.NoTopologyAvailableException;
 import io.zeebe.gateway.cmd.PartitionNotFoundException;
 import io.zeebe.gateway.impl.broker.BrokerClient;
 import io.zeebe.gateway.impl.broker.RequestRetryHandler;
 import io.zeebe.gateway.impl.broker.cluster.BrokerClusterState;
 import io.zeebe.gateway.impl.broker.cluster.BrokerTopologyManager;
+import io.zeebe.gateway.impl.broker.request.BrokerCompleteJobsRequest;
+import io.zeebe.gateway.impl.broker.request.BrokerCreateWorkflowInstancesRequest;
+import io.zeebe.gateway.impl.broker.request.BrokerPublishMessagesRequest;
 import io.zeebe.gateway.impl.broker.request.BrokerRequest;
 import io.zeebe.gateway.impl.broker.response.BrokerError;
 import io.zeebe.gateway.impl.broker.response.BrokerRejection;
@@ -33,10 +38,14 @@ import io.zeebe.gateway.protocol.GatewayOuterClass.CancelWorkflowInstanceRequest
 import io.zeebe.gateway.protocol.GatewayOuterClass.CancelWorkflowInstanceResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobResponse;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobsRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobsResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.CreateWorkflowInstanceRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.CreateWorkflowInstanceResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.CreateWorkflowInstanceWithResultRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.CreateWorkflowInstanceWithResultResponse;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CreateWorkflowInstancesRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CreateWorkflowInstancesResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.DeployWorkflowRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.DeployWorkflowResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.FailJobRequest;
@@ -45,6 +54,8 @@ import io.zeebe.gateway.protocol.GatewayOuterClass.Partition;
 import io.zeebe.gateway.protocol.GatewayOuterClass.Partition.PartitionBrokerRole;
 import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessageRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessageResponse;
+import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessagesRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessagesResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.ResolveIncidentRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.ResolveIncidentResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.SetVariablesRequest;
@@ -59,9 +70,14 @@ import io.zeebe.msgpack.MsgpackPropertyException;
 import io.zeebe.util.VersionUtil;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 public final class EndpointManager extends GatewayGrpc.GatewayImplBase {
@@ -70,6 +86,8 @@ public final class EndpointManager extends GatewayGrpc.GatewayImplBase {
   private final BrokerTopologyManager topologyManager;
   private final ActivateJobsHandler activateJobsHandler;
   private final RequestRetryHandler requestRetryHandler;
+  // rotates the partition of the first workflow instance of a CreateWorkflowInstances request
+  private final AtomicInteger createWorkflowInstancesOffset = new AtomicInteger();
 
   public EndpointManager(
       final BrokerClient brokerClient, final ActivateJobsHandler activateJobsHandler) {
@@ -144,6 +162,50 @@ public final class EndpointManager extends GatewayGrpc.GatewayImplBase {
         responseObserver);
   }
 
+  @Override
+  public void completeJobs(
+      final CompleteJobsRequest request,
+      final StreamObserver<CompleteJobsResponse> responseObserver) {
+    final Map<Integer, List<BrokerCompleteJobsRequest>> brokerRequests;
+    try {
+      brokerRequests = RequestMapper.toCompleteJobsRequests(request);
+    } catch (final Exception e) {
+      responseObserver.onError(convertThrowable(e));
+      return;
+    }
+
+    sendPartitionRequests(
+        request,
+        brokerRequests,
+        responses -> ResponseMapper.toCompleteJobsResponse(request, responses),
+        responseObserver);
+  }
+
+  @Override
+  public void createWorkflowInstances(
+      final CreateWorkflowInstancesRequest request,
+      final StreamObserver<CreateWorkflowInstancesResponse> responseObserver) {
+    final int offset = createWorkflowInstancesOffset.getAndIncrement();
+    final int partitionsCount;
+    final Map<Integer, List<BrokerCreateWorkflowInstancesRequest>> brokerRequests;
+    try {
+      partitionsCount = getPartitionsCount();
+      brokerRequests =
+          RequestMapper.toCreateWorkflowInstancesRequests(request, offset, partitionsCount);
+    } catch (final Exception e) {
+      responseObserver.onError(convertThrowable(e));
+      return;
+    }
+
+    sendPartitionRequests(
+        request,
+        brokerRequests,
+        responses ->
+            ResponseMapper.toCreateWorkflowInstancesResponse(
+                request, offset, partitionsCount, responses),
+        responseObserver);
+  }
+
   @Override
   public void createWorkflowInstance(
       final CreateWorkflowInstanceRequest request,
@@ -219,6 +281,27 @@ public final class EndpointManager extends GatewayGrpc.GatewayImplBase {
         responseObserver);
   }
 
+  @Override
+  public void publishMessages(
+      final PublishMessagesRequest request,
+      final StreamObserver<PublishMessagesResponse> responseObserver) {
+    final int partitionsCount;
+    final Map<Integer, List<BrokerPublishMessagesRequest>> brokerRequests;
+    try {
+      partitionsCount = getPartitionsCount();
+      brokerRequests = RequestMapper.toPublishMessagesRequests(request, partitionsCount);
+    } catch (final Exception e) {
+      responseObserver.onError(convertThrowable(e));
+      return;
+    }
+
+    sendPartitionRequests(
+        request,
+        brokerRequests,
+        responses -> ResponseMapper.toPublishMessagesResponse(request, partitionsCount, responses),
+        responseObserver);
+  }
+
   @Override
   public void resolveIncident(
       final ResolveIncidentRequest request,
@@ -352,6 +435,80 @@ public final class EndpointManager extends GatewayGrpc.GatewayImplBase {
         timeout);
   }
 
+  /**
+   * Sends a request to each of the given partitions and responds once all partitions responded. If
+   * one of the requests fails, then only the results of its commands contain the failure, since the
+   * other partitions may have processed their requests already.
+   */
+  private <GrpcRequestT, BrokerResponseT, GrpcResponseT> void sendPartitionRequests(
+      final GrpcRequestT grpcRequest,
+      final Map<Integer, ? extends List<? extends BrokerRequest<BrokerResponseT>>> brokerRequests,
+      final Function<Map<Integer, List<PartitionRequestResult<BrokerResponseT>>>, GrpcResponseT>
+          responseMapper,
+      final StreamObserver<GrpcResponseT> streamObserver) {
+    suppressCancelledException(grpcRequest, streamObserver);
+
+    final Map<Integer, List<CompletableFuture<PartitionRequestResult<BrokerResponseT>>>>
+        resultFutures = new HashMap<>();
+    final List<CompletableFuture<PartitionRequestResult<BrokerResponseT>>> allFutures =
+        new ArrayList<>();
+    brokerRequests.forEach(
+        (partitionId, partitionRequests) -> {
+          final List<CompletableFuture<PartitionRequestResult<BrokerResponseT>>> partitionFutures =
+              new ArrayList<>(partitionRequests.size());
+          for (final BrokerRequest<BrokerResponseT> brokerRequest : partitionRequests) {
+            partitionFutures.add(
+                brokerClient
+                    .sendRequestWithRetry(brokerRequest)
+                    .handle(
+                        (response, error) ->
+                            error == null
+                                ? PartitionRequestResult.ofResponse(
+                                    brokerRequest, response.getResponse())
+                                : PartitionRequestResult.ofFailure(
+                                    brokerRequest, convertThrowable(error).getStatus())));
+          }
+          resultFutures.put(partitionId, partitionFutures);
+          allFutures.addAll(partitionFutures);
+        });
+
+    CompletableFuture.allOf(allFutures.toArray(CompletableFuture[]::new))
+        .whenComplete(
+            (nothing, error) -> {
+              if (error != null) {
+                streamObserver.onError(convertThrowable(error));
+                return;
+              }
+
+              // the results of a partition are in the order of its requests
+              final Map<Integer, List<PartitionRequestResult<BrokerResponseT>>> brokerResponses =
+                  new HashMap<>();
+              resultFutures.forEach(
+                  (partitionId, futures) -> {
+                    final List<PartitionRequestResult<BrokerResponseT>> results =
+                        new ArrayList<>(futures.size());
+                    futures.forEach(future -> results.add(future.join()));
+                    brokerResponses.put(partitionId, results);
+                  });
+
+              consumeResponse(
+                  (key, responses) -> responseMapper.apply(responses),
+                  streamObserver,
+                  -1,
+                  brokerResponses);
+            });
+  }
+
+  private int getPartitionsCount() {
+    final BrokerClusterState topology = topologyManager.getTopology();
+    if (topology == null) {
+      throw new NoTopologyAvailableException(
+          "Expected to distribute the commands over the partitions, but no topology is available");
+    }
+
+    return topology.getPartitionsCount();
+  }
+
   private <GrpcRequestT, GrpcResponseT> void suppressCancelledException(
       final GrpcRequestT grpcRequest, final StreamObserver<GrpcResponseT> streamObserver) {
     final ServerCallStreamObserver<GrpcResponseT> serverObserver =
@@ -385,7 +542,7 @@ public final class EndpointManager extends GatewayGrpc.GatewayImplBase {
   public static StatusRuntimeException convertThrowable(final Throwable cause) {
     Status status = Status.INTERNAL;
 
-    if (cause instanceof ExecutionException) {
+    if (cause instanceof ExecutionException || cause instanceof CompletionException) {
       return convertThrowable(cause.getCause());
     } else if (cause instanceof BrokerErrorException) {
       status = mapBrokerErrorToStatus(((BrokerErrorException) cause).getError());
@@ -10,11 +10,14 @@ package io.zeebe.gateway;
 import io.zeebe.gateway.impl.broker.request.BrokerActivateJobsRequest;
 import io.zeebe.gateway.impl.broker.request.BrokerCancelWorkflowInstanceRequest;
 import io.zeebe.gateway.impl.broker.request.BrokerCompleteJobRequest;
+import io.zeebe.gateway.impl.broker.request.BrokerCompleteJobsRequest;
 import io.zeebe.gateway.impl.broker.request.BrokerCreateWorkflowInstanceRequest;
 import io.zeebe.gateway.impl.broker.request.BrokerCreateWorkflowInstanceWithResultRequest;
+import io.zeebe.gateway.impl.broker.request.BrokerCreateWorkflowInstancesRequest;
 import io.zeebe.gateway.impl.broker.request.BrokerDeployWorkflowRequest;
 import io.zeebe.gateway.impl.broker.request.BrokerFailJobRequest;
 import io.zeebe.gateway.impl.broker.request.BrokerPublishMessageRequest;
+import io.zeebe.gateway.impl.broker.request.BrokerPublishMessagesRequest;
 import io.zeebe.gateway.impl.broker.request.BrokerResolveIncidentRequest;
 import io.zeebe.gateway.impl.broker.request.BrokerSetVariablesRequest;
 import io.zeebe.gateway.impl.broker.request.BrokerThrowErrorRequest;
@@ -22,23 +25,44 @@ import io.zeebe.gateway.impl.broker.request.BrokerUpdateJobRetriesRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.ActivateJobsRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.CancelWorkflowInstanceRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobsRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.CreateWorkflowInstanceRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.CreateWorkflowInstanceWithResultRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CreateWorkflowInstancesRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.DeployWorkflowRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.FailJobRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessageRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessagesRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.ResolveIncidentRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.SetVariablesRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.ThrowErrorRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.UpdateJobRetriesRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.WorkflowRequestObject;
 import io.zeebe.msgpack.value.DocumentValue;
-import io.zeebe.protocol.impl.encoding.MsgPackConverter;
+import io.zeebe.protocol.Protocol;
+import io.zeebe.protocol.impl.SubscriptionUtil;
+import io.zeebe.protocol.impl.encoding.MsgPackJsonTranscoder;
+import io.zeebe.util.buffer.BufferUtil;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
 import org.agrona.DirectBuffer;
-import org.agrona.concurrent.UnsafeBuffer;
 
 public final class RequestMapper {
 
+  /**
+   * The max length of the commands of a batch request. The length of a command is estimated by the
+   * length of its gRPC message. It stays well below the default max message size of the broker,
+   * which limits the length of a batch written to the log.
+   */
+  public static final int MAX_BATCH_REQUEST_LENGTH = 1024 * 1024;
+
+  private static final ThreadLocal<MsgPackJsonTranscoder> TRANSCODER =
+      ThreadLocal.withInitial(MsgPackJsonTranscoder::new);
+
   public static BrokerDeployWorkflowRequest toDeployWorkflowRequest(
       final DeployWorkflowRequest grpcRequest) {
     final BrokerDeployWorkflowRequest brokerRequest = new BrokerDeployWorkflowRequest();
@@ -64,6 +88,34 @@ public final class RequestMapper {
     return brokerRequest;
   }
 
+  /**
+   * Groups the messages of the request by the partitions of their correlation keys. The messages of
+   * a partition are split into multiple requests if they exceed {@link #MAX_BATCH_REQUEST_LENGTH}.
+   *
+   * @return the requests of each partition of the messages, keyed by the partition id
+   */
+  public static Map<Integer, List<BrokerPublishMessagesRequest>> toPublishMessagesRequests(
+      final PublishMessagesRequest grpcRequest, final int partitionsCount) {
+    final PartitionRequests<BrokerPublishMessagesRequest> brokerRequests =
+        new PartitionRequests<>(BrokerPublishMessagesRequest::new);
+
+    for (final PublishMessageRequest message : grpcRequest.getMessagesList()) {
+      final int partitionId =
+          getPublishMessagePartitionId(message.getCorrelationKey(), partitionsCount);
+      brokerRequests
+          .nextRequest(partitionId, message.getSerializedSize())
+          .addMessage(toPublishMessageRequest(message));
+    }
+
+    return brokerRequests.getRequests();
+  }
+
+  public static int getPublishMessagePartitionId(
+      final String correlationKey, final int partitionsCount) {
+    return SubscriptionUtil.getSubscriptionPartitionId(
+        BufferUtil.wrapString(correlationKey), partitionsCount);
+  }
+
   public static BrokerUpdateJobRetriesRequest toUpdateJobRetriesRequest(
       final UpdateJobRetriesRequest grpcRequest) {
     return new BrokerUpdateJobRetriesRequest(grpcRequest.getJobKey(), grpcRequest.getRetries());
@@ -85,6 +137,28 @@ public final class RequestMapper {
         grpcRequest.getJobKey(), ensureJsonSet(grpcRequest.getVariables()));
   }
 
+  /**
+   * Groups the jobs of the request by the partition they belong to. The jobs of a partition are
+   * split into multiple requests if they exceed {@link #MAX_BATCH_REQUEST_LENGTH}, since the broker
+   * rejects the jobs of a request which don't fit into one batch with the completed jobs.
+   *
+   * @return the requests of each partition of the jobs, keyed by the partition id
+   */
+  public static Map<Integer, List<BrokerCompleteJobsRequest>> toCompleteJobsRequests(
+      final CompleteJobsRequest grpcRequest) {
+    final PartitionRequests<BrokerCompleteJobsRequest> brokerRequests =
+        new PartitionRequests<>(BrokerCompleteJobsRequest::new);
+
+    for (final CompleteJobRequest job : grpcRequest.getJobsList()) {
+      final int partitionId = Protocol.decodePartitionId(job.getJobKey());
+      brokerRequests
+          .nextRequest(partitionId, job.getSerializedSize())
+          .addJob(job.getJobKey(), ensureJsonSet(job.getVariables()));
+    }
+
+    return brokerRequests.getRequests();
+  }
+
   public static BrokerCreateWorkflowInstanceRequest toCreateWorkflowInstanceRequest(
       final CreateWorkflowInstanceRequest grpcRequest) {
     final BrokerCreateWorkflowInstanceRequest brokerRequest =
@@ -99,6 +173,39 @@ public final class RequestMapper {
     return brokerRequest;
   }
 
+  /**
+   * Distributes the workflow instances of the request round-robin over the partitions, starting
+   * with the partition of the given offset. The instances of a partition are split into multiple
+   * requests if they exceed {@link #MAX_BATCH_REQUEST_LENGTH}.
+   *
+   * @param offset the offset of the first partition, which should be rotated between requests so
+   *     that the partitions are used evenly
+   * @return the requests of each partition of the workflow instances, keyed by the partition id
+   */
+  public static Map<Integer, List<BrokerCreateWorkflowInstancesRequest>>
+      toCreateWorkflowInstancesRequests(
+          final CreateWorkflowInstancesRequest grpcRequest,
+          final int offset,
+          final int partitionsCount) {
+    final PartitionRequests<BrokerCreateWorkflowInstancesRequest> brokerRequests =
+        new PartitionRequests<>(BrokerCreateWorkflowInstancesRequest::new);
+
+    for (int i = 0; i < grpcRequest.getInstancesCount(); i++) {
+      final CreateWorkflowInstanceRequest instance = grpcRequest.getInstances(i);
+      final int partitionId = getCreateWorkflowInstancePartitionId(i, offset, partitionsCount);
+      brokerRequests
+          .nextRequest(partitionId, instance.getSerializedSize())
+          .addWorkflowInstance(toCreateWorkflowInstanceRequest(instance));
+    }
+
+    return brokerRequests.getRequests();
+  }
+
+  public static int getCreateWorkflowInstancePartitionId(
+      final int index, final int offset, final int partitionsCount) {
+    return Protocol.START_PARTITION_ID + Math.floorMod(offset + index, partitionsCount);
+  }
+
   public static BrokerCreateWorkflowInstanceWithResultRequest
       toCreateWorkflowInstanceWithResultRequest(
           final CreateWorkflowInstanceWithResultRequest grpcRequest) {
@@ -155,7 +262,46 @@ public final class RequestMapper {
     if (value == null || value.trim().isEmpty()) {
       return DocumentValue.EMPTY_DOCUMENT;
     } else {
-      return new UnsafeBuffer(MsgPackConverter.convertToMsgPack(value));
+      return BufferUtil.cloneBuffer(TRANSCODER.get().toMsgPack(value));
+    }
+  }
+
+  /**
+   * Collects the requests of a batch per partition. A new request is started for a partition if the
+   * commands of its current request would exceed {@link #MAX_BATCH_REQUEST_LENGTH}, so that a
+   * request which can't be written by the broker doesn't fail all commands of the partition.
+   */
+  private static final class PartitionRequests<T> {
+
+    private final Map<Integer, List<T>> requests = new LinkedHashMap<>();
+    private final Map<Integer, Integer> requestLengths = new HashMap<>();
+    private final IntFunction<T> requestFactory;
+
+    private PartitionRequests(final IntFunction<T> requestFactory) {
+      this.requestFactory = requestFactory;
+    }
+
+    /**
+     * @param commandLength the estimated length of the command which is added to the request
+     * @return the request of the partition to add the command to
+     */
+    private T nextRequest(final int partitionId, final int commandLength) {
+      final List<T> partitionRequests =
+          requests.computeIfAbsent(partitionId, id -> new ArrayList<>());
+      final int requestLength = requestLengths.getOrDefault(partitionId, 0);
+
+      if (partitionRequests.isEmpty() || requestLength + commandLength > MAX_BATCH_REQUEST_LENGTH) {
+        partitionRequests.add(requestFactory.apply(partitionId));
+        requestLengths.put(partitionId, commandLength);
+      } else {
+        requestLengths.put(partitionId, requestLength + commandLength);
+      }
+
+      return partitionRequests.get(partitionRequests.size() - 1);
+    }
+
+    private Map<Integer, List<T>> getRequests() {
+      return requests;
     }
   }
 }
@@ -7,24 +7,40 @@
  */
 package io.zeebe.gateway;
 
-import static io.zeebe.util.buffer.BufferUtil.bufferAsArray;
 import static io.zeebe.util.buffer.BufferUtil.bufferAsString;
 
+import io.grpc.Status;
+import io.zeebe.gateway.impl.broker.request.BrokerCompleteJobsRequest;
+import io.zeebe.gateway.impl.broker.request.BrokerExecuteCommandBatch;
+import io.zeebe.gateway.impl.broker.request.BrokerRequest;
+import io.zeebe.gateway.impl.broker.response.BrokerResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.ActivateJobsResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.ActivatedJob;
 import io.zeebe.gateway.protocol.GatewayOuterClass.CancelWorkflowInstanceResponse;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobResponse;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobResult;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobsRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobsResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.CreateWorkflowInstanceResponse;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CreateWorkflowInstanceResult;
 import io.zeebe.gateway.protocol.GatewayOuterClass.CreateWorkflowInstanceWithResultResponse;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CreateWorkflowInstancesRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CreateWorkflowInstancesResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.DeployWorkflowResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.FailJobResponse;
+import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessageRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessageResponse;
+import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessageResult;
+import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessagesRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessagesResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.ResolveIncidentResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.SetVariablesResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.ThrowErrorResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.UpdateJobRetriesResponse;
 import io.zeebe.msgpack.value.LongValue;
-import io.zeebe.protocol.impl.encoding.MsgPackConverter;
+import io.zeebe.protocol.Protocol;
+import io.zeebe.protocol.impl.encoding.MsgPackJsonTranscoder;
 import io.zeebe.protocol.impl.record.value.deployment.DeploymentRecord;
 import io.zeebe.protocol.impl.record.value.incident.IncidentRecord;
 import io.zeebe.protocol.impl.record.value.job.JobBatchRecord;
@@ -33,11 +49,21 @@ import io.zeebe.protocol.impl.record.value.variable.VariableDocumentRecord;
 import io.zeebe.protocol.impl.record.value.workflowinstance.WorkflowInstanceCreationRecord;
 import io.zeebe.protocol.impl.record.value.workflowinstance.WorkflowInstanceRecord;
 import io.zeebe.protocol.impl.record.value.workflowinstance.WorkflowInstanceResultRecord;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
 import org.agrona.DirectBuffer;
 
 public final class ResponseMapper {
 
+  private static final ThreadLocal<MsgPackJsonTranscoder> TRANSCODER =
+      ThreadLocal.withInitial(MsgPackJsonTranscoder::new);
+
   public static DeployWorkflowResponse toDeployWorkflowResponse(
       final long key, final DeploymentRecord brokerResponse) {
     final DeployWorkflowResponse.Builder responseBuilder =
@@ -62,6 +88,37 @@ public final class ResponseMapper {
     return PublishMessageResponse.getDefaultInstance();
   }
 
+  /**
+   * Maps the responses of each partition back to the messages of the request, so that the results
+   * have the same order as the messages.
+   */
+  public static PublishMessagesResponse toPublishMessagesResponse(
+      final PublishMessagesRequest grpcRequest,
+      final int partitionsCount,
+      final Map<Integer, List<PartitionRequestResult<List<BrokerResponse<Void>>>>>
+          brokerResponses) {
+    final Map<Integer, Iterator<BrokerResponse<Void>>> partitionResponses =
+        toIterators(brokerResponses);
+
+    final PublishMessagesResponse.Builder responseBuilder = PublishMessagesResponse.newBuilder();
+    for (final PublishMessageRequest message : grpcRequest.getMessagesList()) {
+      final int partitionId =
+          RequestMapper.getPublishMessagePartitionId(message.getCorrelationKey(), partitionsCount);
+      final BrokerResponse<Void> response = nextResponse(partitionResponses, partitionId);
+      final PublishMessageResult.Builder resultBuilder = responseBuilder.addResultsBuilder();
+
+      if (response.isResponse()) {
+        resultBuilder.setPublished(true);
+      } else {
+        resultBuilder
+            .setRejectionType(getRejectionType(response))
+            .setRejectionReason(getRejectionReason(response));
+      }
+    }
+
+    return responseBuilder.build();
+  }
+
   public static UpdateJobRetriesResponse toUpdateJobRetriesResponse(
       final long key, final JobRecord brokerResponse) {
     return UpdateJobRetriesResponse.getDefaultInstance();
@@ -81,6 +138,84 @@ public final class ResponseMapper {
     return CompleteJobResponse.getDefaultInstance();
   }
 
+  /**
+   * Maps the responses of the partitions back to the jobs of the request. The results of each
+   * partition are in the order in which the jobs were added to the partition's request, so the
+   * results can be consumed while iterating over the jobs of the request.
+   *
+   * @param grpcRequest the original request
+   * @param brokerResponses the results of each partition in the order of its requests, keyed by the
+   *     partition id
+   * @return the result of each job of the request, in the same order
+   */
+  public static CompleteJobsResponse toCompleteJobsResponse(
+      final CompleteJobsRequest grpcRequest,
+      final Map<Integer, List<PartitionRequestResult<JobBatchRecord>>> brokerResponses) {
+    final Map<Integer, Queue<Long>> completedJobs = new HashMap<>();
+    final Map<Integer, Queue<CompleteJobResult>> rejectedJobs = new HashMap<>();
+    brokerResponses.forEach(
+        (partitionId, results) -> {
+          final Queue<Long> completed = new ArrayDeque<>();
+          final Queue<CompleteJobResult> rejected = new ArrayDeque<>();
+          for (final PartitionRequestResult<JobBatchRecord> result : results) {
+            if (result.isFailed()) {
+              final Status failure = result.getFailure();
+              ((BrokerCompleteJobsRequest) result.getRequest())
+                  .getRequestWriter()
+                  .jobKeys()
+                  .forEach(
+                      jobKey ->
+                          rejected.add(
+                              CompleteJobResult.newBuilder()
+                                  .setJobKey(jobKey.getValue())
+                                  .setCompleted(false)
+                                  .setRejectionType(failure.getCode().name())
+                                  .setRejectionReason(getDescription(failure))
+                                  .build()));
+              continue;
+            }
+
+            final JobBatchRecord response = result.getResponse();
+            response.jobKeys().forEach(jobKey -> completed.add(jobKey.getValue()));
+            response
+                .rejections()
+                .forEach(
+                    rejection ->
+                        rejected.add(
+                            CompleteJobResult.newBuilder()
+                                .setJobKey(rejection.getJobKey())
+                                .setCompleted(false)
+                                .setRejectionType(rejection.getRejectionType().name())
+                                .setRejectionReason(rejection.getRejectionReason())
+                                .build()));
+          }
+          completedJobs.put(partitionId, completed);
+          rejectedJobs.put(partitionId, rejected);
+        });
+
+    final CompleteJobsResponse.Builder responseBuilder = CompleteJobsResponse.newBuilder();
+    for (final CompleteJobRequest job : grpcRequest.getJobsList()) {
+      final long jobKey = job.getJobKey();
+      final int partitionId = Protocol.decodePartitionId(jobKey);
+      final Queue<Long> completed = completedJobs.get(partitionId);
+      final Queue<CompleteJobResult> rejected = rejectedJobs.get(partitionId);
+
+      if (completed != null && !completed.isEmpty() && completed.peek() == jobKey) {
+        completed.poll();
+        responseBuilder.addResultsBuilder().setJobKey(jobKey).setCompleted(true);
+      } else if (rejected != null && !rejected.isEmpty() && rejected.peek().getJobKey() == jobKey) {
+        responseBuilder.addResults(rejected.poll());
+      } else {
+        throw new IllegalStateException(
+            String.format(
+                "Expected a result for job with key '%d' from partition %d, but none was found",
+                jobKey, partitionId));
+      }
+    }
+
+    return responseBuilder.build();
+  }
+
   public static CreateWorkflowInstanceResponse toCreateWorkflowInstanceResponse(
       final long key, final WorkflowInstanceCreationRecord brokerResponse) {
     return CreateWorkflowInstanceResponse.newBuilder()
@@ -91,6 +226,46 @@ public final class ResponseMapper {
         .build();
   }
 
+  /**
+   * Maps the responses of each partition back to the workflow instances of the request, so that the
+   * results have the same order as the workflow instances.
+   */
+  public static CreateWorkflowInstancesResponse toCreateWorkflowInstancesResponse(
+      final CreateWorkflowInstancesRequest grpcRequest,
+      final int offset,
+      final int partitionsCount,
+      final Map<
+              Integer,
+              List<PartitionRequestResult<List<BrokerResponse<WorkflowInstanceCreationRecord>>>>>
+          brokerResponses) {
+    final Map<Integer, Iterator<BrokerResponse<WorkflowInstanceCreationRecord>>>
+        partitionResponses = toIterators(brokerResponses);
+
+    final CreateWorkflowInstancesResponse.Builder responseBuilder =
+        CreateWorkflowInstancesResponse.newBuilder();
+    for (int i = 0; i < grpcRequest.getInstancesCount(); i++) {
+      final int partitionId =
+          RequestMapper.getCreateWorkflowInstancePartitionId(i, offset, partitionsCount);
+      final BrokerResponse<WorkflowInstanceCreationRecord> response =
+          nextResponse(partitionResponses, partitionId);
+      final CreateWorkflowInstanceResult.Builder resultBuilder =
+          responseBuilder.addResultsBuilder();
+
+      if (response.isResponse()) {
+        resultBuilder
+            .setCreated(true)
+            .setWorkflowInstance(
+                toCreateWorkflowInstanceResponse(response.getKey(), response.getResponse()));
+      } else {
+        resultBuilder
+            .setRejectionType(getRejectionType(response))
+            .setRejectionReason(getRejectionReason(response));
+      }
+    }
+
+    return responseBuilder.build();
+  }
+
   public static CreateWorkflowInstanceWithResultResponse toCreateWorkflowInstanceWithResultResponse(
       final long key, final WorkflowInstanceResultRecord brokerResponse) {
     return CreateWorkflowInstanceWithResultResponse.newBuilder()
@@ -151,11 +326,131 @@ public final class ResponseMapper {
   }
 
   private static String bufferAsJson(final DirectBuffer customHeaders) {
-    return MsgPackConverter.convertToJson(bufferAsArray(customHeaders));
+    return TRANSCODER.get().toJson(customHeaders);
+  }
+
+  /**
+   * Joins the responses of the requests of each partition. The requests of a partition contain the
+   * commands in the order of the original request, so their responses can be consumed in order.
+   */
+  /**
+   * Flattens the responses of the requests of each partition. Each command of a failed request gets
+   * a {@link FailedResponse}, so that the responses still match the commands of the partition.
+   */
+  private static <T> Map<Integer, Iterator<BrokerResponse<T>>> toIterators(
+      final Map<Integer, List<PartitionRequestResult<List<BrokerResponse<T>>>>> brokerResponses) {
+    final Map<Integer, Iterator<BrokerResponse<T>>> iterators = new HashMap<>();
+    brokerResponses.forEach(
+        (partitionId, results) -> {
+          final List<BrokerResponse<T>> responses = new ArrayList<>();
+          for (final PartitionRequestResult<List<BrokerResponse<T>>> result : results) {
+            if (result.isFailed()) {
+              final int commandCount =
+                  ((BrokerExecuteCommandBatch<?>) result.getRequest()).getCommands().size();
+              for (int i = 0; i < commandCount; i++) {
+                responses.add(new FailedResponse<>(result.getFailure()));
+              }
+            } else {
+              responses.addAll(result.getResponse());
+            }
+          }
+          iterators.put(partitionId, responses.iterator());
+        });
+    return iterators;
+  }
+
+  private static String getRejectionType(final BrokerResponse<?> response) {
+    if (response.isRejection()) {
+      return response.getRejection().getType().name();
+    } else if (response instanceof FailedResponse) {
+      return ((FailedResponse<?>) response).failure.getCode().name();
+    } else {
+      return response.getError().getCode().name();
+    }
+  }
+
+  private static String getRejectionReason(final BrokerResponse<?> response) {
+    if (response.isRejection()) {
+      return response.getRejection().getReason();
+    } else if (response instanceof FailedResponse) {
+      return getDescription(((FailedResponse<?>) response).failure);
+    } else {
+      return response.getError().getMessage();
+    }
+  }
+
+  private static String getDescription(final Status status) {
+    return Objects.requireNonNullElse(status.getDescription(), "");
+  }
+
+  private static <T> BrokerResponse<T> nextResponse(
+      final Map<Integer, Iterator<BrokerResponse<T>>> partitionResponses, final int partitionId) {
+    final Iterator<BrokerResponse<T>> responses = partitionResponses.get(partitionId);
+    if (responses == null || !responses.hasNext()) {
+      throw new IllegalStateException(
+          String.format(
+              "Expected a result from partition %d for each command, but none was found",
+              partitionId));
+    }
+
+    return responses.next();
   }
 
   @FunctionalInterface
   public interface BrokerResponseMapper<BrokerResponseDto, GrpcResponse> {
     GrpcResponse apply(long key, BrokerResponseDto responseDto);
   }
+
+  /**
+   * The result of one of the requests which the commands of a batch are split into. If the request
+   * failed, e.g. because of back pressure or a timeout, then all of its commands failed with the
+   * status of the failure, but the commands of the other requests are not affected.
+   */
+  public static final class PartitionRequestResult<T> {
+    private final BrokerRequest<T> request;
+    private final T response;
+    private final Status failure;
+
+    private PartitionRequestResult(
+        final BrokerRequest<T> request, final T response, final Status failure) {
+      this.request = request;
+      this.response = response;
+      this.failure = failure;
+    }
+
+    public static <T> PartitionRequestResult<T> ofResponse(
+        final BrokerRequest<T> request, final T response) {
+      return new PartitionRequestResult<>(request, response, null);
+    }
+
+    public static <T> PartitionRequestResult<T> ofFailure(
+        final BrokerRequest<T> request, final Status failure) {
+      return new PartitionRequestResult<>(request, null, failure);
+    }
+
+    public BrokerRequest<T> getRequest() {
+      return request;
+    }
+
+    public T getResponse() {
+      return response;
+    }
+
+    public boolean isFailed() {
+      return failure != null;
+    }
+
+    public Status getFailure() {
+      return failure;
+    }
+  }
+
+  /** The response of a command whose request failed, see {@link PartitionRequestResult}. */
+  private static final class FailedResponse<T> extends BrokerResponse<T> {
+    private final Status failure;
+
+    private FailedResponse(final Status failure) {
+      this.failure = failure;
+    }
+  }
 }
@@ -18,7 +18,9 @@ import io.zeebe.gateway.impl.broker.request.BrokerRequest;
 import io.zeebe.gateway.impl.broker.response.BrokerResponse;
 import io.zeebe.gateway.impl.configuration.ClusterCfg;
 import io.zeebe.gateway.impl.configuration.GatewayCfg;
-import io.zeebe.transport.impl.AtomixClientTransportAdapter;
+import io.zeebe.transport.ClientTransport;
+import io.zeebe.transport.TransportFactory;
+import io.zeebe.transport.TransportType;
 import io.zeebe.util.exception.UncheckedExecutionException;
 import io.zeebe.util.sched.ActorScheduler;
 import io.zeebe.util.sched.clock.ActorClock;
@@ -39,6 +41,7 @@ public final class BrokerClientImpl implements BrokerClient {
   private final BrokerTopologyManagerImpl topologyManager;
   private final AtomixCluster atomixCluster;
   private final boolean ownsActorScheduler;
+  private final ClientTransport clientTransport;
   private final BrokerRequestManager requestManager;
   private boolean isClosed;
   private Subscription jobAvailableSubscription;
@@ -86,12 +89,15 @@ public final class BrokerClientImpl implements BrokerClient {
         .forEach(
             member -> topologyManager.event(new ClusterMembershipEvent(Type.MEMBER_ADDED, member)));
 
-    final var messagingService = atomixCluster.getMessagingService();
-    final var atomixTransportAdapter = new AtomixClientTransportAdapter(messagingService);
-    actorScheduler.submitActor(atomixTransportAdapter);
+    final var transportFactory = new TransportFactory(actorScheduler);
+    if (clusterCfg.getCommandTransport() == TransportType.BINARY) {
+      clientTransport = transportFactory.createBinaryClientTransport();
+    } else {
+      clientTransport = transportFactory.createClientTransport(atomixCluster.getMessagingService());
+    }
     requestManager =
         new BrokerRequestManager(
-            atomixTransportAdapter,
+            clientTransport,
             topologyManager,
             new RoundRobinDispatchStrategy(topologyManager),
             clusterCfg.getRequestTimeout());
@@ -111,6 +117,13 @@ public final class BrokerClientImpl implements BrokerClient {
     doAndLogException(topologyManager::close);
     LOG.debug("topology manager closed");
 
+    try {
+      clientTransport.close();
+      LOG.debug("client transport closed");
+    } catch (final Exception e) {
+      LOG.error("Exception when closing client transport. Ignoring", e);
+    }
+
     if (jobAvailableSubscription != null) {
       jobAvailableSubscription.close();
     }
@@ -0,0 +1,33 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.gateway.impl.broker.request;
+
+import io.zeebe.protocol.impl.record.value.workflowinstance.WorkflowInstanceCreationRecord;
+import io.zeebe.protocol.record.ValueType;
+import io.zeebe.protocol.record.intent.WorkflowInstanceCreationIntent;
+
+/** Creates multiple workflow instances on the partition of the request. */
+public final class BrokerCreateWorkflowInstancesRequest
+    extends BrokerExecuteCommandBatch<WorkflowInstanceCreationRecord> {
+
+  public BrokerCreateWorkflowInstancesRequest(final int partitionId) {
+    super(ValueType.WORKFLOW_INSTANCE_CREATION, WorkflowInstanceCreationIntent.CREATE);
+    setPartitionId(partitionId);
+  }
+
+  public BrokerCreateWorkflowInstancesRequest addWorkflowInstance(
+      final BrokerCreateWorkflowInstanceRequest workflowInstance) {
+    addCommand(workflowInstance);
+    return this;
+  }
+
+  @Override
+  public String toString() {
+    return "BrokerCreateWorkflowInstancesRequest{" + "commands=" + getCommands() + '}';
+  }
+}
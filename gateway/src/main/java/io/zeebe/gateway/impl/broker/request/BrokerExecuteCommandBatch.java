@@ -0,0 +1,130 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.gateway.impl.broker.request;
+
+import io.zeebe.gateway.cmd.IllegalBrokerResponseException;
+import io.zeebe.gateway.impl.broker.response.BrokerResponse;
+import io.zeebe.protocol.impl.encoding.ExecuteCommandBatchRequest;
+import io.zeebe.protocol.impl.encoding.ExecuteCommandBatchResponse;
+import io.zeebe.protocol.record.ExecuteCommandBatchRequestEncoder;
+import io.zeebe.protocol.record.ExecuteCommandBatchResponseDecoder;
+import io.zeebe.protocol.record.ValueType;
+import io.zeebe.protocol.record.intent.Intent;
+import io.zeebe.util.buffer.BufferWriter;
+import java.util.ArrayList;
+import java.util.List;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+
+/**
+ * Sends multiple commands of the same type to one partition with a single request. The broker
+ * writes the commands to the log at once and responds with the response of each command, in the
+ * order of the commands. A rejected command doesn't fail the other commands of the batch.
+ */
+public abstract class BrokerExecuteCommandBatch<T> extends BrokerRequest<List<BrokerResponse<T>>> {
+
+  private final ExecuteCommandBatchRequest request = new ExecuteCommandBatchRequest();
+  private final ExecuteCommandBatchResponse response = new ExecuteCommandBatchResponse();
+  private final List<BrokerExecuteCommand<T>> commands = new ArrayList<>();
+  private final String type;
+
+  protected BrokerExecuteCommandBatch(final ValueType valueType, final Intent intent) {
+    super(
+        ExecuteCommandBatchResponseDecoder.SCHEMA_ID,
+        ExecuteCommandBatchResponseDecoder.TEMPLATE_ID);
+    type = valueType.name() + "#" + intent.name() + "#BATCH";
+  }
+
+  protected void addCommand(final BrokerExecuteCommand<T> command) {
+    commands.add(command);
+    request.addCommand(command.request);
+  }
+
+  public List<BrokerExecuteCommand<T>> getCommands() {
+    return commands;
+  }
+
+  @Override
+  public int getPartitionId() {
+    return request.getPartitionId();
+  }
+
+  @Override
+  public void setPartitionId(final int partitionId) {
+    request.setPartitionId(partitionId);
+  }
+
+  @Override
+  public boolean addressesSpecificPartition() {
+    return getPartitionId() != ExecuteCommandBatchRequestEncoder.partitionIdNullValue();
+  }
+
+  @Override
+  public boolean requiresPartitionId() {
+    return true;
+  }
+
+  /** The commands are serialized individually, see {@link #serializeValue()}. */
+  @Override
+  public BufferWriter getRequestWriter() {
+    return null;
+  }
+
+  @Override
+  public void serializeValue() {
+    commands.forEach(BrokerRequest::serializeValue);
+  }
+
+  @Override
+  protected void setSerializedValue(final DirectBuffer buffer) {
+    throw new UnsupportedOperationException("Expected to serialize the commands individually");
+  }
+
+  @Override
+  protected void wrapResponse(final DirectBuffer buffer) {
+    response.wrap(buffer, 0, buffer.capacity());
+  }
+
+  @Override
+  protected BrokerResponse<List<BrokerResponse<T>>> readResponse() {
+    final List<DirectBuffer> commandResponses = response.getResponses();
+    if (commandResponses.size() != commands.size()) {
+      throw new IllegalBrokerResponseException(
+          String.format(
+              "Expected to receive a response for each of the %d commands, but received %d",
+              commands.size(), commandResponses.size()));
+    }
+
+    final List<BrokerResponse<T>> responses = new ArrayList<>(commands.size());
+    for (int i = 0; i < commands.size(); i++) {
+      responses.add(commands.get(i).getResponse(commandResponses.get(i)));
+    }
+
+    return new BrokerResponse<>(responses, response.getPartitionId(), -1);
+  }
+
+  @Override
+  protected List<BrokerResponse<T>> toResponseDto(final DirectBuffer buffer) {
+    throw new UnsupportedOperationException("Expected to read the responses of each command");
+  }
+
+  @Override
+  public String getType() {
+    return type;
+  }
+
+  @Override
+  public int getLength() {
+    return request.getLength();
+  }
+
+  @Override
+  public void write(final MutableDirectBuffer buffer, final int offset) {
+    request.write(buffer, offset);
+  }
+}
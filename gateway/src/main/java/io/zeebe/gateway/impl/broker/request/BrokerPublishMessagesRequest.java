@@ -0,0 +1,33 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.gateway.impl.broker.request;
+
+import io.zeebe.protocol.record.ValueType;
+import io.zeebe.protocol.record.intent.MessageIntent;
+
+/**
+ * Publishes multiple messages on the partition of the request. All messages must belong to this
+ * partition, according to their correlation keys.
+ */
+public final class BrokerPublishMessagesRequest extends BrokerExecuteCommandBatch<Void> {
+
+  public BrokerPublishMessagesRequest(final int partitionId) {
+    super(ValueType.MESSAGE, MessageIntent.PUBLISH);
+    setPartitionId(partitionId);
+  }
+
+  public BrokerPublishMessagesRequest addMessage(final BrokerPublishMessageRequest message) {
+    addCommand(message);
+    return this;
+  }
+
+  @Override
+  public String toString() {
+    return "BrokerPublishMessagesRequest{" + "commands=" + getCommands() + '}';
+  }
+}
@@ -11,10 +11,12 @@ import static io.zeebe.gateway.impl.configuration.ConfigurationDefaults.DEFAULT_
 import static io.zeebe.gateway.impl.configuration.ConfigurationDefaults.DEFAULT_CLUSTER_MEMBER_ID;
 import static io.zeebe.gateway.impl.configuration.ConfigurationDefaults.DEFAULT_CLUSTER_NAME;
 import static io.zeebe.gateway.impl.configuration.ConfigurationDefaults.DEFAULT_CLUSTER_PORT;
+import static io.zeebe.gateway.impl.configuration.ConfigurationDefaults.DEFAULT_COMMAND_TRANSPORT;
 import static io.zeebe.gateway.impl.configuration.ConfigurationDefaults.DEFAULT_CONTACT_POINT_HOST;
 import static io.zeebe.gateway.impl.configuration.ConfigurationDefaults.DEFAULT_CONTACT_POINT_PORT;
 import static io.zeebe.gateway.impl.configuration.ConfigurationDefaults.DEFAULT_REQUEST_TIMEOUT;
 
+import io.zeebe.transport.TransportType;
 import java.time.Duration;
 import java.util.Objects;
 
@@ -27,6 +29,7 @@ public final class ClusterCfg {
   private String host = DEFAULT_CLUSTER_HOST;
   private int port = DEFAULT_CLUSTER_PORT;
   private MembershipCfg membership = new MembershipCfg();
+  private TransportType commandTransport = DEFAULT_COMMAND_TRANSPORT;
 
   public String getMemberId() {
     return memberId;
@@ -90,9 +93,19 @@ public final class ClusterCfg {
     this.membership = membership;
   }
 
+  public TransportType getCommandTransport() {
+    return commandTransport;
+  }
+
+  public ClusterCfg setCommandTransport(final String commandTransport) {
+    this.commandTransport = TransportType.valueOf(commandTransport.toUpperCase());
+    return this;
+  }
+
   @Override
   public int hashCode() {
-    return Objects.hash(contactPoint, requestTimeout, clusterName, memberId, host, port);
+    return Objects.hash(
+        contactPoint, requestTimeout, clusterName, memberId, host, port, commandTransport);
   }
 
   @Override
@@ -109,7 +122,8 @@ public final class ClusterCfg {
         && Objects.equals(requestTimeout, that.requestTimeout)
         && Objects.equals(clusterName, that.clusterName)
         && Objects.equals(memberId, that.memberId)
-        && Objects.equals(host, that.host);
+        && Objects.equals(host, that.host)
+        && commandTransport == that.commandTransport;
   }
 
   @Override
@@ -131,6 +145,8 @@ public final class ClusterCfg {
         + '\''
         + ", port="
         + port
+        + ", commandTransport="
+        + commandTransport
         + '}';
   }
 }
@@ -7,6 +7,7 @@
  */
 package io.zeebe.gateway.impl.configuration;
 
+import io.zeebe.transport.TransportType;
 import java.time.Duration;
 
 public final class ConfigurationDefaults {
@@ -27,6 +28,7 @@ public final class ConfigurationDefaults {
   public static final String DEFAULT_CLUSTER_MEMBER_ID = "gateway";
   public static final String DEFAULT_CLUSTER_HOST = "0.0.0.0";
   public static final int DEFAULT_CLUSTER_PORT = 26502;
+  public static final TransportType DEFAULT_COMMAND_TRANSPORT = TransportType.ATOMIX;
 
   public static final boolean DEFAULT_MONITORING_ENABLED = false;
   public static final int DEFAULT_MONITORING_PORT = 9600;
@@ -0,0 +1,79 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.gateway.api.job;
+
+import io.zeebe.gateway.api.util.StubbedBrokerClient;
+import io.zeebe.gateway.api.util.StubbedBrokerClient.RequestStub;
+import io.zeebe.gateway.impl.broker.request.BrokerCompleteJobsRequest;
+import io.zeebe.gateway.impl.broker.response.BrokerError;
+import io.zeebe.gateway.impl.broker.response.BrokerErrorResponse;
+import io.zeebe.gateway.impl.broker.response.BrokerResponse;
+import io.zeebe.protocol.Protocol;
+import io.zeebe.protocol.impl.record.value.job.JobBatchRecord;
+import io.zeebe.protocol.record.ErrorCode;
+import io.zeebe.protocol.record.RejectionType;
+import java.util.HashSet;
+import java.util.Set;
+
+public final class CompleteJobsStub
+    implements RequestStub<BrokerCompleteJobsRequest, BrokerResponse<JobBatchRecord>> {
+
+  public static final long JOB_BATCH_KEY = 123;
+  public static final String REJECTION_REASON = "job not found";
+  public static final String ERROR_MESSAGE = "partition is exhausted";
+
+  private final Set<Long> notFoundJobKeys = new HashSet<>();
+  private final Set<Integer> exhaustedPartitionIds = new HashSet<>();
+
+  public CompleteJobsStub withNotFoundJob(final long jobKey) {
+    notFoundJobKeys.add(jobKey);
+    return this;
+  }
+
+  public CompleteJobsStub withExhaustedPartition(final int partitionId) {
+    exhaustedPartitionIds.add(partitionId);
+    return this;
+  }
+
+  @Override
+  public BrokerResponse<JobBatchRecord> handle(final BrokerCompleteJobsRequest request)
+      throws Exception {
+    if (exhaustedPartitionIds.contains(request.getPartitionId())) {
+      return new BrokerErrorResponse<>(
+          new BrokerError(ErrorCode.RESOURCE_EXHAUSTED, ERROR_MESSAGE));
+    }
+
+    final JobBatchRecord response = new JobBatchRecord();
+
+    request
+        .getRequestWriter()
+        .jobKeys()
+        .forEach(
+            jobKey -> {
+              if (notFoundJobKeys.contains(jobKey.getValue())) {
+                response
+                    .rejections()
+                    .add()
+                    .setJobKey(jobKey.getValue())
+                    .setRejectionType(RejectionType.NOT_FOUND)
+                    .setRejectionReason(REJECTION_REASON);
+              } else {
+                response.jobKeys().add().setValue(jobKey.getValue());
+              }
+            });
+
+    final int partitionId = request.getPartitionId();
+    return new BrokerResponse<>(
+        response, partitionId, Protocol.encodePartitionId(partitionId, JOB_BATCH_KEY));
+  }
+
+  @Override
+  public void registerWith(final StubbedBrokerClient gateway) {
+    gateway.registerHandler(BrokerCompleteJobsRequest.class, this);
+  }
+}
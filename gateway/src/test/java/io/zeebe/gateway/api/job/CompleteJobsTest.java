@@ -0,0 +1,206 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.gateway.api.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import io.zeebe.gateway.RequestMapper;
+import io.zeebe.gateway.api.util.GatewayTest;
+import io.zeebe.gateway.impl.broker.request.BrokerCompleteJobsRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobResult;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobsRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobsResponse;
+import io.zeebe.protocol.Protocol;
+import io.zeebe.protocol.impl.record.value.job.JobBatchRecord;
+import io.zeebe.protocol.record.ValueType;
+import io.zeebe.protocol.record.intent.JobBatchIntent;
+import io.zeebe.test.util.JsonUtil;
+import io.zeebe.test.util.MsgPackUtil;
+import io.zeebe.util.buffer.BufferUtil;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.agrona.DirectBuffer;
+import org.junit.Test;
+
+public final class CompleteJobsTest extends GatewayTest {
+
+  @Test
+  public void shouldGroupJobsByPartition() {
+    // given
+    new CompleteJobsStub().registerWith(brokerClient);
+
+    final long firstJobKey = Protocol.encodePartitionId(1, 1);
+    final long secondJobKey = Protocol.encodePartitionId(2, 2);
+    final long thirdJobKey = Protocol.encodePartitionId(1, 3);
+    final String variables = JsonUtil.toJson(Collections.singletonMap("key", "value"));
+
+    final CompleteJobsRequest request =
+        CompleteJobsRequest.newBuilder()
+            .addJobs(CompleteJobRequest.newBuilder().setJobKey(firstJobKey))
+            .addJobs(CompleteJobRequest.newBuilder().setJobKey(secondJobKey))
+            .addJobs(CompleteJobRequest.newBuilder().setJobKey(thirdJobKey).setVariables(variables))
+            .build();
+
+    // when
+    client.completeJobs(request);
+
+    // then
+    final List<BrokerCompleteJobsRequest> brokerRequests = getBrokerRequests();
+    assertThat(brokerRequests)
+        .extracting(
+            BrokerCompleteJobsRequest::getPartitionId,
+            BrokerCompleteJobsRequest::getValueType,
+            BrokerCompleteJobsRequest::getIntent)
+        .containsExactly(
+            tuple(1, ValueType.JOB_BATCH, JobBatchIntent.COMPLETE),
+            tuple(2, ValueType.JOB_BATCH, JobBatchIntent.COMPLETE));
+
+    final JobBatchRecord firstPartitionBatch = brokerRequests.get(0).getRequestWriter();
+    assertThat(getJobKeys(firstPartitionBatch)).containsExactly(firstJobKey, thirdJobKey);
+
+    final List<DirectBuffer> jobVariables = new ArrayList<>();
+    firstPartitionBatch
+        .jobs()
+        .forEach(job -> jobVariables.add(BufferUtil.cloneBuffer(job.getVariablesBuffer())));
+    MsgPackUtil.assertEqualityExcluding(jobVariables.get(0), "{}");
+    MsgPackUtil.assertEqualityExcluding(jobVariables.get(1), variables);
+
+    final JobBatchRecord secondPartitionBatch = brokerRequests.get(1).getRequestWriter();
+    assertThat(getJobKeys(secondPartitionBatch)).containsExactly(secondJobKey);
+  }
+
+  @Test
+  public void shouldReturnResultsInRequestOrder() {
+    // given
+    final long firstJobKey = Protocol.encodePartitionId(1, 1);
+    final long secondJobKey = Protocol.encodePartitionId(2, 2);
+    final long thirdJobKey = Protocol.encodePartitionId(1, 3);
+    new CompleteJobsStub().withNotFoundJob(firstJobKey).registerWith(brokerClient);
+
+    final CompleteJobsRequest request =
+        CompleteJobsRequest.newBuilder()
+            .addJobs(CompleteJobRequest.newBuilder().setJobKey(firstJobKey))
+            .addJobs(CompleteJobRequest.newBuilder().setJobKey(secondJobKey))
+            .addJobs(CompleteJobRequest.newBuilder().setJobKey(thirdJobKey))
+            .build();
+
+    // when
+    final CompleteJobsResponse response = client.completeJobs(request);
+
+    // then
+    assertThat(response.getResultsList())
+        .extracting(
+            CompleteJobResult::getJobKey,
+            CompleteJobResult::getCompleted,
+            CompleteJobResult::getRejectionType,
+            CompleteJobResult::getRejectionReason)
+        .containsExactly(
+            tuple(firstJobKey, false, "NOT_FOUND", CompleteJobsStub.REJECTION_REASON),
+            tuple(secondJobKey, true, "", ""),
+            tuple(thirdJobKey, true, "", ""));
+  }
+
+  @Test
+  public void shouldOnlyFailJobsOfFailedPartition() {
+    // given
+    final long firstJobKey = Protocol.encodePartitionId(1, 1);
+    final long secondJobKey = Protocol.encodePartitionId(2, 2);
+    final long thirdJobKey = Protocol.encodePartitionId(1, 3);
+    new CompleteJobsStub().withExhaustedPartition(1).registerWith(brokerClient);
+
+    final CompleteJobsRequest request =
+        CompleteJobsRequest.newBuilder()
+            .addJobs(CompleteJobRequest.newBuilder().setJobKey(firstJobKey))
+            .addJobs(CompleteJobRequest.newBuilder().setJobKey(secondJobKey))
+            .addJobs(CompleteJobRequest.newBuilder().setJobKey(thirdJobKey))
+            .build();
+
+    // when
+    final CompleteJobsResponse response = client.completeJobs(request);
+
+    // then
+    assertThat(response.getResultsList())
+        .extracting(
+            CompleteJobResult::getJobKey,
+            CompleteJobResult::getCompleted,
+            CompleteJobResult::getRejectionType)
+        .containsExactly(
+            tuple(firstJobKey, false, "RESOURCE_EXHAUSTED"),
+            tuple(secondJobKey, true, ""),
+            tuple(thirdJobKey, false, "RESOURCE_EXHAUSTED"));
+    assertThat(response.getResults(0).getRejectionReason())
+        .contains(CompleteJobsStub.ERROR_MESSAGE);
+  }
+
+  @Test
+  public void shouldSplitJobsOfPartitionBySize() {
+    // given
+    new CompleteJobsStub().registerWith(brokerClient);
+
+    final long firstJobKey = Protocol.encodePartitionId(1, 1);
+    final long secondJobKey = Protocol.encodePartitionId(1, 2);
+    final long thirdJobKey = Protocol.encodePartitionId(1, 3);
+    final String variables =
+        JsonUtil.toJson(
+            Collections.singletonMap(
+                "key", "x".repeat(RequestMapper.MAX_BATCH_REQUEST_LENGTH / 2)));
+
+    final CompleteJobsRequest request =
+        CompleteJobsRequest.newBuilder()
+            .addJobs(CompleteJobRequest.newBuilder().setJobKey(firstJobKey).setVariables(variables))
+            .addJobs(CompleteJobRequest.newBuilder().setJobKey(secondJobKey))
+            .addJobs(CompleteJobRequest.newBuilder().setJobKey(thirdJobKey).setVariables(variables))
+            .build();
+
+    // when
+    final CompleteJobsResponse response = client.completeJobs(request);
+
+    // then
+    final List<BrokerCompleteJobsRequest> brokerRequests = getBrokerRequests();
+    assertThat(brokerRequests)
+        .extracting(BrokerCompleteJobsRequest::getPartitionId)
+        .containsExactly(1, 1);
+    assertThat(brokerRequests)
+        .extracting(brokerRequest -> getJobKeys(brokerRequest.getRequestWriter()))
+        .containsExactly(List.of(firstJobKey, secondJobKey), List.of(thirdJobKey));
+    assertThat(response.getResultsList())
+        .extracting(CompleteJobResult::getJobKey, CompleteJobResult::getCompleted)
+        .containsExactly(
+            tuple(firstJobKey, true), tuple(secondJobKey, true), tuple(thirdJobKey, true));
+  }
+
+  @Test
+  public void shouldNotSendRequestWithoutJobs() {
+    // given
+    new CompleteJobsStub().registerWith(brokerClient);
+
+    // when
+    final CompleteJobsResponse response =
+        client.completeJobs(CompleteJobsRequest.getDefaultInstance());
+
+    // then
+    assertThat(response.getResultsList()).isEmpty();
+    assertThat(brokerClient.getBrokerRequests()).isEmpty();
+  }
+
+  private List<BrokerCompleteJobsRequest> getBrokerRequests() {
+    return brokerClient.getBrokerRequests().stream()
+        .map(BrokerCompleteJobsRequest.class::cast)
+        .collect(Collectors.toList());
+  }
+
+  private static List<Long> getJobKeys(final JobBatchRecord jobBatch) {
+    final List<Long> jobKeys = new ArrayList<>();
+    jobBatch.jobKeys().forEach(jobKey -> jobKeys.add(jobKey.getValue()));
+    return jobKeys;
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.gateway.api.workflow;
+
+import io.zeebe.gateway.api.util.StubbedBrokerClient;
+import io.zeebe.gateway.api.util.StubbedBrokerClient.RequestStub;
+import io.zeebe.gateway.impl.broker.request.BrokerCreateWorkflowInstanceRequest;
+import io.zeebe.gateway.impl.broker.request.BrokerCreateWorkflowInstancesRequest;
+import io.zeebe.gateway.impl.broker.response.BrokerRejection;
+import io.zeebe.gateway.impl.broker.response.BrokerRejectionResponse;
+import io.zeebe.gateway.impl.broker.response.BrokerResponse;
+import io.zeebe.protocol.Protocol;
+import io.zeebe.protocol.impl.record.value.workflowinstance.WorkflowInstanceCreationRecord;
+import io.zeebe.protocol.record.RejectionType;
+import io.zeebe.protocol.record.intent.WorkflowInstanceCreationIntent;
+import io.zeebe.util.buffer.BufferUtil;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class CreateWorkflowInstancesStub
+    implements RequestStub<
+        BrokerCreateWorkflowInstancesRequest,
+        BrokerResponse<List<BrokerResponse<WorkflowInstanceCreationRecord>>>> {
+
+  public static final long WORKFLOW_KEY = 456;
+  public static final int PROCESS_VERSION = 1;
+  public static final String UNKNOWN_PROCESS_ID = "unknown";
+  public static final String REJECTION_REASON = "workflow not found";
+
+  private long workflowInstanceKey = 0;
+
+  @Override
+  public void registerWith(final StubbedBrokerClient gateway) {
+    gateway.registerHandler(BrokerCreateWorkflowInstancesRequest.class, this);
+  }
+
+  @Override
+  public BrokerResponse<List<BrokerResponse<WorkflowInstanceCreationRecord>>> handle(
+      final BrokerCreateWorkflowInstancesRequest request) {
+    final int partitionId = request.getPartitionId();
+    final List<BrokerResponse<WorkflowInstanceCreationRecord>> responses = new ArrayList<>();
+
+    for (final var command : request.getCommands()) {
+      final WorkflowInstanceCreationRecord value =
+          ((BrokerCreateWorkflowInstanceRequest) command).getRequestWriter();
+      final String processId = BufferUtil.bufferAsString(value.getBpmnProcessIdBuffer());
+
+      if (UNKNOWN_PROCESS_ID.equals(processId)) {
+        responses.add(
+            new BrokerRejectionResponse<>(
+                new BrokerRejection(
+                    WorkflowInstanceCreationIntent.CREATE,
+                    -1,
+                    RejectionType.NOT_FOUND,
+                    REJECTION_REASON)));
+      } else {
+        final long key = getWorkflowInstanceKey(partitionId, ++workflowInstanceKey);
+        final var record = new WorkflowInstanceCreationRecord();
+        record.setBpmnProcessId(processId);
+        record.setVersion(PROCESS_VERSION);
+        record.setWorkflowKey(WORKFLOW_KEY);
+        record.setWorkflowInstanceKey(key);
+        responses.add(new BrokerResponse<>(record, partitionId, key));
+      }
+    }
+
+    return new BrokerResponse<>(responses, partitionId, -1);
+  }
+
+  public static long getWorkflowInstanceKey(final int partitionId, final long key) {
+    return Protocol.encodePartitionId(partitionId, key);
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.gateway.api.workflow;
+
+import static io.zeebe.gateway.api.workflow.CreateWorkflowInstancesStub.getWorkflowInstanceKey;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import io.zeebe.gateway.api.util.GatewayTest;
+import io.zeebe.gateway.impl.broker.request.BrokerCreateWorkflowInstancesRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CreateWorkflowInstanceRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CreateWorkflowInstanceResult;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CreateWorkflowInstancesRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CreateWorkflowInstancesResponse;
+import io.zeebe.protocol.record.ValueType;
+import io.zeebe.protocol.record.intent.WorkflowInstanceCreationIntent;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.Test;
+
+public final class CreateWorkflowInstancesTest extends GatewayTest {
+
+  @Test
+  public void shouldDistributeInstancesOverPartitions() {
+    // given
+    new CreateWorkflowInstancesStub().registerWith(brokerClient);
+
+    final CreateWorkflowInstancesRequest.Builder request =
+        CreateWorkflowInstancesRequest.newBuilder();
+    for (int i = 0; i < 10; i++) {
+      request.addInstances(CreateWorkflowInstanceRequest.newBuilder().setBpmnProcessId("process"));
+    }
+
+    // when
+    client.createWorkflowInstances(request.build());
+
+    // then the 8 partitions of the stubbed topology get the instances round-robin
+    final List<BrokerCreateWorkflowInstancesRequest> brokerRequests = getBrokerRequests();
+    assertThat(brokerRequests).hasSize(8);
+    assertThat(brokerRequests)
+        .extracting(BrokerCreateWorkflowInstancesRequest::getPartitionId)
+        .containsExactly(1, 2, 3, 4, 5, 6, 7, 8);
+    assertThat(brokerRequests)
+        .extracting(brokerRequest -> brokerRequest.getCommands().size())
+        .containsExactly(2, 2, 1, 1, 1, 1, 1, 1);
+    assertThat(brokerRequests.get(0).getCommands())
+        .allSatisfy(
+            command -> {
+              assertThat(command.getValueType()).isEqualTo(ValueType.WORKFLOW_INSTANCE_CREATION);
+              assertThat(command.getIntent()).isEqualTo(WorkflowInstanceCreationIntent.CREATE);
+            });
+  }
+
+  @Test
+  public void shouldRotateFirstPartitionBetweenRequests() {
+    // given
+    new CreateWorkflowInstancesStub().registerWith(brokerClient);
+
+    final CreateWorkflowInstancesRequest request =
+        CreateWorkflowInstancesRequest.newBuilder()
+            .addInstances(CreateWorkflowInstanceRequest.newBuilder().setBpmnProcessId("process"))
+            .build();
+
+    // when
+    client.createWorkflowInstances(request);
+    client.createWorkflowInstances(request);
+    client.createWorkflowInstances(request);
+
+    // then
+    assertThat(getBrokerRequests())
+        .extracting(BrokerCreateWorkflowInstancesRequest::getPartitionId)
+        .containsExactly(1, 2, 3);
+  }
+
+  @Test
+  public void shouldReturnResultsInRequestOrder() {
+    // given
+    new CreateWorkflowInstancesStub().registerWith(brokerClient);
+
+    final CreateWorkflowInstancesRequest.Builder request =
+        CreateWorkflowInstancesRequest.newBuilder();
+    for (int i = 0; i < 10; i++) {
+      final String processId = i == 8 ? CreateWorkflowInstancesStub.UNKNOWN_PROCESS_ID : "process";
+      request.addInstances(CreateWorkflowInstanceRequest.newBuilder().setBpmnProcessId(processId));
+    }
+
+    // when
+    final CreateWorkflowInstancesResponse response =
+        client.createWorkflowInstances(request.build());
+
+    // then
+    final List<CreateWorkflowInstanceResult> results = response.getResultsList();
+    assertThat(results).hasSize(10);
+    assertThat(results.get(0).getWorkflowInstance().getWorkflowInstanceKey())
+        .isEqualTo(getWorkflowInstanceKey(1, 1));
+    assertThat(results.get(1).getWorkflowInstance().getWorkflowInstanceKey())
+        .isEqualTo(getWorkflowInstanceKey(2, 2));
+    assertThat(results.get(9).getWorkflowInstance().getWorkflowInstanceKey())
+        .isEqualTo(getWorkflowInstanceKey(2, 3));
+    assertThat(results.get(9).getWorkflowInstance().getBpmnProcessId()).isEqualTo("process");
+    assertThat(results)
+        .extracting(
+            CreateWorkflowInstanceResult::getCreated,
+            CreateWorkflowInstanceResult::getRejectionType,
+            CreateWorkflowInstanceResult::getRejectionReason)
+        .containsOnlyOnce(tuple(false, "NOT_FOUND", CreateWorkflowInstancesStub.REJECTION_REASON))
+        .element(8)
+        .isEqualTo(tuple(false, "NOT_FOUND", CreateWorkflowInstancesStub.REJECTION_REASON));
+  }
+
+  @Test
+  public void shouldNotSendRequestWithoutInstances() {
+    // given
+    new CreateWorkflowInstancesStub().registerWith(brokerClient);
+
+    // when
+    final CreateWorkflowInstancesResponse response =
+        client.createWorkflowInstances(CreateWorkflowInstancesRequest.getDefaultInstance());
+
+    // then
+    assertThat(response.getResultsList()).isEmpty();
+    assertThat(brokerClient.getBrokerRequests()).isEmpty();
+  }
+
+  private List<BrokerCreateWorkflowInstancesRequest> getBrokerRequests() {
+    return brokerClient.getBrokerRequests().stream()
+        .map(BrokerCreateWorkflowInstancesRequest.class::cast)
+        .collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.gateway.api.workflow;
+
+import io.zeebe.gateway.api.util.StubbedBrokerClient;
+import io.zeebe.gateway.api.util.StubbedBrokerClient.RequestStub;
+import io.zeebe.gateway.impl.broker.request.BrokerPublishMessageRequest;
+import io.zeebe.gateway.impl.broker.request.BrokerPublishMessagesRequest;
+import io.zeebe.gateway.impl.broker.response.BrokerRejection;
+import io.zeebe.gateway.impl.broker.response.BrokerRejectionResponse;
+import io.zeebe.gateway.impl.broker.response.BrokerResponse;
+import io.zeebe.protocol.record.RejectionType;
+import io.zeebe.protocol.record.intent.MessageIntent;
+import io.zeebe.util.buffer.BufferUtil;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public final class PublishMessagesStub
+    implements RequestStub<
+        BrokerPublishMessagesRequest, BrokerResponse<List<BrokerResponse<Void>>>> {
+
+  public static final String REJECTION_REASON = "message already published";
+
+  private final Set<String> publishedMessageIds = new HashSet<>();
+
+  @Override
+  public void registerWith(final StubbedBrokerClient gateway) {
+    gateway.registerHandler(BrokerPublishMessagesRequest.class, this);
+  }
+
+  @Override
+  public BrokerResponse<List<BrokerResponse<Void>>> handle(
+      final BrokerPublishMessagesRequest request) {
+    final List<BrokerResponse<Void>> responses = new ArrayList<>();
+
+    for (final var command : request.getCommands()) {
+      final String messageId =
+          BufferUtil.bufferAsString(
+              ((BrokerPublishMessageRequest) command).getRequestWriter().getMessageIdBuffer());
+
+      if (messageId.isEmpty() || publishedMessageIds.add(messageId)) {
+        responses.add(new BrokerResponse<>(null, request.getPartitionId(), -1));
+      } else {
+        responses.add(
+            new BrokerRejectionResponse<>(
+                new BrokerRejection(
+                    MessageIntent.PUBLISH, -1, RejectionType.ALREADY_EXISTS, REJECTION_REASON)));
+      }
+    }
+
+    return new BrokerResponse<>(responses, request.getPartitionId(), -1);
+  }
+}
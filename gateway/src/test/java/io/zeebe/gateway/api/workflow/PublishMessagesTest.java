@@ -0,0 +1,159 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.gateway.api.workflow;
+
+import static io.zeebe.util.buffer.BufferUtil.bufferAsString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import io.zeebe.gateway.RequestMapper;
+import io.zeebe.gateway.api.util.GatewayTest;
+import io.zeebe.gateway.impl.broker.request.BrokerPublishMessageRequest;
+import io.zeebe.gateway.impl.broker.request.BrokerPublishMessagesRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessageRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessageResult;
+import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessagesRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessagesResponse;
+import io.zeebe.protocol.impl.SubscriptionUtil;
+import io.zeebe.util.buffer.BufferUtil;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.Test;
+
+public final class PublishMessagesTest extends GatewayTest {
+
+  private static final int PARTITIONS_COUNT = 8;
+
+  @Test
+  public void shouldGroupMessagesByCorrelationKeyPartition() {
+    // given
+    new PublishMessagesStub().registerWith(brokerClient);
+
+    final PublishMessagesRequest request =
+        PublishMessagesRequest.newBuilder()
+            .addMessages(message("a", "first"))
+            .addMessages(message("b", "second"))
+            .addMessages(message("a", "third"))
+            .build();
+
+    // when
+    client.publishMessages(request);
+
+    // then
+    final List<BrokerPublishMessagesRequest> brokerRequests = getBrokerRequests();
+    assertThat(brokerRequests)
+        .extracting(BrokerPublishMessagesRequest::getPartitionId)
+        .containsExactly(getPartitionId("a"), getPartitionId("b"));
+
+    assertThat(brokerRequests.get(0).getCommands())
+        .extracting(
+            command ->
+                bufferAsString(
+                    ((BrokerPublishMessageRequest) command)
+                        .getRequestWriter()
+                        .getMessageIdBuffer()))
+        .containsExactly("first", "third");
+    assertThat(brokerRequests.get(1).getCommands()).hasSize(1);
+  }
+
+  @Test
+  public void shouldReturnResultsInRequestOrder() {
+    // given
+    new PublishMessagesStub().registerWith(brokerClient);
+
+    final PublishMessagesRequest request =
+        PublishMessagesRequest.newBuilder()
+            .addMessages(message("a", "first"))
+            .addMessages(message("b", "second"))
+            .addMessages(message("a", "first"))
+            .addMessages(message("c", "third"))
+            .build();
+
+    // when
+    final PublishMessagesResponse response = client.publishMessages(request);
+
+    // then
+    assertThat(response.getResultsList())
+        .extracting(
+            PublishMessageResult::getPublished,
+            PublishMessageResult::getRejectionType,
+            PublishMessageResult::getRejectionReason)
+        .containsExactly(
+            tuple(true, "", ""),
+            tuple(true, "", ""),
+            tuple(false, "ALREADY_EXISTS", PublishMessagesStub.REJECTION_REASON),
+            tuple(true, "", ""));
+  }
+
+  @Test
+  public void shouldSplitMessagesOfPartitionBySize() {
+    // given
+    new PublishMessagesStub().registerWith(brokerClient);
+
+    final String variables = largeVariables();
+    final PublishMessagesRequest request =
+        PublishMessagesRequest.newBuilder()
+            .addMessages(message("a", "first").toBuilder().setVariables(variables))
+            .addMessages(message("a", "second"))
+            .addMessages(message("a", "third").toBuilder().setVariables(variables))
+            .build();
+
+    // when
+    final PublishMessagesResponse response = client.publishMessages(request);
+
+    // then
+    final List<BrokerPublishMessagesRequest> brokerRequests = getBrokerRequests();
+    assertThat(brokerRequests)
+        .extracting(BrokerPublishMessagesRequest::getPartitionId)
+        .containsExactly(getPartitionId("a"), getPartitionId("a"));
+    assertThat(brokerRequests)
+        .extracting(brokerRequest -> brokerRequest.getCommands().size())
+        .containsExactly(2, 1);
+    assertThat(response.getResultsList())
+        .extracting(PublishMessageResult::getPublished)
+        .containsExactly(true, true, true);
+  }
+
+  @Test
+  public void shouldNotSendRequestWithoutMessages() {
+    // given
+    new PublishMessagesStub().registerWith(brokerClient);
+
+    // when
+    final PublishMessagesResponse response =
+        client.publishMessages(PublishMessagesRequest.getDefaultInstance());
+
+    // then
+    assertThat(response.getResultsList()).isEmpty();
+    assertThat(brokerClient.getBrokerRequests()).isEmpty();
+  }
+
+  private static PublishMessageRequest message(final String correlationKey, final String id) {
+    return PublishMessageRequest.newBuilder()
+        .setName("message")
+        .setCorrelationKey(correlationKey)
+        .setMessageId(id)
+        .build();
+  }
+
+  private static String largeVariables() {
+    final String value = "x".repeat(RequestMapper.MAX_BATCH_REQUEST_LENGTH / 2);
+    return "{\"value\":\"" + value + "\"}";
+  }
+
+  private static int getPartitionId(final String correlationKey) {
+    return SubscriptionUtil.getSubscriptionPartitionId(
+        BufferUtil.wrapString(correlationKey), PARTITIONS_COUNT);
+  }
+
+  private List<BrokerPublishMessagesRequest> getBrokerRequests() {
+    return brokerClient.getBrokerRequests().stream()
+        .map(BrokerPublishMessagesRequest.class::cast)
+        .collect(Collectors.toList());
+  }
+}
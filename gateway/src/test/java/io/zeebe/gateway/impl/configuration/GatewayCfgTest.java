@@ -39,7 +39,8 @@ public final class GatewayCfgTest {
         .setClusterName("testCluster")
         .setMemberId("testMember")
         .setHost("1.2.3.4")
-        .setPort(12321);
+        .setPort(12321)
+        .setCommandTransport("binary");
     CUSTOM_CFG
         .getSecurity()
         .setEnabled(true)
@@ -150,6 +151,7 @@ public final class GatewayCfgTest {
     setEnv("zeebe.gateway.cluster.memberId", "envMember");
     setEnv("zeebe.gateway.cluster.host", "envHost");
     setEnv("zeebe.gateway.cluster.port", "12345");
+    setEnv("zeebe.gateway.cluster.commandTransport", "atomix");
     setEnv("zeebe.gateway.monitoring.enabled", "true");
     setEnv("zeebe.gateway.monitoring.host", "monitorHost");
     setEnv("zeebe.gateway.monitoring.port", "231");
@@ -181,7 +183,8 @@ public final class GatewayCfgTest {
         .setClusterName("envCluster")
         .setMemberId("envMember")
         .setHost("envHost")
-        .setPort(12345);
+        .setPort(12345)
+        .setCommandTransport("atomix");
     expected.getThreads().setManagementThreads(32);
     expected.getMonitoring().setEnabled(true).setHost("monitorHost").setPort(231);
     expected
@@ -85,6 +85,12 @@ public final class LogStreamBatchWriterImpl implements LogStreamBatchWriter, Log
     return logWriteBuffer.getMaxFragmentLength();
   }
 
+  @Override
+  public boolean canWriteAdditionalEvent(final int length) {
+    final int count = eventCount + 1;
+    return logWriteBuffer.canClaimFragmentBatch(count, batchLength(count, eventLength + length));
+  }
+
   @Override
   public void reset() {
     eventBufferOffset = 0;
@@ -215,7 +221,7 @@ public final class LogStreamBatchWriterImpl implements LogStreamBatchWriter, Log
   }
 
   private long claimBatchForEvents() {
-    final int batchLength = eventLength + (eventCount * HEADER_BLOCK_LENGTH);
+    final int batchLength = batchLength(eventCount, eventLength);
 
     long claimedPosition;
     do {
@@ -225,6 +231,10 @@ public final class LogStreamBatchWriterImpl implements LogStreamBatchWriter, Log
     return claimedPosition;
   }
 
+  private static int batchLength(final int eventCount, final int eventLength) {
+    return eventLength + (eventCount * HEADER_BLOCK_LENGTH);
+  }
+
   private void writeEventsToBuffer(
       final MutableDirectBuffer writeBuffer, final long firstPosition) {
     eventBufferOffset = 0;
@@ -14,6 +14,7 @@ import io.zeebe.util.sched.ActorScheduler;
 import io.zeebe.util.sched.channel.ActorConditions;
 import io.zeebe.util.sched.future.ActorFuture;
 import io.zeebe.util.sched.future.CompletableActorFuture;
+import java.time.Duration;
 import java.util.Objects;
 
 public final class LogStreamBuilderImpl implements LogStreamBuilder {
@@ -24,6 +25,7 @@ public final class LogStreamBuilderImpl implements LogStreamBuilder {
   private LogStorage logStorage;
   private String logName;
   private int nodeId = 0;
+  private Duration writeBufferAutoSizing;
 
   @Override
   public LogStreamBuilder withActorScheduler(final ActorScheduler actorScheduler) {
@@ -61,6 +63,12 @@ public final class LogStreamBuilderImpl implements LogStreamBuilder {
     return this;
   }
 
+  @Override
+  public LogStreamBuilder withWriteBufferAutoSizing(final Duration bufferedTime) {
+    writeBufferAutoSizing = bufferedTime;
+    return this;
+  }
+
   @Override
   public ActorFuture<LogStream> buildAsync() {
     validate();
@@ -73,6 +81,7 @@ public final class LogStreamBuilderImpl implements LogStreamBuilder {
             partitionId,
             nodeId,
             maxFragmentSize,
+            writeBufferAutoSizing,
             logStorage);
 
     final var logstreamInstallFuture = new CompletableActorFuture<LogStream>();
@@ -8,6 +8,7 @@
 package io.zeebe.logstreams.impl.log;
 
 import io.zeebe.dispatcher.Dispatcher;
+import io.zeebe.dispatcher.DispatcherBuilder;
 import io.zeebe.dispatcher.Dispatchers;
 import io.zeebe.logstreams.impl.Loggers;
 import io.zeebe.logstreams.log.LogStream;
@@ -21,11 +22,14 @@ import io.zeebe.util.health.HealthStatus;
 import io.zeebe.util.sched.Actor;
 import io.zeebe.util.sched.ActorCondition;
 import io.zeebe.util.sched.ActorScheduler;
+import io.zeebe.util.sched.ScheduledTimer;
 import io.zeebe.util.sched.channel.ActorConditions;
+import io.zeebe.util.sched.clock.ActorClock;
 import io.zeebe.util.sched.future.ActorFuture;
 import io.zeebe.util.sched.future.CompletableActorFuture;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.BiConsumer;
@@ -36,6 +40,8 @@ public final class LogStreamImpl extends Actor implements LogStream, FailureList
 
   private static final Logger LOG = Loggers.LOGSTREAMS_LOGGER;
   private static final String APPENDER_SUBSCRIPTION_NAME = "appender";
+  private static final Duration WRITE_THROUGHPUT_WINDOW = Duration.ofSeconds(10);
+  private static final long MIN_PARTIAL_WINDOW_MILLIS = 1000;
 
   private final ActorConditions onCommitPositionUpdatedConditions;
   private final String logName;
@@ -47,8 +53,13 @@ public final class LogStreamImpl extends Actor implements LogStream, FailureList
   private final LogStorage logStorage;
   private final CompletableActorFuture<Void> closeFuture;
   private final int nodeId;
+  private final Duration writeBufferAutoSizing;
   private ActorFuture<LogStorageAppender> appenderFuture;
   private Dispatcher writeBuffer;
+  private ScheduledTimer writeThroughputTimer;
+  private long throughputWindowStartedAt;
+  private long throughputWindowStartBytes;
+  private long measuredWriteThroughput;
   private LogStorageAppender appender;
   private long commitPosition;
   private Throwable closeError; // set if any error occurred during closeAsync
@@ -62,6 +73,7 @@ public final class LogStreamImpl extends Actor implements LogStream, FailureList
       final int partitionId,
       final int nodeId,
       final int maxFrameLength,
+      final Duration writeBufferAutoSizing,
       final LogStorage logStorage) {
     this.actorScheduler = actorScheduler;
     this.onCommitPositionUpdatedConditions = onCommitPositionUpdatedConditions;
@@ -72,6 +84,7 @@ public final class LogStreamImpl extends Actor implements LogStream, FailureList
     actorName = buildActorName(nodeId, "LogStream-" + partitionId);
 
     this.maxFrameLength = maxFrameLength;
+    this.writeBufferAutoSizing = writeBufferAutoSizing;
     this.logStorage = logStorage;
     closeFuture = new CompletableActorFuture<>();
 
@@ -158,6 +171,11 @@ public final class LogStreamImpl extends Actor implements LogStream, FailureList
     return actorName;
   }
 
+  @Override
+  public int getAffinityKey() {
+    return partitionId;
+  }
+
   @Override
   protected void onActorClosing() {
     LOG.info("On closing logstream {} close {} readers", logName, readers.size());
@@ -239,6 +257,11 @@ public final class LogStreamImpl extends Actor implements LogStream, FailureList
     final var toCloseWriteBuffer = writeBuffer;
     appender = null;
     writeBuffer = null;
+    if (writeThroughputTimer != null) {
+      writeThroughputTimer.cancel();
+      writeThroughputTimer = null;
+      measureWriteThroughput(toCloseWriteBuffer, MIN_PARTIAL_WINDOW_MILLIS);
+    }
     toCloseAppender
         .closeAsync()
         .onComplete(
@@ -252,6 +275,37 @@ public final class LogStreamImpl extends Actor implements LogStream, FailureList
     return closeAppenderFuture;
   }
 
+  private boolean isWriteBufferAutoSizingEnabled() {
+    return writeBufferAutoSizing != null
+        && !writeBufferAutoSizing.isZero()
+        && !writeBufferAutoSizing.isNegative();
+  }
+
+  private void startMeasuringWriteThroughput() {
+    throughputWindowStartedAt = ActorClock.currentTimeMillis();
+    throughputWindowStartBytes = 0;
+    writeThroughputTimer =
+        actor.runAtFixedRate(WRITE_THROUGHPUT_WINDOW, () -> measureWriteThroughput(writeBuffer, 1));
+  }
+
+  /**
+   * Measures the throughput of the current window and starts the next one, so that the write buffer
+   * is sized for the recent throughput rather than the average since it was opened. A window which
+   * is shorter than the given time is ignored, as it is not representative.
+   */
+  private void measureWriteThroughput(final Dispatcher buffer, final long minWindowMillis) {
+    final long now = ActorClock.currentTimeMillis();
+    final long elapsedMillis = now - throughputWindowStartedAt;
+    if (buffer == null || elapsedMillis < minWindowMillis) {
+      return;
+    }
+
+    final long publishedBytes = buffer.getPublishedBytes();
+    measuredWriteThroughput = (publishedBytes - throughputWindowStartBytes) * 1000 / elapsedMillis;
+    throughputWindowStartedAt = now;
+    throughputWindowStartBytes = publishedBytes;
+  }
+
   private ActorFuture<LogStorageAppender> openAppender() {
     if (appenderFuture != null) {
       return appenderFuture;
@@ -269,13 +323,25 @@ public final class LogStreamImpl extends Actor implements LogStream, FailureList
       initialPosition = 1;
     }
 
-    writeBuffer =
+    final DispatcherBuilder writeBufferBuilder =
         Dispatchers.create(buildActorName(nodeId, "dispatcher-" + partitionId))
             .maxFragmentLength(maxFrameLength)
             .initialPosition(initialPosition)
             .name(logName + "-write-buffer")
-            .actorScheduler(actorScheduler)
-            .build();
+            .actorScheduler(actorScheduler);
+
+    if (isWriteBufferAutoSizingEnabled() && measuredWriteThroughput > 0) {
+      LOG.debug(
+          "Size write buffer of log stream {} for measured throughput of {} bytes/s",
+          logName,
+          measuredWriteThroughput);
+      writeBufferBuilder.bufferSizeForThroughput(measuredWriteThroughput, writeBufferAutoSizing);
+    }
+
+    writeBuffer = writeBufferBuilder.build();
+    if (isWriteBufferAutoSizingEnabled()) {
+      startMeasuringWriteThroughput();
+    }
 
     writeBuffer
         .openSubscriptionAsync(APPENDER_SUBSCRIPTION_NAME)
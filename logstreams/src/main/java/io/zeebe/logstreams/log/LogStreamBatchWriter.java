@@ -25,6 +25,14 @@ public interface LogStreamBatchWriter extends LogStreamWriter {
 
   int getMaxFragmentLength();
 
+  /**
+   * Returns true if an event with the given length fits into the batch, in addition to the events
+   * which are already added.
+   *
+   * @param length the length of the event's metadata and value
+   */
+  boolean canWriteAdditionalEvent(int length);
+
   /** Discard all non-written batch data. */
   void reset();
 
@@ -10,6 +10,7 @@ package io.zeebe.logstreams.log;
 import io.zeebe.logstreams.spi.LogStorage;
 import io.zeebe.util.sched.ActorScheduler;
 import io.zeebe.util.sched.future.ActorFuture;
+import java.time.Duration;
 
 /** Builder pattern for the {@link LogStream} */
 public interface LogStreamBuilder {
@@ -64,6 +65,16 @@ public interface LogStreamBuilder {
    */
   LogStreamBuilder withLogName(String logName);
 
+  /**
+   * Enables the auto-sizing of the write buffer. When the write buffer is recreated, e.g. after the
+   * appender failed, it is sized to hold the data written during the given time, based on the
+   * throughput measured during the last seconds on the previous write buffer. Disabled by default.
+   *
+   * @param bufferedTime the time the write buffer should be able to bridge, or zero to disable it
+   * @return this builder
+   */
+  LogStreamBuilder withWriteBufferAutoSizing(Duration bufferedTime);
+
   /**
    * Returns a future which, when completed, contains a log stream that can be read from/written to.
    *
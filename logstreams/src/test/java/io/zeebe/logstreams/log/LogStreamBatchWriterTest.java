@@ -415,6 +415,21 @@ public final class LogStreamBatchWriterTest {
     assertThat(pos).isEqualTo(0);
   }
 
+  @Test
+  public void shouldNotWriteAdditionalEventBeyondMaxFragmentLength() {
+    // given
+    final int maxFragmentLength = writer.getMaxFragmentLength();
+    writer.event().key(1).value(EVENT_VALUE_1).done();
+
+    // when
+    final boolean canWriteSmallEvent = writer.canWriteAdditionalEvent(EVENT_VALUE_2.capacity());
+    final boolean canWriteLargeEvent = writer.canWriteAdditionalEvent(maxFragmentLength);
+
+    // then
+    assertThat(canWriteSmallEvent).isTrue();
+    assertThat(canWriteLargeEvent).isFalse();
+  }
+
   @Test
   public void shouldFailToWriteOnClosedLogStream() {
     // given
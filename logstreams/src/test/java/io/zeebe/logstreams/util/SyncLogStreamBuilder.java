@@ -14,6 +14,7 @@ import io.zeebe.util.sched.Actor;
 import io.zeebe.util.sched.ActorScheduler;
 import io.zeebe.util.sched.future.ActorFuture;
 import io.zeebe.util.sched.future.CompletableActorFuture;
+import java.time.Duration;
 import java.util.Objects;
 
 public final class SyncLogStreamBuilder implements LogStreamBuilder {
@@ -65,6 +66,12 @@ public final class SyncLogStreamBuilder implements LogStreamBuilder {
     return this;
   }
 
+  @Override
+  public SyncLogStreamBuilder withWriteBufferAutoSizing(final Duration bufferedTime) {
+    delegate.withWriteBufferAutoSizing(bufferedTime);
+    return this;
+  }
+
   @Override
   public ActorFuture<LogStream> buildAsync() {
     return delegate.buildAsync();
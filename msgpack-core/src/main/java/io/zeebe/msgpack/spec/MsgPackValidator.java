@@ -0,0 +1,215 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.msgpack.spec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Validates the structure of a MessagePack document without decoding its values. A document is
+ * valid if it is a well-formed map with string keys that spans exactly the given length, contains
+ * all required keys and the values of the declared keys have the expected type.
+ *
+ * <p>Values of keys which are not declared are only checked for well-formedness. The validator can
+ * be reused, but is not thread-safe.
+ */
+public final class MsgPackValidator {
+  private final MsgPackReader reader = new MsgPackReader();
+  private final UnsafeBuffer currentKey = new UnsafeBuffer(0, 0);
+  private final List<DeclaredKey> declaredKeys = new ArrayList<>();
+
+  /**
+   * @param key the key of the property
+   * @param type the type the value must be encoded as, or {@code null} if any type is valid
+   * @param isRequired {@code true} if the document must contain the key
+   */
+  public MsgPackValidator declareKey(
+      final String key, final MsgPackType type, final boolean isRequired) {
+    declaredKeys.add(new DeclaredKey(key, type, Long.MIN_VALUE, Long.MAX_VALUE, false, isRequired));
+    return this;
+  }
+
+  /**
+   * Declares a key whose value must be an integer in the given range (inclusive).
+   *
+   * @param key the key of the property
+   * @param minValue the lowest valid value
+   * @param maxValue the highest valid value
+   * @param isRequired {@code true} if the document must contain the key
+   */
+  public MsgPackValidator declareIntegerKey(
+      final String key, final long minValue, final long maxValue, final boolean isRequired) {
+    declaredKeys.add(
+        new DeclaredKey(key, MsgPackType.INTEGER, minValue, maxValue, false, isRequired));
+    return this;
+  }
+
+  /**
+   * Declares a key whose value must be a binary which contains a document, i.e. which is empty, nil
+   * or starts with a map header.
+   *
+   * @param key the key of the property
+   * @param isRequired {@code true} if the document must contain the key
+   */
+  public MsgPackValidator declareDocumentKey(final String key, final boolean isRequired) {
+    declaredKeys.add(
+        new DeclaredKey(key, MsgPackType.BINARY, Long.MIN_VALUE, Long.MAX_VALUE, true, isRequired));
+    return this;
+  }
+
+  /** @throws MsgpackReaderException if the document is not valid */
+  public void validate(final DirectBuffer buffer, final int offset, final int length) {
+    reader.wrap(buffer, offset, length);
+
+    try {
+      validateMap();
+    } catch (final MsgpackReaderException e) {
+      throw e;
+    } catch (final RuntimeException e) {
+      throw new MsgpackReaderException(
+          String.format(
+              "Unable to validate document, stuck at offset %d of length %d",
+              reader.getOffset(), length),
+          e);
+    }
+
+    if (reader.getOffset() != length) {
+      throw new MsgpackReaderException(
+          String.format(
+              "Expected document to have a length of %d, but it ends at offset %d",
+              length, reader.getOffset()));
+    }
+  }
+
+  private void validateMap() {
+    for (int i = 0; i < declaredKeys.size(); i++) {
+      declaredKeys.get(i).isPresent = false;
+    }
+
+    final int mapSize = reader.readMapHeader();
+
+    // keys are usually written in declaration order
+    int expectedIndex = 0;
+
+    for (int i = 0; i < mapSize; i++) {
+      final int keyLength = reader.readStringLength();
+      currentKey.wrap(reader.getBuffer(), reader.getOffset(), keyLength);
+      reader.skipBytes(keyLength);
+
+      final int index = findDeclaredKey(expectedIndex);
+      if (index >= 0) {
+        final DeclaredKey declaredKey = declaredKeys.get(index);
+        validateValue(declaredKey);
+        declaredKey.isPresent = true;
+        expectedIndex = index + 1;
+      } else {
+        reader.skipValue();
+      }
+    }
+
+    for (int i = 0; i < declaredKeys.size(); i++) {
+      final DeclaredKey declaredKey = declaredKeys.get(i);
+      if (declaredKey.isRequired && !declaredKey.isPresent) {
+        throw new MsgpackReaderException(
+            String.format("Property '%s' has no valid value", declaredKey));
+      }
+    }
+  }
+
+  private int findDeclaredKey(final int expectedIndex) {
+    final int keyCount = declaredKeys.size();
+    for (int i = 0; i < keyCount; i++) {
+      final int index = (expectedIndex + i) % keyCount;
+      if (declaredKeys.get(index).key.equals(currentKey)) {
+        return index;
+      }
+    }
+    return -1;
+  }
+
+  private void validateValue(final DeclaredKey declaredKey) {
+    if (declaredKey.type == null) {
+      reader.skipValue();
+      return;
+    }
+
+    final byte headerByte = reader.getBuffer().getByte(reader.getOffset());
+    final MsgPackType type = MsgPackFormat.valueOf(headerByte).getType();
+    if (type != declaredKey.type) {
+      throw new MsgpackReaderException(
+          String.format(
+              "Expected property '%s' to be of type %s, but was %s",
+              declaredKey, declaredKey.type, type));
+    }
+
+    if (type == MsgPackType.INTEGER) {
+      final long value = reader.readInteger();
+      if (value < declaredKey.minValue || value > declaredKey.maxValue) {
+        throw new MsgpackReaderException(
+            String.format(
+                "Expected property '%s' to be in the range [%d, %d], but was %d",
+                declaredKey, declaredKey.minValue, declaredKey.maxValue, value));
+      }
+    } else if (declaredKey.isDocument) {
+      validateDocument(declaredKey);
+    } else {
+      reader.skipValue();
+    }
+  }
+
+  private void validateDocument(final DeclaredKey declaredKey) {
+    final int documentLength = reader.readBinaryLength();
+    final int documentOffset = reader.getOffset();
+    reader.skipBytes(documentLength);
+
+    if (documentLength > 0) {
+      final byte headerByte = reader.getBuffer().getByte(documentOffset);
+      final boolean isNil = documentLength == 1 && headerByte == MsgPackCodes.NIL;
+      final MsgPackType type = MsgPackFormat.valueOf(headerByte).getType();
+
+      if (!isNil && type != MsgPackType.MAP) {
+        throw new MsgpackReaderException(
+            String.format(
+                "Expected property '%s' to be a root level object, but was %s", declaredKey, type));
+      }
+    }
+  }
+
+  private static final class DeclaredKey {
+    private final DirectBuffer key;
+    private final MsgPackType type;
+    private final long minValue;
+    private final long maxValue;
+    private final boolean isDocument;
+    private final boolean isRequired;
+    private boolean isPresent;
+
+    private DeclaredKey(
+        final String key,
+        final MsgPackType type,
+        final long minValue,
+        final long maxValue,
+        final boolean isDocument,
+        final boolean isRequired) {
+      this.key = new UnsafeBuffer(key.getBytes(StandardCharsets.UTF_8));
+      this.type = type;
+      this.minValue = minValue;
+      this.maxValue = maxValue;
+      this.isDocument = isDocument;
+      this.isRequired = isRequired;
+    }
+
+    @Override
+    public String toString() {
+      return key.getStringWithoutLengthUtf8(0, key.capacity());
+    }
+  }
+}
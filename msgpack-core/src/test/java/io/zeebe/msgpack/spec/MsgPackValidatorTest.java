@@ -0,0 +1,248 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.msgpack.spec;
+
+import static io.zeebe.msgpack.spec.MsgPackUtil.encodeMsgPack;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Test;
+
+public final class MsgPackValidatorTest {
+
+  private final MsgPackValidator validator =
+      new MsgPackValidator()
+          .declareKey("name", MsgPackType.STRING, true)
+          .declareIntegerKey("retries", Integer.MIN_VALUE, Integer.MAX_VALUE, false)
+          .declareKey("headers", null, false)
+          .declareDocumentKey("variables", false);
+
+  @Test
+  public void shouldAcceptValidDocument() {
+    // given
+    final DirectBuffer document =
+        encodeMsgPack(
+            (w) -> {
+              w.packMapHeader(5);
+              w.packString("name");
+              w.packString("foo");
+              w.packString("retries");
+              w.packInt(3);
+              w.packString("headers");
+              w.packMapHeader(1);
+              w.packString("a");
+              w.packArrayHeader(2);
+              w.packNil();
+              w.packBoolean(true);
+              w.packString("variables");
+              w.packBinaryHeader(1);
+              w.writePayload(new byte[] {(byte) 0x80});
+              w.packString("undeclared");
+              w.packBinaryHeader(2);
+              w.writePayload(new byte[] {1, 2});
+            });
+
+    // when - then
+    assertThatCode(() -> validate(document)).doesNotThrowAnyException();
+  }
+
+  @Test
+  public void shouldAcceptKeysInAnyOrder() {
+    // given
+    final DirectBuffer document =
+        encodeMsgPack(
+            (w) -> {
+              w.packMapHeader(2);
+              w.packString("retries");
+              w.packInt(3);
+              w.packString("name");
+              w.packString("foo");
+            });
+
+    // when - then
+    assertThatCode(() -> validate(document)).doesNotThrowAnyException();
+  }
+
+  @Test
+  public void shouldRejectMissingRequiredKey() {
+    // given
+    final DirectBuffer document =
+        encodeMsgPack(
+            (w) -> {
+              w.packMapHeader(1);
+              w.packString("retries");
+              w.packInt(3);
+            });
+
+    // when - then
+    assertThatThrownBy(() -> validate(document))
+        .isInstanceOf(MsgpackReaderException.class)
+        .hasMessage("Property 'name' has no valid value");
+  }
+
+  @Test
+  public void shouldRejectValueOfWrongType() {
+    // given
+    final DirectBuffer document =
+        encodeMsgPack(
+            (w) -> {
+              w.packMapHeader(1);
+              w.packString("name");
+              w.packInt(1);
+            });
+
+    // when - then
+    assertThatThrownBy(() -> validate(document))
+        .isInstanceOf(MsgpackReaderException.class)
+        .hasMessage("Expected property 'name' to be of type STRING, but was INTEGER");
+  }
+
+  @Test
+  public void shouldRejectIntegerOutOfRange() {
+    // given
+    final DirectBuffer document =
+        encodeMsgPack(
+            (w) -> {
+              w.packMapHeader(2);
+              w.packString("name");
+              w.packString("foo");
+              w.packString("retries");
+              w.packLong(Long.MAX_VALUE);
+            });
+
+    // when - then
+    assertThatThrownBy(() -> validate(document))
+        .isInstanceOf(MsgpackReaderException.class)
+        .hasMessageStartingWith("Expected property 'retries' to be in the range");
+  }
+
+  @Test
+  public void shouldRejectVariablesWhichAreNotADocument() {
+    // given
+    final DirectBuffer variables = encodeMsgPack((w) -> w.packString("foo"));
+    final DirectBuffer document =
+        encodeMsgPack(
+            (w) -> {
+              w.packMapHeader(2);
+              w.packString("name");
+              w.packString("foo");
+              w.packString("variables");
+              w.packBinaryHeader(variables.capacity());
+              w.writePayload(variables.byteArray());
+            });
+
+    // when - then
+    assertThatThrownBy(() -> validate(document))
+        .isInstanceOf(MsgpackReaderException.class)
+        .hasMessage("Expected property 'variables' to be a root level object, but was STRING");
+  }
+
+  @Test
+  public void shouldRejectDocumentWhichIsNotAMap() {
+    // given
+    final DirectBuffer document = encodeMsgPack((w) -> w.packString("name"));
+
+    // when - then
+    assertThatThrownBy(() -> validate(document))
+        .isInstanceOf(MsgpackReaderException.class)
+        .hasMessageContaining("Unable to determine map type");
+  }
+
+  @Test
+  public void shouldRejectNonStringKey() {
+    // given
+    final DirectBuffer document =
+        encodeMsgPack(
+            (w) -> {
+              w.packMapHeader(1);
+              w.packInt(1);
+              w.packString("foo");
+            });
+
+    // when - then
+    assertThatThrownBy(() -> validate(document))
+        .isInstanceOf(MsgpackReaderException.class)
+        .hasMessageContaining("Unable to determine string type");
+  }
+
+  @Test
+  public void shouldRejectTruncatedDocument() {
+    // given
+    final DirectBuffer document =
+        encodeMsgPack(
+            (w) -> {
+              w.packMapHeader(2);
+              w.packString("name");
+              w.packString("foo");
+              w.packString("headers");
+              w.packArrayHeader(3);
+              w.packInt(1);
+            });
+
+    // when - then
+    assertThatThrownBy(() -> validate(document)).isInstanceOf(MsgpackReaderException.class);
+  }
+
+  @Test
+  public void shouldRejectTruncatedString() {
+    // given
+    final DirectBuffer document =
+        encodeMsgPack(
+            (w) -> {
+              w.packMapHeader(1);
+              w.packString("name");
+              w.packString("foo");
+            });
+
+    // when - then
+    assertThatThrownBy(() -> validator.validate(document, 0, document.capacity() - 1))
+        .isInstanceOf(MsgpackReaderException.class);
+  }
+
+  @Test
+  public void shouldRejectTrailingBytes() {
+    // given
+    final DirectBuffer encoded =
+        encodeMsgPack(
+            (w) -> {
+              w.packMapHeader(1);
+              w.packString("name");
+              w.packString("foo");
+            });
+    final UnsafeBuffer document = new UnsafeBuffer(new byte[encoded.capacity() + 1]);
+    document.putBytes(0, encoded, 0, encoded.capacity());
+
+    // when - then
+    assertThatThrownBy(() -> validate(document))
+        .isInstanceOf(MsgpackReaderException.class)
+        .hasMessageStartingWith("Expected document to have a length of");
+  }
+
+  @Test
+  public void shouldReuseValidator() {
+    // given
+    final DirectBuffer validDocument =
+        encodeMsgPack(
+            (w) -> {
+              w.packMapHeader(1);
+              w.packString("name");
+              w.packString("foo");
+            });
+    final DirectBuffer invalidDocument = encodeMsgPack((w) -> w.packMapHeader(0));
+    validate(validDocument);
+
+    // when - then
+    assertThatThrownBy(() -> validate(invalidDocument)).isInstanceOf(MsgpackReaderException.class);
+  }
+
+  private void validate(final DirectBuffer document) {
+    validator.validate(document, 0, document.capacity());
+  }
+}
@@ -14,6 +14,7 @@ import io.zeebe.msgpack.spec.MsgPackWriter;
 import io.zeebe.msgpack.value.BaseValue;
 import io.zeebe.msgpack.value.StringValue;
 import java.util.Objects;
+import org.agrona.concurrent.UnsafeBuffer;
 
 public abstract class BaseProperty<T extends BaseValue> implements Recyclable {
   protected final StringValue key;
@@ -21,6 +22,11 @@ public abstract class BaseProperty<T extends BaseValue> implements Recyclable {
   protected final T defaultValue;
   protected boolean isSet;
 
+  // the encoded value, if the property was read lazily and is not decoded yet
+  private final UnsafeBuffer encodedValue = new UnsafeBuffer(0, 0);
+  private boolean isEncoded;
+  private MsgPackReader encodedValueReader;
+
   public BaseProperty(final T value) {
     this(StringValue.EMPTY_STRING, value);
   }
@@ -40,11 +46,13 @@ public abstract class BaseProperty<T extends BaseValue> implements Recyclable {
 
   public void set() {
     isSet = true;
+    isEncoded = false;
   }
 
   @Override
   public void reset() {
     isSet = false;
+    isEncoded = false;
     value.reset();
   }
 
@@ -52,12 +60,17 @@ public abstract class BaseProperty<T extends BaseValue> implements Recyclable {
     return isSet || defaultValue != null;
   }
 
+  public boolean hasDefaultValue() {
+    return defaultValue != null;
+  }
+
   public StringValue getKey() {
     return key;
   }
 
   protected T resolveValue() {
     if (isSet) {
+      decodeValue();
       return value;
     } else if (defaultValue != null) {
       return defaultValue;
@@ -68,6 +81,10 @@ public abstract class BaseProperty<T extends BaseValue> implements Recyclable {
   }
 
   public int getEncodedLength() {
+    if (isEncoded) {
+      return key.getEncodedLength() + encodedValue.capacity();
+    }
+
     return key.getEncodedLength() + resolveValue().getEncodedLength();
   }
 
@@ -76,7 +93,44 @@ public abstract class BaseProperty<T extends BaseValue> implements Recyclable {
     set();
   }
 
+  /**
+   * Only remembers where the value is encoded, without decoding it. The value is decoded on first
+   * access, or written as it is if it is not accessed at all. The encoded value is a view on the
+   * reader's buffer, so it is only valid as long as the buffer is.
+   */
+  public void readLazily(final MsgPackReader reader) {
+    final int offset = reader.getOffset();
+    reader.skipValue();
+    encodedValue.wrap(reader.getBuffer(), offset, reader.getOffset() - offset);
+
+    set();
+    isEncoded = true;
+  }
+
+  private void decodeValue() {
+    if (isEncoded) {
+      if (encodedValueReader == null) {
+        encodedValueReader = new MsgPackReader();
+      }
+
+      encodedValueReader.wrap(encodedValue, 0, encodedValue.capacity());
+      try {
+        value.read(encodedValueReader);
+      } catch (final Exception e) {
+        throw new MsgpackPropertyException(key, e);
+      }
+
+      isEncoded = false;
+    }
+  }
+
   public void write(final MsgPackWriter writer) {
+    if (isEncoded) {
+      key.write(writer);
+      writer.writeRaw(encodedValue);
+      return;
+    }
+
     T valueToWrite = value;
     if (!isSet) {
       valueToWrite = defaultValue;
@@ -103,6 +157,7 @@ public abstract class BaseProperty<T extends BaseValue> implements Recyclable {
 
   @Override
   public int hashCode() {
+    decodeValue();
     return Objects.hash(getKey(), value, defaultValue, isSet);
   }
 
@@ -126,7 +181,7 @@ public abstract class BaseProperty<T extends BaseValue> implements Recyclable {
     final StringBuilder builder = new StringBuilder();
     builder.append(key.toString());
     builder.append(" => ");
-    builder.append(value.toString());
+    builder.append(isEncoded ? "<encoded>" : value.toString());
     return builder.toString();
   }
 }
@@ -8,25 +8,97 @@
 package io.zeebe.msgpack.value;
 
 import io.zeebe.msgpack.property.BaseProperty;
+import io.zeebe.msgpack.property.BinaryProperty;
+import io.zeebe.msgpack.property.BooleanProperty;
+import io.zeebe.msgpack.property.DocumentProperty;
+import io.zeebe.msgpack.property.IntegerProperty;
+import io.zeebe.msgpack.property.LongProperty;
+import io.zeebe.msgpack.property.PackedProperty;
+import io.zeebe.msgpack.property.StringProperty;
 import io.zeebe.msgpack.property.UndeclaredProperty;
 import io.zeebe.msgpack.spec.MsgPackReader;
+import io.zeebe.msgpack.spec.MsgPackType;
+import io.zeebe.msgpack.spec.MsgPackValidator;
 import io.zeebe.msgpack.spec.MsgPackWriter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import org.agrona.BitUtil;
+import org.agrona.DirectBuffer;
 
 public class ObjectValue extends BaseValue {
+  private static final int NO_PROPERTY = -1;
+
   private final List<BaseProperty<? extends BaseValue>> declaredProperties = new ArrayList<>();
   private final List<UndeclaredProperty> undeclaredProperties = new ArrayList<>();
   private final List<UndeclaredProperty> recycledProperties = new ArrayList<>();
 
   private final StringValue decodedKey = new StringValue();
 
+  /**
+   * Open addressing table from the hash of a declared key to the index of its property (plus one,
+   * so that zero marks an empty slot). It is built on the first read after the properties are
+   * declared.
+   */
+  private int[] keyTable;
+
+  private boolean lazyDecoding;
+
   public ObjectValue declareProperty(final BaseProperty<? extends BaseValue> prop) {
     declaredProperties.add(prop);
+    keyTable = null;
     return this;
   }
 
+  /**
+   * If enabled, reading the object only indexes where the declared properties are encoded. Each
+   * property is decoded when it is accessed for the first time; properties which are not accessed
+   * are written as they were read. Since the property values are validated only when they are
+   * decoded, this should only be enabled for objects which are read from a trusted source, like
+   * records which were already written to the log.
+   */
+  public void setLazyDecoding(final boolean lazyDecoding) {
+    this.lazyDecoding = lazyDecoding;
+  }
+
+  /**
+   * Creates a validator which checks that a document can be read into this object, without decoding
+   * the property values. This is only possible if the declared properties can be validated by their
+   * encoded type; objects which declare properties like enums, nested objects or arrays must be
+   * read to be validated.
+   *
+   * @return the validator, or {@code null} if the object must be read to be validated
+   */
+  public MsgPackValidator newValidator() {
+    final MsgPackValidator validator = new MsgPackValidator();
+
+    for (int i = 0; i < declaredProperties.size(); ++i) {
+      final BaseProperty<? extends BaseValue> prop = declaredProperties.get(i);
+      final String key = prop.getKey().toString();
+      final boolean isRequired = !prop.hasDefaultValue();
+
+      if (prop instanceof StringProperty) {
+        validator.declareKey(key, MsgPackType.STRING, isRequired);
+      } else if (prop instanceof LongProperty) {
+        validator.declareIntegerKey(key, Long.MIN_VALUE, Long.MAX_VALUE, isRequired);
+      } else if (prop instanceof IntegerProperty) {
+        validator.declareIntegerKey(key, Integer.MIN_VALUE, Integer.MAX_VALUE, isRequired);
+      } else if (prop instanceof BooleanProperty) {
+        validator.declareKey(key, MsgPackType.BOOLEAN, isRequired);
+      } else if (prop instanceof DocumentProperty) {
+        validator.declareDocumentKey(key, isRequired);
+      } else if (prop instanceof BinaryProperty) {
+        validator.declareKey(key, MsgPackType.BINARY, isRequired);
+      } else if (prop instanceof PackedProperty) {
+        validator.declareKey(key, null, isRequired);
+      } else {
+        return null;
+      }
+    }
+
+    return validator;
+  }
+
   @Override
   public void reset() {
     for (int i = 0; i < declaredProperties.size(); ++i) {
@@ -87,27 +159,32 @@ public class ObjectValue extends BaseValue {
   public void read(final MsgPackReader reader) {
     final int mapSize = reader.readMapHeader();
 
+    // properties are written in declaration order, so the next key is most likely the one after
+    // the last matched property
+    int expectedIndex = 0;
+
     for (int i = 0; i < mapSize; ++i) {
       decodedKey.read(reader);
 
-      BaseProperty<? extends BaseValue> prop = null;
-
-      for (int k = 0; k < declaredProperties.size(); ++k) {
-        final BaseProperty<?> declaredProperty = declaredProperties.get(k);
-        final StringValue declaredKey = declaredProperty.getKey();
-
-        if (declaredKey.equals(decodedKey)) {
-          prop = declaredProperty;
-          break;
-        }
-      }
+      final int index = findDeclaredProperty(decodedKey, expectedIndex);
 
-      if (prop == null) {
+      final BaseProperty<? extends BaseValue> prop;
+      final boolean readLazily;
+      if (index != NO_PROPERTY) {
+        prop = declaredProperties.get(index);
+        expectedIndex = index + 1;
+        readLazily = lazyDecoding;
+      } else {
         prop = newUndeclaredProperty(decodedKey);
+        readLazily = false;
       }
 
       try {
-        prop.read(reader);
+        if (readLazily) {
+          prop.readLazily(reader);
+        } else {
+          prop.read(reader);
+        }
       } catch (final Exception e) {
         throw new RuntimeException(String.format("Could not read property '%s'", prop.getKey()), e);
       }
@@ -123,6 +200,64 @@ public class ObjectValue extends BaseValue {
     }
   }
 
+  private int findDeclaredProperty(final StringValue key, final int expectedIndex) {
+    final int declaredCount = declaredProperties.size();
+    if (expectedIndex < declaredCount
+        && declaredProperties.get(expectedIndex).getKey().equals(key)) {
+      return expectedIndex;
+    }
+
+    if (declaredCount == 0) {
+      return NO_PROPERTY;
+    }
+
+    if (keyTable == null) {
+      keyTable = buildKeyTable();
+    }
+
+    final int mask = keyTable.length - 1;
+    int slot = hashKey(key) & mask;
+    int entry;
+    while ((entry = keyTable[slot]) != 0) {
+      final int index = entry - 1;
+      if (declaredProperties.get(index).getKey().equals(key)) {
+        return index;
+      }
+      slot = (slot + 1) & mask;
+    }
+
+    return NO_PROPERTY;
+  }
+
+  private int[] buildKeyTable() {
+    final int declaredCount = declaredProperties.size();
+    final int[] table = new int[BitUtil.findNextPositivePowerOfTwo(declaredCount * 2)];
+    final int mask = table.length - 1;
+
+    for (int index = 0; index < declaredCount; index++) {
+      int slot = hashKey(declaredProperties.get(index).getKey()) & mask;
+      while (table[slot] != 0) {
+        slot = (slot + 1) & mask;
+      }
+      table[slot] = index + 1;
+    }
+
+    return table;
+  }
+
+  private static int hashKey(final StringValue key) {
+    final DirectBuffer bytes = key.getValue();
+    final int length = key.getLength();
+
+    int hash = length;
+    for (int i = 0; i < length; i++) {
+      hash = 31 * hash + bytes.getByte(i);
+    }
+
+    // spread the higher bits, since the table is indexed by the lower ones
+    return hash ^ (hash >>> 16);
+  }
+
   @Override
   public int getEncodedLength() {
     final int size = declaredProperties.size() + undeclaredProperties.size();
@@ -0,0 +1,181 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.msgpack;
+
+import static io.zeebe.msgpack.MsgPackUtil.encodeMsgPack;
+import static io.zeebe.test.util.BufferAssert.assertThatBuffer;
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.zeebe.msgpack.POJO.POJOEnum;
+import java.util.ArrayList;
+import java.util.List;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Test;
+
+public final class ObjectMappingLazyDecodingTest {
+
+  private static final DirectBuffer BUF1 = wrapString("foo");
+  private static final DirectBuffer BUF2 = wrapString("bar");
+  private static final DirectBuffer NESTED =
+      encodeMsgPack(
+          (w) -> {
+            w.writeMapHeader(1);
+            w.writeString(wrapString("foo"));
+            w.writeInteger(24L);
+          });
+  private static final DirectBuffer MSG_PACK =
+      encodeMsgPack(
+          (w) -> {
+            w.writeMapHeader(7);
+
+            w.writeString(wrapString("enumProp"));
+            w.writeString(wrapString(POJOEnum.BAR.toString()));
+
+            w.writeString(wrapString("longProp"));
+            w.writeInteger(88888L);
+
+            w.writeString(wrapString("intProp"));
+            w.writeInteger(123L);
+
+            w.writeString(wrapString("stringProp"));
+            w.writeString(BUF1);
+
+            w.writeString(wrapString("packedProp"));
+            w.writeRaw(NESTED);
+
+            w.writeString(wrapString("binaryProp"));
+            w.writeBinary(BUF2);
+
+            w.writeString(wrapString("objectProp"));
+            w.writeRaw(NESTED);
+          });
+
+  @Test
+  public void shouldDecodePropertiesOnAccess() {
+    // given
+    final POJO pojo = new POJO();
+    pojo.setLazyDecoding(true);
+
+    // when
+    pojo.wrap(MSG_PACK);
+
+    // then
+    assertThat(pojo.getEnum()).isEqualByComparingTo(POJOEnum.BAR);
+    assertThat(pojo.getLong()).isEqualTo(88888L);
+    assertThat(pojo.getInt()).isEqualTo(123);
+    assertThatBuffer(pojo.getString()).hasBytes(BUF1);
+    assertThatBuffer(pojo.getPacked()).hasBytes(NESTED);
+    assertThatBuffer(pojo.getBinary()).hasBytes(BUF2);
+    assertThat(pojo.nestedObject().getLong()).isEqualTo(24L);
+  }
+
+  @Test
+  public void shouldWriteUndecodedPropertiesAsRead() {
+    // given
+    final POJO pojo = new POJO();
+    pojo.setLazyDecoding(true);
+    pojo.wrap(MSG_PACK);
+
+    // when
+    final UnsafeBuffer result = new UnsafeBuffer(new byte[pojo.getLength()]);
+    pojo.write(result, 0);
+
+    // then
+    assertThatBuffer(result).hasBytes(MSG_PACK);
+  }
+
+  @Test
+  public void shouldWriteChangedProperties() {
+    // given
+    final POJO pojo = new POJO();
+    pojo.setLazyDecoding(true);
+    pojo.wrap(MSG_PACK);
+
+    // when
+    pojo.setLong(1L);
+    pojo.nestedObject().setLong(2L);
+
+    // then
+    final UnsafeBuffer result = new UnsafeBuffer(new byte[pojo.getLength()]);
+    pojo.write(result, 0);
+
+    final POJO decoded = new POJO();
+    decoded.wrap(result);
+    assertThat(decoded.getLong()).isEqualTo(1L);
+    assertThat(decoded.nestedObject().getLong()).isEqualTo(2L);
+    assertThat(decoded.getInt()).isEqualTo(123);
+    assertThatBuffer(decoded.getString()).hasBytes(BUF1);
+  }
+
+  @Test
+  public void shouldAddToLazilyReadArray() {
+    // given
+    final POJOArray pojo = new POJOArray();
+    pojo.simpleArray().add().setLongProp(1L);
+    final UnsafeBuffer buffer = new UnsafeBuffer(new byte[pojo.getLength()]);
+    pojo.write(buffer, 0);
+
+    final POJOArray lazyPojo = new POJOArray();
+    lazyPojo.setLazyDecoding(true);
+    lazyPojo.wrap(buffer);
+
+    // when
+    lazyPojo.simpleArray().add().setLongProp(2L);
+
+    // then
+    final List<Long> values = new ArrayList<>();
+    lazyPojo.simpleArray().forEach(element -> values.add(element.getLongProp()));
+    assertThat(values).containsExactly(1L, 2L);
+  }
+
+  @Test
+  public void shouldFailOnAccessOfInvalidProperty() {
+    // given
+    final POJO pojo = new POJO();
+    pojo.setLazyDecoding(true);
+
+    final DirectBuffer buffer =
+        encodeMsgPack(
+            (w) -> {
+              w.writeMapHeader(7);
+
+              w.writeString(wrapString("enumProp"));
+              w.writeString(wrapString(POJOEnum.BAR.toString()));
+
+              w.writeString(wrapString("longProp"));
+              w.writeInteger(88888L);
+
+              w.writeString(wrapString("intProp"));
+              w.writeInteger(123L);
+
+              w.writeString(wrapString("stringProp"));
+              w.writeFloat(123123.123123d);
+
+              w.writeString(wrapString("packedProp"));
+              w.writeRaw(NESTED);
+
+              w.writeString(wrapString("binaryProp"));
+              w.writeBinary(BUF2);
+
+              w.writeString(wrapString("objectProp"));
+              w.writeRaw(NESTED);
+            });
+
+    // when
+    pojo.wrap(buffer);
+
+    // then
+    assertThat(pojo.getLong()).isEqualTo(88888L);
+    assertThatThrownBy(pojo::getString)
+        .isInstanceOf(MsgpackPropertyException.class)
+        .hasMessageContaining("stringProp");
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.msgpack;
+
+import static io.zeebe.msgpack.MsgPackUtil.encodeMsgPack;
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.zeebe.msgpack.spec.MsgPackValidator;
+import io.zeebe.msgpack.spec.MsgpackReaderException;
+import org.agrona.DirectBuffer;
+import org.junit.Test;
+
+public final class ObjectMappingValidatorTest {
+
+  @Test
+  public void shouldAcceptDocumentWhichCanBeRead() {
+    // given
+    final MsgPackValidator validator = new DefaultValuesPOJO(-1L).newValidator();
+    final DirectBuffer document =
+        encodeMsgPack(
+            (w) -> {
+              w.writeMapHeader(2);
+              w.writeString(wrapString("noDefaultValueProp"));
+              w.writeInteger(1L);
+              w.writeString(wrapString("undeclaredProp"));
+              w.writeString(wrapString("foo"));
+            });
+
+    // when - then
+    assertThatCode(() -> validator.validate(document, 0, document.capacity()))
+        .doesNotThrowAnyException();
+    assertThatCode(() -> new DefaultValuesPOJO(-1L).wrap(document)).doesNotThrowAnyException();
+  }
+
+  @Test
+  public void shouldRequirePropertiesWithoutDefaultValue() {
+    // given
+    final MsgPackValidator validator = new DefaultValuesPOJO(-1L).newValidator();
+    final DirectBuffer document =
+        encodeMsgPack(
+            (w) -> {
+              w.writeMapHeader(1);
+              w.writeString(wrapString("defaultValueProp"));
+              w.writeInteger(1L);
+            });
+
+    // when - then
+    assertThatThrownBy(() -> validator.validate(document, 0, document.capacity()))
+        .isInstanceOf(MsgpackReaderException.class)
+        .hasMessageContaining("noDefaultValueProp");
+  }
+
+  @Test
+  public void shouldRejectValueWhichDoesNotFitIntoProperty() {
+    // given
+    final MsgPackValidator validator = new MinimalPOJO().newValidator();
+    final DirectBuffer document =
+        encodeMsgPack(
+            (w) -> {
+              w.writeMapHeader(1);
+              w.writeString(wrapString("longProp"));
+              w.writeString(wrapString("foo"));
+            });
+
+    // when - then
+    assertThatThrownBy(() -> validator.validate(document, 0, document.capacity()))
+        .isInstanceOf(MsgpackReaderException.class)
+        .hasMessageContaining("longProp");
+  }
+
+  @Test
+  public void shouldNotCreateValidatorIfPropertiesMustBeDecoded() {
+    // when
+    final MsgPackValidator validator = new POJO().newValidator();
+
+    // then
+    assertThat(validator).isNull();
+  }
+}
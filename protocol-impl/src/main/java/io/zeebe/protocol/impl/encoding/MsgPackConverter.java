@@ -20,6 +20,7 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.MappingJsonFactory;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.zeebe.protocol.record.JsonSerializable;
+import io.zeebe.protocol.record.Record;
 import io.zeebe.util.buffer.BufferUtil;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
@@ -178,4 +179,46 @@ public final class MsgPackConverter {
       throw new RuntimeException(e);
     }
   }
+
+  /**
+   * Writes the given object as UTF-8 JSON directly to the output, without creating a String first.
+   * The output is not closed.
+   */
+  public static void writeJsonSerializableObject(
+      final JsonSerializable object, final OutputStream output) throws IOException {
+    try (final JsonGenerator generator = createJsonGenerator(output)) {
+      JSON_OBJECT_MAPPER.writeValue(generator, object);
+    }
+  }
+
+  /**
+   * Writes the given record as UTF-8 JSON directly to the output, without creating a String first.
+   * The fields of the record are written directly; only the value is serialized by its properties.
+   * The output is not closed.
+   */
+  public static void writeRecordJson(final Record<?> record, final OutputStream output)
+      throws IOException {
+    try (final JsonGenerator generator = createJsonGenerator(output)) {
+      generator.writeStartObject();
+      generator.writeNumberField("partitionId", record.getPartitionId());
+      generator.writeObjectField("valueType", record.getValueType());
+      generator.writeNumberField("key", record.getKey());
+      generator.writeNumberField("position", record.getPosition());
+      generator.writeNumberField("sourceRecordPosition", record.getSourceRecordPosition());
+      generator.writeNumberField("timestamp", record.getTimestamp());
+      generator.writeObjectField("recordType", record.getRecordType());
+      generator.writeObjectField("intent", record.getIntent());
+      generator.writeObjectField("rejectionType", record.getRejectionType());
+      generator.writeStringField("rejectionReason", record.getRejectionReason());
+      generator.writeFieldName("value");
+      JSON_OBJECT_MAPPER.writeValue(generator, record.getValue());
+      generator.writeEndObject();
+    }
+  }
+
+  private static JsonGenerator createJsonGenerator(final OutputStream output) throws IOException {
+    final JsonGenerator generator = JSON_FACTORY.createGenerator(output, JSON_ENCODING);
+    generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    return generator;
+  }
 }
@@ -0,0 +1,408 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.protocol.impl.encoding;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonParser.Feature;
+import com.fasterxml.jackson.core.JsonParser.NumberType;
+import com.fasterxml.jackson.core.JsonToken;
+import io.zeebe.msgpack.spec.MsgPackCodes;
+import io.zeebe.msgpack.spec.MsgPackReader;
+import io.zeebe.msgpack.spec.MsgPackToken;
+import io.zeebe.msgpack.spec.MsgPackType;
+import io.zeebe.msgpack.spec.MsgPackWriter;
+import java.io.IOException;
+import java.util.Arrays;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.io.ExpandableDirectBufferOutputStream;
+
+/**
+ * Converts between JSON and MessagePack token by token, without building an intermediate tree or
+ * copying the document into temporary byte arrays. JSON is parsed with Jackson and written with
+ * {@link MsgPackWriter}; MessagePack is read with {@link MsgPackReader} and written with a Jackson
+ * generator. The result is written into a buffer which is reused for every conversion.
+ *
+ * <p>An instance is not thread-safe; the buffers returned by {@link #toMsgPack(String)} are only
+ * valid until the next conversion.
+ */
+public final class MsgPackJsonTranscoder {
+
+  private static final int INITIAL_BUFFER_CAPACITY = 1024;
+  private static final int INITIAL_DEPTH = 16;
+  private static final int RESERVED_HEADER_LENGTH = 5;
+
+  private static final JsonFactory JSON_FACTORY =
+      new JsonFactory().configure(Feature.ALLOW_SINGLE_QUOTES, true);
+
+  private final ExpandableArrayBuffer msgPackBuffer =
+      new ExpandableArrayBuffer(INITIAL_BUFFER_CAPACITY);
+  private final MsgPackWriter writer = new MsgPackWriter();
+  private final MsgPackWriter headerWriter = new MsgPackWriter();
+  private final UnsafeBuffer msgPackView = new UnsafeBuffer(0, 0);
+
+  private final ExpandableArrayBuffer jsonBuffer =
+      new ExpandableArrayBuffer(INITIAL_BUFFER_CAPACITY);
+  private final ExpandableDirectBufferOutputStream jsonOutput =
+      new ExpandableDirectBufferOutputStream();
+  private final MsgPackReader reader = new MsgPackReader();
+  private byte[] stringBytes = new byte[INITIAL_BUFFER_CAPACITY];
+
+  private int[] headerOffsets = new int[INITIAL_DEPTH];
+  private int[] sizes = new int[INITIAL_DEPTH];
+  private boolean[] isArray = new boolean[INITIAL_DEPTH];
+  private long[] remaining = new long[INITIAL_DEPTH];
+  private int depth;
+
+  ////////////////////////////////////////////////////////////////////////////////////////////////
+  ///////////////////////////////////// JSON to MSGPACK //////////////////////////////////////////
+  ////////////////////////////////////////////////////////////////////////////////////////////////
+
+  /**
+   * Converts the given JSON document to MessagePack.
+   *
+   * @return a view on the converted document, which is valid until the next conversion
+   */
+  public DirectBuffer toMsgPack(final String json) {
+    try (final JsonParser parser = JSON_FACTORY.createParser(json)) {
+      writer.wrap(msgPackBuffer, 0);
+      depth = 0;
+
+      JsonToken token = parser.nextToken();
+      if (token == null || (!token.isStructStart() && !token.isScalarValue())) {
+        throw new IllegalArgumentException(
+            "Document does not begin with an object, an array, or a scalar value");
+      }
+
+      do {
+        writeToken(parser, token);
+      } while (depth > 0 && (token = parser.nextToken()) != null);
+
+      if (depth > 0) {
+        throw new IllegalArgumentException("Document ends before all structures are closed");
+      }
+
+      msgPackView.wrap(msgPackBuffer, 0, writer.getOffset());
+      return msgPackView;
+    } catch (final Exception e) {
+      throw new RuntimeException("Failed to convert JSON to MessagePack", e);
+    }
+  }
+
+  private void writeInteger(final JsonParser parser) throws IOException {
+    // MessagePack integers are read as signed 64-bit values, so larger integers are not supported
+    if (parser.getNumberType() == NumberType.BIG_INTEGER) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Expected an integer between %d and %d, but got %s",
+              Long.MIN_VALUE, Long.MAX_VALUE, parser.getText()));
+    }
+
+    writer.writeInteger(parser.getLongValue());
+  }
+
+  private void writeToken(final JsonParser parser, final JsonToken token) throws IOException {
+    if (token != JsonToken.FIELD_NAME && !token.isStructEnd()) {
+      countArrayElement();
+    }
+
+    switch (token) {
+      case START_OBJECT:
+        startContainer(false);
+        break;
+      case START_ARRAY:
+        startContainer(true);
+        break;
+      case END_OBJECT:
+      case END_ARRAY:
+        endContainer();
+        break;
+      case FIELD_NAME:
+        sizes[depth - 1]++;
+        writeString(parser);
+        break;
+      case VALUE_STRING:
+        writeString(parser);
+        break;
+      case VALUE_NUMBER_INT:
+        writeInteger(parser);
+        break;
+      case VALUE_NUMBER_FLOAT:
+        writer.writeFloat(parser.getDoubleValue());
+        break;
+      case VALUE_TRUE:
+        writer.writeBoolean(true);
+        break;
+      case VALUE_FALSE:
+        writer.writeBoolean(false);
+        break;
+      case VALUE_NULL:
+        writer.writeNil();
+        break;
+      default:
+        throw new IllegalArgumentException(String.format("Unexpected JSON token '%s'", token));
+    }
+  }
+
+  private void countArrayElement() {
+    if (depth > 0 && isArray[depth - 1]) {
+      sizes[depth - 1]++;
+    }
+  }
+
+  private void startContainer(final boolean array) {
+    if (depth == headerOffsets.length) {
+      final int newLength = depth * 2;
+      headerOffsets = Arrays.copyOf(headerOffsets, newLength);
+      sizes = Arrays.copyOf(sizes, newLength);
+      isArray = Arrays.copyOf(isArray, newLength);
+      remaining = Arrays.copyOf(remaining, newLength);
+    }
+
+    headerOffsets[depth] = writer.getOffset();
+    sizes[depth] = 0;
+    isArray[depth] = array;
+    depth++;
+
+    // the size is not known yet - reserve space for the largest header and shrink it at the end
+    writer.reserveMapHeader();
+  }
+
+  private void endContainer() {
+    depth--;
+
+    final int headerOffset = headerOffsets[depth];
+    final int size = sizes[depth];
+    final boolean array = isArray[depth];
+
+    final int headerLength =
+        array
+            ? MsgPackWriter.getEncodedArrayHeaderLenght(size)
+            : MsgPackWriter.getEncodedMapHeaderLenght(size);
+    final int contentOffset = headerOffset + RESERVED_HEADER_LENGTH;
+    final int contentLength = writer.getOffset() - contentOffset;
+
+    if (headerLength < RESERVED_HEADER_LENGTH) {
+      msgPackBuffer.putBytes(
+          headerOffset + headerLength, msgPackBuffer, contentOffset, contentLength);
+    }
+
+    headerWriter.wrap(msgPackBuffer, headerOffset);
+    if (array) {
+      headerWriter.writeArrayHeader(size);
+    } else {
+      headerWriter.writeMapHeader(size);
+    }
+
+    writer.wrap(msgPackBuffer, headerOffset + headerLength + contentLength);
+  }
+
+  private void writeString(final JsonParser parser) throws IOException {
+    final char[] chars = parser.getTextCharacters();
+    final int offset = parser.getTextOffset();
+    final int length = parser.getTextLength();
+    final int end = offset + length;
+
+    int utf8Length = 0;
+    for (int i = offset; i < end; i++) {
+      final char c = chars[i];
+      if (c < 0x80) {
+        utf8Length += 1;
+      } else if (c < 0x800) {
+        utf8Length += 2;
+      } else if (isSurrogatePair(chars, i, end)) {
+        utf8Length += 4;
+        i++;
+      } else if (Character.isSurrogate(c)) {
+        utf8Length += 1;
+      } else {
+        utf8Length += 3;
+      }
+    }
+
+    writer.writeStringHeader(utf8Length);
+
+    int index = writer.getOffset();
+    msgPackBuffer.checkLimit(index + utf8Length);
+    for (int i = offset; i < end; i++) {
+      final char c = chars[i];
+      if (c < 0x80) {
+        msgPackBuffer.putByte(index++, (byte) c);
+      } else if (c < 0x800) {
+        msgPackBuffer.putByte(index++, (byte) (0xC0 | (c >> 6)));
+        msgPackBuffer.putByte(index++, (byte) (0x80 | (c & 0x3F)));
+      } else if (isSurrogatePair(chars, i, end)) {
+        final int codePoint = Character.toCodePoint(c, chars[++i]);
+        msgPackBuffer.putByte(index++, (byte) (0xF0 | (codePoint >> 18)));
+        msgPackBuffer.putByte(index++, (byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+        msgPackBuffer.putByte(index++, (byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+        msgPackBuffer.putByte(index++, (byte) (0x80 | (codePoint & 0x3F)));
+      } else if (Character.isSurrogate(c)) {
+        // same replacement as String#getBytes for malformed input
+        msgPackBuffer.putByte(index++, (byte) '?');
+      } else {
+        msgPackBuffer.putByte(index++, (byte) (0xE0 | (c >> 12)));
+        msgPackBuffer.putByte(index++, (byte) (0x80 | ((c >> 6) & 0x3F)));
+        msgPackBuffer.putByte(index++, (byte) (0x80 | (c & 0x3F)));
+      }
+    }
+
+    writer.wrap(msgPackBuffer, index);
+  }
+
+  private static boolean isSurrogatePair(final char[] chars, final int index, final int end) {
+    return Character.isHighSurrogate(chars[index])
+        && index + 1 < end
+        && Character.isLowSurrogate(chars[index + 1]);
+  }
+
+  ////////////////////////////////////////////////////////////////////////////////////////////////
+  ///////////////////////////////////// MSGPACK to JSON //////////////////////////////////////////
+  ////////////////////////////////////////////////////////////////////////////////////////////////
+
+  /** Converts the given MessagePack document to a JSON string. */
+  public String toJson(final DirectBuffer msgPack) {
+    return toJson(msgPack, 0, msgPack.capacity());
+  }
+
+  /** Converts the given MessagePack document to a JSON string. */
+  public String toJson(final DirectBuffer msgPack, final int offset, final int length) {
+    jsonOutput.wrap(jsonBuffer);
+
+    try (final JsonGenerator generator =
+        JSON_FACTORY.createGenerator(jsonOutput, JsonEncoding.UTF8)) {
+      reader.wrap(msgPack, offset, length);
+      depth = 0;
+
+      do {
+        writeValue(generator, msgPack);
+        endCompletedContainers(generator);
+      } while (depth > 0);
+
+      generator.flush();
+    } catch (final Exception e) {
+      throw new RuntimeException("Failed to convert MessagePack to JSON", e);
+    }
+
+    return jsonBuffer.getStringWithoutLengthUtf8(0, jsonOutput.position());
+  }
+
+  private void writeValue(final JsonGenerator generator, final DirectBuffer msgPack)
+      throws IOException {
+    final boolean inMap = depth > 0 && !isArray[depth - 1];
+    if (inMap) {
+      generator.writeFieldName(readFieldName());
+    }
+
+    final boolean isFloat32 = msgPack.getByte(reader.getOffset()) == MsgPackCodes.FLOAT32;
+    final MsgPackToken token = reader.readToken();
+
+    switch (token.getType()) {
+      case MAP:
+        generator.writeStartObject();
+        startReadContainer(false, token.getSize());
+        break;
+      case ARRAY:
+        generator.writeStartArray();
+        startReadContainer(true, token.getSize());
+        break;
+      case STRING:
+        final DirectBuffer value = token.getValueBuffer();
+        final int valueLength = value.capacity();
+        generator.writeUTF8String(copyStringBytes(value, valueLength), 0, valueLength);
+        break;
+      case INTEGER:
+        generator.writeNumber(token.getIntegerValue());
+        break;
+      case FLOAT:
+        if (isFloat32) {
+          generator.writeNumber((float) token.getFloatValue());
+        } else {
+          generator.writeNumber(token.getFloatValue());
+        }
+        break;
+      case BOOLEAN:
+        generator.writeBoolean(token.getBooleanValue());
+        break;
+      case NIL:
+        generator.writeNull();
+        break;
+      case BINARY:
+        final DirectBuffer binary = token.getValueBuffer();
+        final int binaryLength = binary.capacity();
+        generator.writeBinary(copyStringBytes(binary, binaryLength), 0, binaryLength);
+        break;
+      default:
+        throw new IllegalArgumentException(
+            String.format("Unexpected MessagePack token '%s'", token.getType()));
+    }
+
+    if (token.getType() != MsgPackType.MAP && token.getType() != MsgPackType.ARRAY) {
+      countReadValue();
+    }
+  }
+
+  private String readFieldName() {
+    final MsgPackToken key = reader.readToken();
+    switch (key.getType()) {
+      case STRING:
+        final DirectBuffer name = key.getValueBuffer();
+        return name.getStringWithoutLengthUtf8(0, name.capacity());
+      case INTEGER:
+        return Long.toString(key.getIntegerValue());
+      default:
+        throw new IllegalArgumentException(
+            String.format("Expected a string as map key, but found '%s'", key.getType()));
+    }
+  }
+
+  private byte[] copyStringBytes(final DirectBuffer value, final int length) {
+    if (stringBytes.length < length) {
+      stringBytes = new byte[Math.max(length, stringBytes.length * 2)];
+    }
+    value.getBytes(0, stringBytes, 0, length);
+    return stringBytes;
+  }
+
+  private void startReadContainer(final boolean array, final int size) {
+    if (depth == remaining.length) {
+      final int newLength = depth * 2;
+      headerOffsets = Arrays.copyOf(headerOffsets, newLength);
+      sizes = Arrays.copyOf(sizes, newLength);
+      isArray = Arrays.copyOf(isArray, newLength);
+      remaining = Arrays.copyOf(remaining, newLength);
+    }
+
+    isArray[depth] = array;
+    remaining[depth] = size;
+    depth++;
+  }
+
+  private void countReadValue() {
+    if (depth > 0) {
+      remaining[depth - 1]--;
+    }
+  }
+
+  private void endCompletedContainers(final JsonGenerator generator) throws IOException {
+    while (depth > 0 && remaining[depth - 1] == 0) {
+      depth--;
+      if (isArray[depth]) {
+        generator.writeEndArray();
+      } else {
+        generator.writeEndObject();
+      }
+      // the finished container is a value of its parent
+      countReadValue();
+    }
+  }
+}
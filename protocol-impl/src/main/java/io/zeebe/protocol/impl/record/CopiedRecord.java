@@ -14,6 +14,8 @@ import io.zeebe.protocol.record.RejectionType;
 import io.zeebe.protocol.record.ValueType;
 import io.zeebe.protocol.record.intent.Intent;
 import io.zeebe.util.StringUtil;
+import java.io.IOException;
+import java.io.OutputStream;
 import org.agrona.concurrent.UnsafeBuffer;
 
 public final class CopiedRecord<T extends UnifiedRecordValue> implements Record<T> {
@@ -29,6 +31,9 @@ public final class CopiedRecord<T extends UnifiedRecordValue> implements Record<
   private final int partitionId;
   private final RejectionType rejectionType;
   private final String rejectionReason;
+  private final long requestId;
+  private final int requestStreamId;
+  private final int protocolVersion;
 
   public CopiedRecord(
       final T recordValue,
@@ -50,6 +55,9 @@ public final class CopiedRecord<T extends UnifiedRecordValue> implements Record<
     rejectionType = metadata.getRejectionType();
     rejectionReason = metadata.getRejectionReason();
     valueType = metadata.getValueType();
+    requestId = metadata.getRequestId();
+    requestStreamId = metadata.getRequestStreamId();
+    protocolVersion = metadata.getProtocolVersion();
   }
 
   private CopiedRecord(final CopiedRecord<T> copiedRecord) {
@@ -81,6 +89,9 @@ public final class CopiedRecord<T extends UnifiedRecordValue> implements Record<
     rejectionType = copiedRecord.rejectionType;
     rejectionReason = copiedRecord.rejectionReason;
     valueType = copiedRecord.valueType;
+    requestId = copiedRecord.requestId;
+    requestStreamId = copiedRecord.requestStreamId;
+    protocolVersion = copiedRecord.protocolVersion;
   }
 
   @Override
@@ -138,11 +149,36 @@ public final class CopiedRecord<T extends UnifiedRecordValue> implements Record<
     return recordValue;
   }
 
+  /**
+   * Copies the metadata of the record into the given metadata, including the fields which are not
+   * exposed by the {@link Record} interface, e.g. the request id.
+   *
+   * @param metadata the metadata to copy into
+   * @return the given metadata
+   */
+  public RecordMetadata copyMetadataTo(final RecordMetadata metadata) {
+    return metadata
+        .reset()
+        .recordType(recordType)
+        .requestId(requestId)
+        .requestStreamId(requestStreamId)
+        .protocolVersion(protocolVersion)
+        .valueType(valueType)
+        .intent(intent)
+        .rejectionType(rejectionType)
+        .rejectionReason(rejectionReason);
+  }
+
   @Override
   public String toJson() {
     return MsgPackConverter.convertJsonSerializableObjectToJson(this);
   }
 
+  @Override
+  public void writeJson(final OutputStream output) throws IOException {
+    MsgPackConverter.writeRecordJson(this, output);
+  }
+
   @Override
   public Record<T> clone() {
     return new CopiedRecord<>(this);
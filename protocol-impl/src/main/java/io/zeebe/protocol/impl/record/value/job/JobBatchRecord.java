@@ -28,7 +28,7 @@ import org.agrona.concurrent.UnsafeBuffer;
 
 public final class JobBatchRecord extends UnifiedRecordValue implements JobBatchRecordValue {
 
-  private final StringProperty typeProp = new StringProperty("type");
+  private final StringProperty typeProp = new StringProperty("type", "");
   private final StringProperty workerProp = new StringProperty("worker", "");
   private final LongProperty timeoutProp = new LongProperty("timeout", -1);
   private final IntegerProperty maxJobsToActivateProp =
@@ -39,6 +39,8 @@ public final class JobBatchRecord extends UnifiedRecordValue implements JobBatch
   private final ArrayProperty<StringValue> variablesProp =
       new ArrayProperty<>("variables", new StringValue());
   private final BooleanProperty truncatedProp = new BooleanProperty("truncated", false);
+  private final ArrayProperty<JobBatchRejection> rejectionsProp =
+      new ArrayProperty<>("rejections", new JobBatchRejection());
 
   public JobBatchRecord() {
     declareProperty(typeProp)
@@ -48,7 +50,8 @@ public final class JobBatchRecord extends UnifiedRecordValue implements JobBatch
         .declareProperty(jobKeysProp)
         .declareProperty(jobsProp)
         .declareProperty(variablesProp)
-        .declareProperty(truncatedProp);
+        .declareProperty(truncatedProp)
+        .declareProperty(rejectionsProp);
   }
 
   public JobBatchRecord setType(final DirectBuffer buf, final int offset, final int length) {
@@ -73,6 +76,14 @@ public final class JobBatchRecord extends UnifiedRecordValue implements JobBatch
     return variablesProp;
   }
 
+  /**
+   * The jobs of a {@link io.zeebe.protocol.record.intent.JobBatchIntent#COMPLETED} batch which
+   * could not be completed. The keys of the completed jobs are contained in {@link #jobKeys()}.
+   */
+  public ValueArray<JobBatchRejection> rejections() {
+    return rejectionsProp;
+  }
+
   public boolean getTruncated() {
     return truncatedProp.getValue();
   }
@@ -0,0 +1,60 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.protocol.impl.record.value.job;
+
+import io.zeebe.msgpack.UnpackedObject;
+import io.zeebe.msgpack.property.EnumProperty;
+import io.zeebe.msgpack.property.LongProperty;
+import io.zeebe.msgpack.property.StringProperty;
+import io.zeebe.protocol.record.RejectionType;
+import io.zeebe.util.buffer.BufferUtil;
+
+/**
+ * The result of a single job of a job batch command which could not be applied, e.g. a job of a
+ * {@link io.zeebe.protocol.record.intent.JobBatchIntent#COMPLETE} command which was not found.
+ */
+public final class JobBatchRejection extends UnpackedObject {
+
+  private final LongProperty jobKeyProp = new LongProperty("jobKey", -1L);
+  private final EnumProperty<RejectionType> rejectionTypeProp =
+      new EnumProperty<>("rejectionType", RejectionType.class, RejectionType.NULL_VAL);
+  private final StringProperty rejectionReasonProp = new StringProperty("rejectionReason", "");
+
+  public JobBatchRejection() {
+    declareProperty(jobKeyProp)
+        .declareProperty(rejectionTypeProp)
+        .declareProperty(rejectionReasonProp);
+  }
+
+  public long getJobKey() {
+    return jobKeyProp.getValue();
+  }
+
+  public JobBatchRejection setJobKey(final long jobKey) {
+    jobKeyProp.setValue(jobKey);
+    return this;
+  }
+
+  public RejectionType getRejectionType() {
+    return rejectionTypeProp.getValue();
+  }
+
+  public JobBatchRejection setRejectionType(final RejectionType rejectionType) {
+    rejectionTypeProp.setValue(rejectionType);
+    return this;
+  }
+
+  public String getRejectionReason() {
+    return BufferUtil.bufferAsString(rejectionReasonProp.getValue());
+  }
+
+  public JobBatchRejection setRejectionReason(final String rejectionReason) {
+    rejectionReasonProp.setValue(rejectionReason);
+    return this;
+  }
+}
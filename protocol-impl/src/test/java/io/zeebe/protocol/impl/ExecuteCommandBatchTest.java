@@ -0,0 +1,106 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.protocol.impl;
+
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import io.zeebe.protocol.impl.encoding.ExecuteCommandBatchRequest;
+import io.zeebe.protocol.impl.encoding.ExecuteCommandBatchResponse;
+import io.zeebe.protocol.impl.encoding.ExecuteCommandRequest;
+import io.zeebe.protocol.record.ValueType;
+import io.zeebe.protocol.record.intent.MessageIntent;
+import io.zeebe.protocol.record.intent.WorkflowInstanceCreationIntent;
+import io.zeebe.util.buffer.BufferReader;
+import io.zeebe.util.buffer.BufferWriter;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Test;
+
+public final class ExecuteCommandBatchTest {
+
+  @Test
+  public void shouldEncodeDecodeBatchRequest() {
+    // given
+    final ExecuteCommandBatchRequest request =
+        new ExecuteCommandBatchRequest()
+            .setPartitionId(3)
+            .addCommand(
+                new ExecuteCommandRequest()
+                    .setValueType(ValueType.MESSAGE)
+                    .setIntent(MessageIntent.PUBLISH)
+                    .setValue(wrapString("foo"), 0, 3))
+            .addCommand(
+                new ExecuteCommandRequest()
+                    .setValueType(ValueType.WORKFLOW_INSTANCE_CREATION)
+                    .setIntent(WorkflowInstanceCreationIntent.CREATE)
+                    .setValue(wrapString("bar"), 0, 3));
+
+    // when
+    final ExecuteCommandBatchRequest decoded = new ExecuteCommandBatchRequest();
+    encodeDecode(request, decoded);
+
+    // then
+    assertThat(decoded.getPartitionId()).isEqualTo(3);
+    assertThat(decoded.getCommands())
+        .extracting(
+            ExecuteCommandRequest::getValueType,
+            ExecuteCommandRequest::getIntent,
+            ExecuteCommandRequest::getValue)
+        .containsExactly(
+            tuple(ValueType.MESSAGE, MessageIntent.PUBLISH, wrapString("foo")),
+            tuple(
+                ValueType.WORKFLOW_INSTANCE_CREATION,
+                WorkflowInstanceCreationIntent.CREATE,
+                wrapString("bar")));
+  }
+
+  @Test
+  public void shouldEncodeDecodeBatchResponse() {
+    // given
+    final ExecuteCommandBatchResponse response =
+        new ExecuteCommandBatchResponse()
+            .setPartitionId(2)
+            .addResponse(wrapString("first"))
+            .addResponse(wrapString(""))
+            .addResponse(wrapString("third"));
+
+    // when
+    final ExecuteCommandBatchResponse decoded = new ExecuteCommandBatchResponse();
+    encodeDecode(response, decoded);
+
+    // then
+    assertThat(decoded.getPartitionId()).isEqualTo(2);
+    assertThat(decoded.getResponses())
+        .containsExactly(wrapString("first"), wrapString(""), wrapString("third"));
+  }
+
+  @Test
+  public void shouldEncodeDecodeEmptyBatch() {
+    // given
+    final ExecuteCommandBatchRequest request = new ExecuteCommandBatchRequest().setPartitionId(1);
+
+    // when
+    final ExecuteCommandBatchRequest decoded = new ExecuteCommandBatchRequest();
+    encodeDecode(request, decoded);
+
+    // then
+    assertThat(decoded.getPartitionId()).isEqualTo(1);
+    assertThat(decoded.getCommands()).isEmpty();
+  }
+
+  private static void encodeDecode(final BufferWriter writer, final BufferReader reader) {
+    final int length = writer.getLength();
+    final UnsafeBuffer buffer = new UnsafeBuffer(new byte[length + 10]);
+    writer.write(buffer, 5);
+
+    final DirectBuffer encoded = new UnsafeBuffer(buffer, 5, length);
+    reader.wrap(encoded, 0, length);
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.protocol.impl.encoding;
+
+import static io.zeebe.util.buffer.BufferUtil.bufferAsArray;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.zeebe.test.util.JsonUtil;
+import io.zeebe.test.util.MsgPackUtil;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.agrona.DirectBuffer;
+import org.junit.Test;
+
+public final class MsgPackJsonTranscoderTest {
+
+  private final MsgPackJsonTranscoder transcoder = new MsgPackJsonTranscoder();
+
+  @Test
+  public void shouldConvertJsonToSameMsgPackAsConverter() {
+    // given
+    final String json = "{\"key1\":1,\"key2\":2}";
+
+    // when
+    final DirectBuffer msgPack = transcoder.toMsgPack(json);
+
+    // then
+    assertThat(bufferAsArray(msgPack)).isEqualTo(MsgPackConverter.convertToMsgPack(json));
+  }
+
+  @Test
+  public void shouldConvertNestedDocument() {
+    // given
+    final String json =
+        "{'a':[1,-2,3.5,'x',true,false,null,{}],'b':{'c':{'d':[]}},'e':'äöü€😀',"
+            + "'f':9223372036854775807,'g':-9223372036854775808}";
+
+    // when
+    final DirectBuffer msgPack = transcoder.toMsgPack(json);
+
+    // then
+    MsgPackUtil.assertEquality(msgPack, json.replace('\'', '"'));
+  }
+
+  @Test
+  public void shouldConvertLargeContainers() {
+    // given
+    final String array =
+        IntStream.range(0, 70_000).mapToObj(String::valueOf).collect(Collectors.joining(","));
+    final String object =
+        IntStream.range(0, 20)
+            .mapToObj(i -> "\"k" + i + "\":" + i)
+            .collect(Collectors.joining(","));
+    final String json = "{\"array\":[" + array + "],\"object\":{" + object + "}}";
+
+    // when
+    final DirectBuffer msgPack = transcoder.toMsgPack(json);
+
+    // then
+    MsgPackUtil.assertEquality(msgPack, json);
+  }
+
+  @Test
+  public void shouldConvertScalarDocument() {
+    // when
+    final DirectBuffer msgPack = transcoder.toMsgPack("\"x\"");
+
+    // then
+    assertThat(bufferAsArray(msgPack)).isEqualTo(MsgPackConverter.convertToMsgPack("\"x\""));
+  }
+
+  @Test
+  public void shouldConvertMsgPackToJson() {
+    // given
+    final String json =
+        "{\"a\":[1,-2,3.5,0.1,\"x\",true,false,null,{}],"
+            + "\"b\":{\"c\":{\"d\":[]}},\"e\":\"ä€😀\"}";
+    final DirectBuffer msgPack = MsgPackUtil.asMsgPack(json);
+
+    // when
+    final String result = transcoder.toJson(msgPack);
+
+    // then
+    assertThat(result).isEqualTo(MsgPackConverter.convertToJson(msgPack));
+    JsonUtil.assertEquality(result, json);
+  }
+
+  @Test
+  public void shouldEscapeStringsWhenConvertingToJson() {
+    // given
+    final String json = "{\"quote\\\"\":\"line\\nbreak \\\\ \\\"\"}";
+
+    // when
+    final String result = transcoder.toJson(MsgPackUtil.asMsgPack(json));
+
+    // then
+    JsonUtil.assertEquality(result, json);
+  }
+
+  @Test
+  public void shouldReuseTranscoder() {
+    // given
+    transcoder.toMsgPack("{\"a\":[1,2,3],\"b\":\"long string value\"}");
+    transcoder.toJson(MsgPackUtil.asMsgPack("{\"a\":{\"b\":[1,2,3]}}"));
+
+    // when
+    final DirectBuffer msgPack = transcoder.toMsgPack("{\"c\":1}");
+    final String json = transcoder.toJson(msgPack);
+
+    // then
+    assertThat(json).isEqualTo("{\"c\":1}");
+  }
+
+  @Test
+  public void shouldRejectInvalidJson() {
+    assertThatThrownBy(() -> transcoder.toMsgPack("}"))
+        .isInstanceOf(RuntimeException.class)
+        .hasMessage("Failed to convert JSON to MessagePack");
+
+    assertThatThrownBy(() -> transcoder.toMsgPack("{\"a\":[1,2}"))
+        .isInstanceOf(RuntimeException.class)
+        .hasMessage("Failed to convert JSON to MessagePack");
+  }
+
+  @Test
+  public void shouldRejectIntegerOutOfLongRange() {
+    assertThatThrownBy(() -> transcoder.toMsgPack("{\"a\":9223372036854775808}"))
+        .isInstanceOf(RuntimeException.class)
+        .hasMessage("Failed to convert JSON to MessagePack")
+        .hasRootCauseInstanceOf(IllegalArgumentException.class)
+        .hasRootCauseMessage(
+            "Expected an integer between -9223372036854775808 and 9223372036854775807, but got "
+                + "9223372036854775808");
+  }
+
+  @Test
+  public void shouldConvertIntegerAtLongRangeLimits() {
+    // given
+    final String json = "{\"min\":-9223372036854775808,\"max\":9223372036854775807}";
+
+    // when
+    final DirectBuffer msgPack = transcoder.toMsgPack(json);
+
+    // then
+    assertThat(transcoder.toJson(msgPack)).isEqualTo(json);
+  }
+}
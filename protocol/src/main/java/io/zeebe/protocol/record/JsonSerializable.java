@@ -15,8 +15,24 @@
  */
 package io.zeebe.protocol.record;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
 public interface JsonSerializable {
 
   /** @return a JSON marshaled representation */
   String toJson();
+
+  /**
+   * Writes the JSON marshaled representation as UTF-8 to the given output, which is not closed.
+   * Implementations may override it to write the representation without materializing it as a
+   * String first.
+   *
+   * @param output the output to write to
+   * @throws IOException if the output cannot be written
+   */
+  default void writeJson(final OutputStream output) throws IOException {
+    output.write(toJson().getBytes(StandardCharsets.UTF_8));
+  }
 }
@@ -0,0 +1,103 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.broker.it.client.command;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import io.zeebe.broker.it.util.GrpcClientRule;
+import io.zeebe.broker.test.EmbeddedBrokerRule;
+import io.zeebe.client.api.response.CreateWorkflowInstanceResult;
+import io.zeebe.client.api.response.CreateWorkflowInstancesResponse;
+import io.zeebe.model.bpmn.Bpmn;
+import io.zeebe.protocol.record.intent.WorkflowInstanceCreationIntent;
+import io.zeebe.test.util.BrokerClassRuleHelper;
+import io.zeebe.test.util.record.RecordingExporter;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public final class CreateWorkflowInstancesTest {
+
+  private static final EmbeddedBrokerRule BROKER_RULE = new EmbeddedBrokerRule();
+  private static final GrpcClientRule CLIENT_RULE = new GrpcClientRule(BROKER_RULE);
+
+  @ClassRule
+  public static RuleChain ruleChain = RuleChain.outerRule(BROKER_RULE).around(CLIENT_RULE);
+
+  @Rule public final BrokerClassRuleHelper helper = new BrokerClassRuleHelper();
+
+  private String processId;
+  private long workflowKey;
+
+  @Before
+  public void deployProcess() {
+    processId = helper.getBpmnProcessId();
+    workflowKey =
+        CLIENT_RULE.deployWorkflow(Bpmn.createExecutableProcess(processId).startEvent().done());
+  }
+
+  @Test
+  public void shouldCreateWorkflowInstances() {
+    // when
+    final CreateWorkflowInstancesResponse response =
+        CLIENT_RULE
+            .getClient()
+            .newCreateInstancesCommand()
+            .addInstance(processId)
+            .addInstance(workflowKey)
+            .variables(Map.of("foo", 123))
+            .send()
+            .join();
+
+    // then
+    assertThat(response.getResults())
+        .extracting(CreateWorkflowInstanceResult::isCreated)
+        .containsExactly(true, true);
+    assertThat(response.getResults())
+        .extracting(
+            result -> result.getWorkflowInstance().getBpmnProcessId(),
+            result -> result.getWorkflowInstance().getWorkflowKey())
+        .containsOnly(tuple(processId, workflowKey));
+
+    final long secondInstanceKey =
+        response.getResults().get(1).getWorkflowInstance().getWorkflowInstanceKey();
+    assertThat(
+            RecordingExporter.workflowInstanceCreationRecords()
+                .withIntent(WorkflowInstanceCreationIntent.CREATED)
+                .withInstanceKey(secondInstanceKey)
+                .getFirst()
+                .getValue()
+                .getVariables())
+        .containsEntry("foo", 123);
+  }
+
+  @Test
+  public void shouldRejectSingleWorkflowInstance() {
+    // when
+    final CreateWorkflowInstancesResponse response =
+        CLIENT_RULE
+            .getClient()
+            .newCreateInstancesCommand()
+            .addInstance(processId)
+            .addInstance("unknown-process")
+            .addInstance(processId)
+            .send()
+            .join();
+
+    // then
+    assertThat(response.getResults())
+        .extracting(
+            CreateWorkflowInstanceResult::isCreated, CreateWorkflowInstanceResult::getRejectionType)
+        .containsExactly(tuple(true, ""), tuple(false, "NOT_FOUND"), tuple(true, ""));
+    assertThat(response.getResults().get(1).getRejectionReason()).contains("unknown-process");
+  }
+}
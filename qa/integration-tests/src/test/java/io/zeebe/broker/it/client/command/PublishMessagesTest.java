@@ -0,0 +1,89 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.broker.it.client.command;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import io.zeebe.broker.it.util.GrpcClientRule;
+import io.zeebe.broker.test.EmbeddedBrokerRule;
+import io.zeebe.client.api.response.PublishMessageResult;
+import io.zeebe.client.api.response.PublishMessagesResponse;
+import io.zeebe.protocol.record.intent.MessageIntent;
+import io.zeebe.test.util.BrokerClassRuleHelper;
+import io.zeebe.test.util.record.RecordingExporter;
+import java.time.Duration;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public final class PublishMessagesTest {
+
+  private static final EmbeddedBrokerRule BROKER_RULE = new EmbeddedBrokerRule();
+  private static final GrpcClientRule CLIENT_RULE = new GrpcClientRule(BROKER_RULE);
+
+  @ClassRule
+  public static RuleChain ruleChain = RuleChain.outerRule(BROKER_RULE).around(CLIENT_RULE);
+
+  @Rule public final BrokerClassRuleHelper helper = new BrokerClassRuleHelper();
+
+  @Test
+  public void shouldPublishMessages() {
+    // given
+    final String messageName = helper.getMessageName();
+
+    // when
+    final PublishMessagesResponse response =
+        CLIENT_RULE
+            .getClient()
+            .newPublishMessagesCommand()
+            .addMessage(messageName, "first")
+            .addMessage(messageName, "second")
+            .timeToLive(Duration.ofMinutes(1))
+            .send()
+            .join();
+
+    // then
+    assertThat(response.getResults())
+        .extracting(PublishMessageResult::isPublished)
+        .containsExactly(true, true);
+    assertThat(
+            RecordingExporter.messageRecords(MessageIntent.PUBLISHED)
+                .withName(messageName)
+                .limit(2))
+        .extracting(record -> record.getValue().getCorrelationKey())
+        .containsExactly("first", "second");
+  }
+
+  @Test
+  public void shouldRejectDuplicatedMessage() {
+    // given
+    final String messageName = helper.getMessageName();
+
+    // when
+    final PublishMessagesResponse response =
+        CLIENT_RULE
+            .getClient()
+            .newPublishMessagesCommand()
+            .addMessage(messageName, "key")
+            .messageId("id")
+            .timeToLive(Duration.ofMinutes(1))
+            .addMessage(messageName, "key")
+            .messageId("id")
+            .timeToLive(Duration.ofMinutes(1))
+            .addMessage(messageName, "other")
+            .send()
+            .join();
+
+    // then
+    assertThat(response.getResults())
+        .extracting(PublishMessageResult::isPublished, PublishMessageResult::getRejectionType)
+        .containsExactly(tuple(true, ""), tuple(false, "ALREADY_EXISTS"), tuple(true, ""));
+  }
+}
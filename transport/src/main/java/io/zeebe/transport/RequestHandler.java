@@ -29,4 +29,12 @@ public interface RequestHandler {
       DirectBuffer buffer,
       int offset,
       int length);
+
+  /**
+   * Called after the requests which were received so far are handled. Handlers which buffer the
+   * requests, e.g. to process them in batches, can complete them here.
+   *
+   * @param serverOutput output to write the responses
+   */
+  default void onRequestsHandled(final ServerOutput serverOutput) {}
 }
@@ -10,10 +10,16 @@ package io.zeebe.transport;
 import io.atomix.cluster.messaging.MessagingService;
 import io.zeebe.transport.impl.AtomixClientTransportAdapter;
 import io.zeebe.transport.impl.AtomixServerTransport;
+import io.zeebe.transport.impl.BinaryClientTransport;
+import io.zeebe.transport.impl.BinaryServerTransport;
 import io.zeebe.util.sched.ActorScheduler;
+import java.net.InetSocketAddress;
 
 public final class TransportFactory {
 
+  /** The number of requests which can be in flight on one connection of the binary transport. */
+  public static final int MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION = 1024;
+
   // we need to schedule the transports, but Actor is not an interface
   // which means we need to schedule in the factory otherwise we can return the transport interface
   // types
@@ -35,4 +41,23 @@ public final class TransportFactory {
     actorScheduler.submitActor(atomixClientTransportAdapter);
     return atomixClientTransportAdapter;
   }
+
+  /**
+   * Creates a server transport which accepts requests on a dedicated port. Returns after the
+   * transport is bound to the given address.
+   */
+  public ServerTransport createBinaryServerTransport(
+      final int nodeId, final InetSocketAddress bindAddress) {
+    final var binaryServerTransport =
+        new BinaryServerTransport(nodeId, bindAddress, MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION);
+    actorScheduler.submitActor(binaryServerTransport).join();
+    return binaryServerTransport;
+  }
+
+  public ClientTransport createBinaryClientTransport() {
+    final var binaryClientTransport =
+        new BinaryClientTransport(MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION);
+    actorScheduler.submitActor(binaryClientTransport);
+    return binaryClientTransport;
+  }
 }
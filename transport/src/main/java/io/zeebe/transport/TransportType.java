@@ -0,0 +1,19 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.transport;
+
+/** The transport which is used for the requests between gateway and brokers. */
+public enum TransportType {
+  /** Sends the requests as Atomix messages, see {@link TransportFactory#createClientTransport}. */
+  ATOMIX,
+  /**
+   * Sends the requests over dedicated connections, see {@link
+   * TransportFactory#createBinaryClientTransport}.
+   */
+  BINARY
+}
@@ -8,14 +8,22 @@
 package io.zeebe.transport.impl;
 
 import io.atomix.cluster.messaging.MessagingService;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.zeebe.transport.RequestHandler;
 import io.zeebe.transport.ServerResponse;
 import io.zeebe.transport.ServerTransport;
 import io.zeebe.util.sched.Actor;
 import io.zeebe.util.sched.future.ActorFuture;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicLong;
 import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
 import org.agrona.collections.Int2ObjectHashMap;
 import org.agrona.collections.Long2ObjectHashMap;
 import org.agrona.concurrent.UnsafeBuffer;
@@ -28,10 +36,15 @@ public class AtomixServerTransport extends Actor implements ServerTransport {
   private static final String ERROR_MSG_MISSING_PARTITON_MAP =
       "Node already unsubscribed from partition %d, this can only happen when atomix does not cleanly remove its handlers.";
 
-  private final Int2ObjectHashMap<Long2ObjectHashMap<CompletableFuture<byte[]>>>
+  private final Int2ObjectHashMap<Long2ObjectHashMap<CompletableFuture<ByteBuf>>>
       partitionsRequestMap;
   private final AtomicLong requestCount;
   private final DirectBuffer reusableRequestBuffer;
+  private final ByteBufAllocator responseAllocator = PooledByteBufAllocator.DEFAULT;
+  private final List<RequestHandler> handlersToNotify = new ArrayList<>();
+  // responses are handed over to the actor through this queue, so that the responses which are
+  // never sent by the actor can still be released when it is closed
+  private final Queue<PendingResponse> pendingResponses = new ConcurrentLinkedQueue<>();
   private final MessagingService messagingService;
   private final String actorName;
 
@@ -70,7 +83,7 @@ public class AtomixServerTransport extends Actor implements ServerTransport {
             LOG.trace("Subscribe for topic {}", topicName);
           }
           partitionsRequestMap.put(partitionId, new Long2ObjectHashMap<>());
-          messagingService.registerHandler(
+          messagingService.registerBufferHandler(
               topicName,
               (sender, request) -> handleAtomixRequest(request, partitionId, requestHandler));
         });
@@ -95,9 +108,9 @@ public class AtomixServerTransport extends Actor implements ServerTransport {
     }
   }
 
-  private CompletableFuture<byte[]> handleAtomixRequest(
+  private CompletableFuture<ByteBuf> handleAtomixRequest(
       final byte[] requestBytes, final int partitionId, final RequestHandler requestHandler) {
-    final var completableFuture = new CompletableFuture<byte[]>();
+    final var completableFuture = new CompletableFuture<ByteBuf>();
     actor.call(
         () -> {
           final var requestId = requestCount.getAndIncrement();
@@ -118,6 +131,7 @@ public class AtomixServerTransport extends Actor implements ServerTransport {
             }
             // we only add the request to the map after successful handling
             requestMap.put(requestId, completableFuture);
+            notifyRequestsHandled(requestHandler);
           } catch (final Exception exception) {
             LOG.error(
                 "Unexpected exception on handling request for partition {}.",
@@ -130,46 +144,124 @@ public class AtomixServerTransport extends Actor implements ServerTransport {
     return completableFuture;
   }
 
+  private void notifyRequestsHandled(final RequestHandler requestHandler) {
+    if (handlersToNotify.isEmpty()) {
+      // submitted to the end of the actor's queue, i.e. after the requests which are already queued
+      actor.submit(this::onRequestsHandled);
+    }
+
+    if (!handlersToNotify.contains(requestHandler)) {
+      handlersToNotify.add(requestHandler);
+    }
+  }
+
+  private void onRequestsHandled() {
+    for (int i = 0; i < handlersToNotify.size(); i++) {
+      try {
+        handlersToNotify.get(i).onRequestsHandled(this);
+      } catch (final Exception exception) {
+        LOG.error("Unexpected exception on completing the handled requests.", exception);
+      }
+    }
+    handlersToNotify.clear();
+  }
+
   @Override
   public void sendResponse(final ServerResponse response) {
     final var requestId = response.getRequestId();
     final var partitionId = response.getPartitionId();
     final var length = response.getLength();
-    final var bytes = new byte[length];
 
-    // here we can't reuse an buffer, because sendResponse can be called concurrently
-    final var unsafeBuffer = new UnsafeBuffer(bytes);
-    response.write(unsafeBuffer, 0);
+    // here we can't reuse a buffer, because sendResponse can be called concurrently; the response
+    // is serialized into a pooled buffer which is handed over to the messaging service, which
+    // writes it to the connection without copying it and releases it afterwards
+    final var responseBuffer = responseAllocator.directBuffer(length, length);
+    try {
+      response.write(wrapWritable(responseBuffer, length), 0);
+      responseBuffer.writerIndex(length);
+    } catch (final RuntimeException e) {
+      responseBuffer.release();
+      throw e;
+    }
 
-    actor.run(
-        () -> {
-          final var requestMap = partitionsRequestMap.get(partitionId);
-          if (requestMap == null) {
-            LOG.error(
-                "Node is no longer leader for partition {}, tried to respond on request with id {}",
-                partitionId,
-                requestId);
-            return;
-          }
+    pendingResponses.offer(new PendingResponse(partitionId, requestId, responseBuffer));
+    if (actor.isClosed()) {
+      // the job to send the response is discarded if the actor is closed
+      releasePendingResponses();
+    } else {
+      actor.run(this::sendPendingResponses);
+    }
+  }
 
-          final var completableFuture = requestMap.remove(requestId);
-          if (completableFuture != null) {
-            if (LOG.isTraceEnabled()) {
-              LOG.trace(
-                  "Send response to request {} for topic {}", requestId, topicName(partitionId));
-            }
+  private void sendPendingResponses() {
+    PendingResponse response;
+    while ((response = pendingResponses.poll()) != null) {
+      sendPendingResponse(response.partitionId, response.requestId, response.buffer);
+    }
+  }
 
-            completableFuture.complete(bytes);
-          } else if (LOG.isTraceEnabled()) {
-            LOG.trace(
-                "Wasn't able to send response to request {} for topic {}",
-                requestId,
-                topicName(partitionId));
-          }
-        });
+  private void sendPendingResponse(
+      final int partitionId, final long requestId, final ByteBuf responseBuffer) {
+    final var requestMap = partitionsRequestMap.get(partitionId);
+    if (requestMap == null) {
+      LOG.error(
+          "Node is no longer leader for partition {}, tried to respond on request with id {}",
+          partitionId,
+          requestId);
+      responseBuffer.release();
+      return;
+    }
+
+    final var completableFuture = requestMap.remove(requestId);
+    if (completableFuture != null && completableFuture.complete(responseBuffer)) {
+      if (LOG.isTraceEnabled()) {
+        LOG.trace("Send response to request {} for topic {}", requestId, topicName(partitionId));
+      }
+    } else {
+      if (LOG.isTraceEnabled()) {
+        LOG.trace(
+            "Wasn't able to send response to request {} for topic {}",
+            requestId,
+            topicName(partitionId));
+      }
+      responseBuffer.release();
+    }
+  }
+
+  @Override
+  protected void onActorClosed() {
+    // the jobs of the responses which were sent while the actor was closing are discarded
+    releasePendingResponses();
+  }
+
+  private void releasePendingResponses() {
+    PendingResponse response;
+    while ((response = pendingResponses.poll()) != null) {
+      response.buffer.release();
+    }
+  }
+
+  private static MutableDirectBuffer wrapWritable(final ByteBuf buffer, final int length) {
+    if (buffer.hasMemoryAddress()) {
+      return new UnsafeBuffer(buffer.memoryAddress(), length);
+    } else {
+      return new UnsafeBuffer(buffer.nioBuffer(0, length));
+    }
   }
 
   static String topicName(final int partitionId) {
     return String.format(API_TOPIC_FORMAT, partitionId);
   }
+
+  private static final class PendingResponse {
+    private final int partitionId;
+    private final long requestId;
+    private final ByteBuf buffer;
+
+    private PendingResponse(final int partitionId, final long requestId, final ByteBuf buffer) {
+      this.partitionId = partitionId;
+      this.requestId = requestId;
+      this.buffer = buffer;
+    }
+  }
 }
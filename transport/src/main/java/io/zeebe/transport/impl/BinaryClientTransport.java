@@ -0,0 +1,461 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.transport.impl;
+
+import static io.zeebe.transport.impl.BinaryTransportProtocol.FRAME_HEADER_LENGTH;
+import static io.zeebe.transport.impl.BinaryTransportProtocol.REQUEST;
+import static io.zeebe.transport.impl.BinaryTransportProtocol.RESPONSE;
+import static io.zeebe.transport.impl.BinaryTransportProtocol.RESPONSE_HANDLER_FAILURE;
+import static io.zeebe.transport.impl.BinaryTransportProtocol.RESPONSE_NO_HANDLER;
+
+import io.atomix.cluster.messaging.MessagingException;
+import io.atomix.utils.net.Address;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import io.zeebe.transport.ClientRequest;
+import io.zeebe.transport.ClientTransport;
+import io.zeebe.util.sched.Actor;
+import io.zeebe.util.sched.future.ActorFuture;
+import io.zeebe.util.sched.future.CompletableActorFuture;
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import org.agrona.DirectBuffer;
+import org.agrona.collections.Int2ObjectHashMap;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.slf4j.Logger;
+
+/**
+ * A client transport which sends the requests to a {@link BinaryServerTransport}. It keeps one
+ * persistent connection per broker and multiplexes the requests over it, each identified by a
+ * stream id which is unique on the connection.
+ *
+ * <p>The requests which are sent while the actor handles a batch of jobs are flushed together. The
+ * number of requests which are in flight per connection is limited, and no requests are written
+ * while the connection's write buffer is full; the remaining requests are queued until responses
+ * arrive. Retries and timeouts behave like in {@link AtomixClientTransportAdapter}.
+ */
+public final class BinaryClientTransport extends Actor implements ClientTransport {
+
+  private static final Logger LOG = Loggers.TRANSPORT_LOGGER;
+  private static final Duration RETRY_DELAY = Duration.ofMillis(10);
+  private static final Duration REMOVE_COMPLETED_REQUESTS_INTERVAL = Duration.ofSeconds(1);
+  private static final String NO_REMOTE_ADDRESS_FOUND_ERROR_MESSAGE =
+      "Failed to send request to %s, no remote address found.";
+  private static final String CONNECTION_CLOSED_ERROR_MESSAGE = "Connection to %s was closed.";
+
+  private final Map<Address, Connection> connections = new HashMap<>();
+  private final List<Connection> connectionsToFlush = new ArrayList<>();
+  private final int maxInFlightRequestsPerConnection;
+
+  private EventLoopGroup eventLoopGroup;
+  private Bootstrap bootstrap;
+
+  public BinaryClientTransport(final int maxInFlightRequestsPerConnection) {
+    this.maxInFlightRequestsPerConnection = maxInFlightRequestsPerConnection;
+  }
+
+  @Override
+  protected void onActorStarting() {
+    eventLoopGroup = new NioEventLoopGroup(0, new DefaultThreadFactory("command-api-client"));
+    bootstrap =
+        new Bootstrap()
+            .group(eventLoopGroup)
+            .channel(NioSocketChannel.class)
+            .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+            .option(
+                ChannelOption.WRITE_BUFFER_WATER_MARK,
+                new WriteBufferWaterMark(32 * 1024, 64 * 1024))
+            .option(ChannelOption.SO_RCVBUF, 1024 * 1024)
+            .option(ChannelOption.SO_SNDBUF, 1024 * 1024)
+            .option(ChannelOption.SO_KEEPALIVE, true)
+            .option(ChannelOption.TCP_NODELAY, true)
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 1000);
+  }
+
+  @Override
+  protected void onActorStarted() {
+    actor.runAtFixedRate(REMOVE_COMPLETED_REQUESTS_INTERVAL, this::removeCompletedRequests);
+  }
+
+  @Override
+  protected void onActorClosing() {
+    connections.values().forEach(Connection::close);
+    connections.clear();
+
+    actor.runOnCompletionBlockingCurrentPhase(
+        BinaryTransportProtocol.toActorFuture(
+            eventLoopGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS)),
+        (v, error) -> {});
+  }
+
+  @Override
+  public ActorFuture<DirectBuffer> sendRequestWithRetry(
+      final Supplier<String> nodeAddressSupplier,
+      final Predicate<DirectBuffer> responseValidator,
+      final ClientRequest clientRequest,
+      final Duration timeout) {
+    return sendRequestInternal(
+        nodeAddressSupplier, responseValidator, clientRequest, true, timeout);
+  }
+
+  @Override
+  public ActorFuture<DirectBuffer> sendRequest(
+      final Supplier<String> nodeAddressSupplier,
+      final ClientRequest clientRequest,
+      final Duration timeout) {
+    return sendRequestInternal(nodeAddressSupplier, r -> true, clientRequest, false, timeout);
+  }
+
+  private ActorFuture<DirectBuffer> sendRequestInternal(
+      final Supplier<String> nodeAddressSupplier,
+      final Predicate<DirectBuffer> responseValidator,
+      final ClientRequest clientRequest,
+      final boolean shouldRetry,
+      final Duration timeout) {
+
+    // copy once, the request may be sent multiple times
+    final var length = clientRequest.getLength();
+    final var requestBytes = new byte[length];
+    clientRequest.write(new UnsafeBuffer(requestBytes), 0);
+
+    final var requestFuture = new CompletableActorFuture<DirectBuffer>();
+    final var requestContext =
+        new RequestContext(
+            requestFuture,
+            nodeAddressSupplier,
+            clientRequest.getPartitionId(),
+            requestBytes,
+            responseValidator,
+            shouldRetry,
+            timeout);
+    actor.call(
+        () -> {
+          final var scheduledTimer = actor.runDelayed(timeout, () -> timeoutFuture(requestContext));
+          requestContext.setScheduledTimer(scheduledTimer);
+          tryToSend(requestContext);
+        });
+
+    return requestFuture;
+  }
+
+  private void tryToSend(final RequestContext requestContext) {
+    if (requestContext.isDone() || requestContext.calculateTimeout().toMillis() <= 0L) {
+      // our request future will be completedExceptionally from the scheduled timeout job
+      return;
+    }
+
+    final var nodeAddress = requestContext.getNodeAddress();
+    if (nodeAddress == null) {
+      if (requestContext.shouldRetry()) {
+        actor.runDelayed(RETRY_DELAY, () -> tryToSend(requestContext));
+      } else {
+        requestContext.completeExceptionally(
+            new ConnectException(
+                String.format(
+                    NO_REMOTE_ADDRESS_FOUND_ERROR_MESSAGE, requestContext.getTopicName())));
+      }
+      return;
+    }
+
+    if (LOG.isTraceEnabled()) {
+      LOG.trace(
+          "Send request {} to {} for partition {}",
+          requestContext.hashCode(),
+          nodeAddress,
+          requestContext.getPartitionId());
+    }
+
+    connections.computeIfAbsent(nodeAddress, this::connect).send(requestContext);
+  }
+
+  private Connection connect(final Address address) {
+    final var connection = new Connection(address);
+    bootstrap
+        .clone()
+        .handler(
+            new ChannelInitializer<SocketChannel>() {
+              @Override
+              protected void initChannel(final SocketChannel channel) {
+                BinaryTransportProtocol.addFrameDecoder(channel.pipeline());
+                channel.pipeline().addLast("handler", new ResponseFrameHandler(connection));
+              }
+            })
+        .connect(address.host(), address.port())
+        .addListener(
+            (ChannelFutureListener) future -> actor.run(() -> onConnected(connection, future)));
+    return connection;
+  }
+
+  private void onConnected(final Connection connection, final ChannelFuture future) {
+    if (!future.isSuccess()) {
+      connections.remove(connection.address, connection);
+      connection.failRequests(future.cause());
+    } else if (connections.get(connection.address) != connection) {
+      // the transport is closed or the connection was replaced in the meantime
+      future.channel().close();
+    } else {
+      connection.channel = future.channel();
+      connection.sendQueuedRequests();
+    }
+  }
+
+  private void onDisconnected(final Connection connection) {
+    connections.remove(connection.address, connection);
+    connection.failRequests(
+        new ConnectException(String.format(CONNECTION_CLOSED_ERROR_MESSAGE, connection.address)));
+  }
+
+  private void handleResponse(
+      final RequestContext requestContext, final byte type, final ByteBuf payload) {
+    if (requestContext.isDone()) {
+      return;
+    }
+
+    switch (type) {
+      case RESPONSE:
+        // copy the response, since the frame is released after handling it
+        final var response = new byte[payload.readableBytes()];
+        payload.readBytes(response);
+        completeOrRetry(requestContext, new UnsafeBuffer(response));
+        break;
+      case RESPONSE_NO_HANDLER:
+        handleError(requestContext, new MessagingException.NoRemoteHandler());
+        break;
+      case RESPONSE_HANDLER_FAILURE:
+        handleError(requestContext, new MessagingException.RemoteHandlerFailure());
+        break;
+      default:
+        requestContext.completeExceptionally(new MessagingException.ProtocolException());
+        break;
+    }
+  }
+
+  private void completeOrRetry(final RequestContext requestContext, final DirectBuffer response) {
+    if (requestContext.verifyResponse(response)) {
+      requestContext.complete(response);
+    } else {
+      // no valid response - retry in respect of the timeout
+      actor.runDelayed(RETRY_DELAY, () -> tryToSend(requestContext));
+    }
+  }
+
+  private void handleError(final RequestContext requestContext, final Throwable error) {
+    if (requestContext.isDone()) {
+      return;
+    }
+
+    if (exceptionShowsConnectionIssue(error) && requestContext.shouldRetry()) {
+      if (LOG.isTraceEnabled()) {
+        LOG.trace(
+            "Request {} failed, but will retry after delay {}",
+            requestContext.hashCode(),
+            RETRY_DELAY,
+            error);
+      }
+      actor.runDelayed(RETRY_DELAY, () -> tryToSend(requestContext));
+    } else {
+      requestContext.completeExceptionally(error);
+    }
+  }
+
+  private boolean exceptionShowsConnectionIssue(final Throwable throwable) {
+    return throwable instanceof ConnectException
+        || throwable instanceof MessagingException.NoRemoteHandler;
+  }
+
+  private void timeoutFuture(final RequestContext requestContext) {
+    if (requestContext.isDone()) {
+      return;
+    }
+
+    requestContext.timeout();
+  }
+
+  private void removeCompletedRequests() {
+    // requests which timed out are not answered anymore, but still count as in flight
+    for (final Connection connection : connections.values()) {
+      connection.inFlightRequests.values().removeIf(RequestContext::isDone);
+      connection.sendQueuedRequests();
+    }
+  }
+
+  private void scheduleFlush(final Connection connection) {
+    if (connection.isFlushScheduled) {
+      return;
+    }
+
+    if (connectionsToFlush.isEmpty()) {
+      // flush all requests which are written by the jobs that are already queued at once
+      actor.submit(this::flushConnections);
+    }
+
+    connection.isFlushScheduled = true;
+    connectionsToFlush.add(connection);
+  }
+
+  private void flushConnections() {
+    for (int i = 0; i < connectionsToFlush.size(); i++) {
+      final var connection = connectionsToFlush.get(i);
+      connection.isFlushScheduled = false;
+      connection.channel.flush();
+    }
+    connectionsToFlush.clear();
+  }
+
+  private final class Connection {
+    private final Address address;
+    private final Int2ObjectHashMap<RequestContext> inFlightRequests = new Int2ObjectHashMap<>();
+    private final Queue<RequestContext> queuedRequests = new ArrayDeque<>();
+    private Channel channel;
+    private int nextStreamId;
+    private boolean isFlushScheduled;
+
+    private Connection(final Address address) {
+      this.address = address;
+    }
+
+    private void send(final RequestContext requestContext) {
+      queuedRequests.add(requestContext);
+      sendQueuedRequests();
+    }
+
+    private void sendQueuedRequests() {
+      if (channel == null) {
+        // the requests are sent when the connection is established
+        return;
+      }
+
+      while (!queuedRequests.isEmpty()
+          && inFlightRequests.size() < maxInFlightRequestsPerConnection
+          && channel.isWritable()) {
+        final var requestContext = queuedRequests.poll();
+        if (!requestContext.isDone()) {
+          write(requestContext);
+        }
+      }
+    }
+
+    private void write(final RequestContext requestContext) {
+      final var streamId = nextStreamId();
+      final var requestBytes = requestContext.getRequestBytes();
+
+      // the server expires the request after the time the client still waits for its response
+      final var timeoutMillis =
+          (int) Math.min(requestContext.calculateTimeout().toMillis(), Integer.MAX_VALUE);
+
+      final var frame = BinaryTransportProtocol.allocateFrame(channel.alloc(), requestBytes.length);
+      BinaryTransportProtocol.writeHeader(
+          frame, REQUEST, streamId, requestContext.getPartitionId(), timeoutMillis);
+      frame.setBytes(FRAME_HEADER_LENGTH, requestBytes);
+
+      inFlightRequests.put(streamId, requestContext);
+      channel.write(frame, channel.voidPromise());
+      scheduleFlush(this);
+    }
+
+    private int nextStreamId() {
+      // the ids wrap around, which is safe as long as they are not in flight anymore
+      int streamId;
+      do {
+        streamId = nextStreamId;
+        nextStreamId = (nextStreamId + 1) & Integer.MAX_VALUE;
+      } while (inFlightRequests.containsKey(streamId));
+
+      return streamId;
+    }
+
+    private void onResponse(final ByteBuf frame) {
+      try {
+        final var type = frame.readByte();
+        final var streamId = frame.readInt();
+        // the partition id and the timeout are only relevant for the server
+        frame.skipBytes(2 * Integer.BYTES);
+
+        final var requestContext = inFlightRequests.remove(streamId);
+        if (requestContext != null) {
+          handleResponse(requestContext, type, frame);
+        }
+      } finally {
+        frame.release();
+      }
+
+      sendQueuedRequests();
+    }
+
+    private void failRequests(final Throwable error) {
+      final var requests = new ArrayList<>(inFlightRequests.values());
+      requests.addAll(queuedRequests);
+      inFlightRequests.clear();
+      queuedRequests.clear();
+
+      requests.forEach(requestContext -> handleError(requestContext, error));
+    }
+
+    private void close() {
+      if (channel != null) {
+        channel.close();
+      }
+    }
+  }
+
+  private final class ResponseFrameHandler extends ChannelInboundHandlerAdapter {
+    private final Connection connection;
+
+    private ResponseFrameHandler(final Connection connection) {
+      this.connection = connection;
+    }
+
+    @Override
+    public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+      actor.run(() -> connection.onResponse((ByteBuf) msg));
+    }
+
+    @Override
+    public void channelWritabilityChanged(final ChannelHandlerContext ctx) throws Exception {
+      if (ctx.channel().isWritable()) {
+        actor.run(connection::sendQueuedRequests);
+      }
+      super.channelWritabilityChanged(ctx);
+    }
+
+    @Override
+    public void channelInactive(final ChannelHandlerContext ctx) throws Exception {
+      actor.run(() -> onDisconnected(connection));
+      super.channelInactive(ctx);
+    }
+
+    @Override
+    public void exceptionCaught(final ChannelHandlerContext ctx, final Throwable cause) {
+      LOG.warn("Unexpected error on connection to {}, closing it", connection.address, cause);
+      ctx.close();
+    }
+  }
+}
@@ -0,0 +1,415 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.transport.impl;
+
+import static io.zeebe.transport.impl.BinaryTransportProtocol.REQUEST;
+import static io.zeebe.transport.impl.BinaryTransportProtocol.RESPONSE;
+import static io.zeebe.transport.impl.BinaryTransportProtocol.RESPONSE_HANDLER_FAILURE;
+import static io.zeebe.transport.impl.BinaryTransportProtocol.RESPONSE_NO_HANDLER;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import io.zeebe.transport.RequestHandler;
+import io.zeebe.transport.ServerResponse;
+import io.zeebe.transport.ServerTransport;
+import io.zeebe.util.sched.Actor;
+import io.zeebe.util.sched.clock.ActorClock;
+import io.zeebe.util.sched.future.ActorFuture;
+import io.zeebe.util.sched.future.CompletableActorFuture;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.agrona.collections.Int2ObjectHashMap;
+import org.agrona.collections.Long2ObjectHashMap;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.slf4j.Logger;
+
+/**
+ * A server transport which accepts the requests of {@link BinaryClientTransport} on a dedicated
+ * port. Requests are multiplexed over persistent connections and identified by their stream id.
+ *
+ * <p>The responses which are sent while the actor handles a batch of jobs are flushed together. The
+ * number of requests which are in flight per connection is limited; if the limit is reached, the
+ * server stops reading from the connection until enough requests are answered. Requests which are
+ * not answered within the timeout that the client sent with them are expired, since the client has
+ * given up on them.
+ */
+public final class BinaryServerTransport extends Actor implements ServerTransport {
+
+  private static final Logger LOG = Loggers.TRANSPORT_LOGGER;
+  private static final Duration EXPIRE_REQUESTS_INTERVAL = Duration.ofSeconds(1);
+
+  private final Int2ObjectHashMap<RequestHandler> requestHandlers = new Int2ObjectHashMap<>();
+  private final Int2ObjectHashMap<Long2ObjectHashMap<PendingRequest>> partitionsRequestMap =
+      new Int2ObjectHashMap<>();
+  private final UnsafeBuffer reusableRequestBuffer = new UnsafeBuffer(0, 0);
+  private final ByteBufAllocator responseAllocator = PooledByteBufAllocator.DEFAULT;
+  private final List<RequestHandler> handlersToNotify = new ArrayList<>();
+  private final List<Connection> connectionsToFlush = new ArrayList<>();
+  private final InetSocketAddress bindAddress;
+  private final int maxInFlightRequestsPerConnection;
+  private final String actorName;
+  private long requestCount;
+
+  private EventLoopGroup bossGroup;
+  private EventLoopGroup workerGroup;
+  private Channel serverChannel;
+
+  public BinaryServerTransport(
+      final int nodeId,
+      final InetSocketAddress bindAddress,
+      final int maxInFlightRequestsPerConnection) {
+    this.bindAddress = bindAddress;
+    this.maxInFlightRequestsPerConnection = maxInFlightRequestsPerConnection;
+    actorName = buildActorName(nodeId, "BinaryServerTransport");
+  }
+
+  @Override
+  public String getName() {
+    return actorName;
+  }
+
+  @Override
+  protected void onActorStarting() {
+    bossGroup = new NioEventLoopGroup(1, new DefaultThreadFactory(actorName + "-boss"));
+    workerGroup = new NioEventLoopGroup(0, new DefaultThreadFactory(actorName + "-worker"));
+
+    final var bootstrap =
+        new ServerBootstrap()
+            .group(bossGroup, workerGroup)
+            .channel(NioServerSocketChannel.class)
+            .option(ChannelOption.SO_REUSEADDR, true)
+            .option(ChannelOption.SO_BACKLOG, 128)
+            .childOption(
+                ChannelOption.WRITE_BUFFER_WATER_MARK,
+                new WriteBufferWaterMark(32 * 1024, 64 * 1024))
+            .childOption(ChannelOption.SO_RCVBUF, 1024 * 1024)
+            .childOption(ChannelOption.SO_SNDBUF, 1024 * 1024)
+            .childOption(ChannelOption.SO_KEEPALIVE, true)
+            .childOption(ChannelOption.TCP_NODELAY, true)
+            .childOption(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+            .childHandler(
+                new ChannelInitializer<SocketChannel>() {
+                  @Override
+                  protected void initChannel(final SocketChannel channel) {
+                    BinaryTransportProtocol.addFrameDecoder(channel.pipeline());
+                    channel.pipeline().addLast("handler", new RequestFrameHandler());
+                  }
+                });
+
+    final var bindFuture = new CompletableActorFuture<Channel>();
+    bootstrap
+        .bind(bindAddress)
+        .addListener(
+            (ChannelFutureListener)
+                future -> {
+                  if (future.isSuccess()) {
+                    bindFuture.complete(future.channel());
+                  } else {
+                    bindFuture.completeExceptionally(future.cause());
+                  }
+                });
+
+    actor.runOnCompletionBlockingCurrentPhase(
+        bindFuture,
+        (channel, error) -> {
+          if (error != null) {
+            throw new IllegalStateException(
+                String.format("Failed to bind command API to %s", bindAddress), error);
+          }
+
+          serverChannel = channel;
+          LOG.debug("Bound command API to {}", channel.localAddress());
+        });
+  }
+
+  @Override
+  protected void onActorStarted() {
+    actor.runAtFixedRate(EXPIRE_REQUESTS_INTERVAL, this::expirePendingRequests);
+  }
+
+  @Override
+  protected void onActorClosing() {
+    for (final int partitionId : new ArrayList<>(requestHandlers.keySet())) {
+      removePartition(partitionId);
+    }
+
+    if (serverChannel != null) {
+      serverChannel.close();
+    }
+
+    actor.runOnCompletionBlockingCurrentPhase(
+        BinaryTransportProtocol.toActorFuture(bossGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS)),
+        (v, error) -> {});
+    actor.runOnCompletionBlockingCurrentPhase(
+        BinaryTransportProtocol.toActorFuture(
+            workerGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS)),
+        (v, error) -> {});
+  }
+
+  @Override
+  public ActorFuture<Void> subscribe(final int partitionId, final RequestHandler requestHandler) {
+    return actor.call(
+        () -> {
+          if (LOG.isTraceEnabled()) {
+            LOG.trace("Subscribe for partition {}", partitionId);
+          }
+          requestHandlers.put(partitionId, requestHandler);
+          partitionsRequestMap.put(partitionId, new Long2ObjectHashMap<>());
+        });
+  }
+
+  @Override
+  public ActorFuture<Void> unsubscribe(final int partitionId) {
+    return actor.call(() -> removePartition(partitionId));
+  }
+
+  private void removePartition(final int partitionId) {
+    if (LOG.isTraceEnabled()) {
+      LOG.trace("Unsubscribe from partition {}", partitionId);
+    }
+
+    requestHandlers.remove(partitionId);
+    final var requestMap = partitionsRequestMap.remove(partitionId);
+    if (requestMap != null) {
+      // the requests will not be answered anymore, they time out on the client side
+      requestMap.values().forEach(request -> request.connection.onRequestCompleted());
+      requestMap.clear();
+    }
+  }
+
+  private void handleRequest(final Connection connection, final ByteBuf frame) {
+    try {
+      final var type = frame.readByte();
+      final var streamId = frame.readInt();
+      final var partitionId = frame.readInt();
+      final var timeoutMillis = frame.readInt();
+
+      if (type != REQUEST) {
+        LOG.warn("Expected a request, but got a frame of type {}; closing connection", type);
+        connection.channel.close();
+        return;
+      }
+
+      final var requestHandler = requestHandlers.get(partitionId);
+      if (requestHandler == null) {
+        connection.sendError(RESPONSE_NO_HANDLER, streamId, partitionId);
+        return;
+      }
+
+      final var requestId = requestCount++;
+      final var length = frame.readableBytes();
+      try {
+        BinaryTransportProtocol.wrap(reusableRequestBuffer, frame, frame.readerIndex(), length);
+        requestHandler.onRequest(this, partitionId, requestId, reusableRequestBuffer, 0, length);
+        if (LOG.isTraceEnabled()) {
+          LOG.trace("Handled request {} for partition {}", requestId, partitionId);
+        }
+        // we only add the request to the map after successful handling
+        final var requestMap = partitionsRequestMap.get(partitionId);
+        final var deadline = ActorClock.currentTimeMillis() + timeoutMillis;
+        requestMap.put(requestId, new PendingRequest(connection, streamId, deadline));
+        notifyRequestsHandled(requestHandler);
+      } catch (final Exception exception) {
+        LOG.error(
+            "Unexpected exception on handling request for partition {}.", partitionId, exception);
+        connection.sendError(RESPONSE_HANDLER_FAILURE, streamId, partitionId);
+      }
+    } finally {
+      frame.release();
+    }
+  }
+
+  private void expirePendingRequests() {
+    final var now = ActorClock.currentTimeMillis();
+    for (final var requestMap : partitionsRequestMap.values()) {
+      final var requests = requestMap.values().iterator();
+      while (requests.hasNext()) {
+        final var request = requests.next();
+        if (request.deadline <= now) {
+          // the request timed out on the client side, so it doesn't block the connection anymore
+          requests.remove();
+          request.connection.onRequestCompleted();
+        }
+      }
+    }
+  }
+
+  private void notifyRequestsHandled(final RequestHandler requestHandler) {
+    if (handlersToNotify.isEmpty()) {
+      // submitted to the end of the actor's queue, i.e. after the requests which are already queued
+      actor.submit(this::onRequestsHandled);
+    }
+
+    if (!handlersToNotify.contains(requestHandler)) {
+      handlersToNotify.add(requestHandler);
+    }
+  }
+
+  private void onRequestsHandled() {
+    for (int i = 0; i < handlersToNotify.size(); i++) {
+      try {
+        handlersToNotify.get(i).onRequestsHandled(this);
+      } catch (final Exception exception) {
+        LOG.error("Unexpected exception on completing the handled requests.", exception);
+      }
+    }
+    handlersToNotify.clear();
+  }
+
+  @Override
+  public void sendResponse(final ServerResponse response) {
+    final var requestId = response.getRequestId();
+    final var partitionId = response.getPartitionId();
+
+    // sendResponse can be called concurrently, so the response is serialized into its own frame;
+    // the header is written on the actor, when the stream of the request is known
+    final var frame =
+        BinaryTransportProtocol.allocateFrame(responseAllocator, response.getLength());
+    try {
+      BinaryTransportProtocol.writePayload(frame, response);
+    } catch (final RuntimeException e) {
+      frame.release();
+      throw e;
+    }
+
+    actor.run(
+        () -> {
+          final var requestMap = partitionsRequestMap.get(partitionId);
+          final var request = requestMap != null ? requestMap.remove(requestId) : null;
+          if (request == null) {
+            if (LOG.isTraceEnabled()) {
+              LOG.trace(
+                  "Wasn't able to send response to request {} for partition {}",
+                  requestId,
+                  partitionId);
+            }
+            frame.release();
+            return;
+          }
+
+          BinaryTransportProtocol.writeHeader(frame, RESPONSE, request.streamId, partitionId, 0);
+          request.connection.write(frame);
+          request.connection.onRequestCompleted();
+        });
+  }
+
+  private void scheduleFlush(final Connection connection) {
+    if (connection.isFlushScheduled) {
+      return;
+    }
+
+    if (connectionsToFlush.isEmpty()) {
+      // flush all responses which are written by the jobs that are already queued at once
+      actor.submit(this::flushConnections);
+    }
+
+    connection.isFlushScheduled = true;
+    connectionsToFlush.add(connection);
+  }
+
+  private void flushConnections() {
+    for (int i = 0; i < connectionsToFlush.size(); i++) {
+      final var connection = connectionsToFlush.get(i);
+      connection.isFlushScheduled = false;
+      connection.channel.flush();
+    }
+    connectionsToFlush.clear();
+  }
+
+  private final class Connection {
+    private final Channel channel;
+    // accessed by the actor and the connection's event loop
+    private final AtomicInteger inFlightRequests = new AtomicInteger();
+    private boolean isFlushScheduled;
+
+    private Connection(final Channel channel) {
+      this.channel = channel;
+    }
+
+    private void onRequestReceived() {
+      if (inFlightRequests.incrementAndGet() >= maxInFlightRequestsPerConnection) {
+        channel.config().setAutoRead(false);
+
+        // enough requests may have been completed concurrently, before reading was stopped
+        if (inFlightRequests.get() <= maxInFlightRequestsPerConnection / 2) {
+          channel.config().setAutoRead(true);
+        }
+      }
+    }
+
+    private void onRequestCompleted() {
+      // the count can skip the threshold, e.g. if multiple requests expire or fail at once
+      if (inFlightRequests.decrementAndGet() <= maxInFlightRequestsPerConnection / 2
+          && !channel.config().isAutoRead()) {
+        channel.config().setAutoRead(true);
+      }
+    }
+
+    private void write(final ByteBuf frame) {
+      channel.write(frame, channel.voidPromise());
+      scheduleFlush(this);
+    }
+
+    private void sendError(final byte type, final int streamId, final int partitionId) {
+      write(BinaryTransportProtocol.encodeError(channel.alloc(), type, streamId, partitionId));
+      onRequestCompleted();
+    }
+  }
+
+  private static final class PendingRequest {
+    private final Connection connection;
+    private final int streamId;
+    private final long deadline;
+
+    private PendingRequest(final Connection connection, final int streamId, final long deadline) {
+      this.connection = connection;
+      this.streamId = streamId;
+      this.deadline = deadline;
+    }
+  }
+
+  private final class RequestFrameHandler extends ChannelInboundHandlerAdapter {
+    private Connection connection;
+
+    @Override
+    public void channelActive(final ChannelHandlerContext ctx) throws Exception {
+      connection = new Connection(ctx.channel());
+      super.channelActive(ctx);
+    }
+
+    @Override
+    public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+      connection.onRequestReceived();
+      actor.run(() -> handleRequest(connection, (ByteBuf) msg));
+    }
+
+    @Override
+    public void exceptionCaught(final ChannelHandlerContext ctx, final Throwable cause) {
+      LOG.warn("Unexpected error on connection {}, closing it", ctx.channel(), cause);
+      ctx.close();
+    }
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.transport.impl;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.ChannelPipeline;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import io.netty.util.concurrent.Future;
+import io.zeebe.util.buffer.BufferWriter;
+import io.zeebe.util.sched.future.ActorFuture;
+import io.zeebe.util.sched.future.CompletableActorFuture;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * The wire format of the binary command transport. Each frame is prefixed by its length and has a
+ * fixed header, followed by the payload:
+ *
+ * <pre>
+ * +--------------+----------+----------------+-------------------+---------------+---------+
+ * | length (int) | type (1) | streamId (int) | partitionId (int) | timeout (int) | payload |
+ * +--------------+----------+----------------+-------------------+---------------+---------+
+ * </pre>
+ *
+ * <p>The stream id is assigned by the client per connection and echoed by the server, so that many
+ * requests can be in flight on one connection and the responses can be sent in any order. The
+ * timeout of a request is the time in milliseconds the client still waits for its response; it is
+ * always zero for responses.
+ */
+final class BinaryTransportProtocol {
+
+  static final byte REQUEST = 0;
+  static final byte RESPONSE = 1;
+  static final byte RESPONSE_NO_HANDLER = 2;
+  static final byte RESPONSE_HANDLER_FAILURE = 3;
+
+  static final int LENGTH_FIELD_LENGTH = Integer.BYTES;
+  static final int HEADER_LENGTH = Byte.BYTES + Integer.BYTES + Integer.BYTES + Integer.BYTES;
+  static final int FRAME_HEADER_LENGTH = LENGTH_FIELD_LENGTH + HEADER_LENGTH;
+
+  /** Protects against corrupted length fields; the message size is limited by the broker. */
+  static final int MAX_FRAME_LENGTH = 128 * 1024 * 1024;
+
+  private BinaryTransportProtocol() {}
+
+  static void addFrameDecoder(final ChannelPipeline pipeline) {
+    pipeline.addLast(
+        "frameDecoder",
+        new LengthFieldBasedFrameDecoder(
+            MAX_FRAME_LENGTH, 0, LENGTH_FIELD_LENGTH, 0, LENGTH_FIELD_LENGTH));
+  }
+
+  /**
+   * Allocates a frame for the given payload length. The header is written separately via {@link
+   * #writeHeader(ByteBuf, byte, int, int, int)}, since the stream id of a response is only known on
+   * the transport's actor.
+   */
+  static ByteBuf allocateFrame(final ByteBufAllocator allocator, final int payloadLength) {
+    final var frameLength = FRAME_HEADER_LENGTH + payloadLength;
+    final var frame = allocator.ioBuffer(frameLength, frameLength);
+    frame.writerIndex(frameLength);
+    return frame;
+  }
+
+  static void writeHeader(
+      final ByteBuf frame,
+      final byte type,
+      final int streamId,
+      final int partitionId,
+      final int timeoutMillis) {
+    frame.setInt(0, frame.writerIndex() - LENGTH_FIELD_LENGTH);
+    frame.setByte(LENGTH_FIELD_LENGTH, type);
+    frame.setInt(LENGTH_FIELD_LENGTH + Byte.BYTES, streamId);
+    frame.setInt(LENGTH_FIELD_LENGTH + Byte.BYTES + Integer.BYTES, partitionId);
+    frame.setInt(LENGTH_FIELD_LENGTH + Byte.BYTES + 2 * Integer.BYTES, timeoutMillis);
+  }
+
+  static void writePayload(final ByteBuf frame, final BufferWriter writer) {
+    final var payload = new UnsafeBuffer(0, 0);
+    wrap(payload, frame, FRAME_HEADER_LENGTH, frame.writerIndex() - FRAME_HEADER_LENGTH);
+    writer.write(payload, 0);
+  }
+
+  static ByteBuf encodeError(
+      final ByteBufAllocator allocator,
+      final byte type,
+      final int streamId,
+      final int partitionId) {
+    final var frame = allocateFrame(allocator, 0);
+    writeHeader(frame, type, streamId, partitionId, 0);
+    return frame;
+  }
+
+  /** Wraps the given range of the buffer without copying it, if possible. */
+  static void wrap(
+      final UnsafeBuffer view, final ByteBuf buffer, final int index, final int length) {
+    if (buffer.hasMemoryAddress()) {
+      view.wrap(buffer.memoryAddress() + index, length);
+    } else if (buffer.hasArray()) {
+      view.wrap(buffer.array(), buffer.arrayOffset() + index, length);
+    } else {
+      view.wrap(buffer.nioBuffer(index, length));
+    }
+  }
+
+  static <T> ActorFuture<Void> toActorFuture(final Future<T> future) {
+    final var actorFuture = new CompletableActorFuture<Void>();
+    future.addListener(
+        f -> {
+          if (f.isSuccess()) {
+            actorFuture.complete(null);
+          } else {
+            actorFuture.completeExceptionally(f.cause());
+          }
+        });
+    return actorFuture;
+  }
+}
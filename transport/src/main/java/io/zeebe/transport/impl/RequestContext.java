@@ -59,6 +59,10 @@ final class RequestContext {
     return address == null ? null : Address.from(address);
   }
 
+  int getPartitionId() {
+    return partitionId;
+  }
+
   String getTopicName() {
     return topicName(partitionId);
   }
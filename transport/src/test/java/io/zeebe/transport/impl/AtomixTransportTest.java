@@ -22,11 +22,15 @@ import io.zeebe.transport.RequestHandler;
 import io.zeebe.transport.ServerOutput;
 import io.zeebe.transport.ServerTransport;
 import io.zeebe.transport.TransportFactory;
+import io.zeebe.util.buffer.BufferUtil;
+import io.zeebe.util.sched.future.ActorFuture;
 import io.zeebe.util.sched.testing.ActorSchedulerRule;
 import java.net.ConnectException;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
@@ -115,6 +119,18 @@ public class AtomixTransportTest {
 
                   return transportFactory.createServerTransport(0, nettyMessagingService);
                 }
+          },
+          {
+            "use binary transport",
+            (Function<AtomixCluster, ClientTransport>)
+                (cluster) -> transportFactory.createBinaryClientTransport(),
+            (Function<AtomixCluster, ServerTransport>)
+                (cluster) -> {
+                  final var socketAddress = SocketUtil.getNextAddress();
+                  serverAddress = socketAddress.getHostName() + ":" + socketAddress.getPort();
+                  nodeAddressSupplier = () -> serverAddress;
+                  return transportFactory.createBinaryServerTransport(0, socketAddress);
+                }
           }
         });
   }
@@ -174,6 +190,27 @@ public class AtomixTransportTest {
     assertThat(incomingRequestFuture.join()).isEqualTo("messageABC".getBytes());
   }
 
+  @Test
+  public void shouldSendManyRequestsConcurrently() {
+    // given
+    serverTransport.subscribe(0, new DirectlyResponder()).join();
+    final var requestCount = TransportFactory.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION * 2;
+
+    // when
+    final var requestFutures = new ArrayList<ActorFuture<DirectBuffer>>();
+    for (int i = 0; i < requestCount; i++) {
+      requestFutures.add(
+          clientTransport.sendRequestWithRetry(
+              nodeAddressSupplier, new Request("message" + i), REQUEST_TIMEOUT));
+    }
+
+    // then
+    for (int i = 0; i < requestCount; i++) {
+      final var response = requestFutures.get(i).join();
+      assertThat(response.byteArray()).isEqualTo(("message" + i).getBytes());
+    }
+  }
+
   @Test
   public void shouldRetryOnInvalidResponse() throws Exception {
     // given
@@ -213,6 +250,22 @@ public class AtomixTransportTest {
         .hasCauseInstanceOf(MessagingException.RemoteHandlerFailure.class);
   }
 
+  @Test
+  public void shouldNotifyHandlerAfterRequestsHandled() {
+    // given
+    final var handler = new DeferredResponder();
+    serverTransport.subscribe(0, handler).join();
+
+    // when
+    final var requestFuture =
+        clientTransport.sendRequestWithRetry(
+            nodeAddressSupplier, new Request("messageABC"), REQUEST_TIMEOUT);
+
+    // then
+    final var response = requestFuture.join();
+    assertThat(response.byteArray()).isEqualTo("messageABC".getBytes());
+  }
+
   @Test
   public void shouldUnsubscribeFromPartition() {
     // given
@@ -390,8 +443,36 @@ public class AtomixTransportTest {
               .buffer(buffer, 0, length)
               .setRequestId(requestId)
               .setPartitionId(partitionId);
-      requestConsumer.accept(buffer.byteArray());
+      requestConsumer.accept(BufferUtil.bufferAsArray(buffer));
       serverOutput.sendResponse(serverResponse);
     }
   }
+
+  /** Responds to the requests only when it is notified that the requests are handled. */
+  private static class DeferredResponder implements RequestHandler {
+
+    private final List<ServerResponseImpl> pendingResponses = new ArrayList<>();
+
+    @Override
+    public void onRequest(
+        final ServerOutput serverOutput,
+        final int partitionId,
+        final long requestId,
+        final DirectBuffer buffer,
+        final int offset,
+        final int length) {
+      final var serverResponse =
+          new ServerResponseImpl()
+              .buffer(BufferUtil.cloneBuffer(buffer, offset, length))
+              .setRequestId(requestId)
+              .setPartitionId(partitionId);
+      pendingResponses.add(serverResponse);
+    }
+
+    @Override
+    public void onRequestsHandled(final ServerOutput serverOutput) {
+      pendingResponses.forEach(serverOutput::sendResponse);
+      pendingResponses.clear();
+    }
+  }
 }
@@ -15,6 +15,8 @@ import java.util.function.Consumer;
 
 public abstract class Actor implements CloseableSilently, AsyncClosable {
 
+  public static final int NO_AFFINITY = -1;
+
   private static final int MAX_CLOSE_TIMEOUT = 300;
   protected final ActorControl actor = new ActorControl(this);
 
@@ -22,6 +24,17 @@ public abstract class Actor implements CloseableSilently, AsyncClosable {
     return getClass().getName();
   }
 
+  /**
+   * Actors which work on the same data, like the actors of one partition, should return the same
+   * non-negative key (e.g. the partition id). It is read once when the actor is submitted and only
+   * used by the {@link ActorPlacementPolicy#PARTITION_AFFINE} placement policy.
+   *
+   * @return the affinity key of the actor, or {@link #NO_AFFINITY}
+   */
+  public int getAffinityKey() {
+    return NO_AFFINITY;
+  }
+
   public boolean isActorClosed() {
     return actor.isClosed();
   }
@@ -15,14 +15,13 @@ import io.zeebe.util.sched.channel.ChannelSubscription;
 import io.zeebe.util.sched.channel.ConsumableChannel;
 import io.zeebe.util.sched.future.ActorFuture;
 import io.zeebe.util.sched.future.AllCompletedFutureConsumer;
-import io.zeebe.util.sched.future.FutureContinuationRunnable;
+import io.zeebe.util.sched.future.CompletableActorFuture;
 import java.time.Duration;
 import java.util.Collection;
 import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
-import java.util.function.Function;
 
 public class ActorControl {
   final ActorTask task;
@@ -65,6 +64,7 @@ public class ActorControl {
   public ChannelSubscription consume(final ConsumableChannel channel, final Runnable consumer) {
     ensureCalledFromWithinActor("consume(...)");
 
+    // the job is owned by its subscription and never recycled, so it is not taken from the pool
     final ActorJob job = new ActorJob();
     job.setRunnable(consumer);
     job.setAutoCompleting(false);
@@ -89,6 +89,7 @@ public class ActorControl {
   public ActorCondition onCondition(final String conditionName, final Runnable conditionAction) {
     ensureCalledFromWithinActor("onCondition(...)");
 
+    // the job is owned by its subscription and never recycled, so it is not taken from the pool
     final ActorJob job = new ActorJob();
     job.setRunnable(conditionAction);
     job.onJobAddedToTask(task);
@@ -114,7 +115,7 @@ public class ActorControl {
           "Incorrect usage of actor.call(...) cannot be called from current actor.");
     }
 
-    final ActorJob job = new ActorJob();
+    final ActorJob job = newJob(ActorThread.current());
     final ActorFuture<T> future = job.setCallable(callable);
     job.onJobAddedToTask(task);
     job.setAutoCompleting(true);
@@ -189,13 +190,7 @@ public class ActorControl {
     final ActorThread currentActorRunner = ensureCalledFromActorThread("run(...)");
     final ActorTask currentTask = currentActorRunner.getCurrentTask();
 
-    final ActorJob job;
-    if (currentTask == task) {
-      job = currentActorRunner.newJob();
-    } else {
-      job = new ActorJob();
-    }
-
+    final ActorJob job = currentActorRunner.newJob();
     job.setRunnable(action);
     job.setAutoCompleting(true);
     job.onJobAddedToTask(task);
@@ -223,6 +218,7 @@ public class ActorControl {
 
   private TimerSubscription scheduleTimer(
       final Duration delay, final boolean isRecurring, final Runnable runnable) {
+    // the job is owned by its subscription and never recycled, so it is not taken from the pool
     final ActorJob job = new ActorJob();
     job.setRunnable(runnable);
     job.onJobAddedToTask(task);
@@ -255,10 +251,7 @@ public class ActorControl {
     final ActorLifecyclePhase lifecyclePhase = task.getLifecyclePhase();
     if (lifecyclePhase != ActorLifecyclePhase.CLOSE_REQUESTED
         && lifecyclePhase != ActorLifecyclePhase.CLOSED) {
-      submitContinuationJob(
-          future,
-          callback,
-          (job) -> new ActorFutureSubscription(future, job, lifecyclePhase.getValue()));
+      submitContinuationJob(future, callback, lifecyclePhase.getValue());
     }
   }
 
@@ -283,30 +276,40 @@ public class ActorControl {
       submitContinuationJob(
           future,
           callback,
-          (job) ->
-              new ActorFutureSubscription(
-                  future,
-                  job,
-                  (task.getLifecyclePhase().getValue()
-                      | ActorLifecyclePhase.CLOSE_REQUESTED.getValue())));
+          lifecyclePhase.getValue() | ActorLifecyclePhase.CLOSE_REQUESTED.getValue());
     }
   }
 
   private <T> void submitContinuationJob(
-      final ActorFuture<T> future,
-      final BiConsumer<T, Throwable> callback,
-      final Function<ActorJob, ActorFutureSubscription> futureSubscriptionSupplier) {
-    final ActorJob continuationJob = new ActorJob();
-    continuationJob.setRunnable(new FutureContinuationRunnable<>(future, callback));
+      final ActorFuture<T> future, final BiConsumer<T, Throwable> callback, final int phaseMask) {
+    final ActorJob continuationJob = newJob(ActorThread.current());
     continuationJob.setAutoCompleting(true);
     continuationJob.onJobAddedToTask(task);
-
-    final ActorFutureSubscription subscription = futureSubscriptionSupplier.apply(continuationJob);
-    continuationJob.setSubscription(subscription);
+    continuationJob.setFutureContinuation(future, callback, phaseMask);
 
     future.block(task);
   }
 
+  /**
+   * Runs the given callable outside of the actor threads and invokes the callback on this actor
+   * when it is done. To be used for calls which block, like file system operations or waiting on a
+   * future of a component which is not an actor, so that they don't delay the other actors.
+   *
+   * <p>The callback is invoked under the same conditions as the callback of {@link
+   * #runOnCompletion(ActorFuture, BiConsumer)}.
+   *
+   * @param callable the blocking call, must not access the state of the actor
+   * @param callback the callback that handle the call's result. The throwable is <code>null
+   *     </code> when the call completed successfully.
+   */
+  public <T> void runBlocking(final Callable<T> callable, final BiConsumer<T, Throwable> callback) {
+    ensureCalledFromWithinActor("runBlocking(...)");
+
+    final CompletableActorFuture<T> future = new CompletableActorFuture<>();
+    task.getActorExecutor().submitBlocking(callable, future);
+    runOnCompletion(future, callback);
+  }
+
   /**
    * Invoke the callback when the given futures are completed (successfully or exceptionally). This
    * call does not block the actor.
@@ -339,7 +342,7 @@ public class ActorControl {
   }
 
   public ActorFuture<Void> close() {
-    final ActorJob closeJob = new ActorJob();
+    final ActorJob closeJob = newJob(ActorThread.current());
 
     closeJob.onJobAddedToTask(task);
     closeJob.setAutoCompleting(true);
@@ -360,7 +363,7 @@ public class ActorControl {
       newJob.onJobAddedToTask(task);
       task.insertJob(newJob);
     } else {
-      final ActorJob job = new ActorJob();
+      final ActorJob job = newJob(currentActorThread);
       job.setRunnable(runnable);
       job.setAutoCompleting(autocompleting);
       job.onJobAddedToTask(task);
@@ -368,6 +371,19 @@ public class ActorControl {
     }
   }
 
+  /**
+   * Takes a recycled job from the pool of the given actor thread. Terminated jobs are recycled by
+   * the thread which executed them, so jobs which are submitted from one actor to another are
+   * passed between the pools of both threads instead of being allocated for each submission.
+   */
+  private static ActorJob newJob(final ActorThread actorThread) {
+    if (actorThread != null) {
+      return actorThread.newJob();
+    } else {
+      return new ActorJob();
+    }
+  }
+
   public void done() {
     final ActorJob job = ensureCalledFromWithinActor("done()");
     job.markDone();
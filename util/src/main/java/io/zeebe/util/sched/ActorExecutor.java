@@ -10,6 +10,8 @@ package io.zeebe.util.sched;
 import io.zeebe.util.sched.ActorScheduler.ActorSchedulerBuilder;
 import io.zeebe.util.sched.ActorTask.ActorLifecyclePhase;
 import io.zeebe.util.sched.future.ActorFuture;
+import io.zeebe.util.sched.future.CompletableActorFuture;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -19,10 +21,12 @@ import java.util.concurrent.CompletableFuture;
 public final class ActorExecutor {
   private final ActorThreadGroup cpuBoundThreads;
   private final ActorThreadGroup ioBoundThreads;
+  private final BlockingTaskExecutor blockingTaskExecutor;
 
   public ActorExecutor(final ActorSchedulerBuilder builder) {
     ioBoundThreads = builder.getIoBoundActorThreads();
     cpuBoundThreads = builder.getCpuBoundActorThreads();
+    blockingTaskExecutor = builder.getBlockingTaskExecutor();
   }
 
   /**
@@ -48,12 +52,24 @@ public final class ActorExecutor {
     return startingFuture;
   }
 
+  /**
+   * Runs a blocking call outside of the actor threads.
+   *
+   * @param callable the blocking call
+   * @param future completed with the result of the call
+   */
+  public <T> void submitBlocking(
+      final Callable<T> callable, final CompletableActorFuture<T> future) {
+    blockingTaskExecutor.submit(callable, future);
+  }
+
   public void start() {
     cpuBoundThreads.start();
     ioBoundThreads.start();
   }
 
   public CompletableFuture<Void> closeAsync() {
+    blockingTaskExecutor.close();
     return CompletableFuture.allOf(ioBoundThreads.closeAsync(), cpuBoundThreads.closeAsync());
   }
 
@@ -11,17 +11,28 @@ import io.zeebe.util.sched.ActorTask.ActorLifecyclePhase;
 import io.zeebe.util.sched.future.ActorFuture;
 
 public final class ActorFutureSubscription implements ActorSubscription {
-  private final ActorJob callbackJob;
-  private final int phaseMask;
-  private final ActorFuture<?> future;
+  private ActorJob callbackJob;
+  private int phaseMask;
+  private ActorFuture<?> future;
+
+  public ActorFutureSubscription() {}
 
   public ActorFutureSubscription(
       final ActorFuture<?> future, final ActorJob callbackJob, final int phaseMask) {
+    wrap(future, callbackJob, phaseMask);
+  }
+
+  /** used to recycle the subscription together with its job */
+  void wrap(final ActorFuture<?> future, final ActorJob callbackJob, final int phaseMask) {
     this.future = future;
     this.callbackJob = callbackJob;
     this.phaseMask = phaseMask;
   }
 
+  void reset() {
+    wrap(null, null, 0);
+  }
+
   @Override
   public boolean triggersInPhase(final ActorLifecyclePhase phase) {
     // triggers in all phases
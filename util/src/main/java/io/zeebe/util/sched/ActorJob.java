@@ -10,7 +10,9 @@ package io.zeebe.util.sched;
 import io.zeebe.util.sched.ActorTask.TaskSchedulingState;
 import io.zeebe.util.sched.future.ActorFuture;
 import io.zeebe.util.sched.future.CompletableActorFuture;
+import io.zeebe.util.sched.future.FutureContinuationRunnable;
 import java.util.concurrent.Callable;
+import java.util.function.BiConsumer;
 
 @SuppressWarnings({"unchecked", "rawtypes"})
 public final class ActorJob {
@@ -27,6 +29,10 @@ public final class ActorJob {
   private ActorFuture resultFuture;
   private ActorSubscription subscription;
 
+  // created on first use and recycled together with the job
+  private FutureContinuationRunnable continuationRunnable;
+  private ActorFutureSubscription futureSubscription;
+
   public void onJobAddedToTask(final ActorTask task) {
     actor = task.actor;
     this.task = task;
@@ -105,6 +111,11 @@ public final class ActorJob {
 
     resultFuture = null;
     subscription = null;
+
+    if (continuationRunnable != null) {
+      continuationRunnable.reset();
+      futureSubscription.reset();
+    }
   }
 
   public void markDone() {
@@ -149,6 +160,24 @@ public final class ActorJob {
     task.addSubscription(subscription);
   }
 
+  /**
+   * Lets the job invoke the callback when the future is completed. The runnable and the
+   * subscription are owned by the job, so they are reused when the job is recycled.
+   */
+  <T> void setFutureContinuation(
+      final ActorFuture<T> future, final BiConsumer<T, Throwable> callback, final int phaseMask) {
+    if (continuationRunnable == null) {
+      continuationRunnable = new FutureContinuationRunnable<>();
+      futureSubscription = new ActorFutureSubscription();
+    }
+
+    continuationRunnable.wrap(future, callback);
+    futureSubscription.wrap(future, this, phaseMask);
+
+    setRunnable(continuationRunnable);
+    setSubscription(futureSubscription);
+  }
+
   public ActorTask getTask() {
     return task;
   }
@@ -0,0 +1,65 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.util.sched;
+
+import io.prometheus.client.Counter;
+import io.prometheus.client.Histogram;
+
+/** Runtime metrics of a single actor. The label children are resolved once per actor. */
+public final class ActorMetrics {
+
+  private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+  private static final Histogram EXECUTION_LATENCY =
+      Histogram.build()
+          .namespace("zeebe")
+          .name("actor_task_execution_latency")
+          .help("Time an actor runs on an actor thread each time it is scheduled (in seconds)")
+          .labelNames("actorName")
+          .exponentialBuckets(0.00001, 4, 10)
+          .register();
+
+  private static final Histogram QUEUE_LATENCY =
+      Histogram.build()
+          .namespace("zeebe")
+          .name("actor_task_queue_latency")
+          .help("Time an actor waits in a task queue until an actor thread picks it (in seconds)")
+          .labelNames("actorName")
+          .exponentialBuckets(0.00001, 4, 10)
+          .register();
+
+  private static final Counter STEAL_COUNT =
+      Counter.build()
+          .namespace("zeebe")
+          .name("actor_task_steals_total")
+          .help("Number of times an actor was stolen by an idle actor thread from another thread")
+          .labelNames("actorName")
+          .register();
+
+  private final Histogram.Child executionLatency;
+  private final Histogram.Child queueLatency;
+  private final Counter.Child stealCount;
+
+  public ActorMetrics(final String actorName) {
+    executionLatency = EXECUTION_LATENCY.labels(actorName);
+    queueLatency = QUEUE_LATENCY.labels(actorName);
+    stealCount = STEAL_COUNT.labels(actorName);
+  }
+
+  public void observeExecutionTime(final long nanos) {
+    executionLatency.observe(nanos / NANOS_PER_SECOND);
+  }
+
+  public void observeQueueLatency(final long nanos) {
+    queueLatency.observe(nanos / NANOS_PER_SECOND);
+  }
+
+  public void countSteal() {
+    stealCount.inc();
+  }
+}
@@ -0,0 +1,24 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.util.sched;
+
+/** Decides which thread of a thread group executes an actor. */
+public enum ActorPlacementPolicy {
+  /**
+   * An actor is queued on the thread which submits it, or on a random thread if it is submitted
+   * from outside of the group. Idle threads steal any actor from other threads.
+   */
+  WORK_STEALING,
+
+  /**
+   * An actor with an affinity key (see {@link Actor#getAffinityKey()}) is always queued on the home
+   * thread of its key and is never stolen by other threads, so that all actors of a partition share
+   * the caches of one thread. Idle threads only steal actors without an affinity key.
+   */
+  PARTITION_AFFINE
+}
@@ -9,6 +9,7 @@ package io.zeebe.util.sched;
 
 import io.zeebe.util.sched.clock.ActorClock;
 import io.zeebe.util.sched.future.ActorFuture;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicReference;
@@ -16,10 +17,12 @@ import java.util.concurrent.atomic.AtomicReference;
 public final class ActorScheduler {
   private final AtomicReference<SchedulerState> state = new AtomicReference<>();
   private final ActorExecutor actorTaskExecutor;
+  private final boolean adaptivePrioritySchedulingEnabled;
 
   public ActorScheduler(final ActorSchedulerBuilder builder) {
     state.set(SchedulerState.NEW);
     actorTaskExecutor = builder.getActorExecutor();
+    adaptivePrioritySchedulingEnabled = builder.isAdaptivePrioritySchedulingEnabled();
   }
 
   /**
@@ -61,6 +64,22 @@ public final class ActorScheduler {
     return startingFuture;
   }
 
+  /**
+   * Submits a non-blocking, CPU-bound actor with the given priority, if the adaptive priority
+   * scheduling is enabled (see {@link
+   * ActorSchedulerBuilder#setAdaptivePrioritySchedulingEnabled(boolean)}). Otherwise, the actor is
+   * submitted with the regular priority, so that the fixed quotas of the priority classes don't
+   * apply to it.
+   *
+   * @param actor the actor to submit
+   * @param priority the priority of the actor if the adaptive priority scheduling is enabled
+   */
+  public ActorFuture<Void> submitPrioritizedActor(final Actor actor, final ActorPriority priority) {
+    final ActorPriority actorPriority =
+        adaptivePrioritySchedulingEnabled ? priority : ActorPriority.REGULAR;
+    return submitActor(actor, SchedulingHints.cpuBound(actorPriority));
+  }
+
   public void start() {
     if (state.compareAndSet(SchedulerState.NEW, SchedulerState.RUNNING)) {
       actorTaskExecutor.start();
@@ -90,11 +109,17 @@ public final class ActorScheduler {
     private ActorThreadGroup cpuBoundActorGroup;
     private int ioBoundThreadsCount = 2;
     private ActorThreadGroup ioBoundActorGroup;
+    private int blockingTaskThreadCount = 16;
+    private BlockingTaskExecutor blockingTaskExecutor;
 
     private ActorThreadFactory actorThreadFactory;
     private ActorExecutor actorExecutor;
 
     private ActorTimerQueue actorTimerQueue;
+    private ActorPlacementPolicy actorPlacementPolicy = ActorPlacementPolicy.WORK_STEALING;
+    private boolean actorMetricsEnabled = false;
+    private boolean adaptivePrioritySchedulingEnabled = false;
+    private Duration adaptivePrioritySchedulingThreshold = Duration.ofMillis(2);
 
     public String getSchedulerName() {
       return schedulerName;
@@ -141,6 +166,68 @@ public final class ActorScheduler {
       return this;
     }
 
+    public int getBlockingTaskThreadCount() {
+      return blockingTaskThreadCount;
+    }
+
+    /**
+     * Sets the maximum number of threads which run blocking calls of actors. The threads are only
+     * started when needed.
+     */
+    public ActorSchedulerBuilder setBlockingTaskThreadCount(final int blockingTaskThreadCount) {
+      this.blockingTaskThreadCount = blockingTaskThreadCount;
+      return this;
+    }
+
+    public ActorPlacementPolicy getActorPlacementPolicy() {
+      return actorPlacementPolicy;
+    }
+
+    public ActorSchedulerBuilder setActorPlacementPolicy(
+        final ActorPlacementPolicy actorPlacementPolicy) {
+      this.actorPlacementPolicy = actorPlacementPolicy;
+      return this;
+    }
+
+    public boolean isActorMetricsEnabled() {
+      return actorMetricsEnabled;
+    }
+
+    /**
+     * Records the execution time and the queue latency of every actor. Requires an additional clock
+     * read each time an actor is queued and executed.
+     */
+    public ActorSchedulerBuilder setActorMetricsEnabled(final boolean actorMetricsEnabled) {
+      this.actorMetricsEnabled = actorMetricsEnabled;
+      return this;
+    }
+
+    public boolean isAdaptivePrioritySchedulingEnabled() {
+      return adaptivePrioritySchedulingEnabled;
+    }
+
+    /**
+     * If enabled, the CPU-bound threads stop following the priority quotas and pick the highest
+     * priority task available first while the queue latency of high priority actors is above the
+     * threshold (see {@link #setAdaptivePrioritySchedulingThreshold(Duration)}). Every 8th task is
+     * still picked from the lower priorities first, so that these are not starved.
+     */
+    public ActorSchedulerBuilder setAdaptivePrioritySchedulingEnabled(
+        final boolean adaptivePrioritySchedulingEnabled) {
+      this.adaptivePrioritySchedulingEnabled = adaptivePrioritySchedulingEnabled;
+      return this;
+    }
+
+    public Duration getAdaptivePrioritySchedulingThreshold() {
+      return adaptivePrioritySchedulingThreshold;
+    }
+
+    public ActorSchedulerBuilder setAdaptivePrioritySchedulingThreshold(
+        final Duration adaptivePrioritySchedulingThreshold) {
+      this.adaptivePrioritySchedulingThreshold = adaptivePrioritySchedulingThreshold;
+      return this;
+    }
+
     public double[] getPriorityQuotas() {
       return Arrays.copyOf(priorityQuotas, priorityQuotas.length);
     }
@@ -167,6 +254,10 @@ public final class ActorScheduler {
       return ioBoundActorGroup;
     }
 
+    public BlockingTaskExecutor getBlockingTaskExecutor() {
+      return blockingTaskExecutor;
+    }
+
     private void initActorThreadFactory() {
       if (actorThreadFactory == null) {
         actorThreadFactory = new DefaultActorThreadFactory();
@@ -179,6 +270,14 @@ public final class ActorScheduler {
       }
     }
 
+    private void initBlockingTaskExecutor() {
+      if (blockingTaskExecutor == null) {
+        blockingTaskExecutor =
+            new BlockingTaskExecutor(
+                String.format("%s-%s", schedulerName, "zb-blocking"), blockingTaskThreadCount);
+      }
+    }
+
     private void initCpuBoundActorThreadGroup() {
       if (cpuBoundActorGroup == null) {
         cpuBoundActorGroup = new CpuThreadGroup(this);
@@ -195,6 +294,7 @@ public final class ActorScheduler {
       initActorThreadFactory();
       initCpuBoundActorThreadGroup();
       initIoBoundActorThreadGroup();
+      initBlockingTaskExecutor();
       initActorExecutor();
       return new ActorScheduler(this);
     }
@@ -46,6 +46,14 @@ public class ActorTask {
    * the priority class of the task. Only set if the task is scheduled as non-blocking, CPU-bound
    */
   private int priority = ActorPriority.REGULAR.getPriorityClass();
+
+  private int affinityKey = Actor.NO_AFFINITY;
+  private int homeThreadId = -1;
+
+  /** the time when the task was last put into a task queue, only set if it is needed */
+  private long queuedNanoTime;
+
+  private ActorMetrics metrics;
   /**
    * jobs that are submitted to this task externally. A job is submitted "internally" if it is
    * submitted from a job within the same actor while the task is in RUNNING state.
@@ -61,6 +69,9 @@ public class ActorTask {
       final ActorExecutor actorExecutor, final ActorThreadGroup actorThreadGroup) {
     this.actorExecutor = actorExecutor;
     this.actorThreadGroup = actorThreadGroup;
+    affinityKey = actor.getAffinityKey();
+    homeThreadId = actorThreadGroup.getHomeThreadId(affinityKey);
+    metrics = actorThreadGroup.isMetricsEnabled() ? new ActorMetrics(getName()) : null;
     // reset previous state to allow re-scheduling
     closeFuture.close();
     closeFuture.setAwaitingResult();
@@ -130,6 +141,11 @@ public class ActorTask {
             }
 
             subscription.onJobCompleted();
+
+            if (subscription instanceof ActorFutureSubscription) {
+              // nothing else refers to a completed future continuation, unlike e.g. a timer
+              runner.recycleJob(terminatedJob);
+            }
           } else {
             runner.recycleJob(terminatedJob);
           }
@@ -479,6 +495,32 @@ public class ActorTask {
     this.priority = priority;
   }
 
+  public int getAffinityKey() {
+    return affinityKey;
+  }
+
+  public boolean hasAffinity() {
+    return affinityKey != Actor.NO_AFFINITY;
+  }
+
+  /** @return the id of the thread which runs the task, or -1 if it can run on any thread */
+  public int getHomeThreadId() {
+    return homeThreadId;
+  }
+
+  public long getQueuedNanoTime() {
+    return queuedNanoTime;
+  }
+
+  public void setQueuedNanoTime(final long queuedNanoTime) {
+    this.queuedNanoTime = queuedNanoTime;
+  }
+
+  /** @return the metrics of the actor, or null if the scheduler doesn't record actor metrics */
+  public ActorMetrics getMetrics() {
+    return metrics;
+  }
+
   public ActorExecutor getActorExecutor() {
     return actorExecutor;
   }
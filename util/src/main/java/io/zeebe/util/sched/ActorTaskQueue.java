@@ -38,14 +38,15 @@ public final class ActorTaskQueue extends ActorTaskQueueHead {
    * Attempts to steal a task from this list. The operation does not actually remove the task.
    * Instead, it modifies the task's state.
    *
+   * @param stealAffineTasks if false, tasks with an affinity key are skipped
    * @return the actor which was stolen or null in case no actor is available
    */
-  public ActorTask trySteal() {
+  public ActorTask trySteal(final boolean stealAffineTasks) {
     ActorTaskQueueNode node = tail;
 
     while (node != null && node != empty) {
       final ActorTask task = node.task;
-      if (task.claim(node.stateCount)) {
+      if ((stealAffineTasks || !task.hasAffinity()) && task.claim(node.stateCount)) {
         return task;
       }
 
@@ -87,9 +87,21 @@ public class ActorThread extends Thread implements Consumer<Runnable> {
     currentTask = taskScheduler.getNextTask(clock);
 
     if (currentTask != null) {
+      final ActorMetrics metrics = currentTask.getMetrics();
+      long startNanoTime = 0;
+      if (metrics != null) {
+        // must be observed before the execution, as the task may be queued again afterwards
+        startNanoTime = System.nanoTime();
+        metrics.observeQueueLatency(startNanoTime - currentTask.getQueuedNanoTime());
+      }
+
       try {
         executeCurrentTask();
       } finally {
+        if (metrics != null) {
+          metrics.observeExecutionTime(System.nanoTime() - startNanoTime);
+        }
+
         taskScheduler.onTaskReleased(currentTask);
       }
     } else {
@@ -9,8 +9,11 @@ package io.zeebe.util.sched;
 
 import io.zeebe.util.Loggers;
 import io.zeebe.util.sched.ActorScheduler.ActorSchedulerBuilder;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A thread group is a group of threads which process the same kind of tasks (ie. blocking I/O vs.
@@ -21,6 +24,11 @@ public abstract class ActorThreadGroup {
   protected final ActorThread[] threads;
   protected final MultiLevelWorkstealingGroup tasks;
   protected final int numOfThreads;
+  private final boolean isPartitionAffine;
+  private final boolean isMetricsEnabled;
+  private final boolean recordQueueTime;
+  private final Map<Integer, Integer> homeThreadIds = new ConcurrentHashMap<>();
+  private final AtomicInteger nextHomeThreadId = new AtomicInteger();
 
   public ActorThreadGroup(
       final String groupName,
@@ -29,8 +37,11 @@ public abstract class ActorThreadGroup {
       final ActorSchedulerBuilder builder) {
     this.groupName = groupName;
     this.numOfThreads = numOfThreads;
+    isPartitionAffine = builder.getActorPlacementPolicy() == ActorPlacementPolicy.PARTITION_AFFINE;
+    isMetricsEnabled = builder.isActorMetricsEnabled();
+    recordQueueTime = isMetricsEnabled || builder.isAdaptivePrioritySchedulingEnabled();
 
-    tasks = new MultiLevelWorkstealingGroup(numOfThreads, numOfQueuesPerThread);
+    tasks = new MultiLevelWorkstealingGroup(numOfThreads, numOfQueuesPerThread, !isPartitionAffine);
 
     threads = new ActorThread[numOfThreads];
 
@@ -53,14 +64,46 @@ public abstract class ActorThreadGroup {
     }
   }
 
+  public boolean isMetricsEnabled() {
+    return isMetricsEnabled;
+  }
+
+  /**
+   * Returns the home thread of the given affinity key. The home threads are assigned round-robin in
+   * the order in which the keys are seen, so that the partitions of a broker are spread evenly over
+   * the threads, even though their ids are strided by the cluster size.
+   *
+   * @return the id of the home thread, or -1 if the task has no home thread
+   */
+  int getHomeThreadId(final int affinityKey) {
+    if (!isPartitionAffine || affinityKey == Actor.NO_AFFINITY) {
+      return -1;
+    }
+
+    return homeThreadIds.computeIfAbsent(
+        affinityKey, key -> nextHomeThreadId.getAndIncrement() % numOfThreads);
+  }
+
   protected abstract TaskScheduler createTaskScheduler(
       MultiLevelWorkstealingGroup tasks, ActorSchedulerBuilder builder);
 
   public void submit(final ActorTask actorTask) {
     final int level = getLevel(actorTask);
 
+    if (recordQueueTime) {
+      actorTask.setQueuedNanoTime(System.nanoTime());
+    }
+
     final ActorThread current = ActorThread.current();
-    if (current != null && current.getActorThreadGroup() == this) {
+    final int homeThreadId = actorTask.getHomeThreadId();
+    if (homeThreadId >= 0) {
+      tasks.submit(actorTask, level, homeThreadId);
+
+      final ActorThread homeThread = threads[homeThreadId];
+      if (current != homeThread) {
+        homeThread.hintWorkAvailable();
+      }
+    } else if (current != null && current.getActorThreadGroup() == this) {
       tasks.submit(actorTask, level, current.getRunnerId());
     } else {
       final int threadId = ThreadLocalRandom.current().nextInt(numOfThreads);
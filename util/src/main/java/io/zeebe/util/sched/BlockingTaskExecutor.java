@@ -0,0 +1,67 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.util.sched;
+
+import io.zeebe.util.sched.future.CompletableActorFuture;
+import java.util.concurrent.Callable;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Elastic pool of threads which run the blocking calls of actors (see {@link
+ * ActorControl#runBlocking(Callable, java.util.function.BiConsumer)}), so that these don't occupy
+ * the actor threads. Threads are started on demand, up to the maximum thread count, and terminate
+ * after they were idle for a while.
+ */
+public final class BlockingTaskExecutor {
+  private static final long KEEP_ALIVE_SECONDS = 60;
+
+  private final ThreadPoolExecutor executor;
+
+  public BlockingTaskExecutor(final String name, final int maxThreadCount) {
+    final AtomicInteger threadCount = new AtomicInteger();
+    executor =
+        new ThreadPoolExecutor(
+            maxThreadCount,
+            maxThreadCount,
+            KEEP_ALIVE_SECONDS,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            runnable -> {
+              final Thread thread =
+                  new Thread(runnable, String.format("%s-%d", name, threadCount.getAndIncrement()));
+              thread.setDaemon(true);
+              return thread;
+            });
+    executor.allowCoreThreadTimeOut(true);
+  }
+
+  /** Runs the callable on a thread of the pool and completes the future with its result. */
+  public <T> void submit(final Callable<T> callable, final CompletableActorFuture<T> future) {
+    try {
+      executor.execute(
+          () -> {
+            try {
+              future.complete(callable.call());
+            } catch (final Throwable e) {
+              future.completeExceptionally(e);
+            }
+          });
+    } catch (final RejectedExecutionException e) {
+      future.completeExceptionally(e);
+    }
+  }
+
+  /** Stops accepting new calls. The calls which are already submitted still run to completion. */
+  public void close() {
+    executor.shutdown();
+  }
+}
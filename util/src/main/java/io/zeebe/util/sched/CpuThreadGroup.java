@@ -23,7 +23,12 @@ public final class CpuThreadGroup extends ActorThreadGroup {
   @Override
   protected TaskScheduler createTaskScheduler(
       final MultiLevelWorkstealingGroup tasks, final ActorSchedulerBuilder builder) {
-    return new PriorityScheduler(tasks::getNextTask, builder.getPriorityQuotas());
+    final long adaptiveThresholdNs =
+        builder.isAdaptivePrioritySchedulingEnabled()
+            ? builder.getAdaptivePrioritySchedulingThreshold().toNanos()
+            : 0;
+    return new PriorityScheduler(
+        tasks::getNextTask, builder.getPriorityQuotas(), adaptiveThresholdNs);
   }
 
   @Override
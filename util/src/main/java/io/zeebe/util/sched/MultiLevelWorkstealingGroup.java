@@ -14,10 +14,11 @@ package io.zeebe.util.sched;
 public final class MultiLevelWorkstealingGroup {
   private final WorkStealingGroup[] workStealingGroups;
 
-  public MultiLevelWorkstealingGroup(final int numOfThreads, final int levels) {
+  public MultiLevelWorkstealingGroup(
+      final int numOfThreads, final int levels, final boolean stealAffineTasks) {
     workStealingGroups = new WorkStealingGroup[levels];
     for (int i = 0; i < levels; i++) {
-      workStealingGroups[i] = new WorkStealingGroup(numOfThreads);
+      workStealingGroups[i] = new WorkStealingGroup(numOfThreads, stealAffineTasks);
     }
   }
 
@@ -21,6 +21,11 @@ public final class PriorityScheduler implements TaskScheduler {
   private static final int TIME_SLICES_PER_SECOND = 100;
   private static final long TIME_SLICE_LENTH_NS =
       TimeUnit.MILLISECONDS.toNanos(1000 / TIME_SLICES_PER_SECOND);
+  private static final int HIGHEST_PRIORITY = ActorPriority.HIGH.getPriorityClass();
+  /** the weight of a new sample in the moving average of the queue latency is 1/8 */
+  private static final int QUEUE_LATENCY_SMOOTHING_SHIFT = 3;
+  /** while the quotas are ignored, every 8th task is picked from the lower priorities first */
+  private static final int LOWER_PRIORITY_PICK_INTERVAL = 8;
   /** the function used to acquire a task for a given priority */
   private final IntFunction<ActorTask> getTaskFn;
   /** the current run */
@@ -29,6 +34,12 @@ public final class PriorityScheduler implements TaskScheduler {
   private final int priorityCount;
   /** pre-calculated priorities for time slices */
   private final int[] slicePriorities;
+  /** the queue latency above which the quotas are ignored, or 0 if it is not adaptive */
+  private final long adaptiveThresholdNs;
+  /** moving average of the queue latency of the highest priority tasks picked by this thread */
+  private long highPriorityQueueLatencyNs;
+  /** how many tasks were picked while the quotas are ignored */
+  private long priorityPickCount;
 
   /**
    * @param getTaskFn function which can be used to get a task by a given priority class.
@@ -39,7 +50,24 @@ public final class PriorityScheduler implements TaskScheduler {
    *     of time slices assigned to this priority class in a second.
    */
   public PriorityScheduler(final IntFunction<ActorTask> getTaskFn, final double[] quotas) {
+    this(getTaskFn, quotas, 0);
+  }
+
+  /**
+   * @param getTaskFn function which can be used to get a task by a given priority class.
+   * @param quotas the quotas by priority class, see {@link #PriorityScheduler(IntFunction,
+   *     double[])}
+   * @param adaptiveThresholdNs if greater than 0, the quotas are ignored while the average queue
+   *     latency of the highest priority tasks is above this threshold. Instead, the task with the
+   *     highest priority is always picked first, until the latency drops below the threshold.
+   *     Requires that the queue time of the tasks is recorded.
+   */
+  public PriorityScheduler(
+      final IntFunction<ActorTask> getTaskFn,
+      final double[] quotas,
+      final long adaptiveThresholdNs) {
     this.getTaskFn = getTaskFn;
+    this.adaptiveThresholdNs = adaptiveThresholdNs;
     priorityCount = quotas.length;
     slicePriorities = calclateSlicePriorities(quotas);
     currentRun = new Run();
@@ -88,6 +116,59 @@ public final class PriorityScheduler implements TaskScheduler {
   /** calculates and returns the next task to execute or null if no such task can be determined. */
   @Override
   public ActorTask getNextTask(final ActorClock clock) {
+    if (adaptiveThresholdNs <= 0) {
+      return getNextTaskByQuotas(clock);
+    } else if (highPriorityQueueLatencyNs > adaptiveThresholdNs) {
+      return getNextTaskByPriority();
+    } else {
+      final ActorTask nextTask = getNextTaskByQuotas(clock);
+      if (nextTask != null && nextTask.getPriority() == HIGHEST_PRIORITY) {
+        observeHighPriorityQueueLatency(System.nanoTime() - nextTask.getQueuedNanoTime());
+      }
+      return nextTask;
+    }
+  }
+
+  /**
+   * is used while the high priority tasks are delayed, picks the highest priority task first. The
+   * lower priorities keep a minimum share, so that e.g. the regular actors are not starved.
+   */
+  private ActorTask getNextTaskByPriority() {
+    final boolean isLowerPriorityPick = ++priorityPickCount % LOWER_PRIORITY_PICK_INTERVAL == 0;
+    if (isLowerPriorityPick) {
+      final ActorTask lowerPriorityTask = getLowerPriorityTask();
+      if (lowerPriorityTask != null) {
+        return lowerPriorityTask;
+      }
+    }
+
+    final ActorTask highPriorityTask = getTaskFn.apply(HIGHEST_PRIORITY);
+    if (highPriorityTask != null) {
+      observeHighPriorityQueueLatency(System.nanoTime() - highPriorityTask.getQueuedNanoTime());
+      return highPriorityTask;
+    }
+
+    // no high priority task is waiting, so the latency decays until the quotas apply again
+    observeHighPriorityQueueLatency(0);
+
+    return isLowerPriorityPick ? null : getLowerPriorityTask();
+  }
+
+  private ActorTask getLowerPriorityTask() {
+    ActorTask nextTask = null;
+    for (int p = HIGHEST_PRIORITY + 1; nextTask == null && p < priorityCount; p++) {
+      nextTask = getTaskFn.apply(p);
+    }
+
+    return nextTask;
+  }
+
+  private void observeHighPriorityQueueLatency(final long latencyNs) {
+    highPriorityQueueLatencyNs +=
+        (latencyNs - highPriorityQueueLatencyNs) >> QUEUE_LATENCY_SMOOTHING_SHIFT;
+  }
+
+  private ActorTask getNextTaskByQuotas(final ActorClock clock) {
     final int priority = currentRun.getTimeSlicePriority(clock.getNanoTime());
 
     // if no task at the given priority level is available, try executing a
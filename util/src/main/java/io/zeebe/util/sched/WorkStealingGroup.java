@@ -15,9 +15,11 @@ import java.util.concurrent.ThreadLocalRandom;
 public final class WorkStealingGroup {
   private final int numOfThreads;
   private final ActorTaskQueue[] taskQueues;
+  private final boolean stealAffineTasks;
 
-  public WorkStealingGroup(final int numOfThreads) {
+  public WorkStealingGroup(final int numOfThreads, final boolean stealAffineTasks) {
     this.numOfThreads = numOfThreads;
+    this.stealAffineTasks = stealAffineTasks;
     taskQueues = new ActorTaskQueue[numOfThreads];
     for (int i = 0; i < numOfThreads; i++) {
       taskQueues[i] = new ActorTaskQueue();
@@ -80,9 +82,14 @@ public final class WorkStealingGroup {
       final int runnerId = i % numOfThreads;
 
       if (runnerId != currentThread.getRunnerId()) {
-        final ActorTask stolenActor = taskQueues[runnerId].trySteal();
+        final ActorTask stolenActor = taskQueues[runnerId].trySteal(stealAffineTasks);
 
         if (stolenActor != null) {
+          final ActorMetrics metrics = stolenActor.getMetrics();
+          if (metrics != null) {
+            metrics.countSteal();
+          }
+
           return stolenActor;
         }
       }
@@ -11,15 +11,26 @@ import io.zeebe.util.LangUtil;
 import java.util.function.BiConsumer;
 
 public final class FutureContinuationRunnable<T> implements Runnable {
-  private final ActorFuture<T> future;
-  private final BiConsumer<T, Throwable> consumer;
+  private ActorFuture<T> future;
+  private BiConsumer<T, Throwable> consumer;
+
+  public FutureContinuationRunnable() {}
 
   public FutureContinuationRunnable(
       final ActorFuture<T> future, final BiConsumer<T, Throwable> consumer) {
+    wrap(future, consumer);
+  }
+
+  /** used to recycle the runnable together with its job */
+  public void wrap(final ActorFuture<T> future, final BiConsumer<T, Throwable> consumer) {
     this.future = future;
     this.consumer = consumer;
   }
 
+  public void reset() {
+    wrap(null, null);
+  }
+
   @Override
   public void run() {
     if (!future.isCompletedExceptionally()) {
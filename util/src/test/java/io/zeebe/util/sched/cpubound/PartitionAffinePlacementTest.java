@@ -0,0 +1,137 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.util.sched.cpubound;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.util.sched.Actor;
+import io.zeebe.util.sched.ActorPlacementPolicy;
+import io.zeebe.util.sched.ActorScheduler;
+import io.zeebe.util.sched.ActorThread;
+import io.zeebe.util.sched.future.ActorFuture;
+import io.zeebe.util.sched.future.CompletableActorFuture;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public final class PartitionAffinePlacementTest {
+
+  private static final int THREAD_COUNT = 4;
+  private static final int ITERATIONS = 1_000;
+
+  private ActorScheduler scheduler;
+
+  @Before
+  public void setUp() {
+    scheduler =
+        ActorScheduler.newActorScheduler()
+            .setCpuBoundActorThreadCount(THREAD_COUNT)
+            .setIoBoundActorThreadCount(1)
+            .setActorPlacementPolicy(ActorPlacementPolicy.PARTITION_AFFINE)
+            .build();
+    scheduler.start();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    scheduler.stop().get();
+  }
+
+  @Test
+  public void shouldRunActorsOnHomeThreadOfTheirAffinityKey() {
+    // given
+    final List<RecordingActor> actors = new ArrayList<>();
+    for (int key = 0; key < 2 * THREAD_COUNT; key++) {
+      actors.add(new RecordingActor(key));
+      actors.add(new RecordingActor(key));
+    }
+    actors.forEach(scheduler::submitActor);
+
+    // when
+    actors.forEach(actor -> actor.runJobs().join());
+
+    // then
+    for (int i = 0; i < actors.size(); i += 2) {
+      assertThat(actors.get(i).runnerIds).hasSize(1);
+      assertThat(actors.get(i + 1).runnerIds).isEqualTo(actors.get(i).runnerIds);
+    }
+  }
+
+  @Test
+  public void shouldSpreadStridedAffinityKeysOverThreads() {
+    // given - the partitions of one broker in a cluster of THREAD_COUNT brokers
+    final List<RecordingActor> actors = new ArrayList<>();
+    for (int i = 0; i < THREAD_COUNT; i++) {
+      actors.add(new RecordingActor(1 + i * THREAD_COUNT));
+    }
+    actors.forEach(scheduler::submitActor);
+
+    // when
+    actors.forEach(actor -> actor.runJobs().join());
+
+    // then
+    final Set<Integer> runnerIds = new HashSet<>();
+    for (final RecordingActor actor : actors) {
+      assertThat(actor.runnerIds).hasSize(1);
+      runnerIds.addAll(actor.runnerIds);
+    }
+    assertThat(runnerIds).hasSize(THREAD_COUNT);
+  }
+
+  @Test
+  public void shouldRunActorsWithoutAffinityKey() {
+    // given
+    final List<RecordingActor> actors = new ArrayList<>();
+    for (int i = 0; i < 2 * THREAD_COUNT; i++) {
+      actors.add(new RecordingActor(Actor.NO_AFFINITY));
+    }
+    actors.forEach(scheduler::submitActor);
+
+    // when
+    actors.forEach(actor -> actor.runJobs().join());
+
+    // then
+    assertThat(actors).allMatch(actor -> !actor.runnerIds.isEmpty());
+  }
+
+  private static final class RecordingActor extends Actor {
+    private final int affinityKey;
+    private final Set<Integer> runnerIds = ConcurrentHashMap.newKeySet();
+    private final CompletableActorFuture<Void> completed = new CompletableActorFuture<>();
+    private int iteration;
+
+    private RecordingActor(final int affinityKey) {
+      this.affinityKey = affinityKey;
+    }
+
+    @Override
+    public int getAffinityKey() {
+      return affinityKey;
+    }
+
+    private ActorFuture<Void> runJobs() {
+      actor.call(this::runJob);
+      return completed;
+    }
+
+    private void runJob() {
+      runnerIds.add(ActorThread.current().getRunnerId());
+
+      if (++iteration < ITERATIONS) {
+        actor.submit(this::runJob);
+      } else {
+        completed.complete(null);
+      }
+    }
+  }
+}
@@ -7,6 +7,7 @@
  */
 package io.zeebe.util.sched.cpubound;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.inOrder;
@@ -117,4 +118,94 @@ public final class PrioritySchedulerTest {
     inOrder.verify(getTaskFn).apply(2);
     inOrder.verifyNoMoreInteractions();
   }
+
+  @Test
+  public void shouldPickHighestPriorityWhileHighPriorityTasksAreDelayed() {
+    // given
+    final ActorTask highPriorityTask = mock(ActorTask.class);
+    final ActorTask lowPriorityTask = mock(ActorTask.class);
+    final IntFunction<ActorTask> getTaskFn = mock(IntFunction.class);
+    final ActorClock clock = mock(ActorClock.class);
+
+    when(highPriorityTask.getPriority()).thenReturn(0);
+    when(highPriorityTask.getQueuedNanoTime())
+        .thenReturn(System.nanoTime() - TimeUnit.SECONDS.toNanos(1));
+    when(lowPriorityTask.getPriority()).thenReturn(2);
+    when(getTaskFn.apply(0)).thenReturn(highPriorityTask);
+    when(getTaskFn.apply(2)).thenReturn(lowPriorityTask);
+
+    final PriorityScheduler scheduler =
+        new PriorityScheduler(
+            getTaskFn, new double[] {0.2, 0.3, 0.5}, TimeUnit.MILLISECONDS.toNanos(1));
+
+    // when
+    int highPriorityTaskCount = 0;
+    for (int i = 0; i < 100; i++) {
+      when(clock.getNanoTime()).thenReturn(TimeUnit.MILLISECONDS.toNanos(i * 10));
+      if (scheduler.getNextTask(clock) == highPriorityTask) {
+        highPriorityTaskCount++;
+      }
+    }
+
+    // then
+    assertThat(highPriorityTaskCount).isGreaterThan(80);
+  }
+
+  @Test
+  public void shouldKeepMinimumShareOfRegularPriorityWhileHighPriorityTasksAreDelayed() {
+    // given
+    final ActorTask highPriorityTask = mock(ActorTask.class);
+    final ActorTask regularPriorityTask = mock(ActorTask.class);
+    final IntFunction<ActorTask> getTaskFn = mock(IntFunction.class);
+    final ActorClock clock = mock(ActorClock.class);
+
+    when(highPriorityTask.getPriority()).thenReturn(0);
+    when(highPriorityTask.getQueuedNanoTime())
+        .thenReturn(System.nanoTime() - TimeUnit.SECONDS.toNanos(1));
+    when(regularPriorityTask.getPriority()).thenReturn(1);
+    when(getTaskFn.apply(0)).thenReturn(highPriorityTask);
+    when(getTaskFn.apply(1)).thenReturn(regularPriorityTask);
+
+    final PriorityScheduler scheduler =
+        new PriorityScheduler(getTaskFn, new double[] {1, 0, 0}, TimeUnit.MILLISECONDS.toNanos(1));
+
+    // when
+    int regularPriorityTaskCount = 0;
+    for (int i = 0; i < 100; i++) {
+      when(clock.getNanoTime()).thenReturn(TimeUnit.MILLISECONDS.toNanos(i * 10));
+      if (scheduler.getNextTask(clock) == regularPriorityTask) {
+        regularPriorityTaskCount++;
+      }
+    }
+
+    // then
+    assertThat(regularPriorityTaskCount).isEqualTo(12);
+  }
+
+  @Test
+  public void shouldRequestTasksAccordingToQuotasWhileHighPriorityTasksAreNotDelayed() {
+    // given
+    final ActorTask task = mock(ActorTask.class);
+    final IntFunction<ActorTask> getTaskFn = mock(IntFunction.class);
+    final ActorClock clock = mock(ActorClock.class);
+
+    when(task.getPriority()).thenReturn(0);
+    when(task.getQueuedNanoTime()).thenReturn(System.nanoTime());
+    when(getTaskFn.apply(anyInt())).thenReturn(task);
+
+    final PriorityScheduler scheduler =
+        new PriorityScheduler(
+            getTaskFn, new double[] {0.2, 0.3, 0.5}, TimeUnit.SECONDS.toNanos(10));
+
+    // when
+    for (int i = 0; i < 100; i++) {
+      when(clock.getNanoTime()).thenReturn(TimeUnit.MILLISECONDS.toNanos(i * 10));
+      scheduler.getNextTask(clock);
+    }
+
+    // then
+    verify(getTaskFn, times(20)).apply(0);
+    verify(getTaskFn, times(30)).apply(1);
+    verify(getTaskFn, times(50)).apply(2);
+  }
 }
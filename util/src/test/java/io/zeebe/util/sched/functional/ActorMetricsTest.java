@@ -0,0 +1,72 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.util.sched.functional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.prometheus.client.CollectorRegistry;
+import io.zeebe.util.sched.Actor;
+import io.zeebe.util.sched.ActorScheduler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public final class ActorMetricsTest {
+
+  private static final String ACTOR_NAME = "metrics-test-actor";
+
+  private ActorScheduler scheduler;
+
+  @Before
+  public void setUp() {
+    scheduler =
+        ActorScheduler.newActorScheduler()
+            .setCpuBoundActorThreadCount(1)
+            .setIoBoundActorThreadCount(1)
+            .setActorMetricsEnabled(true)
+            .build();
+    scheduler.start();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    scheduler.stop().get();
+  }
+
+  @Test
+  public void shouldRecordExecutionTimeAndQueueLatency() {
+    // given
+    final Actor actor =
+        new Actor() {
+          @Override
+          public String getName() {
+            return ACTOR_NAME;
+          }
+        };
+    final double executionsBefore = getSampleCount("zeebe_actor_task_execution_latency_count");
+    final double queueingsBefore = getSampleCount("zeebe_actor_task_queue_latency_count");
+
+    // when
+    scheduler.submitActor(actor).join();
+    // the single actor thread finished the previous execution before it runs the closing phase
+    actor.closeAsync().join();
+
+    // then
+    assertThat(getSampleCount("zeebe_actor_task_execution_latency_count"))
+        .isGreaterThan(executionsBefore);
+    assertThat(getSampleCount("zeebe_actor_task_queue_latency_count"))
+        .isGreaterThan(queueingsBefore);
+  }
+
+  private static double getSampleCount(final String name) {
+    final Double value =
+        CollectorRegistry.defaultRegistry.getSampleValue(
+            name, new String[] {"actorName"}, new String[] {ACTOR_NAME});
+    return value != null ? value : 0;
+  }
+}
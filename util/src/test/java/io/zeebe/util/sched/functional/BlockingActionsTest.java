@@ -0,0 +1,119 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Licensed under the Zeebe Community License 1.0. You may not use this file
+ * except in compliance with the Zeebe Community License 1.0.
+ */
+package io.zeebe.util.sched.functional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.zeebe.util.sched.Actor;
+import io.zeebe.util.sched.ActorThread;
+import io.zeebe.util.sched.future.ActorFuture;
+import io.zeebe.util.sched.future.CompletableActorFuture;
+import io.zeebe.util.sched.testing.ActorSchedulerRule;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Rule;
+import org.junit.Test;
+
+public final class BlockingActionsTest {
+  @Rule public final ActorSchedulerRule schedulerRule = new ActorSchedulerRule(1);
+
+  @Test
+  public void shouldRunCallableOutsideOfActorThreads() {
+    // given
+    final AtomicReference<ActorThread> callingThread = new AtomicReference<>();
+    final BlockingActor actor = new BlockingActor();
+    schedulerRule.submitActor(actor).join();
+
+    // when
+    final ActorFuture<String> result =
+        actor.runBlocking(
+            () -> {
+              callingThread.set(ActorThread.current());
+              return "foo";
+            });
+
+    // then
+    assertThat(result.join()).isEqualTo("foo");
+    assertThat(callingThread).hasValue(null);
+    assertThat(actor.callbackThread).isNotNull();
+  }
+
+  @Test
+  public void shouldPassExceptionToCallback() {
+    // given
+    final RuntimeException failure = new RuntimeException("expected");
+    final BlockingActor actor = new BlockingActor();
+    schedulerRule.submitActor(actor).join();
+
+    // when
+    final ActorFuture<String> result =
+        actor.runBlocking(
+            () -> {
+              throw failure;
+            });
+
+    // then
+    assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+        .isInstanceOf(ExecutionException.class)
+        .hasCause(failure);
+  }
+
+  @Test
+  public void shouldNotBlockActorWhileCallableRuns() {
+    // given
+    final CountDownLatch latch = new CountDownLatch(1);
+    final BlockingActor actor = new BlockingActor();
+    schedulerRule.submitActor(actor).join();
+
+    final ActorFuture<String> blockingResult =
+        actor.runBlocking(
+            () -> {
+              latch.await();
+              return "done";
+            });
+
+    // when
+    final ActorFuture<Void> otherCall = actor.doCall();
+
+    // then
+    otherCall.join(5, TimeUnit.SECONDS);
+    assertThat(blockingResult).isNotDone();
+
+    latch.countDown();
+    assertThat(blockingResult.join()).isEqualTo("done");
+  }
+
+  private static final class BlockingActor extends Actor {
+    private volatile ActorThread callbackThread;
+
+    private <T> ActorFuture<T> runBlocking(final Callable<T> callable) {
+      final CompletableActorFuture<T> result = new CompletableActorFuture<>();
+      actor.run(
+          () ->
+              actor.runBlocking(
+                  callable,
+                  (value, error) -> {
+                    callbackThread = ActorThread.current();
+                    if (error == null) {
+                      result.complete(value);
+                    } else {
+                      result.completeExceptionally(error);
+                    }
+                  }));
+      return result;
+    }
+
+    private ActorFuture<Void> doCall() {
+      return actor.call(() -> {});
+    }
+  }
+}
@@ -17,10 +17,14 @@ import static org.mockito.Mockito.times;
 
 import io.zeebe.util.sched.Actor;
 import io.zeebe.util.sched.ActorControl;
+import io.zeebe.util.sched.ActorJob;
 import io.zeebe.util.sched.ActorThread;
 import io.zeebe.util.sched.testing.ControlledActorSchedulerRule;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
@@ -112,6 +116,37 @@ public final class RunnableActionsTest {
     assertThat(actorContext).containsExactly(runner);
   }
 
+  @Test
+  public void shouldRecycleJobsSubmittedFromAnotherActor() {
+    // given
+    final int pingPongs = 100;
+    final Set<ActorJob> jobs = Collections.newSetFromMap(new IdentityHashMap<>());
+    final AtomicInteger invocations = new AtomicInteger();
+    final Runner[] actors = new Runner[2];
+
+    for (int i = 0; i < actors.length; i++) {
+      final int other = (i + 1) % actors.length;
+      actors[i] =
+          new Runner(
+              () -> {
+                jobs.add(ActorThread.current().getCurrentJob());
+                if (invocations.incrementAndGet() < pingPongs) {
+                  actors[other].doRun();
+                }
+              });
+      scheduler.submitActor(actors[i]);
+    }
+    scheduler.workUntilDone();
+
+    // when
+    actors[0].doRun();
+    scheduler.workUntilDone();
+
+    // then
+    assertThat(invocations.get()).isEqualTo(pingPongs);
+    assertThat(jobs.size()).isLessThan(pingPongs / 4);
+  }
+
   @Test
   public void shouldRunUntilDoneCalled() {
     // given
@@ -109,6 +109,19 @@ public interface ColumnFamily<KeyType extends DbKey, ValueType extends DbValue>
       KeyType key,
       ValueType value);
 
+  /**
+   * Visits the key-value pairs, which are stored in the column family, starting with the given key
+   * or with the next greater key if the given key doesn't exist. The ordering depends on the key.
+   * The visitor can indicate via the return value, whether the iteration should continue or not.
+   *
+   * <p>Similar to {@link #whileTrue(KeyValuePairVisitor)}, but can resume a previous iteration
+   * without visiting the preceding key-value pairs again.
+   *
+   * @param startKey the key to start the iteration with
+   * @param visitor the visitor which visits the key-value pairs
+   */
+  void whileTrue(KeyType startKey, KeyValuePairVisitor<KeyType, ValueType> visitor);
+
   /**
    * Visits the key-value pairs, which are stored in the column family and which have the same
    * common prefix. The ordering depends on the key.
@@ -93,6 +93,12 @@ class TransactionalColumnFamily<
     transactionDb.whileTrue(handle, context, key, value, visitor);
   }
 
+  @Override
+  public void whileTrue(
+      final KeyType startKey, final KeyValuePairVisitor<KeyType, ValueType> visitor) {
+    transactionDb.whileTrue(handle, context, startKey, keyInstance, valueInstance, visitor);
+  }
+
   @Override
   public void whileEqualPrefix(
       final DbKey keyPrefix, final BiConsumer<KeyType, ValueType> visitor) {
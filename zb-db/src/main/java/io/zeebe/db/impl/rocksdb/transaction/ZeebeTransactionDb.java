@@ -314,6 +314,39 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
         });
   }
 
+  public <KeyType extends DbKey, ValueType extends DbValue> void whileTrue(
+      final long columnFamilyHandle,
+      final DbContext context,
+      final DbKey startKey,
+      final KeyType keyInstance,
+      final ValueType valueInstance,
+      final KeyValuePairVisitor<KeyType, ValueType> visitor) {
+    context.withPrefixKeyBuffer(
+        startKeyBuffer ->
+            ensureInOpenTransaction(
+                context,
+                transaction -> {
+                  try (final RocksIterator iterator =
+                      newIterator(columnFamilyHandle, context, defaultReadOptions)) {
+                    // the start key is written before the iteration, since the key instance may
+                    // be the same and is overwritten by the visited keys
+                    startKey.write(startKeyBuffer, 0);
+
+                    boolean shouldVisitNext = true;
+                    for (RocksDbInternal.seek(
+                            iterator,
+                            getNativeHandle(iterator),
+                            startKeyBuffer.byteArray(),
+                            startKey.getLength());
+                        iterator.isValid() && shouldVisitNext;
+                        iterator.next()) {
+                      shouldVisitNext =
+                          visit(context, keyInstance, valueInstance, visitor, iterator);
+                    }
+                  }
+                }));
+  }
+
   protected <KeyType extends DbKey, ValueType extends DbValue> void whileEqualPrefix(
       final long columnFamilyHandle,
       final DbContext context,
@@ -288,6 +288,54 @@ public final class ColumnFamilyTest {
     assertThat(values).containsExactly((long) Short.MAX_VALUE, 255L, 123L);
   }
 
+  @Test
+  public void shouldUseWhileTrueWithStartKey() {
+    // given
+    putKeyValuePair(4567, 123);
+    putKeyValuePair(6734, 921);
+    putKeyValuePair(1213, 255);
+    putKeyValuePair(1, Short.MAX_VALUE);
+    putKeyValuePair(Short.MAX_VALUE, 1);
+
+    // when
+    final DbLong startKey = new DbLong();
+    startKey.wrapLong(1213);
+
+    final List<Long> keys = new ArrayList<>();
+    columnFamily.whileTrue(
+        startKey,
+        (key, value) -> {
+          keys.add(key.getValue());
+          return key.getValue() != 6734;
+        });
+
+    // then
+    assertThat(keys).containsExactly(1213L, 4567L, 6734L);
+  }
+
+  @Test
+  public void shouldUseWhileTrueWithNonExistingStartKey() {
+    // given
+    putKeyValuePair(4567, 123);
+    putKeyValuePair(1213, 255);
+    putKeyValuePair(1, Short.MAX_VALUE);
+
+    // when
+    final DbLong startKey = new DbLong();
+    startKey.wrapLong(2000);
+
+    final List<Long> keys = new ArrayList<>();
+    columnFamily.whileTrue(
+        startKey,
+        (key, value) -> {
+          keys.add(key.getValue());
+          return true;
+        });
+
+    // then
+    assertThat(keys).containsExactly(4567L);
+  }
+
   @Test
   public void shouldDeleteWhileTrue() {
     // given